@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Runs the benchmarks of this module, optionally saving the results as a baseline, or comparing them against a previously saved baseline.
+ * Recognizes the following options, in addition to the standard JMH command line options:
+ * <dl>
+ * <dt>--save=<i>file</i></dt><dd>Saves the score of each benchmark to the specified file, for use as a subsequent baseline.</dd>
+ * <dt>--baseline=<i>file</i></dt><dd>Compares the score of each benchmark against the specified baseline, and fails if any benchmark regressed.</dd>
+ * <dt>--threshold=<i>percent</i></dt><dd>The percentage by which a score may exceed its baseline before being considered a regression. Default is 10.</dd>
+ * </dl>
+ * Since all benchmarks of this module measure average time, a higher score is a worse score.
+ */
+public class BenchmarkRunner {
+    private static final String SAVE = "--save=";
+    private static final String BASELINE = "--baseline=";
+    private static final String THRESHOLD = "--threshold=";
+    private static final double DEFAULT_THRESHOLD = 10d;
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException, IOException {
+        Path save = null;
+        Path baseline = null;
+        double threshold = DEFAULT_THRESHOLD;
+        List<String> jmhArgs = new ArrayList<>(args.length);
+        for (String arg : args) {
+            if (arg.startsWith(SAVE)) {
+                save = Paths.get(arg.substring(SAVE.length()));
+            } else if (arg.startsWith(BASELINE)) {
+                baseline = Paths.get(arg.substring(BASELINE.length()));
+            } else if (arg.startsWith(THRESHOLD)) {
+                threshold = Double.parseDouble(arg.substring(THRESHOLD.length()));
+            } else {
+                jmhArgs.add(arg);
+            }
+        }
+
+        // Include the benchmarks of this module by default
+        if (jmhArgs.stream().allMatch(arg -> arg.startsWith("-"))) {
+            jmhArgs.add(BenchmarkRunner.class.getPackage().getName().replace(".", "\\.") + "\\..*");
+        }
+
+        Collection<RunResult> results = new Runner(new CommandLineOptions(jmhArgs.toArray(new String[jmhArgs.size()]))).run();
+
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            scores.put(key(result.getParams()), result.getPrimaryResult().getScore());
+        }
+
+        if (save != null) {
+            Properties properties = new Properties();
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                properties.setProperty(entry.getKey(), entry.getValue().toString());
+            }
+            try (OutputStream output = Files.newOutputStream(save)) {
+                properties.store(output, "Benchmark baseline");
+            }
+        }
+
+        if (baseline != null) {
+            Properties properties = new Properties();
+            try (InputStream input = Files.newInputStream(baseline)) {
+                properties.load(input);
+            }
+            if (!compare(properties, scores, threshold)) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Prints a comparison of the specified scores against the specified baseline.
+     * @param baseline the baseline scores
+     * @param scores the current scores
+     * @param threshold the percentage by which a score may exceed its baseline
+     * @return false, if any score regressed beyond the specified threshold, true otherwise
+     */
+    static boolean compare(Properties baseline, Map<String, Double> scores, double threshold) {
+        boolean passed = true;
+        System.out.println();
+        System.out.println(String.format("%-100s %15s %15s %10s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            String key = entry.getKey();
+            double current = entry.getValue();
+            String value = baseline.getProperty(key);
+            if (value == null) {
+                System.out.println(String.format("%-100s %15s %15.3f %10s", key, "-", current, "new"));
+                continue;
+            }
+            double previous = Double.parseDouble(value);
+            double change = (previous > 0) ? (current - previous) * 100d / previous : 0d;
+            boolean regressed = change > threshold;
+            passed &= !regressed;
+            System.out.println(String.format("%-100s %15.3f %15.3f %+9.1f%%%s", key, previous, current, change, regressed ? " REGRESSION" : ""));
+        }
+        return passed;
+    }
+
+    private static String key(BenchmarkParams params) {
+        StringBuilder builder = new StringBuilder(params.getBenchmark());
+        Map<String, String> values = new TreeMap<>();
+        for (String name : params.getParamsKeys()) {
+            values.put(name, params.getParam(name));
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            builder.append(':').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.marshalling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Enumerates common shapes of session and bean attributes.
+ */
+public enum AttributeType implements Supplier<Object> {
+
+    STRING() {
+        @Override
+        public Object get() {
+            return "The quick brown fox jumps over the lazy dog";
+        }
+    },
+    INTEGER() {
+        @Override
+        public Object get() {
+            return Integer.valueOf(Integer.MAX_VALUE);
+        }
+    },
+    UUID() {
+        @Override
+        public Object get() {
+            return java.util.UUID.randomUUID();
+        }
+    },
+    MAP() {
+        @Override
+        public Object get() {
+            Map<String, Object> map = new HashMap<>();
+            for (int i = 0; i < 16; ++i) {
+                map.put(Integer.toString(i), java.util.UUID.randomUUID().toString());
+            }
+            return map;
+        }
+    },
+    LIST() {
+        @Override
+        public Object get() {
+            List<Object> list = new ArrayList<>(16);
+            for (int i = 0; i < 16; ++i) {
+                list.add(Long.valueOf(i));
+            }
+            return list;
+        }
+    },
+    BYTES() {
+        @Override
+        public Object get() {
+            byte[] bytes = new byte[4096];
+            new Random(0).nextBytes(bytes);
+            return bytes;
+        }
+    },
+    ;
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.marshalling;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+
+/**
+ * Measures the round-trip of an attribute through a {@link MarshalledValue}, as performed for each replicated session attribute,
+ * i.e. wrapping, marshalling of the marshalled value by the cache, unmarshalling by the cache, and unwrapping.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarshalledValueBenchmark {
+
+    @Param
+    public MarshallerType marshaller;
+
+    @Param
+    public AttributeType type;
+
+    private ByteBufferMarshaller byteBufferMarshaller;
+    private MarshalledValueFactory<ByteBufferMarshaller> factory;
+    private Object value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.byteBufferMarshaller = this.marshaller.apply(MarshalledValueBenchmark.class.getClassLoader());
+        this.factory = new ByteBufferMarshalledValueFactory(this.byteBufferMarshaller);
+        this.value = this.type.get();
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException {
+        MarshalledValue<Object, ByteBufferMarshaller> marshalledValue = this.factory.createMarshalledValue(this.value);
+        ByteBuffer buffer = this.byteBufferMarshaller.write(marshalledValue);
+        @SuppressWarnings("unchecked")
+        MarshalledValue<Object, ByteBufferMarshaller> result = (MarshalledValue<Object, ByteBufferMarshaller>) this.byteBufferMarshaller.read(buffer);
+        return result.get(this.factory.getMarshallingContext());
+    }
+}
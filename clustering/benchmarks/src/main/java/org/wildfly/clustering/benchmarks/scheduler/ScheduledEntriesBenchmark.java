@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.scheduler;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+
+/**
+ * Measures the cost of rescheduling an entry, as performed on every request for a session or bean, and of peeking at the next scheduled entry,
+ * for each {@link ScheduledEntries} implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduledEntriesBenchmark {
+
+    public enum ScheduledEntriesType implements Supplier<ScheduledEntries<String, Instant>> {
+        SORTED() {
+            @Override
+            public ScheduledEntries<String, Instant> get() {
+                return new SortedScheduledEntries<>();
+            }
+        },
+        LINKED() {
+            @Override
+            public ScheduledEntries<String, Instant> get() {
+                return new LinkedScheduledEntries<>();
+            }
+        },
+        ;
+    }
+
+    @Param
+    public ScheduledEntriesType implementation;
+
+    @Param({ "100", "10000" })
+    public int size;
+
+    private ScheduledEntries<String, Instant> entries;
+    private String[] keys;
+    private Instant instant;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.entries = this.implementation.get();
+        this.keys = new String[this.size];
+        this.instant = Instant.now();
+        for (int i = 0; i < this.size; ++i) {
+            this.keys[i] = Integer.toString(i);
+            this.instant = this.instant.plusMillis(1);
+            this.entries.add(this.keys[i], this.instant);
+        }
+    }
+
+    @Benchmark
+    public void reschedule() {
+        String key = this.keys[this.index];
+        this.index = (this.index + 1) % this.size;
+        this.instant = this.instant.plusMillis(1);
+        this.entries.remove(key);
+        this.entries.add(key, this.instant);
+    }
+
+    @Benchmark
+    public Map.Entry<String, Instant> peek() {
+        return this.entries.peek();
+    }
+}
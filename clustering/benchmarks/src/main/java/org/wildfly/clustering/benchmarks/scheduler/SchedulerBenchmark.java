@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.clustering.ee.cache.scheduler.BucketedScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+
+/**
+ * Measures the cost of cancelling and rescheduling the expiration of a session or bean, as performed on every request, for each local scheduler implementation.
+ * Scheduled tasks are never due within the duration of the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    public enum SchedulerType implements Function<Predicate<String>, Scheduler<String, Instant>> {
+        LOCAL_SORTED() {
+            @Override
+            public Scheduler<String, Instant> apply(Predicate<String> task) {
+                return new LocalScheduler<>(new SortedScheduledEntries<>(), task, CLOSE_TIMEOUT);
+            }
+        },
+        LOCAL_LINKED() {
+            @Override
+            public Scheduler<String, Instant> apply(Predicate<String> task) {
+                return new LocalScheduler<>(new LinkedScheduledEntries<>(), task, CLOSE_TIMEOUT);
+            }
+        },
+        BUCKETED() {
+            @Override
+            public Scheduler<String, Instant> apply(Predicate<String> task) {
+                return new BucketedScheduler<>(task, CLOSE_TIMEOUT);
+            }
+        },
+        ;
+    }
+
+    @Param
+    public SchedulerType implementation;
+
+    @Param({ "100", "10000" })
+    public int size;
+
+    private Scheduler<String, Instant> scheduler;
+    private String[] ids;
+    private Instant instant;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.scheduler = this.implementation.apply(id -> true);
+        this.ids = new String[this.size];
+        this.instant = Instant.now().plus(Duration.ofDays(1));
+        for (int i = 0; i < this.size; ++i) {
+            this.ids[i] = Integer.toString(i);
+            this.instant = this.instant.plusMillis(1);
+            this.scheduler.schedule(this.ids[i], this.instant);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.scheduler.close();
+    }
+
+    @Benchmark
+    public void reschedule() {
+        String id = this.ids[this.index];
+        this.index = (this.index + 1) % this.size;
+        this.instant = this.instant.plusMillis(1);
+        this.scheduler.cancel(id);
+        this.scheduler.schedule(id, this.instant);
+    }
+}
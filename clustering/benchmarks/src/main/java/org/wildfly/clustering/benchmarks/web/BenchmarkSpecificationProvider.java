@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.web;
+
+import java.util.function.Consumer;
+
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSession;
+
+/**
+ * A minimal session specification, such that session attributes can be benchmarked without a servlet container.
+ */
+public enum BenchmarkSpecificationProvider implements HttpSessionActivationListenerProvider<ImmutableSession, Void, BenchmarkSpecificationProvider.ActivationListener> {
+    INSTANCE;
+
+    public interface ActivationListener {
+        void prePassivate(ImmutableSession session);
+
+        void postActivate(ImmutableSession session);
+    }
+
+    @Override
+    public ImmutableSession createHttpSession(ImmutableSession session, Void context) {
+        return session;
+    }
+
+    @Override
+    public Class<ActivationListener> getHttpSessionActivationListenerClass() {
+        return ActivationListener.class;
+    }
+
+    @Override
+    public Consumer<ImmutableSession> prePassivateNotifier(ActivationListener listener) {
+        return listener::prePassivate;
+    }
+
+    @Override
+    public Consumer<ImmutableSession> postActivateNotifier(ActivationListener listener) {
+        return listener::postActivate;
+    }
+
+    @Override
+    public ActivationListener createListener(Consumer<ImmutableSession> prePassivate, Consumer<ImmutableSession> postActivate) {
+        return new ActivationListener() {
+            @Override
+            public void prePassivate(ImmutableSession session) {
+                prePassivate.accept(session);
+            }
+
+            @Override
+            public void postActivate(ImmutableSession session) {
+                postActivate.accept(session);
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.web;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.infinispan.Cache;
+import org.wildfly.clustering.ee.CompositeIterable;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.immutable.CompositeImmutability;
+import org.wildfly.clustering.ee.immutable.DefaultImmutability;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueMarshaller;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.coarse.DeltaCoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SessionAttributeImmutability;
+
+/**
+ * Enumerates the session attributes factory implementations to compare, i.e. the supported session granularities and replication strategies.
+ */
+public enum SessionAttributesFactoryType {
+
+    COARSE() {
+        @Override
+        public SessionAttributesFactory<Void, ?> createSessionAttributesFactory(Cache<?, ?> cache, MarshalledValueFactory<ByteBufferMarshaller> factory) {
+            return new CoarseSessionAttributesFactory<>(new Configuration<Map<String, Object>>(cache, factory));
+        }
+    },
+    DELTA_COARSE() {
+        @Override
+        public SessionAttributesFactory<Void, ?> createSessionAttributesFactory(Cache<?, ?> cache, MarshalledValueFactory<ByteBufferMarshaller> factory) {
+            return new DeltaCoarseSessionAttributesFactory<>(new Configuration<>(cache, factory));
+        }
+    },
+    FINE() {
+        @Override
+        public SessionAttributesFactory<Void, ?> createSessionAttributesFactory(Cache<?, ?> cache, MarshalledValueFactory<ByteBufferMarshaller> factory) {
+            return new FineSessionAttributesFactory<>(new Configuration<>(cache, factory));
+        }
+    },
+    ;
+
+    public abstract SessionAttributesFactory<Void, ?> createSessionAttributesFactory(Cache<?, ?> cache, MarshalledValueFactory<ByteBufferMarshaller> factory);
+
+    private static class Configuration<V> implements InfinispanSessionAttributesFactoryConfiguration<ImmutableSession, Void, BenchmarkSpecificationProvider.ActivationListener, V, MarshalledValue<V, ByteBufferMarshaller>> {
+        private static final Immutability IMMUTABILITY = new CompositeImmutability(new CompositeIterable<>(EnumSet.allOf(DefaultImmutability.class), EnumSet.allOf(SessionAttributeImmutability.class)));
+
+        private final Cache<?, ?> cache;
+        private final Marshaller<V, MarshalledValue<V, ByteBufferMarshaller>> marshaller;
+
+        Configuration(Cache<?, ?> cache, MarshalledValueFactory<ByteBufferMarshaller> factory) {
+            this.cache = cache;
+            this.marshaller = new MarshalledValueMarshaller<>(factory);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <K, CV> Cache<K, CV> getCache() {
+            return (Cache<K, CV>) this.cache;
+        }
+
+        @Override
+        public Marshaller<V, MarshalledValue<V, ByteBufferMarshaller>> getMarshaller() {
+            return this.marshaller;
+        }
+
+        @Override
+        public Immutability getImmutability() {
+            return IMMUTABILITY;
+        }
+
+        @Override
+        public HttpSessionActivationListenerProvider<ImmutableSession, Void, BenchmarkSpecificationProvider.ActivationListener> getHttpSessionActivationListenerProvider() {
+            return BenchmarkSpecificationProvider.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.benchmarks.web;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.benchmarks.marshalling.AttributeType;
+import org.wildfly.clustering.benchmarks.marshalling.MarshallerType;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
+import org.wildfly.clustering.web.cache.session.CompositeSessionFactory;
+import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.SessionFactory;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionMetaDataFactory;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionMetaDataFactoryConfiguration;
+import org.wildfly.clustering.web.session.Session;
+
+/**
+ * Measures the per-request cost of locating, reading and closing a session, backed by a local cache,
+ * i.e. the work performed by the session manager for each request, excluding any replication.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+    private static final String CACHE_NAME = "sessions";
+    private static final int SESSIONS = 100;
+
+    @Param
+    public SessionAttributesFactoryType granularity;
+
+    @Param
+    public MarshallerType marshaller;
+
+    @Param({ "1", "10" })
+    public int attributes;
+
+    private EmbeddedCacheManager manager;
+    private SessionFactory<Void, CompositeSessionMetaDataEntry<Void>, Object, Void> factory;
+    private String[] ids;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.manager = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault().build());
+        this.manager.defineConfiguration(CACHE_NAME, new ConfigurationBuilder().build());
+        Cache<?, ?> cache = this.manager.getCache(CACHE_NAME);
+
+        @SuppressWarnings("unchecked")
+        SessionAttributesFactory<Void, Object> attributesFactory = (SessionAttributesFactory<Void, Object>) this.granularity.createSessionAttributesFactory(cache, new ByteBufferMarshalledValueFactory(this.marshaller.apply(SessionBenchmark.class.getClassLoader())));
+        this.factory = new CompositeSessionFactory<>(new InfinispanSessionMetaDataFactory<Void>(new InfinispanSessionMetaDataFactoryConfiguration() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <K, V> Cache<K, V> getCache() {
+                return (Cache<K, V>) cache;
+            }
+        }), attributesFactory, () -> null);
+
+        AttributeType[] types = AttributeType.values();
+        this.ids = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; ++i) {
+            String id = UUID.randomUUID().toString();
+            this.ids[i] = id;
+            try (Session<Void> session = this.factory.createSession(id, this.factory.createValue(id, null), null)) {
+                for (int j = 0; j < this.attributes; ++j) {
+                    session.getAttributes().setAttribute(name(j), types[j % types.length].get());
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.manager.stop();
+    }
+
+    @Benchmark
+    public Object findAndClose() {
+        int i = this.index;
+        this.index = (i + 1) % this.ids.length;
+        String id = this.ids[i];
+        Map.Entry<CompositeSessionMetaDataEntry<Void>, Object> entry = this.factory.findValue(id);
+        try (Session<Void> session = this.factory.createSession(id, entry, null)) {
+            return session.getAttributes().getAttribute(name(i % this.attributes));
+        }
+    }
+
+    private static String name(int index) {
+        return "attribute-" + index;
+    }
+}
@@ -36,10 +36,12 @@ public class FunctionSerializationContextInitializer extends AbstractSerializati
 
     @Override
     public void registerMarshallers(SerializationContext context) {
+        context.registerMarshaller(new ExternalizerMarshaller<>(new ConcurrentMapComputeFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new ConcurrentMapPutFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new ConcurrentMapRemoveFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new ConcurrentSetAddFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new ConcurrentSetRemoveFunctionExternalizer<>()));
+        context.registerMarshaller(new ExternalizerMarshaller<>(new CopyOnWriteMapComputeFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new CopyOnWriteMapPutFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new CopyOnWriteMapRemoveFunctionExternalizer<>()));
         context.registerMarshaller(new ExternalizerMarshaller<>(new CopyOnWriteSetAddFunctionExternalizer<>()));
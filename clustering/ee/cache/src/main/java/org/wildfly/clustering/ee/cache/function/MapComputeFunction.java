@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.function;
+
+import java.util.Map;
+
+/**
+ * Function that applies a set of updates to a map, where an update with a null value removes the corresponding entry.
+ * Unlike other map functions, the resulting map is retained even if empty.
+ * @param <K> the map key type
+ * @param <V> the map value type
+ */
+public class MapComputeFunction<K, V> extends AbstractFunction<Map<K, V>, Map<K, V>> {
+
+    public MapComputeFunction(Map<K, V> operand, Operations<Map<K, V>> operations) {
+        super(operand, operations, operations, map -> false);
+    }
+
+    @Override
+    public void accept(Map<K, V> map, Map<K, V> updates) {
+        for (Map.Entry<K, V> entry : updates.entrySet()) {
+            K key = entry.getKey();
+            V value = entry.getValue();
+            if (value != null) {
+                map.put(key, value);
+            } else {
+                map.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.function;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.wildfly.clustering.marshalling.Externalizer;
+
+/**
+ * Externalizer for a {@link MapComputeFunction}.
+ * Updates are written individually, since the null values denoting removals are not necessarily supported by a map externalizer.
+ * @param <K> the map key type
+ * @param <V> the map value type
+ * @param <F> the function type
+ */
+public abstract class MapComputeFunctionExternalizer<K, V, F extends MapComputeFunction<K, V>> implements Externalizer<F>, Function<Map<K, V>, F> {
+
+    @Override
+    public void writeObject(ObjectOutput output, F function) throws IOException {
+        Map<K, V> updates = function.getOperand();
+        output.writeInt(updates.size());
+        for (Map.Entry<K, V> entry : updates.entrySet()) {
+            output.writeObject(entry.getKey());
+            V value = entry.getValue();
+            output.writeBoolean(value != null);
+            if (value != null) {
+                output.writeObject(value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public F readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+        int size = input.readInt();
+        Map<K, V> updates = new HashMap<>();
+        for (int i = 0; i < size; ++i) {
+            K key = (K) input.readObject();
+            V value = input.readBoolean() ? (V) input.readObject() : null;
+            updates.put(key, value);
+        }
+        return this.apply(updates);
+    }
+}
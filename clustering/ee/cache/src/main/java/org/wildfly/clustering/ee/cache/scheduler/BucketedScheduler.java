@@ -0,0 +1,280 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Scheduler that groups scheduled entries into coarse buckets of a fixed time resolution, and partitions them into segments, e.g. cache segments.
+ * Both {@link #schedule(Object, Instant)} and {@link #cancel(Object)} run in O(1) time, while the entries of a segment can be cancelled without evaluating every entry.
+ * Entries are executed no earlier than their scheduled instant, and no later than one resolution interval thereafter.
+ * The entries of a due bucket are executed by a configurable number of threads.
+ */
+public class BucketedScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Runnable {
+
+    public static final Duration DEFAULT_RESOLUTION = Duration.ofMillis(100);
+    // Scheduled tasks typically block on cache operations
+    public static final int DEFAULT_THREADS = Math.max(Runtime.getRuntime().availableProcessors() / 4, 1);
+
+    private static final Function<Long, Set<Object>> BUCKET_FACTORY = new Function<Long, Set<Object>>() {
+        @Override
+        public Set<Object> apply(Long bucket) {
+            return ConcurrentHashMap.newKeySet();
+        }
+    };
+
+    private final ScheduledExecutorService executor;
+    private final Predicate<T> task;
+    private final ToIntFunction<T> segmenter;
+    private final List<Map<T, Instant>> segments;
+    private final ConcurrentNavigableMap<Long, Set<Object>> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextBucket = new AtomicLong(Long.MAX_VALUE);
+    private final long resolution;
+    private final int threads;
+    private final Duration closeTimeout;
+
+    /**
+     * Creates an unsegmented scheduler, using a single thread.
+     * @param task the task to execute for scheduled entries, which returns true if successful, or false if it should be retried
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    public BucketedScheduler(Predicate<T> task, Duration closeTimeout) {
+        this(task, id -> 0, 1, 1, DEFAULT_RESOLUTION, closeTimeout);
+    }
+
+    /**
+     * Creates a segmented scheduler.
+     * @param task the task to execute for scheduled entries, which returns true if successful, or false if it should be retried
+     * @param segmenter returns the segment, between 0 and the number of segments, of a given entry
+     * @param segments the number of segments
+     * @param threads the number of threads used to execute scheduled entries
+     * @param resolution the time resolution of a bucket
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    public BucketedScheduler(Predicate<T> task, ToIntFunction<T> segmenter, int segments, int threads, Duration resolution, Duration closeTimeout) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, new DefaultThreadFactory(this.getClass()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+        this.task = task;
+        this.segmenter = segmenter;
+        this.segments = new ArrayList<>(segments);
+        for (int i = 0; i < segments; ++i) {
+            this.segments.add(new ConcurrentHashMap<>());
+        }
+        this.resolution = Math.max(resolution.toMillis(), 1L);
+        this.threads = threads;
+        this.closeTimeout = closeTimeout;
+    }
+
+    @Override
+    public void schedule(T id, Instant instant) {
+        Instant previous = this.segment(id).put(id, instant);
+        if (previous != null) {
+            this.removeFromBucket(this.bucket(previous.toEpochMilli()), id);
+        }
+        this.addToBucket(this.bucket(instant.toEpochMilli()), id);
+    }
+
+    @Override
+    public void cancel(T id) {
+        Instant instant = this.segment(id).remove(id);
+        if (instant != null) {
+            this.removeFromBucket(this.bucket(instant.toEpochMilli()), id);
+        }
+    }
+
+    /**
+     * Cancels the entries of every segment whose entries satisfy the specified predicate.
+     * The predicate is evaluated against a single entry of each segment, thus the segmenter of this scheduler must assign entries to segments such that the predicate returns the same result for all entries of a given segment.
+     * If this scheduler is unsegmented, the predicate is evaluated against every entry.
+     * Entries are cancelled individually, so that entries scheduled concurrently are never lost.
+     * @param predicate a predicate indicating whether the segment containing a given entry should be cancelled
+     */
+    public void cancelSegments(Predicate<T> predicate) {
+        boolean segmented = this.segments.size() > 1;
+        for (Map<T, Instant> segment : this.segments) {
+            if (Thread.currentThread().isInterrupted()) return;
+            Iterator<T> ids = segment.keySet().iterator();
+            if (segmented && !(ids.hasNext() && predicate.test(ids.next()))) continue;
+            for (T id : segment.keySet()) {
+                if (Thread.currentThread().isInterrupted()) return;
+                if (segmented || predicate.test(id)) {
+                    this.cancel(id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        List<Iterator<T>> iterators = new ArrayList<>(this.segments.size());
+        for (Map<T, Instant> segment : this.segments) {
+            iterators.add(segment.keySet().iterator());
+        }
+        Iterator<Iterator<T>> segments = iterators.iterator();
+        return new Iterator<T>() {
+            private Iterator<T> current = segments.next();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.current.hasNext() && segments.hasNext()) {
+                    this.current = segments.next();
+                }
+                return this.current.hasNext();
+            }
+
+            @Override
+            public T next() {
+                this.hasNext();
+                return this.current.next();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        if (!this.closeTimeout.isNegative() && !this.closeTimeout.isZero()) {
+            try {
+                this.executor.awaitTermination(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        // Allow subsequently added buckets to schedule themselves
+        this.nextBucket.set(Long.MAX_VALUE);
+        long now = System.currentTimeMillis();
+        // A bucket is due once its entire time interval has elapsed
+        ConcurrentNavigableMap<Long, Set<Object>> dueBuckets = this.buckets.headMap(this.bucket(now));
+        List<T> ids = new ArrayList<>();
+        Map.Entry<Long, Set<Object>> bucket = dueBuckets.pollFirstEntry();
+        while (bucket != null) {
+            for (Object id : bucket.getValue()) {
+                @SuppressWarnings("unchecked")
+                T value = (T) id;
+                ids.add(value);
+            }
+            bucket = dueBuckets.pollFirstEntry();
+        }
+        int size = ids.size();
+        int tasks = Math.min(this.threads, size);
+        // Execute the first partition using the current thread
+        for (int i = 1; i < tasks; ++i) {
+            List<T> partition = ids.subList(size * i / tasks, size * (i + 1) / tasks);
+            try {
+                this.executor.execute(() -> this.execute(partition, now));
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+        this.execute(ids.subList(0, (tasks > 0) ? size / tasks : 0), now);
+
+        Map.Entry<Long, Set<Object>> next = this.buckets.firstEntry();
+        if (next != null) {
+            this.scheduleIfEarlier(next.getKey());
+        }
+    }
+
+    private void execute(List<T> ids, long now) {
+        for (T id : ids) {
+            if (Thread.currentThread().isInterrupted()) return;
+            Map<T, Instant> segment = this.segment(id);
+            Instant instant = segment.get(id);
+            // Skip entries that were cancelled or rescheduled
+            if ((instant == null) || (instant.toEpochMilli() > now)) continue;
+            if (this.task.test(id)) {
+                segment.remove(id, instant);
+            } else {
+                // Retry within the next bucket
+                this.addToBucket(this.bucket(now), id);
+            }
+        }
+    }
+
+    private Map<T, Instant> segment(T id) {
+        return this.segments.get(this.segmenter.applyAsInt(id));
+    }
+
+    private long bucket(long millis) {
+        return Math.floorDiv(millis, this.resolution);
+    }
+
+    private void addToBucket(long bucket, T id) {
+        Set<Object> ids = this.buckets.computeIfAbsent(bucket, BUCKET_FACTORY);
+        ids.add(id);
+        // If this bucket was polled concurrently, add to its replacement
+        while (this.buckets.get(bucket) != ids) {
+            ids = this.buckets.computeIfAbsent(bucket, BUCKET_FACTORY);
+            ids.add(id);
+        }
+        this.scheduleIfEarlier(bucket);
+    }
+
+    private void removeFromBucket(long bucket, T id) {
+        Set<Object> ids = this.buckets.get(bucket);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    private void scheduleIfEarlier(long bucket) {
+        long next = this.nextBucket.get();
+        while (bucket < next) {
+            if (this.nextBucket.compareAndSet(next, bucket)) {
+                long delay = Math.max(((bucket + 1) * this.resolution) - System.currentTimeMillis(), 0L);
+                try {
+                    this.executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Scheduler was closed
+                }
+                return;
+            }
+            next = this.nextBucket.get();
+        }
+    }
+}
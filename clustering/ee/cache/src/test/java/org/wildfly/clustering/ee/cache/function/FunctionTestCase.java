@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.ee.cache.function;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -119,4 +121,54 @@ public class FunctionTestCase {
         Map<String, String> result4 = new ConcurrentMapRemoveFunction<String, String>("bar").apply(null, result3);
         Assert.assertNull(result4);
     }
+
+    @Test
+    public void copyOnWriteMapCompute() {
+        Map<String, String> updates = new HashMap<>();
+        updates.put("foo", "a");
+        updates.put("bar", "b");
+        Map<String, String> result = new CopyOnWriteMapComputeFunction<>(updates).apply(null, null);
+        Assert.assertNotNull(result);
+        Assert.assertEquals(updates, result);
+
+        updates = new HashMap<>();
+        updates.put("foo", null);
+        updates.put("bar", "c");
+        Map<String, String> result2 = new CopyOnWriteMapComputeFunction<>(updates).apply(null, result);
+        Assert.assertNotNull(result2);
+        Assert.assertNotSame(result, result2);
+        Assert.assertFalse(result2.containsKey("foo"));
+        Assert.assertEquals("c", result2.get("bar"));
+
+        // Map is retained, even if empty
+        Map<String, String> result3 = new CopyOnWriteMapComputeFunction<>(Collections.<String, String>singletonMap("bar", null)).apply(null, result2);
+        Assert.assertNotNull(result3);
+        Assert.assertNotSame(result2, result3);
+        Assert.assertTrue(result3.isEmpty());
+    }
+
+    @Test
+    public void concurrentMapCompute() {
+        Map<String, String> updates = new HashMap<>();
+        updates.put("foo", "a");
+        updates.put("bar", "b");
+        Map<String, String> result = new ConcurrentMapComputeFunction<>(updates).apply(null, null);
+        Assert.assertNotNull(result);
+        Assert.assertEquals(updates, result);
+
+        updates = new HashMap<>();
+        updates.put("foo", null);
+        updates.put("bar", "c");
+        Map<String, String> result2 = new ConcurrentMapComputeFunction<>(updates).apply(null, result);
+        Assert.assertNotNull(result2);
+        Assert.assertSame(result, result2);
+        Assert.assertFalse(result2.containsKey("foo"));
+        Assert.assertEquals("c", result2.get("bar"));
+
+        // Map is retained, even if empty
+        Map<String, String> result3 = new ConcurrentMapComputeFunction<>(Collections.<String, String>singletonMap("bar", null)).apply(null, result2);
+        Assert.assertNotNull(result3);
+        Assert.assertSame(result2, result3);
+        Assert.assertTrue(result3.isEmpty());
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BucketedScheduler}.
+ */
+public class BucketedSchedulerTestCase {
+
+    @Test
+    public void schedule() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(100);
+        Predicate<Integer> task = id -> {
+            Assert.assertTrue(expired.add(id));
+            latch.countDown();
+            return true;
+        };
+        try (BucketedScheduler<Integer> scheduler = new BucketedScheduler<>(task, id -> id % 8, 8, 4, Duration.ofMillis(10), Duration.ZERO)) {
+            Instant now = Instant.now();
+            for (int i = 0; i < 100; ++i) {
+                scheduler.schedule(i, now.plusMillis(i));
+            }
+            // Rescheduled and cancelled entries are not expired
+            scheduler.schedule(100, now.plusMillis(10));
+            scheduler.schedule(100, now.plus(Duration.ofMinutes(1)));
+            scheduler.schedule(101, now);
+            scheduler.cancel(101);
+
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            Assert.assertEquals(100, expired.size());
+            Assert.assertFalse(expired.contains(100));
+            Assert.assertFalse(expired.contains(101));
+            // Only the rescheduled entry remains scheduled
+            Assert.assertTrue(scheduler.iterator().hasNext());
+            Assert.assertEquals(Integer.valueOf(100), scheduler.iterator().next());
+        }
+    }
+
+    @Test
+    public void notYetDue() throws InterruptedException {
+        Instant now = Instant.now();
+        Map<Integer, Instant> expired = new ConcurrentHashMap<>();
+        Predicate<Integer> task = id -> {
+            expired.put(id, Instant.now());
+            return true;
+        };
+        try (BucketedScheduler<Integer> scheduler = new BucketedScheduler<>(task, Duration.ZERO)) {
+            scheduler.schedule(1, now.plusMillis(300));
+
+            TimeUnit.MILLISECONDS.sleep(200);
+            Assert.assertTrue(expired.isEmpty());
+
+            TimeUnit.MILLISECONDS.sleep(500);
+            Assert.assertTrue(expired.containsKey(1));
+            Assert.assertFalse(expired.get(1).isBefore(now.plusMillis(300)));
+        }
+    }
+
+    @Test
+    public void retry() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        Predicate<Integer> task = id -> {
+            if (attempts.incrementAndGet() < 3) {
+                return false;
+            }
+            latch.countDown();
+            return true;
+        };
+        try (BucketedScheduler<Integer> scheduler = new BucketedScheduler<>(task, id -> 0, 1, 1, Duration.ofMillis(10), Duration.ZERO)) {
+            scheduler.schedule(1, Instant.now());
+
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            Assert.assertEquals(3, attempts.get());
+            Assert.assertFalse(scheduler.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void cancelSegments() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        Predicate<Integer> task = expired::add;
+        try (BucketedScheduler<Integer> scheduler = new BucketedScheduler<>(task, id -> id % 4, 4, 1, Duration.ofMillis(10), Duration.ZERO)) {
+            Instant instant = Instant.now().plusMillis(200);
+            for (int i = 0; i < 100; ++i) {
+                scheduler.schedule(i, instant);
+            }
+            // Cancel odd segments
+            scheduler.cancelSegments(id -> (id % 2) != 0);
+
+            for (Integer id : scheduler) {
+                Assert.assertEquals(0, id % 2);
+            }
+
+            TimeUnit.MILLISECONDS.sleep(500);
+
+            Assert.assertEquals(50, expired.size());
+            for (Integer id : expired) {
+                Assert.assertEquals(0, id % 2);
+            }
+        }
+    }
+
+    @Test
+    public void scheduleDuringCancelSegments() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        Predicate<Integer> task = expired::add;
+        try (BucketedScheduler<Integer> scheduler = new BucketedScheduler<>(task, id -> id % 2, 2, 1, Duration.ofMillis(10), Duration.ZERO)) {
+            Instant instant = Instant.now().plusMillis(200);
+            for (int i = 0; i < 10; ++i) {
+                scheduler.schedule(i, instant);
+            }
+            // Schedule an entry of the cancelled segment while its segment is being cancelled
+            scheduler.cancelSegments(id -> {
+                scheduler.schedule(11, instant);
+                return (id % 2) != 0;
+            });
+            // Entries of a cancelled segment scheduled after cancellation must not be lost
+            scheduler.schedule(13, instant);
+
+            TimeUnit.MILLISECONDS.sleep(500);
+
+            Assert.assertTrue(expired.contains(13));
+            for (Integer id : expired) {
+                Assert.assertTrue((id % 2 == 0) || (id == 13));
+            }
+            Assert.assertEquals(6, expired.size());
+        }
+    }
+
+    @Test
+    public void cancelUnsegmented() {
+        try (BucketedScheduler<Integer> scheduler = new BucketedScheduler<>(id -> true, Duration.ZERO)) {
+            Instant instant = Instant.now().plus(Duration.ofMinutes(1));
+            for (int i = 0; i < 10; ++i) {
+                scheduler.schedule(i, instant);
+            }
+            // Predicate is evaluated per entry for an unsegmented scheduler
+            scheduler.cancelSegments(id -> (id % 2) != 0);
+
+            int count = 0;
+            for (Integer id : scheduler) {
+                Assert.assertEquals(0, id % 2);
+                count += 1;
+            }
+            Assert.assertEquals(5, count);
+        }
+    }
+}
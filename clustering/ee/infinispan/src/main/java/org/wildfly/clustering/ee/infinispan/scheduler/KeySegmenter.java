@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.infinispan.Cache;
+import org.infinispan.distribution.ch.KeyPartitioner;
+
+/**
+ * Resolves the cache segment of the key of a scheduled object, such that all objects of a given segment share the same primary owner.
+ * @param <I> the identifier type of a scheduled object
+ */
+public class KeySegmenter<I> implements ToIntFunction<I> {
+
+    private final KeyPartitioner partitioner;
+    private final Function<I, ?> keyFactory;
+    private final int segments;
+
+    public KeySegmenter(Cache<?, ?> cache, Function<I, ?> keyFactory) {
+        this.partitioner = cache.getAdvancedCache().getComponentRegistry().getLocalComponent(KeyPartitioner.class);
+        this.keyFactory = keyFactory;
+        this.segments = cache.getCacheConfiguration().clustering().hash().numSegments();
+    }
+
+    @Override
+    public int applyAsInt(I id) {
+        return this.partitioner.getSegment(this.keyFactory.apply(id));
+    }
+
+    /**
+     * Returns the number of segments of the associated cache.
+     * @return a number of segments
+     */
+    public int getSegments() {
+        return this.segments;
+    }
+}
@@ -22,18 +22,31 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.cache.Key;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 
 /**
  * A task which schedules newly owned keys.
+ * If configured with an executor, the segments of a cache requiring state transfer are partitioned into chunks whose keys are scheduled in parallel.
  * @author Paul Ferraro
  * @param <I> identifier type
  * @param <K> cache key type
@@ -42,20 +55,119 @@ public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Lo
     private final Cache<K, ?> cache;
     private final Predicate<? super K> filter;
     private final Scheduler<I, ?> scheduler;
+    private final ExecutorService executor;
+    private final int chunks;
 
     public ScheduleLocalKeysTask(Cache<K, ?> cache, Predicate<? super K> filter, Scheduler<I, ?> scheduler) {
+        this(cache, filter, scheduler, null, 1);
+    }
+
+    /**
+     * Creates a task that schedules the keys of each chunk of segments in parallel.
+     * @param cache a cache
+     * @param filter a key filter
+     * @param scheduler a scheduler
+     * @param executor the executor used to schedule each chunk
+     * @param chunks the number of chunks into which cache segments are partitioned
+     */
+    public ScheduleLocalKeysTask(Cache<K, ?> cache, Predicate<? super K> filter, Scheduler<I, ?> scheduler, ExecutorService executor, int chunks) {
         this.cache = cache;
         this.filter = filter;
         this.scheduler = scheduler;
+        this.executor = executor;
+        this.chunks = chunks;
     }
 
     @Override
     public void accept(Locality oldLocality, Locality newLocality) {
+        this.accept(oldLocality, newLocality, segments -> {});
+    }
+
+    /**
+     * Schedules newly owned keys, reporting the number of segments whose keys were scheduled as each chunk completes.
+     * @param oldLocality the previous locality
+     * @param newLocality the new locality
+     * @param progress a consumer of the number of completed segments, invoked concurrently when scheduling in parallel
+     */
+    public void accept(Locality oldLocality, Locality newLocality, IntConsumer progress) {
+        int segments = this.cache.getCacheConfiguration().clustering().hash().numSegments();
+        // Only segmented caches can be partitioned
+        boolean segmented = this.cache.getCacheConfiguration().clustering().cacheMode().needsStateTransfer();
+        int chunks = segmented && (this.executor != null) ? Math.max(1, Math.min(this.chunks, segments)) : 1;
+        if (chunks == 1) {
+            if (this.schedule(oldLocality, newLocality, null)) {
+                progress.accept(segments);
+            }
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; ++i) {
+            IntSet chunk = IntSets.mutableEmptySet(segments);
+            for (int segment = i * segments / chunks; segment < (i + 1) * segments / chunks; ++segment) {
+                chunk.set(segment);
+            }
+            tasks.add(() -> {
+                if (this.schedule(oldLocality, newLocality, chunk)) {
+                    progress.accept(chunk.size());
+                }
+                return null;
+            });
+        }
+        try {
+            // If interrupted, e.g. by a subsequent topology change, all incomplete chunks are cancelled
+            for (Future<Void> future : this.executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Schedules newly owned keys in the background, returning once the specified fraction of segments was scheduled.
+     * @param oldLocality the previous locality
+     * @param newLocality the new locality
+     * @param threshold the fraction of segments whose keys must be scheduled before returning
+     */
+    public void accept(Locality oldLocality, Locality newLocality, double threshold) {
+        if ((threshold >= 1d) || (this.executor == null)) {
+            this.accept(oldLocality, newLocality);
+            return;
+        }
+        int segments = this.cache.getCacheConfiguration().clustering().hash().numSegments();
+        CountDownLatch latch = new CountDownLatch((int) Math.ceil(segments * threshold));
+        IntConsumer progress = completed -> {
+            for (int i = 0; i < completed; ++i) {
+                latch.countDown();
+            }
+        };
+        this.executor.submit(() -> {
+            try {
+                this.accept(oldLocality, newLocality, progress);
+            } catch (RuntimeException e) {
+                Logger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            } finally {
+                // Release the waiting thread if scheduling was interrupted or failed
+                progress.accept((int) latch.getCount());
+            }
+        });
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean schedule(Locality oldLocality, Locality newLocality, IntSet segments) {
         // Iterate over local keys, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<K> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream().filter(this.filter)) {
+        CacheStream<K> keyStream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream();
+        try (Stream<K> stream = ((segments != null) ? keyStream.filterKeySegments(segments) : keyStream).filter(this.filter)) {
             Iterator<K> keys = stream.iterator();
             while (keys.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
+                if (Thread.currentThread().isInterrupted()) return false;
                 K key = keys.next();
                 // If we are the new primary owner of this entry then schedule it locally
                 if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
@@ -63,5 +175,6 @@ public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Lo
                 }
             }
         }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.cache.Key;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
+
+/**
+ * Unit test for {@link ScheduleLocalKeysTask}.
+ */
+public class ScheduleLocalKeysTaskTestCase {
+    private static final int SEGMENTS = 10;
+
+    private final Cache<Key<String>, Object> cache = mock(Cache.class);
+    private final AdvancedCache<Key<String>, Object> advancedCache = mock(AdvancedCache.class);
+    private final CacheSet<Key<String>> keySet = mock(CacheSet.class);
+    private final CacheStream<Key<String>> stream = mock(CacheStream.class);
+    private final Scheduler<String, Object> scheduler = mock(Scheduler.class);
+    private final List<IntSet> chunks = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Locality oldLocality = new SimpleLocality(false);
+    private final Locality newLocality = new SimpleLocality(true);
+
+    @Before
+    public void init() {
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.DIST_SYNC).hash().numSegments(SEGMENTS).build());
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+        when(this.advancedCache.withFlags(Flag.CACHE_MODE_LOCAL)).thenReturn(this.advancedCache);
+        when(this.advancedCache.keySet()).thenReturn(this.keySet);
+        when(this.keySet.stream()).thenReturn(this.stream);
+        when(this.stream.filter(any(Predicate.class))).thenReturn(this.stream);
+        when(this.stream.iterator()).thenAnswer(invocation -> keys(IntStream.range(0, SEGMENTS).boxed().collect(Collectors.toSet())).iterator());
+        when(this.stream.filterKeySegments(any(IntSet.class))).thenAnswer(invocation -> {
+            IntSet segments = invocation.getArgument(0);
+            this.chunks.add(segments);
+            // Stream of the keys of each segment of this chunk
+            List<Key<String>> keys = keys(segments);
+            return mock(CacheStream.class, chunkInvocation -> {
+                switch (chunkInvocation.getMethod().getName()) {
+                    case "iterator":
+                        return keys.iterator();
+                    case "close":
+                        return null;
+                    default:
+                        return chunkInvocation.getMock();
+                }
+            });
+        });
+    }
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void unpartitioned() {
+        AtomicInteger progress = new AtomicInteger();
+        new ScheduleLocalKeysTask<>(this.cache, key -> true, this.scheduler).accept(this.oldLocality, this.newLocality, progress::addAndGet);
+
+        assertTrue(this.chunks.isEmpty());
+        assertEquals(SEGMENTS, progress.get());
+        this.verifyScheduled();
+    }
+
+    @Test
+    public void chunks() {
+        AtomicInteger progress = new AtomicInteger();
+        new ScheduleLocalKeysTask<>(this.cache, key -> true, this.scheduler, this.executor, 3).accept(this.oldLocality, this.newLocality, progress::addAndGet);
+
+        // Chunks are contiguous, disjoint, and cover every segment
+        assertEquals(Arrays.asList(segments(0, 3), segments(3, 6), segments(6, 10)), this.sortedChunks());
+        assertEquals(SEGMENTS, progress.get());
+        this.verifyScheduled();
+    }
+
+    @Test
+    public void moreChunksThanSegments() {
+        AtomicInteger progress = new AtomicInteger();
+        new ScheduleLocalKeysTask<>(this.cache, key -> true, this.scheduler, this.executor, SEGMENTS * 2).accept(this.oldLocality, this.newLocality, progress::addAndGet);
+
+        // Each segment is its own chunk
+        List<Set<Integer>> expected = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; ++i) {
+            expected.add(segments(i, i + 1));
+        }
+        assertEquals(expected, this.sortedChunks());
+        assertEquals(SEGMENTS, progress.get());
+        this.verifyScheduled();
+    }
+
+    @Test
+    public void warmUpBelowThreshold() throws Exception {
+        CountDownLatch blocker = this.blockScheduling(String.valueOf(SEGMENTS - 1));
+        ScheduleLocalKeysTask<String, Key<String>> task = new ScheduleLocalKeysTask<>(this.cache, key -> true, this.scheduler, this.executor, 2);
+
+        // Only the first chunk is required to complete
+        Future<?> future = this.executor.submit(() -> task.accept(this.oldLocality, this.newLocality, 0.5));
+        future.get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < SEGMENTS / 2; ++i) {
+            verify(this.scheduler).schedule(String.valueOf(i));
+        }
+
+        // Remaining chunk completes in the background
+        blocker.countDown();
+        for (int i = 0; i < SEGMENTS; ++i) {
+            verify(this.scheduler, timeout(5000)).schedule(String.valueOf(i));
+        }
+    }
+
+    @Test
+    public void warmUpAboveThreshold() throws Exception {
+        CountDownLatch blocker = this.blockScheduling(String.valueOf(SEGMENTS - 1));
+        ScheduleLocalKeysTask<String, Key<String>> task = new ScheduleLocalKeysTask<>(this.cache, key -> true, this.scheduler, this.executor, 2);
+
+        // The first chunk is insufficient, so we must wait for the second chunk
+        Future<?> future = this.executor.submit(() -> task.accept(this.oldLocality, this.newLocality, 0.6));
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            fail("Task returned before threshold was reached");
+        } catch (TimeoutException e) {
+            // Expected
+        }
+
+        blocker.countDown();
+        future.get(5, TimeUnit.SECONDS);
+        this.verifyScheduled();
+    }
+
+    @Test
+    public void warmUpComplete() {
+        // A threshold of 1 schedules all segments synchronously
+        new ScheduleLocalKeysTask<>(this.cache, key -> true, this.scheduler, this.executor, 2).accept(this.oldLocality, this.newLocality, 1d);
+
+        this.verifyScheduled();
+    }
+
+    private CountDownLatch blockScheduling(String id) {
+        CountDownLatch blocker = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocker.await();
+            return null;
+        }).when(this.scheduler).schedule(id);
+        return blocker;
+    }
+
+    private void verifyScheduled() {
+        for (int i = 0; i < SEGMENTS; ++i) {
+            verify(this.scheduler).schedule(String.valueOf(i));
+        }
+    }
+
+    private List<Set<Integer>> sortedChunks() {
+        List<Set<Integer>> chunks = new ArrayList<>(this.chunks.size());
+        for (IntSet chunk : this.chunks) {
+            chunks.add(new HashSet<>(chunk));
+        }
+        chunks.sort(Comparator.comparingInt(chunk -> chunk.stream().mapToInt(Integer::intValue).min().orElse(-1)));
+        return chunks;
+    }
+
+    private static Set<Integer> segments(int start, int end) {
+        return IntStream.range(start, end).boxed().collect(Collectors.toSet());
+    }
+
+    // Creates a single key per segment, whose identifier is the segment
+    private static List<Key<String>> keys(Set<Integer> segments) {
+        List<Key<String>> keys = new ArrayList<>(segments.size());
+        for (Integer segment : segments) {
+            String id = segment.toString();
+            keys.add(() -> id);
+        }
+        return keys;
+    }
+}
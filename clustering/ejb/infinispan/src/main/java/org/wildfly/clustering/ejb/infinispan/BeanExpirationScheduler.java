@@ -22,20 +22,16 @@
 package org.wildfly.clustering.ejb.infinispan;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.BucketedScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
 import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
-import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 
 /**
@@ -48,15 +44,36 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  */
 public class BeanExpirationScheduler<I, T> implements Scheduler<I, ImmutableBeanEntry<I>>, Predicate<I> {
 
-    private final LocalScheduler<I> scheduler;
+    private final BucketedScheduler<I> scheduler;
     private final Batcher<TransactionBatch> batcher;
     private final BeanFactory<I, T> factory;
     private final ExpirationConfiguration<T> expiration;
     private final BeanRemover<I, T> remover;
 
-    public BeanExpirationScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, ExpirationConfiguration<T> expiration, BeanRemover<I, T> remover, Duration closeTimeout) {
-        ScheduledEntries<I, Instant> entries = group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>();
-        this.scheduler = new LocalScheduler<>(entries, this, closeTimeout);
+    /**
+     * Creates an unsegmented bean expiration scheduler.
+     * @param batcher a batcher
+     * @param factory a bean factory
+     * @param expiration the expiration configuration
+     * @param remover a remover of expired beans
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    public BeanExpirationScheduler(Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, ExpirationConfiguration<T> expiration, BeanRemover<I, T> remover, Duration closeTimeout) {
+        this(batcher, factory, expiration, remover, id -> 0, 1, closeTimeout);
+    }
+
+    /**
+     * Creates a bean expiration scheduler whose scheduled beans are partitioned by cache segment.
+     * @param batcher a batcher
+     * @param factory a bean factory
+     * @param expiration the expiration configuration
+     * @param remover a remover of expired beans
+     * @param segmenter resolves the cache segment of a bean
+     * @param segments the number of cache segments
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    public BeanExpirationScheduler(Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, ExpirationConfiguration<T> expiration, BeanRemover<I, T> remover, ToIntFunction<I> segmenter, int segments, Duration closeTimeout) {
+        this.scheduler = new BucketedScheduler<>(this, segmenter, segments, BucketedScheduler.DEFAULT_THREADS, BucketedScheduler.DEFAULT_RESOLUTION, closeTimeout);
         this.batcher = batcher;
         this.factory = factory;
         this.expiration = expiration;
@@ -87,12 +104,8 @@ public class BeanExpirationScheduler<I, T> implements Scheduler<I, ImmutableBean
 
     @Override
     public void cancel(Locality locality) {
-        for (I id: this.scheduler) {
-            if (Thread.currentThread().isInterrupted()) break;
-            if (!locality.isLocal(new InfinispanBeanKey<>(id))) {
-                this.scheduler.cancel(id);
-            }
-        }
+        // All beans of a given segment share the same primary owner
+        this.scheduler.cancelSegments(id -> !locality.isLocal(new InfinispanBeanKey<>(id)));
     }
 
     @Override
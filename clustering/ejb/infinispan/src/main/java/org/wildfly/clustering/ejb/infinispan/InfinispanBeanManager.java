@@ -44,6 +44,7 @@ import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
+import org.wildfly.clustering.ee.infinispan.scheduler.KeySegmenter;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalEntriesTask;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -123,7 +124,8 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         List<Scheduler<I, ImmutableBeanEntry<I>>> schedulers = new ArrayList<>(2);
         Duration timeout = this.expiration.getTimeout();
         if ((timeout != null) && !timeout.isNegative()) {
-            schedulers.add(new BeanExpirationScheduler<>(this.dispatcherFactory.getGroup(), this.batcher, this.beanFactory, this.expiration, new ExpiredBeanRemover<>(this.beanFactory, this.expiration), stopTimeout));
+            KeySegmenter<I> segmenter = new KeySegmenter<>(this.cache, InfinispanBeanKey::new);
+            schedulers.add(new BeanExpirationScheduler<>(this.batcher, this.beanFactory, this.expiration, new ExpiredBeanRemover<>(this.beanFactory, this.expiration), segmenter, segmenter.getSegments(), stopTimeout));
         }
 
         String dispatcherName = String.join("/", this.cache.getName(), this.filter.toString());
@@ -31,7 +31,6 @@ import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Scheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ejb.RemoveListener;
-import org.wildfly.clustering.group.Group;
 
 /**
  * Unit test for {@link BeanExpirationScheduler}.
@@ -40,7 +39,6 @@ import org.wildfly.clustering.group.Group;
 public class BeanExpirationSchedulerTestCase {
     @Test
     public void testImmortal() throws InterruptedException {
-        Group group = mock(Group.class);
         Batcher<TransactionBatch> batcher = mock(Batcher.class);
         BeanFactory<String, Object> factory = mock(BeanFactory.class);
         ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
@@ -49,14 +47,12 @@ public class BeanExpirationSchedulerTestCase {
         BeanRemover<String, Object> remover = mock(BeanRemover.class);
         String beanId = "immortal";
 
-        when(group.isSingleton()).thenReturn(true);
-
         // Fun fact: the EJB specification allows a timeout value of 0, so only negative timeouts are treated as immortal
         when(config.getTimeout()).thenReturn(Duration.ofMinutes(-1L));
         when(config.getRemoveListener()).thenReturn(listener);
         when(entry.getLastAccessedTime()).thenReturn(Instant.now());
 
-        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(group, batcher, factory, config, remover, Duration.ZERO)) {
+        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(batcher, factory, config, remover, Duration.ZERO)) {
             scheduler.schedule(beanId, entry);
 
             Thread.sleep(500);
@@ -68,7 +64,6 @@ public class BeanExpirationSchedulerTestCase {
 
     @Test
     public void testExpire() throws InterruptedException {
-        Group group = mock(Group.class);
         Batcher<TransactionBatch> batcher = mock(Batcher.class);
         TransactionBatch batch = mock(TransactionBatch.class);
         BeanFactory<String, Object> factory = mock(BeanFactory.class);
@@ -79,7 +74,6 @@ public class BeanExpirationSchedulerTestCase {
         String beanId = "expiring";
         Duration timeout = Duration.ofMillis(10L);
 
-        when(group.isSingleton()).thenReturn(true);
         when(batcher.createBatch()).thenReturn(batch);
 
         when(config.getTimeout()).thenReturn(timeout);
@@ -87,7 +81,7 @@ public class BeanExpirationSchedulerTestCase {
         when(entry.getLastAccessedTime()).thenReturn(Instant.now());
         when(remover.remove(beanId, listener)).thenReturn(true);
 
-        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(group, batcher, factory, config, remover, Duration.ZERO)) {
+        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(batcher, factory, config, remover, Duration.ZERO)) {
             scheduler.schedule(beanId, entry);
 
             Thread.sleep(500);
@@ -98,7 +92,6 @@ public class BeanExpirationSchedulerTestCase {
 
     @Test
     public void testNotYetExpired() throws InterruptedException {
-        Group group = mock(Group.class);
         Batcher<TransactionBatch> batcher = mock(Batcher.class);
         TransactionBatch batch = mock(TransactionBatch.class);
         BeanFactory<String, Object> factory = mock(BeanFactory.class);
@@ -117,7 +110,7 @@ public class BeanExpirationSchedulerTestCase {
         when(factory.findValue(beanId)).thenReturn(entry);
         when(entry.isExpired(same(timeout))).thenReturn(false);
 
-        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(group, batcher, factory, config, remover, Duration.ZERO)) {
+        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(batcher, factory, config, remover, Duration.ZERO)) {
             scheduler.schedule(beanId, entry);
 
             Thread.sleep(500);
@@ -129,7 +122,6 @@ public class BeanExpirationSchedulerTestCase {
 
     @Test
     public void testCancel() throws InterruptedException {
-        Group group = mock(Group.class);
         Batcher<TransactionBatch> batcher = mock(Batcher.class);
         BeanFactory<String, Object> factory = mock(BeanFactory.class);
         ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
@@ -143,7 +135,7 @@ public class BeanExpirationSchedulerTestCase {
         when(config.getRemoveListener()).thenReturn(listener);
         when(entry.getLastAccessedTime()).thenReturn(Instant.now());
 
-        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(group, batcher, factory, config, remover, Duration.ZERO)) {
+        try (Scheduler<String, ImmutableBeanEntry<String>> scheduler = new BeanExpirationScheduler<>(batcher, factory, config, remover, Duration.ZERO)) {
             scheduler.schedule(beanId, entry);
 
             Thread.sleep(500);
@@ -37,15 +37,36 @@ import com.github.benmanes.caffeine.cache.Cache;
  */
 public class CaffeineNearCache<K, V> implements NearCache<K, V> {
 
+    private final Cache<K, MetadataValue<V>> cache;
     private final Map<K, MetadataValue<V>> map;
+    private final NearCacheTier<K, V> tier;
 
     public CaffeineNearCache(Cache<K, MetadataValue<V>> cache) {
+        this(cache, null);
+    }
+
+    /**
+     * Creates a near cache with an optional secondary tier.
+     * @param cache the primary tier of this near cache
+     * @param tier an optional secondary tier, to which the primary tier demotes evicted entries
+     */
+    public CaffeineNearCache(Cache<K, MetadataValue<V>> cache, NearCacheTier<K, V> tier) {
+        this.cache = cache;
         this.map = cache.asMap();
+        this.tier = tier;
     }
 
     @Override
     public void put(K key, MetadataValue<V> value) {
-        this.map.put(key, value);
+        if (this.tier == null) {
+            this.map.put(key, value);
+            return;
+        }
+        // Discard any stale demoted value under the lock of this key, before the new value could itself be demoted
+        this.map.compute(key, (k, v) -> {
+            this.tier.discard(k);
+            return value;
+        });
     }
 
     @Override
@@ -55,17 +76,35 @@ public class CaffeineNearCache<K, V> implements NearCache<K, V> {
 
     @Override
     public boolean remove(K key) {
-        return this.map.remove(key) != null;
+        if (this.tier == null) {
+            return this.map.remove(key) != null;
+        }
+        // Discard any demoted value under the lock of this key, so that a concurrent get(...) cannot promote it
+        boolean[] removed = new boolean[1];
+        this.map.compute(key, (k, v) -> {
+            removed[0] = this.tier.discard(k) || (v != null);
+            return null;
+        });
+        return removed[0];
     }
 
     @Override
     public MetadataValue<V> get(K key) {
-        return this.map.get(key);
+        // Use getIfPresent(...) so that hits and misses are recorded
+        MetadataValue<V> value = this.cache.getIfPresent(key);
+        if ((value == null) && (this.tier != null)) {
+            // Promote to primary tier, atomically with respect to concurrent invalidation of this key
+            value = this.map.computeIfAbsent(key, this.tier::remove);
+        }
+        return value;
     }
 
     @Override
     public void clear() {
         this.map.clear();
+        if (this.tier != null) {
+            this.tier.clear();
+        }
     }
 
     @Override
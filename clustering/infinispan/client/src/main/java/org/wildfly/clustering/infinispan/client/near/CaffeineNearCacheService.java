@@ -40,14 +40,27 @@ import com.github.benmanes.caffeine.cache.Cache;
  */
 public class CaffeineNearCacheService<K, V> extends NearCacheService<K, V> {
     private final Supplier<Cache<K, MetadataValue<V>>> factory;
+    private final Supplier<NearCacheTier<K, V>> tierFactory;
 
     public CaffeineNearCacheService(Supplier<Cache<K, MetadataValue<V>>> factory, ClientListenerNotifier listenerNotifier) {
+        this(factory, () -> null, listenerNotifier);
+    }
+
+    /**
+     * Creates a near cache service whose near cache uses a secondary tier.
+     * @param factory a factory for the primary tier of the near cache
+     * @param tierFactory a factory for the secondary tier of the near cache, invoked after the primary tier was created, which may return null
+     * @param listenerNotifier a client listener notifier
+     */
+    public CaffeineNearCacheService(Supplier<Cache<K, MetadataValue<V>>> factory, Supplier<NearCacheTier<K, V>> tierFactory, ClientListenerNotifier listenerNotifier) {
         super(null, listenerNotifier);
         this.factory = factory;
+        this.tierFactory = tierFactory;
     }
 
     @Override
     protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
-        return new CaffeineNearCache<>(this.factory.get());
+        Cache<K, MetadataValue<V>> cache = this.factory.get();
+        return new CaffeineNearCache<>(cache, this.tierFactory.get());
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.infinispan.client.near;
+
+import org.infinispan.client.hotrod.MetadataValue;
+
+/**
+ * A secondary tier of a near cache, to which entries evicted from the primary tier are demoted, and from which entries are promoted on lookup.
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public interface NearCacheTier<K, V> {
+
+    /**
+     * Demotes the specified entry, evicted from the primary tier, to this tier.
+     * @param key a cache key
+     * @param value a cache value
+     */
+    void put(K key, MetadataValue<V> value);
+
+    /**
+     * Removes the entry with the specified key from this tier.
+     * @param key a cache key
+     * @return the removed value, or null, if this tier contained no such entry
+     */
+    MetadataValue<V> remove(K key);
+
+    /**
+     * Removes the entry with the specified key from this tier, without retrieving its value.
+     * @param key a cache key
+     * @return true, if an entry was removed, false, if this tier contained no such entry
+     */
+    boolean discard(K key);
+
+    /**
+     * Removes all entries from this tier.
+     */
+    void clear();
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.infinispan.client.near;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * A near cache tier that stores the serialized form of its values within direct buffers, i.e. outside of the Java heap.
+ * Values are serialized on demotion and deserialized on promotion, and are otherwise not visible to the garbage collector.
+ * Values that cannot be serialized are not retained.
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class OffHeapNearCacheTier<K, V> implements NearCacheTier<K, V> {
+
+    private final Cache<K, OffHeapValue> cache;
+    private final Function<V, ByteBuffer> serializer;
+    private final Function<ByteBuffer, V> deserializer;
+
+    /**
+     * Creates an off-heap near cache tier
+     * @param maxSize the maximum number of bytes of serialized values retained by this tier
+     * @param serializer returns the serialized form of a value, or null if the value cannot be serialized
+     * @param deserializer returns the value of a serialized form
+     */
+    public OffHeapNearCacheTier(long maxSize, Function<V, ByteBuffer> serializer, Function<ByteBuffer, V> deserializer) {
+        this.cache = Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .maximumWeight(maxSize)
+                .<K, OffHeapValue>weigher((key, value) -> value.getBuffer().capacity())
+                .build();
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    @Override
+    public void put(K key, MetadataValue<V> value) {
+        ByteBuffer buffer = this.serializer.apply(value.getValue());
+        if (buffer != null) {
+            ByteBuffer offHeapBuffer = ByteBuffer.allocateDirect(buffer.remaining());
+            offHeapBuffer.put(buffer.duplicate()).flip();
+            this.cache.put(key, new OffHeapValue(value, offHeapBuffer));
+        }
+    }
+
+    @Override
+    public MetadataValue<V> remove(K key) {
+        OffHeapValue value = this.cache.asMap().remove(key);
+        if (value == null) return null;
+        // Copy to the heap, so that the direct buffer can be reclaimed
+        ByteBuffer offHeapBuffer = value.getBuffer().duplicate();
+        ByteBuffer buffer = ByteBuffer.allocate(offHeapBuffer.remaining());
+        buffer.put(offHeapBuffer).flip();
+        return new MetadataValueImpl<>(value.getCreated(), value.getLifespan(), value.getLastUsed(), value.getMaxIdle(), value.getVersion(), this.deserializer.apply(buffer));
+    }
+
+    @Override
+    public boolean discard(K key) {
+        // Avoid deserializing a value that would be discarded anyway
+        return this.cache.asMap().remove(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+
+    private static class OffHeapValue {
+        private final long created;
+        private final int lifespan;
+        private final long lastUsed;
+        private final int maxIdle;
+        private final long version;
+        private final ByteBuffer buffer;
+
+        OffHeapValue(MetadataValue<?> value, ByteBuffer buffer) {
+            this.created = value.getCreated();
+            this.lifespan = value.getLifespan();
+            this.lastUsed = value.getLastUsed();
+            this.maxIdle = value.getMaxIdle();
+            this.version = value.getVersion();
+            this.buffer = buffer;
+        }
+
+        long getCreated() {
+            return this.created;
+        }
+
+        int getLifespan() {
+            return this.lifespan;
+        }
+
+        long getLastUsed() {
+            return this.lastUsed;
+        }
+
+        int getMaxIdle() {
+            return this.maxIdle;
+        }
+
+        long getVersion() {
+            return this.version;
+        }
+
+        ByteBuffer getBuffer() {
+            return this.buffer;
+        }
+    }
+}
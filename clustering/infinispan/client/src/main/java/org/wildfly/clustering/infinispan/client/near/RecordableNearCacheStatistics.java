@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.infinispan.client.near;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+/**
+ * Records the statistics of one or more Caffeine-based near caches.
+ * A single instance may be shared by multiple near caches, in which case the statistics are aggregated.
+ */
+public class RecordableNearCacheStatistics implements NearCacheStatistics, StatsCounter {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+
+    @Override
+    public void recordHits(int count) {
+        this.hits.add(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        this.misses.add(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        // Near caches do not load
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        // Near caches do not load
+    }
+
+    @Deprecated
+    @Override
+    public void recordEviction() {
+        this.recordEviction(1);
+    }
+
+    @Deprecated
+    @Override
+    public void recordEviction(int weight) {
+        this.evictions.increment();
+        this.evictionWeight.add(weight);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return new CacheStats(this.hits.sum(), this.misses.sum(), 0L, 0L, 0L, this.evictions.sum(), this.evictionWeight.sum());
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.infinispan.client.near;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+import org.junit.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Unit test for {@link CaffeineNearCache}.
+ */
+public class CaffeineNearCacheTestCase {
+
+    @Test
+    public void promote() {
+        NearCacheTier<String, String> tier = mock(NearCacheTier.class);
+        CaffeineNearCache<String, String> cache = new CaffeineNearCache<>(Caffeine.newBuilder().executor(Runnable::run).build(), tier);
+        MetadataValue<String> value = new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value");
+
+        when(tier.remove("key")).thenReturn(value);
+
+        // A miss in the primary tier promotes the entry from the secondary tier
+        assertSame(value, cache.get("key"));
+        assertEquals(1, cache.size());
+        verify(tier).remove("key");
+
+        // Subsequent lookups hit the primary tier
+        assertSame(value, cache.get("key"));
+        verify(tier, times(1)).remove("key");
+
+        assertNull(cache.get("missing"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void invalidate() {
+        NearCacheTier<String, String> tier = mock(NearCacheTier.class);
+        CaffeineNearCache<String, String> cache = new CaffeineNearCache<>(Caffeine.newBuilder().executor(Runnable::run).build(), tier);
+        MetadataValue<String> value = new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value");
+
+        // Stale demoted values are discarded, without being retrieved
+        cache.put("key", value);
+        verify(tier).discard("key");
+
+        when(tier.discard("key")).thenReturn(false);
+        assertTrue(cache.remove("key"));
+
+        // Removal of an entry present only in the secondary tier
+        when(tier.discard("demoted")).thenReturn(true);
+        assertTrue(cache.remove("demoted"));
+
+        assertFalse(cache.remove("missing"));
+        verify(tier, never()).remove(anyString());
+
+        cache.clear();
+        verify(tier).clear();
+    }
+
+    @Test
+    public void concurrentInvalidate() throws Exception {
+        NearCacheTier<String, String> tier = mock(NearCacheTier.class);
+        CaffeineNearCache<String, String> cache = new CaffeineNearCache<>(Caffeine.newBuilder().executor(Runnable::run).build(), tier);
+        AtomicReference<MetadataValue<String>> demoted = new AtomicReference<>(new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Future<MetadataValue<String>>> result = new AtomicReference<>();
+            when(tier.remove("key")).thenAnswer(invocation -> demoted.getAndSet(null));
+            when(tier.discard("key")).thenAnswer(invocation -> {
+                // A concurrent lookup must not promote the demoted value while it is being discarded
+                result.set(executor.submit(() -> cache.get("key")));
+                try {
+                    result.get().get(100, TimeUnit.MILLISECONDS);
+                    fail("Lookup should block until invalidation completes");
+                } catch (TimeoutException expected) {
+                }
+                return demoted.getAndSet(null) != null;
+            });
+
+            assertTrue(cache.remove("key"));
+
+            assertNull(result.get().get());
+            assertEquals(0, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void demote() {
+        NearCacheTier<String, String> tier = new OffHeapNearCacheTier<>(1024, StandardCharsets.UTF_8::encode, (ByteBuffer buffer) -> StandardCharsets.UTF_8.decode(buffer).toString());
+        Cache<String, MetadataValue<String>> primary = Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .maximumSize(1)
+                .<String, MetadataValue<String>>removalListener((key, value, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        tier.put(key, value);
+                    }
+                })
+                .build();
+        CaffeineNearCache<String, String> cache = new CaffeineNearCache<>(primary, tier);
+
+        cache.put("key1", new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value1"));
+        cache.put("key2", new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value2"));
+        primary.cleanUp();
+
+        // One entry was demoted to the secondary tier, but both remain accessible
+        assertEquals(1, cache.size());
+        assertEquals("value1", cache.get("key1").getValue());
+        primary.cleanUp();
+        assertEquals("value2", cache.get("key2").getValue());
+        primary.cleanUp();
+        assertEquals("value1", cache.get("key1").getValue());
+
+        // Invalidation removes the entry from both tiers
+        assertTrue(cache.remove("key1"));
+        assertTrue(cache.remove("key2"));
+        assertNull(cache.get("key1"));
+        assertNull(cache.get("key2"));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.infinispan.client.near;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link OffHeapNearCacheTier}.
+ */
+public class OffHeapNearCacheTierTestCase {
+
+    private final AtomicInteger deserializations = new AtomicInteger();
+    private final Function<String, ByteBuffer> serializer = value -> !value.equals("unserializable") ? StandardCharsets.UTF_8.encode(value) : null;
+    private final Function<ByteBuffer, String> deserializer = buffer -> {
+        this.deserializations.incrementAndGet();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    };
+    private final NearCacheTier<String, String> tier = new OffHeapNearCacheTier<>(1024, this.serializer, this.deserializer);
+
+    @Test
+    public void putRemove() {
+        MetadataValue<String> value = new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value");
+
+        assertNull(this.tier.remove("key"));
+
+        this.tier.put("key", value);
+
+        MetadataValue<String> result = this.tier.remove("key");
+        assertNotNull(result);
+        assertEquals(value.getValue(), result.getValue());
+        assertEquals(value.getCreated(), result.getCreated());
+        assertEquals(value.getLifespan(), result.getLifespan());
+        assertEquals(value.getLastUsed(), result.getLastUsed());
+        assertEquals(value.getMaxIdle(), result.getMaxIdle());
+        assertEquals(value.getVersion(), result.getVersion());
+
+        // Removal is not repeatable
+        assertNull(this.tier.remove("key"));
+    }
+
+    @Test
+    public void discard() {
+        assertFalse(this.tier.discard("key"));
+
+        this.tier.put("key", new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value"));
+
+        assertTrue(this.tier.discard("key"));
+        // Discarded values are never deserialized
+        assertEquals(0, this.deserializations.get());
+        assertNull(this.tier.remove("key"));
+    }
+
+    @Test
+    public void unserializable() {
+        this.tier.put("key", new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "unserializable"));
+
+        assertFalse(this.tier.discard("key"));
+    }
+
+    @Test
+    public void clear() {
+        this.tier.put("key1", new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value1"));
+        this.tier.put("key2", new MetadataValueImpl<>(1L, 2, 3L, 4, 5L, "value2"));
+
+        this.tier.clear();
+
+        assertNull(this.tier.remove("key1"));
+        assertNull(this.tier.remove("key2"));
+    }
+}
@@ -61,6 +61,7 @@ import org.jgroups.JChannel;
 import org.wildfly.clustering.jgroups.spi.JGroupsRequirement;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.spi.ClusteringRequirement;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 
 /**
  * Definition for /subsystem=jgroups/channel=* resources
@@ -120,6 +121,15 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
             }
         },
         CLUSTER("cluster", ModelType.STRING),
+        COMMAND_DISPATCHER_BUNDLING("command-dispatcher-bundling", ModelType.BOOLEAN) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                // Read directly from the channel model by the command dispatcher factory, which cannot resolve expressions
+                return builder.setAllowExpression(false)
+                        .setDefaultValue(ModelNode.FALSE)
+                        ;
+            }
+        },
         STATISTICS_ENABLED(ModelDescriptionConstants.STATISTICS_ENABLED, ModelType.BOOLEAN) {
             @Override
             public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
@@ -231,6 +241,13 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
         } else {
             ResourceTransformationDescriptionBuilder builder = parent.addChildResource(WILDCARD_PATH, discardAutoGeneratedChannel);
 
+            if (JGroupsModel.VERSION_8_0_0.requiresTransformation(version)) {
+                builder.getAttributeBuilder()
+                        .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(ModelNode.FALSE), Attribute.COMMAND_DISPATCHER_BUNDLING.getDefinition())
+                        .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.COMMAND_DISPATCHER_BUNDLING.getDefinition())
+                        ;
+            }
+
             if (JGroupsModel.VERSION_4_0_0.requiresTransformation(version)) {
                 DiscardAttributeChecker discarder = new DefaultDiscardAttributeChecker(false, true) {
                     @Override
@@ -278,6 +295,7 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
         ManagementResourceRegistration registration = parent.registerSubModel(this);
 
         ServiceValueExecutorRegistry<JChannel> executors = new ServiceValueExecutorRegistry<>();
+        ServiceValueExecutorRegistry<CommandDispatcherFactory> dispatcherFactoryExecutors = new ServiceValueExecutorRegistry<>();
         ResourceDescriptor descriptor = new ResourceDescriptor(this.getResourceDescriptionResolver())
                 .addAttributes(Attribute.class)
                 .addCapabilities(Capability.class)
@@ -286,11 +304,12 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
                 .setAddOperationTransformation(new AddOperationTransformation())
                 .addRuntimeResourceRegistration(new ChannelRuntimeResourceRegistration(executors))
                 ;
-        ResourceServiceHandler handler = new ChannelServiceHandler(executors);
+        ResourceServiceHandler handler = new ChannelServiceHandler(executors, dispatcherFactoryExecutors);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
         if (registration.isRuntimeOnlyRegistrationValid()) {
             new MetricHandler<>(new ChannelMetricExecutor(executors), ChannelMetric.class).register(registration);
+            new MetricHandler<>(new CommandDispatcherMetricExecutor(dispatcherFactoryExecutors), CommandDispatcherMetric.class).register(registration);
         }
 
         new ForkResourceDefinition(executors).register(registration);
@@ -57,6 +57,7 @@ import org.wildfly.clustering.spi.CapabilityServiceNameRegistry;
 import org.wildfly.clustering.spi.ClusteringRequirement;
 import org.wildfly.clustering.spi.DistributedGroupServiceConfiguratorProvider;
 import org.wildfly.clustering.spi.GroupServiceConfiguratorProvider;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 
 /**
  * @author Paul Ferraro
@@ -64,9 +65,11 @@ import org.wildfly.clustering.spi.GroupServiceConfiguratorProvider;
 public class ChannelServiceHandler implements ResourceServiceHandler {
 
     private final ServiceValueRegistry<JChannel> registry;
+    private final ServiceValueRegistry<CommandDispatcherFactory> dispatcherFactoryRegistry;
 
-    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry) {
+    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry, ServiceValueRegistry<CommandDispatcherFactory> dispatcherFactoryRegistry) {
         this.registry = registry;
+        this.dispatcherFactoryRegistry = dispatcherFactoryRegistry;
     }
 
     @Override
@@ -98,6 +101,8 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
                 configurator.configure(context).build(target).install();
             }
         }
+
+        new ServiceValueCaptorServiceConfigurator<>(this.dispatcherFactoryRegistry.add(registry.getServiceName(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY))).build(target).install();
     }
 
     @Override
@@ -114,6 +119,8 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
 
         ServiceNameRegistry<ClusteringRequirement> registry = new CapabilityServiceNameRegistry<>(CLUSTERING_CAPABILITIES, address);
 
+        context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.dispatcherFactoryRegistry.remove(registry.getServiceName(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY))).getServiceName());
+
         for (GroupServiceConfiguratorProvider provider : ServiceLoader.load(DistributedGroupServiceConfiguratorProvider.class, DistributedGroupServiceConfiguratorProvider.class.getClassLoader())) {
             for (ServiceNameProvider configurator : provider.getServiceConfigurators(registry, name)) {
                 JGroupsLogger.ROOT_LOGGER.debugf("Removing %s for channel %s", configurator.getServiceName(), name);
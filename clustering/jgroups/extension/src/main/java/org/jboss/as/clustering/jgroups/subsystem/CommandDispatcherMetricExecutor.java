@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import org.jboss.as.clustering.controller.FunctionExecutor;
+import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.clustering.controller.MetricFunction;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.wildfly.clustering.spi.ClusteringRequirement;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
+
+/**
+ * Handler for reading run-time only command dispatcher metrics of a channel.
+ */
+public class CommandDispatcherMetricExecutor implements MetricExecutor<CommandDispatcherStatistics> {
+
+    private final FunctionExecutorRegistry<CommandDispatcherFactory> executors;
+
+    public CommandDispatcherMetricExecutor(FunctionExecutorRegistry<CommandDispatcherFactory> executors) {
+        this.executors = executors;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<CommandDispatcherStatistics> metric) throws OperationFailedException {
+        ServiceName name = ChannelResourceDefinition.CLUSTERING_CAPABILITIES.get(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY).getServiceName(context.getCurrentAddress());
+        FunctionExecutor<CommandDispatcherFactory> executor = this.executors.get(name);
+        return (executor != null) ? executor.execute(new MetricFunction<>(CommandDispatcherFactory::getStatistics, metric)) : null;
+    }
+}
@@ -40,8 +40,9 @@ public enum JGroupsSchema implements Schema<JGroupsSchema> {
     VERSION_6_0(6, 0), // WildFly 12-16
     VERSION_7_0(7, 0), // WildFly 17
     VERSION_8_0(8, 0), // WildFly 20
+    VERSION_9_0(9, 0), // WildFly 22
     ;
-    public static final JGroupsSchema CURRENT = VERSION_8_0;
+    public static final JGroupsSchema CURRENT = VERSION_9_0;
 
     private final int major;
     private final int minor;
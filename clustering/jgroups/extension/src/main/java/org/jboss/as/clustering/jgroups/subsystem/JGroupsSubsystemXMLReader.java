@@ -179,6 +179,12 @@ public class JGroupsSubsystemXMLReader implements XMLElementReader<List<ModelNod
                         break;
                     }
                 }
+                case COMMAND_DISPATCHER_BUNDLING: {
+                    if (this.schema.since(JGroupsSchema.VERSION_9_0)) {
+                        readAttribute(reader, i, operation, ChannelResourceDefinition.Attribute.COMMAND_DISPATCHER_BUNDLING);
+                        break;
+                    }
+                }
                 default: {
                     throw ParseUtils.unexpectedAttribute(reader, i);
                 }
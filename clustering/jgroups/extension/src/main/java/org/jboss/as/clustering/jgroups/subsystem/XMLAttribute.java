@@ -35,6 +35,7 @@ public enum XMLAttribute {
     CHANNEL(RemoteSiteResourceDefinition.Attribute.CHANNEL),
     CLIENT_SOCKET_BINDING(SocketProtocolResourceDefinition.Attribute.CLIENT_SOCKET_BINDING),
     CLUSTER(ChannelResourceDefinition.Attribute.CLUSTER),
+    COMMAND_DISPATCHER_BUNDLING(ChannelResourceDefinition.Attribute.COMMAND_DISPATCHER_BUNDLING),
     DATA_SOURCE(JDBCProtocolResourceDefinition.Attribute.DATA_SOURCE),
     @Deprecated DEFAULT_EXECUTOR(TransportResourceDefinition.ThreadingAttribute.DEFAULT_EXECUTOR),
     DEFAULT("default"),
@@ -371,6 +371,10 @@ public class JGroupsTransformersTestCase extends OperationTestCaseBase {
 
         PathAddress subsystemAddress = PathAddress.pathAddress(JGroupsSubsystemResourceDefinition.PATH);
 
+        if (JGroupsModel.VERSION_8_0_0.requiresTransformation(version) && !JGroupsModel.VERSION_3_0_0.requiresTransformation(version)) {
+            config.addFailedAttribute(subsystemAddress.append(ChannelResourceDefinition.pathElement("bridge")), new FailedOperationTransformationConfig.NewAttributesConfig(ChannelResourceDefinition.Attribute.COMMAND_DISPATCHER_BUNDLING.getDefinition()));
+        }
+
         if (JGroupsModel.VERSION_8_0_0.requiresTransformation(version)) {
             config.addFailedAttribute(subsystemAddress.append(StackResourceDefinition.pathElement("credentialReference1")).append(ProtocolResourceDefinition.pathElement("SYM_ENCRYPT")),
                     FailedOperationTransformationConfig.REJECTED_RESOURCE);
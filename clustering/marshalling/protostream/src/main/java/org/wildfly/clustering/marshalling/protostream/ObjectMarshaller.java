@@ -54,7 +54,7 @@ public enum ObjectMarshaller implements MarshallerProvider {
 
     @Override
     public void writeTo(ImmutableSerializationContext context, RawProtoStreamWriter writer, Object value) throws IOException {
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(this.size(context, value))) {
+        try (ByteBufferOutputStream output = ByteBufferOutputStream.reusable(this.size(context, value))) {
             ProtobufUtil.writeTo(context, output, new Any(value));
             ByteBuffer buffer = output.getBuffer();
             int offset = buffer.arrayOffset();
@@ -125,7 +125,7 @@ public class ProtoStreamObjectOutput implements ObjectOutput {
         Predictable<Any> marshaller = (AnyMarshaller) this.context.getMarshaller(Any.class);
         Any any = new Any(object);
         OptionalInt size = marshaller.size(this.context, any);
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(size.isPresent() ? OptionalInt.of(Predictable.byteArraySize(size.getAsInt())) : OptionalInt.empty())) {
+        try (ByteBufferOutputStream output = ByteBufferOutputStream.reusable(size.isPresent() ? OptionalInt.of(Predictable.byteArraySize(size.getAsInt())) : OptionalInt.empty())) {
             ProtobufUtil.writeTo(this.context, output, any);
             ByteBuffer buffer = output.getBuffer();
             int offset = buffer.arrayOffset();
@@ -53,7 +53,7 @@ public class TypedObjectMarshaller implements ProtoStreamMarshaller<Object> {
 
     @Override
     public void writeTo(ImmutableSerializationContext context, RawProtoStreamWriter writer, Object value) throws IOException {
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(objectSize(context, value))) {
+        try (ByteBufferOutputStream output = ByteBufferOutputStream.reusable(objectSize(context, value))) {
             ProtobufUtil.writeTo(context, output, value);
             ByteBuffer buffer = output.getBuffer();
             int offset = buffer.arrayOffset();
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.marshalling.protostream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+
+/**
+ * Compares the allocation rate of marshalling common session attribute types via {@link ByteBufferMarshaller#write(Object)},
+ * whose buffer is retained by the caller, with marshalling via a reusable per-thread {@link ByteBufferOutputStream}, whose buffer is consumed immediately.
+ * <p/>
+ * Run via {@link #main(String[])}, e.g. from the test classpath of this module; additional JMH command line options are honored.
+ * Allocation rates are reported by the gc.alloc.rate.norm metric of the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteBufferMarshallerBenchmark {
+
+    @Param({ "String", "Integer", "UUID", "HashMap", "ArrayList", "byte[]" })
+    public String type;
+
+    private ByteBufferMarshaller marshaller;
+    private Object value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.marshaller = new ProtoStreamByteBufferMarshaller(new SerializationContextBuilder().build());
+        this.value = createValue(this.type);
+    }
+
+    private static Object createValue(String type) {
+        switch (type) {
+            case "String":
+                return "The quick brown fox jumps over the lazy dog";
+            case "Integer":
+                return Integer.valueOf(Integer.MAX_VALUE);
+            case "UUID":
+                return UUID.randomUUID();
+            case "HashMap": {
+                Map<String, Object> map = new HashMap<>();
+                for (int i = 0; i < 16; ++i) {
+                    map.put(Integer.toString(i), UUID.randomUUID().toString());
+                }
+                return map;
+            }
+            case "ArrayList": {
+                List<Object> list = new ArrayList<>(16);
+                for (int i = 0; i < 16; ++i) {
+                    list.add(Long.valueOf(i));
+                }
+                return list;
+            }
+            case "byte[]":
+                return new byte[4096];
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+
+    @Benchmark
+    public Object write() throws IOException {
+        return this.marshaller.write(this.value);
+    }
+
+    @Benchmark
+    public int reusable() throws IOException {
+        try (ByteBufferOutputStream output = ByteBufferOutputStream.reusable(this.marshaller.size(this.value))) {
+            this.marshaller.writeTo(output, this.value);
+            return output.getBuffer().remaining();
+        }
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ByteBufferMarshallerBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -24,9 +24,11 @@ package org.wildfly.clustering.marshalling.spi;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.OptionalInt;
 
 /**
  * @author Paul Ferraro
@@ -43,7 +45,11 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         this.object = object;
     }
 
-    ByteBufferMarshalledValue(ByteBuffer buffer) {
+    /**
+     * Creates a marshalled value from its marshalled form.
+     * @param buffer the marshalled form of a value
+     */
+    public ByteBufferMarshalledValue(ByteBuffer buffer) {
         this.buffer = buffer;
     }
 
@@ -52,13 +58,46 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         return this.object;
     }
 
-    synchronized ByteBuffer getBuffer() throws IOException {
+    /**
+     * Returns the marshalled form of this value, marshalling the value, if necessary.
+     * @return the marshalled form of this value, or null, if this value is null
+     * @throws IOException if this value could not be marshalled
+     */
+    public synchronized ByteBuffer getBuffer() throws IOException {
         ByteBuffer buffer = this.buffer;
         if (buffer != null) return buffer;
         if (this.object == null) return null;
         return this.marshaller.write(this.object);
     }
 
+    /**
+     * Returns the size of the marshalled form of this value, without marshalling the value, if possible.
+     * @return the actual or predicted size of the marshalled form of this value, if known.
+     */
+    public synchronized OptionalInt size() {
+        ByteBuffer buffer = this.buffer;
+        if (buffer != null) return OptionalInt.of(buffer.limit() - buffer.arrayOffset());
+        if (this.object == null) return OptionalInt.of(0);
+        return this.marshaller.size(this.object);
+    }
+
+    /**
+     * Writes the length-prefixed marshalled form of this value to the specified output, marshalling via a reusable buffer, if necessary.
+     * @param output an output
+     * @throws IOException if this value could not be marshalled
+     */
+    synchronized void writeTo(ObjectOutput output) throws IOException {
+        ByteBuffer buffer = this.buffer;
+        if ((buffer != null) || (this.object == null)) {
+            ByteBufferMarshalledValueExternalizer.writeBuffer(output, buffer);
+        } else {
+            try (ByteBufferOutputStream stream = ByteBufferOutputStream.reusable(this.marshaller.size(this.object))) {
+                this.marshaller.writeTo(stream, this.object);
+                ByteBufferMarshalledValueExternalizer.writeBuffer(output, stream.getBuffer());
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public synchronized T get(ByteBufferMarshaller marshaller) throws IOException {
@@ -107,7 +146,7 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
 
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
-        ByteBufferMarshalledValueExternalizer.writeBuffer(out, this.getBuffer());
+        this.writeTo(out);
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -60,7 +60,7 @@ public class ByteBufferMarshalledValueExternalizer implements Externalizer<ByteB
 
     @Override
     public void writeObject(ObjectOutput output, ByteBufferMarshalledValue<Object> object) throws IOException {
-        writeBuffer(output, object.getBuffer());
+        object.writeTo(output);
     }
 
     @SuppressWarnings("unchecked")
@@ -71,6 +71,12 @@ public class ByteBufferMarshalledValueExternalizer implements Externalizer<ByteB
 
     @Override
     public OptionalInt size(ByteBufferMarshalledValue<Object> value) {
+        // Avoid marshalling the value solely to compute its size, if its size is predictable
+        OptionalInt size = value.size();
+        if (size.isPresent()) {
+            int length = size.getAsInt();
+            return OptionalInt.of(IndexSerializer.VARIABLE.size(length) + length);
+        }
         try {
             ByteBuffer buffer = value.getBuffer();
             int length = (buffer != null) ? buffer.limit() - buffer.arrayOffset() : 0;
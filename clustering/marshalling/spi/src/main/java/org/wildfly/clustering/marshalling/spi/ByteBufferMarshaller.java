@@ -51,7 +51,9 @@ public interface ByteBufferMarshaller extends Marshaller<Object, ByteBuffer> {
     @Override
     default ByteBuffer write(Object object) throws IOException {
         OptionalInt size = this.size(object);
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
+        // If size is predictable, marshal directly to a buffer of the predicted size
+        // Otherwise, marshal to a reusable buffer, and copy to a buffer of the exact size, to avoid the garbage generated by repeated buffer expansion
+        try (ByteBufferOutputStream output = size.isPresent() ? new ByteBufferOutputStream(size) : ByteBufferOutputStream.reusable(size)) {
             this.writeTo(output, object);
             ByteBuffer buffer = output.getBuffer();
             if (size.isPresent()) {
@@ -62,6 +64,7 @@ public interface ByteBufferMarshaller extends Marshaller<Object, ByteBuffer> {
                 }
             } else {
                 LOGGER.tracef("Buffer size prediction missing for %s (%s)", object, (object != null) ? object.getClass().getCanonicalName() : null);
+                return ByteBuffer.wrap(output.toByteArray());
             }
             return buffer;
         }
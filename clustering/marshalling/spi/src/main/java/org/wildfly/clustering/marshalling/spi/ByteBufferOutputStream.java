@@ -28,20 +28,55 @@ import java.util.OptionalInt;
 
 /**
  * A specialized ByteArrayOutputStream that exposes the internal buffer.
+ * Output streams obtained via {@link #reusable(OptionalInt)} share a per-thread buffer, which is recycled when the stream is closed.
  * @author Paul Ferraro
  */
 public final class ByteBufferOutputStream extends ByteArrayOutputStream {
 
+    private static final int DEFAULT_SIZE = 512;
+    // Larger buffers are not retained for reuse, to bound the memory retained per thread
+    static final int MAX_REUSABLE_SIZE = 32 * 1024;
+    private static final ThreadLocal<ByteBufferOutputStream> REUSABLE = new ThreadLocal<>();
+
+    /**
+     * Returns an output stream backed by a reusable per-thread buffer, with sufficient capacity for the specified size, if present.
+     * The buffer of the returned output stream must no longer be referenced once the output stream is closed.
+     * If the reusable buffer of the current thread is already in use, e.g. during nested marshalling, a new buffer is allocated.
+     * @param size the predicted size of the output
+     * @return an output stream, which must be closed to recycle its buffer.
+     */
+    public static ByteBufferOutputStream reusable(OptionalInt size) {
+        ByteBufferOutputStream output = REUSABLE.get();
+        if (output == null) {
+            return new ByteBufferOutputStream(size.orElse(DEFAULT_SIZE), true);
+        }
+        // Mark as in use
+        REUSABLE.set(null);
+        output.closed = false;
+        if (size.isPresent() && (size.getAsInt() > output.buf.length)) {
+            output.buf = new byte[size.getAsInt()];
+        }
+        return output;
+    }
+
+    private final boolean reusable;
+    private boolean closed = false;
+
     public ByteBufferOutputStream() {
         this(OptionalInt.empty());
     }
 
     public ByteBufferOutputStream(OptionalInt size) {
-        this(size.orElse(512));
+        this(size.orElse(DEFAULT_SIZE));
     }
 
     public ByteBufferOutputStream(int size) {
+        this(size, false);
+    }
+
+    private ByteBufferOutputStream(int size, boolean reusable) {
         super(size);
+        this.reusable = reusable;
     }
 
     /**
@@ -51,4 +86,16 @@ public final class ByteBufferOutputStream extends ByteArrayOutputStream {
     public ByteBuffer getBuffer() {
         return ByteBuffer.wrap(this.buf, 0, this.count);
     }
+
+    @Override
+    public void close() {
+        // Guard against recycling the buffer more than once
+        if (this.reusable && !this.closed) {
+            this.closed = true;
+            if ((this.buf.length <= MAX_REUSABLE_SIZE) && (REUSABLE.get() == null)) {
+                this.reset();
+                REUSABLE.set(this);
+            }
+        }
+    }
 }
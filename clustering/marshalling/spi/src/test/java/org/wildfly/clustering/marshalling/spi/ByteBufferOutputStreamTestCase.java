@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.marshalling.spi;
+
+import java.util.OptionalInt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Validates recycling of {@link ByteBufferOutputStream#reusable(OptionalInt)} buffers.
+ */
+public class ByteBufferOutputStreamTestCase {
+
+    @Test
+    public void reuse() {
+        ByteBufferOutputStream output = ByteBufferOutputStream.reusable(OptionalInt.empty());
+        output.write(1);
+        // Nested use while the reusable buffer is in use must not share it
+        ByteBufferOutputStream nested = ByteBufferOutputStream.reusable(OptionalInt.empty());
+        Assert.assertNotSame(output, nested);
+        nested.close();
+        output.close();
+
+        ByteBufferOutputStream reused = ByteBufferOutputStream.reusable(OptionalInt.of(1024));
+        Assert.assertTrue(reused == output || reused == nested);
+        Assert.assertEquals(0, reused.getBuffer().remaining());
+        Assert.assertTrue(reused.getBuffer().capacity() >= 1024);
+        reused.close();
+        // Closing more than once must not recycle the same buffer twice
+        reused.close();
+        Assert.assertSame(reused, ByteBufferOutputStream.reusable(OptionalInt.empty()));
+        Assert.assertNotSame(reused, ByteBufferOutputStream.reusable(OptionalInt.empty()));
+    }
+
+    @Test
+    public void oversized() {
+        ByteBufferOutputStream output = ByteBufferOutputStream.reusable(OptionalInt.of(ByteBufferOutputStream.MAX_REUSABLE_SIZE + 1));
+        output.close();
+        Assert.assertNotSame(output, ByteBufferOutputStream.reusable(OptionalInt.empty()));
+    }
+
+    @Test
+    public void unpooled() {
+        ByteBufferOutputStream output = new ByteBufferOutputStream();
+        output.close();
+        Assert.assertNotSame(output, ByteBufferOutputStream.reusable(OptionalInt.empty()));
+    }
+}
@@ -26,7 +26,10 @@ import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -75,18 +78,23 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     private final CommandDispatcher<CC> localDispatcher;
     private final Runnable closeTask;
     private final Address localAddress;
+    private final Message.Flag[] flags;
     private final RequestOptions options;
+    private final RecordableCommandDispatcherStatistics statistics;
 
-    public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
+    public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, boolean bundling, RecordableCommandDispatcherStatistics statistics, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
         this.dispatcher = dispatcher;
         this.marshaller = marshaller;
         this.context = context;
         this.group = group;
         this.timeout = timeout;
+        this.statistics = statistics;
         this.localDispatcher = localDispatcher;
         this.closeTask = closeTask;
         this.localAddress = dispatcher.getChannel().getAddress();
-        this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
+        // If bundling is enabled, commands to the same member may be coalesced by the transport into a single message batch
+        this.flags = bundling ? new Message.Flag[] { Message.Flag.OOB } : new Message.Flag[] { Message.Flag.DONT_BUNDLE, Message.Flag.OOB };
+        this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, this.flags);
     }
 
     @Override
@@ -106,49 +114,97 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         if (this.localAddress.equals(address)) {
             return this.localDispatcher.executeOnMember(command, member);
         }
-        Buffer buffer = this.createBuffer(command);
-        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-        return request.send(buffer);
+        return this.send(command, address);
     }
 
     @Override
     public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
         Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
         Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
-        Buffer buffer = this.createBuffer(command);
+        Map<Address, Node> targets = new HashMap<>();
+        Node localMember = null;
         for (Node member : this.group.getMembership().getMembers()) {
             if (!excluded.contains(member)) {
                 Address address = this.group.getAddress(member);
                 if (this.localAddress.equals(address)) {
-                    results.put(member, this.localDispatcher.executeOnMember(command, member));
+                    // Local member will execute the command directly
+                    localMember = member;
                 } else {
-                    try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-                        CompletionStage<R> future = request.send(buffer);
-                        results.put(member, future);
-                        future.whenComplete(new PruneCancellationTask<>(results, member));
-                    } catch (CommandDispatcherException e) {
-                        // Cancel previously dispatched messages
-                        for (CompletionStage<R> result : results.values()) {
-                            result.toCompletableFuture().cancel(true);
-                        }
-                        throw e;
-                    }
+                    targets.put(address, member);
+                }
+            }
+        }
+        if (targets.size() == 1) {
+            // Unicast to a single member
+            Map.Entry<Address, Node> target = targets.entrySet().iterator().next();
+            CompletionStage<R> future = this.send(command, target.getKey());
+            results.put(target.getValue(), future);
+            future.whenComplete(new PruneCancellationTask<>(results, target.getValue()));
+        } else if (!targets.isEmpty()) {
+            // Send a single multicast to all target members
+            // The multicast must not reach any view member that is not a target, e.g. the local member, an excluded member, or a channel member outside of the group membership
+            List<Address> exclusions = new LinkedList<>();
+            for (Address address : this.dispatcher.getChannel().getView().getMembers()) {
+                if (!targets.containsKey(address)) {
+                    exclusions.add(address);
                 }
             }
+            RequestOptions options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, this.flags).exclusionList(exclusions.toArray(new Address[exclusions.size()]));
+            ServiceGroupRequest<R, MC> request = new ServiceGroupRequest<>(this.dispatcher.getCorrelator(), targets.keySet(), options, this.context);
+            Buffer buffer = this.createBuffer(command);
+            long start = System.nanoTime();
+            for (Map.Entry<Address, CompletionStage<R>> entry : request.send(buffer).entrySet()) {
+                Node member = targets.get(entry.getKey());
+                CompletionStage<R> future = entry.getValue();
+                results.put(member, future);
+                future.whenComplete(new PruneCancellationTask<>(results, member));
+                future.whenComplete(new RecordStatisticsTask<>(this.statistics, start));
+            }
+        }
+        // Execute locally after dispatching to remote members, so that these execute concurrently
+        if (localMember != null) {
+            results.put(localMember, this.localDispatcher.executeOnMember(command, localMember));
         }
         return results;
     }
 
+    private <R> CompletionStage<R> send(Command<R, ? super CC> command, Address address) throws CommandDispatcherException {
+        Buffer buffer = this.createBuffer(command);
+        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), address, this.options, this.context);
+        long start = System.nanoTime();
+        CompletionStage<R> future = request.send(buffer);
+        future.whenComplete(new RecordStatisticsTask<>(this.statistics, start));
+        return future;
+    }
+
     private <R> Buffer createBuffer(Command<R, ? super CC> command) {
         try {
             ByteBuffer buffer = this.marshaller.marshal(command);
-            return new Buffer(buffer.array(), buffer.arrayOffset(), buffer.limit() - buffer.arrayOffset());
+            // Wrap the marshalled buffer as is, without copying
+            return new Buffer(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
+    private static class RecordStatisticsTask<T> implements BiConsumer<T, Throwable> {
+        private final RecordableCommandDispatcherStatistics statistics;
+        private final long start;
+
+        RecordStatisticsTask(RecordableCommandDispatcherStatistics statistics, long start) {
+            this.statistics = statistics;
+            this.start = start;
+        }
+
+        @Override
+        public void accept(T result, Throwable exception) {
+            // Cancelled commands were either never executed or never responded
+            if (!(exception instanceof CancellationException)) {
+                this.statistics.record(exception != null, System.nanoTime() - this.start);
+            }
+        }
+    }
+
     private static class PruneCancellationTask<T> implements BiConsumer<T, Throwable> {
         private final Map<Node, CompletionStage<T>> results;
         private final Node member;
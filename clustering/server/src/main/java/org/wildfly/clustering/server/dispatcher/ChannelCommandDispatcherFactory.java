@@ -82,6 +82,7 @@ import org.wildfly.clustering.server.group.AddressableNode;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 import org.wildfly.clustering.service.concurrent.ServiceExecutor;
 import org.wildfly.clustering.service.concurrent.StampedLockServiceExecutor;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
 import org.wildfly.common.function.ExceptionSupplier;
 import org.wildfly.common.function.Functions;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -121,15 +122,18 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private final ServiceExecutor executor = new StampedLockServiceExecutor();
     private final Map<GroupListener, ExecutorService> listeners = new ConcurrentHashMap<>();
     private final AtomicReference<View> view = new AtomicReference<>();
+    private final RecordableCommandDispatcherStatistics statistics = new RecordableCommandDispatcherStatistics();
     private final ByteBufferMarshaller marshaller;
     private final MessageDispatcher dispatcher;
     private final Duration timeout;
+    private final boolean bundling;
     private final ModuleLoader loader;
 
     @SuppressWarnings("resource")
     public ChannelCommandDispatcherFactory(ChannelCommandDispatcherFactoryConfiguration config) {
         this.marshaller = config.getMarshaller();
         this.timeout = config.getTimeout();
+        this.bundling = config.isBundlingEnabled();
         this.loader = config.getModuleLoader();
         JChannel channel = config.getChannel();
         RequestCorrelator correlator = new RequestCorrelator(channel.getProtocolStack(), this, channel.getAddress()).setMarshaller(new CommandResponseMarshaller(config));
@@ -226,6 +230,11 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         return this;
     }
 
+    @Override
+    public CommandDispatcherStatistics getStatistics() {
+        return this.statistics;
+    }
+
     @Override
     public <C> CommandDispatcher<C> createCommandDispatcher(Object id, C commandContext, ClassLoader loader) {
         ByteBufferMarshaller dispatcherMarshaller = this.createMarshaller(loader);
@@ -252,7 +261,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         }
         CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, factory);
         CommandDispatcher<C> localDispatcher = new LocalCommandDispatcher<>(this.getLocalMember(), commandContext);
-        return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, localDispatcher, () -> {
+        return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, this.bundling, this.statistics, localDispatcher, () -> {
             localDispatcher.close();
             this.contexts.remove(id);
         });
@@ -37,5 +37,13 @@ public interface ChannelCommandDispatcherFactoryConfiguration {
     JChannel getChannel();
     ByteBufferMarshaller getMarshaller();
     Duration getTimeout();
+
+    /**
+     * Indicates whether commands may be bundled by the transport with other messages to the same destination, trading latency for throughput.
+     * @return true, if commands may be bundled, false otherwise
+     */
+    default boolean isBundlingEnabled() {
+        return false;
+    }
     ModuleLoader getModuleLoader();
 }
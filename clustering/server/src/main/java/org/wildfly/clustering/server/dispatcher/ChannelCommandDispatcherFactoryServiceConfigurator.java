@@ -28,6 +28,8 @@ import java.util.function.Supplier;
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
 import org.jboss.as.clustering.function.Consumers;
 import org.jboss.as.clustering.function.Functions;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.server.Services;
 import org.jboss.modules.Module;
@@ -58,6 +60,9 @@ import org.wildfly.clustering.service.SupplierDependency;
  */
 public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleServiceNameProvider implements CapabilityServiceConfigurator, ChannelCommandDispatcherFactoryConfiguration, MarshallingConfigurationContext, Supplier<AutoCloseableCommandDispatcherFactory> {
 
+    // n.b. we need to hard-code the attribute name of the channel resource, otherwise we would end up with a cyclical dependency
+    private static final String BUNDLING = "command-dispatcher-bundling";
+
     private final String group;
 
     private volatile SupplierDependency<ChannelFactory> channelFactory;
@@ -65,6 +70,7 @@ public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleSe
     private volatile SupplierDependency<Module> module;
     private volatile Supplier<ModuleLoader> loader;
     private volatile Duration timeout = Duration.ofMinutes(1);
+    private volatile boolean bundling = false;
 
     public ChannelCommandDispatcherFactoryServiceConfigurator(ServiceName name, String group) {
         super(name);
@@ -76,6 +82,13 @@ public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleSe
         return new ManagedCommandDispatcherFactory(new ChannelCommandDispatcherFactory(this));
     }
 
+    @Override
+    public ServiceConfigurator configure(OperationContext context) {
+        // Current address is that of the channel resource
+        this.bundling = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel().get(BUNDLING).asBoolean(false);
+        return this.configure(context.getCapabilityServiceSupport());
+    }
+
     @Override
     public ServiceConfigurator configure(CapabilityServiceSupport support) {
         this.channel = new ServiceSupplierDependency<>(JGroupsRequirement.CHANNEL.getServiceName(support, this.group));
@@ -123,6 +136,11 @@ public class ChannelCommandDispatcherFactoryServiceConfigurator extends SimpleSe
         return this.timeout;
     }
 
+    @Override
+    public boolean isBundlingEnabled() {
+        return this.bundling;
+    }
+
     @Override
     public ChannelFactory getChannelFactory() {
         return this.channelFactory.get();
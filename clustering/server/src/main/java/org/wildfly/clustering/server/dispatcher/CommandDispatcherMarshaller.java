@@ -28,6 +28,7 @@ import java.util.AbstractMap;
 import java.util.Map;
 
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
@@ -51,6 +52,10 @@ public class CommandDispatcherMarshaller<C, MC> implements CommandMarshaller<C>
     public <R> ByteBuffer marshal(Command<R, ? super C> command) throws IOException {
         MarshalledValue<Command<R, ? super C>, MC> value = this.factory.createMarshalledValue(command);
         Map.Entry<Object, MarshalledValue<Command<R, ? super C>, MC>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
-        return this.marshaller.write(entry);
+        // Marshal to a dedicated buffer that is handed off to the channel as is, rather than copying it to a buffer of the exact size
+        try (ByteBufferOutputStream output = new ByteBufferOutputStream(this.marshaller.size(entry))) {
+            this.marshaller.writeTo(output, entry);
+            return output.getBuffer();
+        }
     }
 }
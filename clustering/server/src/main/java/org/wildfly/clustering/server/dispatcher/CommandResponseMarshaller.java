@@ -29,6 +29,7 @@ import java.nio.ByteBuffer;
 import org.wildfly.clustering.jgroups.spi.ChannelFactory;
 import org.wildfly.clustering.marshalling.spi.IndexSerializer;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
 
 /**
  * Marshalling strategy for the command response.
@@ -47,11 +48,14 @@ public class CommandResponseMarshaller implements org.jgroups.blocks.Marshaller
 
     @Override
     public void objectToStream(Object object, DataOutput stream) throws IOException {
-        ByteBuffer buffer = this.marshaller.write(object);
-
-        int length = buffer.limit() - buffer.arrayOffset();
-        IndexSerializer.VARIABLE.writeInt(stream, length);
-        stream.write(buffer.array(), buffer.arrayOffset(), length);
+        // Response is copied to the stream, so marshal via a reusable buffer
+        try (ByteBufferOutputStream output = ByteBufferOutputStream.reusable(this.marshaller.size(object))) {
+            this.marshaller.writeTo(output, object);
+            ByteBuffer buffer = output.getBuffer();
+            int length = buffer.limit() - buffer.arrayOffset();
+            IndexSerializer.VARIABLE.writeInt(stream, length);
+            stream.write(buffer.array(), buffer.arrayOffset(), length);
+        }
     }
 
     @Override
@@ -30,6 +30,7 @@ import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
 
 /**
  * A {@link CommandDispatcherFactory} decorator that allows multiple invocations of {@link #createCommandDispatcher(Object, Object)} for a given identifier,
@@ -56,6 +57,11 @@ public class ManagedCommandDispatcherFactory implements AutoCloseableCommandDisp
         return this.factory.getGroup();
     }
 
+    @Override
+    public CommandDispatcherStatistics getStatistics() {
+        return this.factory.getStatistics();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <C> CommandDispatcher<C> createCommandDispatcher(Object id, C context, ClassLoader loader) {
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
+
+/**
+ * Records the number, outcome, and duration of commands dispatched to remote members.
+ */
+public class RecordableCommandDispatcherStatistics implements CommandDispatcherStatistics {
+
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder failedCommands = new LongAdder();
+    private final LongAdder commandTime = new LongAdder();
+    private final LongAccumulator maxCommandTime = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records the completion of a command dispatched to a remote member.
+     * @param failed indicates whether the execution of the command failed
+     * @param duration the duration between dispatching the command and receiving its response, in nanoseconds
+     */
+    public void record(boolean failed, long duration) {
+        this.commands.increment();
+        if (failed) {
+            this.failedCommands.increment();
+        }
+        this.commandTime.add(duration);
+        this.maxCommandTime.accumulate(duration);
+    }
+
+    @Override
+    public long getRemoteCommandCount() {
+        return this.commands.sum();
+    }
+
+    @Override
+    public long getFailedRemoteCommandCount() {
+        return this.failedCommands.sum();
+    }
+
+    @Override
+    public Duration getMeanRemoteCommandTime() {
+        long count = this.commands.sum();
+        return (count > 0) ? Duration.ofNanos(this.commandTime.sum() / count) : Duration.ZERO;
+    }
+
+    @Override
+    public Duration getMaxRemoteCommandTime() {
+        return Duration.ofNanos(this.maxCommandTime.get());
+    }
+}
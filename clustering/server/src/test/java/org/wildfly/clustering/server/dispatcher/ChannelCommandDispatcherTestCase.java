@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.View;
+import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.Request;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.jgroups.util.UUID;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Membership;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.spi.group.Group;
+
+/**
+ * Unit test for {@link ChannelCommandDispatcher}.
+ */
+public class ChannelCommandDispatcherTestCase {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void executeOnGroup() throws Exception {
+        MessageDispatcher messageDispatcher = mock(MessageDispatcher.class);
+        JChannel channel = mock(JChannel.class);
+        RequestCorrelator correlator = mock(RequestCorrelator.class);
+        CommandMarshaller<String> marshaller = mock(CommandMarshaller.class);
+        Group<Address> group = mock(Group.class);
+        Membership membership = mock(Membership.class);
+        CommandDispatcher<String> localDispatcher = mock(CommandDispatcher.class);
+        Command<String, String> command = mock(Command.class);
+        String context = "context";
+
+        Address localAddress = UUID.randomUUID();
+        Address address1 = UUID.randomUUID();
+        Address address2 = UUID.randomUUID();
+        Address excludedAddress = UUID.randomUUID();
+        // Channel member that is not a member of the group
+        Address nonMemberAddress = UUID.randomUUID();
+        Node localMember = mock(Node.class);
+        Node member1 = mock(Node.class);
+        Node member2 = mock(Node.class);
+        Node excludedMember = mock(Node.class);
+
+        when(messageDispatcher.getChannel()).thenReturn(channel);
+        when(messageDispatcher.getCorrelator()).thenReturn(correlator);
+        when(channel.getAddress()).thenReturn(localAddress);
+        when(channel.getView()).thenReturn(View.create(localAddress, 1, localAddress, address1, address2, excludedAddress, nonMemberAddress));
+        when(group.getMembership()).thenReturn(membership);
+        when(membership.getMembers()).thenReturn(Arrays.asList(localMember, member1, member2, excludedMember));
+        when(group.getAddress(localMember)).thenReturn(localAddress);
+        when(group.getAddress(member1)).thenReturn(address1);
+        when(group.getAddress(member2)).thenReturn(address2);
+        when(group.getAddress(excludedMember)).thenReturn(excludedAddress);
+        when(marshaller.marshal(command)).thenReturn(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        CompletionStage<String> localResponse = CompletableFuture.completedFuture("local");
+        when(localDispatcher.executeOnMember(command, localMember)).thenReturn(localResponse);
+
+        ChannelCommandDispatcher<String, String> dispatcher = new ChannelCommandDispatcher<>(messageDispatcher, marshaller, context, group, Duration.ofMinutes(1), false, new RecordableCommandDispatcherStatistics(), localDispatcher, mock(Runnable.class));
+
+        Map<Node, CompletionStage<String>> results = dispatcher.executeOnGroup(command, excludedMember);
+
+        assertEquals(new HashSet<>(Arrays.asList(localMember, member1, member2)), results.keySet());
+        assertSame(localResponse, results.get(localMember));
+
+        // Remote members are targeted via a single multicast
+        ArgumentCaptor<Collection<Address>> capturedTargets = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Request<?>> capturedRequest = ArgumentCaptor.forClass(Request.class);
+        ArgumentCaptor<RequestOptions> capturedOptions = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(correlator).sendRequest(capturedTargets.capture(), any(Buffer.class), capturedRequest.capture(), capturedOptions.capture());
+        verify(correlator, never()).sendUnicastRequest(any(), any(), any(), any());
+
+        assertEquals(new HashSet<>(Arrays.asList(address1, address2)), new HashSet<>(capturedTargets.getValue()));
+        // Multicast must not reach the local member, the excluded member, nor any channel member outside of the group
+        assertEquals(new HashSet<>(Arrays.asList(localAddress, excludedAddress, nonMemberAddress)), new HashSet<>(Arrays.asList(capturedOptions.getValue().exclusionList())));
+
+        MarshalledValue<String, String> value = mock(MarshalledValue.class);
+        when(value.get(context)).thenReturn("result1");
+
+        Request<?> request = capturedRequest.getValue();
+        request.receiveResponse(value, address1, false);
+        request.receiveResponse(NoSuchService.INSTANCE, address2, false);
+
+        assertEquals("result1", results.get(member1).toCompletableFuture().join());
+        // Members on which the service is not installed are pruned from the results
+        assertFalse(results.containsKey(member2));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RecordableCommandDispatcherStatistics}.
+ */
+public class RecordableCommandDispatcherStatisticsTestCase {
+
+    @Test
+    public void test() {
+        RecordableCommandDispatcherStatistics statistics = new RecordableCommandDispatcherStatistics();
+
+        assertEquals(0L, statistics.getRemoteCommandCount());
+        assertEquals(0L, statistics.getFailedRemoteCommandCount());
+        assertEquals(Duration.ZERO, statistics.getMeanRemoteCommandTime());
+        assertEquals(Duration.ZERO, statistics.getMaxRemoteCommandTime());
+
+        statistics.record(false, 100L);
+        statistics.record(false, 300L);
+        statistics.record(true, 800L);
+
+        assertEquals(3L, statistics.getRemoteCommandCount());
+        assertEquals(1L, statistics.getFailedRemoteCommandCount());
+        assertEquals(Duration.ofNanos(400L), statistics.getMeanRemoteCommandTime());
+        assertEquals(Duration.ofNanos(800L), statistics.getMaxRemoteCommandTime());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.jgroups.util.UUID;
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+
+/**
+ * Unit test for {@link ServiceGroupRequest}.
+ */
+public class ServiceGroupRequestTestCase {
+
+    private final RequestCorrelator correlator = mock(RequestCorrelator.class);
+    private final Address local = UUID.randomUUID();
+    private final Address member1 = UUID.randomUUID();
+    private final Address member2 = UUID.randomUUID();
+    private final Address member3 = UUID.randomUUID();
+    private final Address nonMember = UUID.randomUUID();
+
+    @Test
+    public void receiveResponse() throws Exception {
+        String context = "context";
+        ServiceGroupRequest<String, String> request = new ServiceGroupRequest<>(this.correlator, Arrays.asList(this.member1, this.member2, this.member3), RequestOptions.SYNC(), context);
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        assertEquals(3, responses.size());
+        assertFalse(responses.containsKey(this.nonMember));
+
+        MarshalledValue<String, String> value = mock(MarshalledValue.class);
+        when(value.get(context)).thenReturn("result");
+
+        // Responses of non-target members are ignored
+        request.receiveResponse(value, this.nonMember, false);
+        for (CompletionStage<String> response : responses.values()) {
+            assertFalse(response.toCompletableFuture().isDone());
+        }
+
+        request.receiveResponse(value, this.member1, false);
+        assertEquals("result", responses.get(this.member1).toCompletableFuture().join());
+
+        request.receiveResponse(NoSuchService.INSTANCE, this.member2, false);
+        assertTrue(responses.get(this.member2).toCompletableFuture().isCancelled());
+
+        Exception exception = new Exception();
+        request.receiveResponse(exception, this.member3, true);
+        try {
+            responses.get(this.member3).toCompletableFuture().get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(exception, e.getCause());
+        }
+
+        // Request is no longer correlated once all responses are complete
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void viewChange() throws CommandDispatcherException {
+        ServiceGroupRequest<String, String> request = new ServiceGroupRequest<>(this.correlator, Arrays.asList(this.member1, this.member2), RequestOptions.SYNC(), "context");
+        Map<Address, CompletionStage<String>> responses = request.send(new Buffer(new byte[0]));
+
+        // Departed members will never respond
+        request.viewChange(View.create(this.local, 2, this.local, this.member1));
+
+        assertTrue(responses.get(this.member2).toCompletableFuture().isCancelled());
+        assertFalse(responses.get(this.member1).toCompletableFuture().isDone());
+    }
+}
@@ -36,4 +36,12 @@ public interface CommandDispatcherFactory extends org.wildfly.clustering.dispatc
     }
 
     <C> CommandDispatcher<C> createCommandDispatcher(Object id, C context, ClassLoader loader);
+
+    /**
+     * Returns statistics for the commands dispatched to remote members by the command dispatchers created by this factory, if supported.
+     * @return statistics for remotely dispatched commands, or null, if unsupported
+     */
+    default CommandDispatcherStatistics getStatistics() {
+        return null;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.spi.dispatcher;
+
+import java.time.Duration;
+
+/**
+ * Statistics for commands dispatched to remote members of a group.
+ */
+public interface CommandDispatcherStatistics {
+
+    /**
+     * @return The number of commands dispatched to remote members whose execution has completed
+     */
+    long getRemoteCommandCount();
+
+    /**
+     * @return The number of commands dispatched to remote members whose execution failed
+     */
+    long getFailedRemoteCommandCount();
+
+    /**
+     * @return The average duration between the dispatching of a command to a remote member and the receipt of its response
+     */
+    Duration getMeanRemoteCommandTime();
+
+    /**
+     * @return The maximum duration between the dispatching of a command to a remote member and the receipt of its response
+     */
+    Duration getMaxRemoteCommandTime();
+}
@@ -22,8 +22,12 @@
 package org.wildfly.clustering.web.cache.session.coarse;
 
 import java.io.NotSerializableException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
@@ -38,17 +42,30 @@ import org.wildfly.clustering.web.cache.session.SessionAttributes;
  */
 public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes implements SessionAttributes {
     private final Map<String, Object> attributes;
-    private final Mutator mutator;
+    private final Function<Set<String>, Mutator> mutatorFactory;
     private final Marshallability marshallability;
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionActivationNotifier notifier;
-    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final Set<String> updates = ConcurrentHashMap.newKeySet();
 
     public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
+        this(attributes, updates -> mutator, marshallability, immutability, properties, notifier);
+    }
+
+    /**
+     * Creates the session attributes of a coarse granularity session whose mutator is created, on close, from the names of the updated attributes.
+     * @param attributes the session attributes
+     * @param mutatorFactory a factory for creating a mutator for the set of attribute names updated since the previous mutation
+     * @param marshallability the marshallability of attribute values
+     * @param immutability the immutability of attribute values
+     * @param properties the cache properties
+     * @param notifier the session activation notifier
+     */
+    public CoarseSessionAttributes(Map<String, Object> attributes, Function<Set<String>, Mutator> mutatorFactory, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
         super(attributes);
         this.attributes = attributes;
-        this.mutator = mutator;
+        this.mutatorFactory = mutatorFactory;
         this.marshallability = marshallability;
         this.immutability = immutability;
         this.properties = properties;
@@ -62,7 +79,7 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     public Object removeAttribute(String name) {
         Object value = this.attributes.remove(name);
         if (value != null) {
-            this.dirty.set(true);
+            this.updates.add(name);
         }
         return value;
     }
@@ -77,7 +94,7 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
         }
         Object old = this.attributes.put(name, value);
         // Always trigger mutation, even if this is an immutable object that was previously retrieved via getAttribute(...)
-        this.dirty.set(true);
+        this.updates.add(name);
         return old;
     }
 
@@ -85,7 +102,7 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     public Object getAttribute(String name) {
         Object value = this.attributes.get(name);
         if (!this.immutability.test(value)) {
-            this.dirty.set(true);
+            this.updates.add(name);
         }
         return value;
     }
@@ -96,8 +113,15 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
             this.notifier.prePassivate();
         }
 
-        if (this.dirty.compareAndSet(true, false)) {
-            this.mutator.mutate();
+        // Drain the updated attribute names, such that names updated concurrently are retained for a subsequent mutation
+        Set<String> updates = new HashSet<>();
+        Iterator<String> names = this.updates.iterator();
+        while (names.hasNext()) {
+            updates.add(names.next());
+            names.remove();
+        }
+        if (!updates.isEmpty()) {
+            this.mutatorFactory.apply(updates).mutate();
         }
     }
 }
@@ -40,9 +40,15 @@ public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAtt
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
     private final Marshaller<Object, V> marshaller;
+    private final Map<K, Object> prefetched;
 
     public FineImmutableSessionAttributes(Map<String, UUID> names, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller) {
+        this(names, Collections.emptyMap(), keyFactory, attributeCache, marshaller);
+    }
+
+    public FineImmutableSessionAttributes(Map<String, UUID> names, Map<K, Object> prefetched, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller) {
         this.names = Collections.unmodifiableMap(names);
+        this.prefetched = prefetched;
         this.keyFactory = keyFactory;
         this.attributeCache = attributeCache;
         this.marshaller = marshaller;
@@ -58,7 +64,8 @@ public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAtt
         UUID attributeId = this.names.get(name);
         if (attributeId == null) return null;
         K key = this.keyFactory.apply(attributeId);
-        return this.read(this.attributeCache.get(key));
+        Object value = this.prefetched.get(key);
+        return (value != null) ? value : this.read(this.attributeCache.get(key));
     }
 
     private Object read(V value) {
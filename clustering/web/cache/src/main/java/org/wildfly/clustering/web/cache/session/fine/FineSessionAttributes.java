@@ -53,6 +53,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
     private final Map<K, Optional<Object>> mutations = new ConcurrentHashMap<>();
+    private final Map<K, Object> prefetched;
     private final Marshaller<Object, V> marshaller;
     private final MutatorFactory<K, V> mutatorFactory;
     private final Immutability immutability;
@@ -62,7 +63,16 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     private volatile Map<String, UUID> names;
 
     public FineSessionAttributes(NK key, Map<String, UUID> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier) {
+        this(key, names, Collections.emptyMap(), namesCache, keyFactory, attributeCache, marshaller, mutatorFactory, immutability, properties, notifier);
+    }
+
+    /**
+     * Creates session attributes using the specified prefetched attribute values.
+     * The prefetched map is retained, rather than copied, and is consumed by these session attributes, so must be thread-safe, unless empty.
+     */
+    public FineSessionAttributes(NK key, Map<String, UUID> names, Map<K, Object> prefetched, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier) {
         this.key = key;
+        this.prefetched = prefetched;
         this.setNames(names);
         this.namesCache = namesCache;
         this.keyFactory = keyFactory;
@@ -82,6 +92,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteMapRemoveFunction<>(name) : new ConcurrentMapRemoveFunction<>(name)));
 
         K key = this.keyFactory.apply(attributeId);
+        this.prefetched.remove(key);
         Object result = this.read(this.attributeCache.remove(key));
         if (result != null) {
             this.mutations.remove(key);
@@ -110,6 +121,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
         K key = this.keyFactory.apply(attributeId);
         V value = this.write(attribute);
+        this.prefetched.remove(key);
 
         if (this.properties.isPersistent()) {
             this.notifier.prePassivate(attribute);
@@ -152,8 +164,11 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
             return mutableValue.get();
         }
 
-        V value = this.attributeCache.get(key);
-        Object result = this.read(value);
+        // Use prefetched value, if present, to avoid an additional cache read
+        Object result = this.prefetched.get(key);
+        if (result == null) {
+            result = this.read(this.attributeCache.get(key));
+        }
         if (result != null) {
             if (this.properties.isPersistent()) {
                 this.notifier.postActivate(result);
@@ -185,6 +200,8 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
             }
         }
         this.mutations.clear();
+        // Discard any unused prefetched values
+        this.prefetched.clear();
     }
 
     private void setNames(Map<String, UUID> names) {
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.cache.session.coarse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshallability;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+
+/**
+ * Unit test for {@link CoarseSessionAttributes}.
+ */
+public class CoarseSessionAttributesTestCase {
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final List<Set<String>> updates = new ArrayList<>();
+    private final Mutator mutator = mock(Mutator.class);
+    private final Marshallability marshallability = mock(Marshallability.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionActivationNotifier notifier = mock(SessionActivationNotifier.class);
+
+    @Test
+    public void dirtyTracking() {
+        Object mutableValue = new Object();
+        this.attributes.put("immutable", "immutable-value");
+        this.attributes.put("mutable", mutableValue);
+        when(this.immutability.test("immutable-value")).thenReturn(true);
+        when(this.immutability.test(mutableValue)).thenReturn(false);
+
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, this::createMutator, this.marshallability, this.immutability, this.properties, this.notifier);
+
+        // Reading an immutable attribute does not trigger a mutation
+        assertEquals("immutable-value", attributes.getAttribute("immutable"));
+        attributes.close();
+        assertTrue(this.updates.isEmpty());
+        verify(this.mutator, never()).mutate();
+
+        // Only the names of the updated attributes are mutated
+        assertSame(mutableValue, attributes.getAttribute("mutable"));
+        assertNull(attributes.setAttribute("new", "new-value"));
+        assertEquals("immutable-value", attributes.removeAttribute("immutable"));
+        assertNull(attributes.removeAttribute("missing"));
+        attributes.close();
+        assertEquals(1, this.updates.size());
+        assertEquals(new HashSet<>(Arrays.asList("mutable", "new", "immutable")), this.updates.get(0));
+        verify(this.mutator).mutate();
+
+        // Updated names are drained on close
+        attributes.close();
+        assertEquals(1, this.updates.size());
+    }
+
+    @Test
+    public void concurrentUpdate() {
+        CoarseSessionAttributes[] holder = new CoarseSessionAttributes[1];
+        Function<Set<String>, Mutator> mutatorFactory = names -> {
+            if (this.updates.isEmpty()) {
+                // Simulate an attribute updated by a concurrent request thread while the mutator is created
+                holder[0].setAttribute("concurrent", "concurrent-value");
+            }
+            return this.createMutator(names);
+        };
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, mutatorFactory, this.marshallability, this.immutability, this.properties, this.notifier);
+        holder[0] = attributes;
+
+        attributes.setAttribute("name", "value");
+        attributes.close();
+        assertEquals(Collections.singleton("name"), this.updates.get(0));
+
+        // Concurrently updated name is retained for the next mutation
+        attributes.close();
+        assertEquals(2, this.updates.size());
+        assertEquals(Collections.singleton("concurrent"), this.updates.get(1));
+        verify(this.mutator, times(2)).mutate();
+    }
+
+    private Mutator createMutator(Set<String> names) {
+        this.updates.add(names);
+        return this.mutator;
+    }
+}
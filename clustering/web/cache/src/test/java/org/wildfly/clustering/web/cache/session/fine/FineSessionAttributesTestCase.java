@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.cache.session.fine;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+
+/**
+ * Unit test for {@link FineSessionAttributes}.
+ */
+public class FineSessionAttributesTestCase {
+    private final Map<String, Map<String, UUID>> namesCache = mock(Map.class);
+    private final Map<UUID, Object> attributeCache = mock(Map.class);
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final MutatorFactory<UUID, Object> mutatorFactory = mock(MutatorFactory.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributeActivationNotifier notifier = mock(SessionAttributeActivationNotifier.class);
+
+    @Test
+    public void prefetch() throws IOException {
+        UUID prefetchedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        Map<String, UUID> names = new HashMap<>();
+        names.put("prefetched", prefetchedId);
+        names.put("missing", missingId);
+        Map<UUID, Object> prefetched = new ConcurrentHashMap<>();
+        prefetched.put(prefetchedId, "prefetched-value");
+        Object marshalledValue = new Object();
+
+        when(this.immutability.test(any())).thenReturn(true);
+        when(this.attributeCache.get(missingId)).thenReturn(marshalledValue);
+        when(this.marshaller.read(marshalledValue)).thenReturn("missing-value");
+
+        FineSessionAttributes<String, UUID, Object> attributes = new FineSessionAttributes<>("session", names, prefetched, this.namesCache, Function.identity(), this.attributeCache, this.marshaller, this.mutatorFactory, this.immutability, this.properties, this.notifier);
+
+        // Prefetch hit does not read the cache
+        assertEquals("prefetched-value", attributes.getAttribute("prefetched"));
+        verify(this.attributeCache, never()).get(prefetchedId);
+
+        // Prefetch miss reads the cache
+        assertEquals("missing-value", attributes.getAttribute("missing"));
+        verify(this.attributeCache).get(missingId);
+
+        // Unknown attribute reads neither
+        assertNull(attributes.getAttribute("unknown"));
+
+        // Prefetched value is superseded by a subsequent update
+        Object newValue = new Object();
+        when(this.marshaller.write("new-value")).thenReturn(newValue);
+        when(this.attributeCache.put(prefetchedId, newValue)).thenReturn(null);
+        attributes.setAttribute("prefetched", "new-value");
+        assertFalse(prefetched.containsKey(prefetchedId));
+
+        when(this.attributeCache.get(prefetchedId)).thenReturn(newValue);
+        when(this.marshaller.read(newValue)).thenReturn("new-value");
+        assertEquals("new-value", attributes.getAttribute("prefetched"));
+        verify(this.attributeCache).get(prefetchedId);
+
+        // Prefetched values are consumed in place, rather than copied, and discarded on close
+        prefetched.put(missingId, "unused");
+        attributes.close();
+        assertTrue(prefetched.isEmpty());
+        verify(this.mutatorFactory, never()).createMutator(any(), any());
+    }
+}
@@ -33,8 +33,9 @@ import org.jboss.as.clustering.controller.Schema;
 public enum DistributableWebSchema implements Schema<DistributableWebSchema> {
     VERSION_1_0(1, 0), // WildFly 17
     VERSION_2_0(2, 0), // WildFly 18
+    VERSION_3_0(3, 0), // WildFly 22
     ;
-    static final Schema<DistributableWebSchema> CURRENT = VERSION_2_0;
+    static final Schema<DistributableWebSchema> CURRENT = VERSION_3_0;
 
     private final int major;
     private final int minor;
@@ -24,6 +24,8 @@ package org.wildfly.extension.clustering.web;
 
 import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
 
+import java.util.EnumSet;
+
 import org.jboss.as.clustering.controller.Schema;
 import org.jboss.as.clustering.controller.persistence.AttributeXMLBuilderOperator;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
@@ -60,7 +62,7 @@ public class DistributableWebXMLParser extends PersistentResourceXMLParser {
 
     private PersistentResourceXMLBuilder getInfinispanSessionManagementResourceXMLBuilder() {
         PersistentResourceXMLBuilder builder = new AttributeXMLBuilderOperator()
-                .addAttributes(InfinispanSessionManagementResourceDefinition.Attribute.class)
+                .addAttributes(this.schema.since(DistributableWebSchema.VERSION_3_0) ? EnumSet.allOf(InfinispanSessionManagementResourceDefinition.Attribute.class) : EnumSet.complementOf(EnumSet.of(InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_PREFETCH, InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_REPLICATION, InfinispanSessionManagementResourceDefinition.Attribute.WARM_UP_THRESHOLD)))
                 .addAttributes(SessionManagementResourceDefinition.Attribute.class)
                 .apply(builder(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH));
         this.addAffinityChildren(builder)
@@ -68,12 +70,15 @@ public class DistributableWebXMLParser extends PersistentResourceXMLParser {
         if (this.schema.since(DistributableWebSchema.VERSION_2_0)) {
             builder.addChild(new AttributeXMLBuilderOperator(RankedAffinityResourceDefinition.Attribute.class).apply(builder(RankedAffinityResourceDefinition.PATH).setXmlElementName("ranked-affinity")));
         }
+        if (this.schema.since(DistributableWebSchema.VERSION_3_0)) {
+            builder.addChild(new AttributeXMLBuilderOperator(LoadBalancedAffinityResourceDefinition.Attribute.class).apply(builder(LoadBalancedAffinityResourceDefinition.PATH).setXmlElementName("load-balanced-affinity")));
+        }
         return builder;
     }
 
     private PersistentResourceXMLBuilder getHotRodSessionManagementResourceXMLBuilder() {
         PersistentResourceXMLBuilder builder = new AttributeXMLBuilderOperator()
-                .addAttributes(HotRodSessionManagementResourceDefinition.Attribute.class)
+                .addAttributes(this.schema.since(DistributableWebSchema.VERSION_3_0) ? EnumSet.allOf(HotRodSessionManagementResourceDefinition.Attribute.class) : EnumSet.complementOf(EnumSet.of(HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE, HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_OFF_HEAP_SIZE)))
                 .addAttributes(SessionManagementResourceDefinition.Attribute.class)
                 .apply(builder(HotRodSessionManagementResourceDefinition.WILDCARD_PATH));
         return this.addAffinityChildren(builder);
@@ -25,13 +25,19 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.MetricHandler;
+import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.clustering.controller.SimpleResourceDescriptorConfigurator;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.client.InfinispanClientRequirement;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagementProvider;
 
 /**
  * @author Paul Ferraro
@@ -51,6 +57,23 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
             }
         },
         CACHE_CONFIGURATION("cache-configuration", ModelType.STRING),
+        NEAR_CACHE_SIZE("near-cache-size", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setValidator(new LongRangeValidatorBuilder().min(1).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.BYTES)
+                        ;
+            }
+        },
+        NEAR_CACHE_OFF_HEAP_SIZE("near-cache-off-heap-size", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setValidator(new LongRangeValidatorBuilder().min(1).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.BYTES)
+                        .setRequires(NEAR_CACHE_SIZE.getName())
+                        ;
+            }
+        },
          ;
         private final AttributeDefinition definition;
 
@@ -73,7 +96,25 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
         }
     }
 
+    private final ServiceValueExecutorRegistry<HotRodSessionManagementProvider> executors;
+
     HotRodSessionManagementResourceDefinition() {
-        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), HotRodSessionManagementServiceConfigurator::new);
+        this(new ServiceValueExecutorRegistry<>());
+    }
+
+    private HotRodSessionManagementResourceDefinition(ServiceValueExecutorRegistry<HotRodSessionManagementProvider> executors) {
+        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), new HotRodSessionManagementServiceHandler(executors));
+        this.executors = executors;
+    }
+
+    @Override
+    public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
+        ManagementResourceRegistration registration = super.register(parent);
+
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new NearCacheMetricExecutor(this.executors), NearCacheMetric.class).register(registration);
+        }
+
+        return registration;
     }
 }
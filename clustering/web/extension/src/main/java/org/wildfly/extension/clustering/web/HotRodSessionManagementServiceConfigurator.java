@@ -23,6 +23,8 @@
 package org.wildfly.extension.clustering.web;
 
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.CACHE_CONFIGURATION;
+import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_OFF_HEAP_SIZE;
+import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE;
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.REMOTE_CACHE_CONTAINER;
 
 import org.jboss.as.controller.OperationContext;
@@ -42,6 +44,8 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
 
     private volatile String containerName;
     private volatile String configurationName;
+    private volatile Long nearCacheSize;
+    private volatile Long nearCacheOffHeapSize;
 
     HotRodSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +55,8 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = REMOTE_CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.configurationName = CACHE_CONFIGURATION.resolveModelAttribute(context, model).asStringOrNull();
+        this.nearCacheSize = NEAR_CACHE_SIZE.resolveModelAttribute(context, model).asLongOrNull();
+        this.nearCacheOffHeapSize = NEAR_CACHE_OFF_HEAP_SIZE.resolveModelAttribute(context, model).asLongOrNull();
         return super.configure(context, model);
     }
 
@@ -68,4 +74,14 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
     public String getConfigurationName() {
         return this.configurationName;
     }
+
+    @Override
+    public Long getNearCacheSize() {
+        return this.nearCacheSize;
+    }
+
+    @Override
+    public Long getNearCacheOffHeapSize() {
+        return this.nearCacheOffHeapSize;
+    }
 }
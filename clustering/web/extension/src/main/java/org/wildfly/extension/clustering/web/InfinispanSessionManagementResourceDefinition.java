@@ -26,14 +26,19 @@ import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
+import org.jboss.as.clustering.controller.validation.DoubleRangeValidatorBuilder;
+import org.jboss.as.clustering.controller.validation.EnumValidator;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributePrefetch;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributeReplication;
 
 /**
  * Definition of the /subsystem=distributable-web/infinispan-session-management=* resource.
@@ -61,6 +66,30 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
                         ;
             }
         },
+        ATTRIBUTE_PREFETCH("attribute-prefetch", ModelType.STRING) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(SessionAttributePrefetch.NONE.name()))
+                        .setValidator(new EnumValidator<>(SessionAttributePrefetch.class))
+                        ;
+            }
+        },
+        ATTRIBUTE_REPLICATION("attribute-replication", ModelType.STRING) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(SessionAttributeReplication.FULL.name()))
+                        .setValidator(new EnumValidator<>(SessionAttributeReplication.class))
+                        ;
+            }
+        },
+        WARM_UP_THRESHOLD("warm-up-threshold", ModelType.DOUBLE) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(1d))
+                        .setValidator(new DoubleRangeValidatorBuilder().lowerBound(0).upperBound(1).configure(builder).build())
+                        ;
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -97,6 +126,7 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
 
         new PrimaryOwnerAffinityResourceDefinition().register(registration);
         new RankedAffinityResourceDefinition().register(registration);
+        new LoadBalancedAffinityResourceDefinition().register(registration);
 
         return registration;
     }
@@ -22,9 +22,13 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_PREFETCH;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.ATTRIBUTE_REPLICATION;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE_CONTAINER;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.WARM_UP_THRESHOLD;
 
+import org.jboss.as.clustering.dmr.ModelNodes;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
@@ -32,6 +36,8 @@ import org.jboss.dmr.ModelNode;
 import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementProvider;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributePrefetch;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributeReplication;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 /**
@@ -42,6 +48,9 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
 
     private volatile String containerName;
     private volatile String cacheName;
+    private volatile SessionAttributePrefetch prefetch;
+    private volatile SessionAttributeReplication replication;
+    private volatile double warmUpThreshold;
 
     public InfinispanSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +60,9 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.cacheName = CACHE.resolveModelAttribute(context, model).asStringOrNull();
+        this.prefetch = ModelNodes.asEnum(ATTRIBUTE_PREFETCH.resolveModelAttribute(context, model), SessionAttributePrefetch.class);
+        this.replication = ModelNodes.asEnum(ATTRIBUTE_REPLICATION.resolveModelAttribute(context, model), SessionAttributeReplication.class);
+        this.warmUpThreshold = WARM_UP_THRESHOLD.resolveModelAttribute(context, model).asDouble();
         return super.configure(context, model);
     }
 
@@ -68,4 +80,19 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public String getCacheName() {
         return this.cacheName;
     }
+
+    @Override
+    public SessionAttributePrefetch getAttributePrefetch() {
+        return this.prefetch;
+    }
+
+    @Override
+    public SessionAttributeReplication getAttributeReplication() {
+        return this.replication;
+    }
+
+    @Override
+    public double getWarmUpThreshold() {
+        return this.warmUpThreshold;
+    }
 }
@@ -30,4 +30,21 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface HotRodSessionManagementConfiguration extends DistributableSessionManagementConfiguration, HotRodConfiguration {
+
+    /**
+     * Returns the maximum size of the near cache, in bytes, as estimated from the marshalled size of its entries.
+     * @return the maximum size of the near cache, or null, if the near cache is bounded by the max-active-sessions of the deployment
+     */
+    default Long getNearCacheSize() {
+        return null;
+    }
+
+    /**
+     * Returns the maximum size, in bytes, of the off-heap tier to which session attributes evicted from the near cache are demoted.
+     * Only applicable if the near cache is bounded by size.
+     * @return the maximum size of the off-heap tier of the near cache, or null, if session attributes should not be retained off-heap
+     */
+    default Long getNearCacheOffHeapSize() {
+        return null;
+    }
 }
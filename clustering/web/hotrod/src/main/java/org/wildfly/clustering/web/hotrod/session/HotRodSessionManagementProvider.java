@@ -23,6 +23,8 @@
 package org.wildfly.clustering.web.hotrod.session;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.wildfly.clustering.infinispan.client.near.NearCacheStatistics;
+import org.wildfly.clustering.infinispan.client.near.RecordableNearCacheStatistics;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.cache.routing.LocalRouteLocatorServiceConfigurator;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
@@ -34,6 +36,7 @@ import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
 public class HotRodSessionManagementProvider implements DistributableSessionManagementProvider {
 
     private final HotRodSessionManagementConfiguration configuration;
+    private final RecordableNearCacheStatistics statistics = new RecordableNearCacheStatistics();
 
     public HotRodSessionManagementProvider(HotRodSessionManagementConfiguration configuration) {
         this.configuration = configuration;
@@ -41,7 +44,7 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
 
     @Override
     public <S, SC, AL, MC, LC> CapabilityServiceConfigurator getSessionManagerFactoryServiceConfigurator(SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
-        return new HotRodSessionManagerFactoryServiceConfigurator<>(this.configuration, config);
+        return new HotRodSessionManagerFactoryServiceConfigurator<>(this.configuration, config, this.statistics);
     }
 
     @Override
@@ -52,4 +55,12 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
     public HotRodSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
+
+    /**
+     * Returns the statistics of the near caches of all deployments using this provider.
+     * @return near cache statistics
+     */
+    public NearCacheStatistics getNearCacheStatistics() {
+        return this.statistics;
+    }
 }
@@ -37,6 +37,7 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.infinispan.client.near.RecordableNearCacheStatistics;
 import org.wildfly.clustering.infinispan.client.service.RemoteCacheServiceConfigurator;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.service.FunctionalService;
@@ -62,21 +63,27 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, LC>
 
     private final HotRodSessionManagementConfiguration configuration;
     private final SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> factoryConfiguration;
+    private final RecordableNearCacheStatistics statistics;
 
     private volatile ServiceConfigurator cacheConfigurator;
     @SuppressWarnings("rawtypes")
     private volatile SupplierDependency<RemoteCache> cache;
 
     public HotRodSessionManagerFactoryServiceConfigurator(HotRodSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> factoryConfiguration) {
+        this(configuration, factoryConfiguration, null);
+    }
+
+    public HotRodSessionManagerFactoryServiceConfigurator(HotRodSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> factoryConfiguration, RecordableNearCacheStatistics statistics) {
         super(ServiceName.JBOSS.append("clustering", "web", factoryConfiguration.getDeploymentName()));
         this.configuration = configuration;
         this.factoryConfiguration = factoryConfiguration;
+        this.statistics = statistics;
     }
 
     @Override
     public ServiceConfigurator configure(CapabilityServiceSupport support) {
         String containerName = this.configuration.getContainerName();
-        this.cacheConfigurator = new RemoteCacheServiceConfigurator<>(this.getServiceName().append("cache"), containerName, this.getDeploymentName(), this.getConfigurationName(), new SessionManagerNearCacheFactory<>(this.getMaxActiveSessions(), this.getAttributePersistenceStrategy())).configure(support);
+        this.cacheConfigurator = new RemoteCacheServiceConfigurator<>(this.getServiceName().append("cache"), containerName, this.getDeploymentName(), this.getConfigurationName(), new SessionManagerNearCacheFactory<>(this.getMaxActiveSessions(), this.getNearCacheSize(), this.getNearCacheOffHeapSize(), this.getAttributePersistenceStrategy(), this.statistics)).configure(support);
         this.cache = new ServiceSupplierDependency<>(this.cacheConfigurator.getServiceName());
         return this;
     }
@@ -111,6 +118,16 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, LC>
         return this.configuration.getConfigurationName();
     }
 
+    @Override
+    public Long getNearCacheSize() {
+        return this.configuration.getNearCacheSize();
+    }
+
+    @Override
+    public Long getNearCacheOffHeapSize() {
+        return this.configuration.getNearCacheOffHeapSize();
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
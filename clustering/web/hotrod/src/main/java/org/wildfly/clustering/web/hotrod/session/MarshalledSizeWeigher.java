@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.util.OptionalInt;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Weighs near cache entries by the estimated size, in bytes, of their marshalled form.
+ * The marshalled size of a session attribute value is known if the value was read from the remote cache, and is otherwise predicted by its marshaller, if possible.
+ */
+public class MarshalledSizeWeigher implements Weigher<Object, Object> {
+    // Estimated size of a key, its meta data, and the near cache entry itself
+    static final int ENTRY_SIZE = 128;
+    // Estimated size of a session attribute value whose marshalled size cannot be predicted
+    static final int UNPREDICTABLE_VALUE_SIZE = 1024;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        Object object = (value instanceof MetadataValue) ? ((MetadataValue<?>) value).getValue() : value;
+        if (object instanceof ByteBufferMarshalledValue) {
+            OptionalInt size = ((ByteBufferMarshalledValue<?>) object).size();
+            return ENTRY_SIZE + (size.isPresent() ? size.getAsInt() : UNPREDICTABLE_VALUE_SIZE);
+        }
+        return ENTRY_SIZE;
+    }
+}
@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -34,52 +36,123 @@ import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
 import org.infinispan.client.hotrod.near.NearCacheService;
 import org.wildfly.clustering.infinispan.client.near.CaffeineNearCacheService;
+import org.wildfly.clustering.infinispan.client.near.NearCacheTier;
+import org.wildfly.clustering.infinispan.client.near.OffHeapNearCacheTier;
 import org.wildfly.clustering.infinispan.client.near.SimpleKeyWeigher;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.web.hotrod.session.coarse.SessionAttributesKey;
 import org.wildfly.clustering.web.hotrod.session.fine.SessionAttributeKey;
 import org.wildfly.clustering.web.hotrod.session.fine.SessionAttributeNamesKey;
 import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheWriter;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 
 /**
- * A near-cache factory based on max-active-sessions.
+ * A near-cache factory based on max-active-sessions, or, if specified, on the estimated marshalled size of its entries.
+ * When bounded by size, session attribute entries evicted from the near cache may be demoted to an off-heap tier.
  * @author Paul Ferraro
  */
-public class SessionManagerNearCacheFactory<K, V> implements Function<ClientListenerNotifier, NearCacheService<K, V>>, Supplier<Cache<K, MetadataValue<V>>>, RemovalListener<Object, Object> {
+public class SessionManagerNearCacheFactory<K, V> implements Function<ClientListenerNotifier, NearCacheService<K, V>>, Supplier<Cache<K, MetadataValue<V>>>, RemovalListener<Object, Object>, CacheWriter<Object, Object> {
 
     private final Integer maxActiveSessions;
+    private final Long maxSize;
+    private final Long maxOffHeapSize;
     private final SessionAttributePersistenceStrategy strategy;
+    private final StatsCounter statistics;
     private final AtomicReference<Cache<K, MetadataValue<V>>> cache = new AtomicReference<>();
+    private final AtomicReference<NearCacheTier<K, V>> tier = new AtomicReference<>();
 
     public SessionManagerNearCacheFactory(Integer maxActiveSessions, SessionAttributePersistenceStrategy strategy) {
+        this(maxActiveSessions, null, null, strategy, null);
+    }
+
+    /**
+     * Creates a near cache factory.
+     * @param maxActiveSessions the maximum number of sessions retained by the near cache, used if no maximum size was specified
+     * @param maxSize the maximum estimated size, in bytes, of the near cache, or null, if the near cache is bounded by max-active-sessions
+     * @param maxOffHeapSize the maximum size, in bytes, of the off-heap tier to which evicted session attributes are demoted, or null, if no off-heap tier should be used
+     * @param strategy the attribute persistence strategy
+     * @param statistics a recorder of near cache statistics, or null, if statistics should not be recorded
+     */
+    public SessionManagerNearCacheFactory(Integer maxActiveSessions, Long maxSize, Long maxOffHeapSize, SessionAttributePersistenceStrategy strategy, StatsCounter statistics) {
         this.maxActiveSessions = maxActiveSessions;
+        this.maxSize = maxSize;
+        this.maxOffHeapSize = maxOffHeapSize;
         this.strategy = strategy;
+        this.statistics = statistics;
     }
 
     @Override
     public NearCacheService<K, V> apply(ClientListenerNotifier notifier) {
-        return new CaffeineNearCacheService<>(this, notifier);
+        return new CaffeineNearCacheService<>(this, this.tier::get, notifier);
     }
 
     @Override
     public Cache<K, MetadataValue<V>> get() {
         Caffeine<Object, Object> builder = Caffeine.newBuilder();
-        if (this.maxActiveSessions != null) {
+        NearCacheTier<K, V> tier = null;
+        if (this.maxSize != null) {
+            builder.executor(Runnable::run)
+                    .maximumWeight(this.maxSize.longValue())
+                    .weigher(new MarshalledSizeWeigher())
+                    .removalListener(this);
+            if (this.maxOffHeapSize != null) {
+                tier = new OffHeapNearCacheTier<>(this.maxOffHeapSize.longValue(), SessionManagerNearCacheFactory::serialize, SessionManagerNearCacheFactory::deserialize);
+                // Demote evicted session attributes atomically with their eviction, so that a concurrent invalidation cannot be missed
+                builder.writer(this);
+            }
+        } else if (this.maxActiveSessions != null) {
             builder.executor(Runnable::run)
                     .maximumWeight(this.maxActiveSessions.longValue())
                     .weigher(new SimpleKeyWeigher(SessionCreationMetaDataKey.class::isInstance))
                     .removalListener(this);
         }
+        if (this.statistics != null) {
+            builder.recordStats(() -> this.statistics);
+        }
+        // Set references for use by removal listener and cache writer
+        this.tier.set(tier);
         Cache<K, MetadataValue<V>> cache = builder.build();
-        // Set reference for use by removal listener
         this.cache.set(cache);
         return cache;
     }
 
+    @Override
+    public void write(Object key, Object value) {
+        // Do nothing
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void delete(Object key, Object value, RemovalCause cause) {
+        NearCacheTier<K, V> tier = this.tier.get();
+        if ((cause == RemovalCause.SIZE) && (tier != null) && ((key instanceof SessionAttributesKey) || (key instanceof SessionAttributeKey))) {
+            tier.put((K) key, (MetadataValue<V>) value);
+        }
+    }
+
+    private static <T> ByteBuffer serialize(T value) {
+        if (value instanceof ByteBufferMarshalledValue) {
+            try {
+                return ((ByteBufferMarshalledValue<?>) value).getBuffer();
+            } catch (IOException e) {
+                // Value will not be retained by the off-heap tier
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(ByteBuffer buffer) {
+        return (T) new ByteBufferMarshalledValue<>(buffer);
+    }
+
     @Override
     public void onRemoval(Object key, Object value, RemovalCause cause) {
         // Cascade invalidation to dependent entries
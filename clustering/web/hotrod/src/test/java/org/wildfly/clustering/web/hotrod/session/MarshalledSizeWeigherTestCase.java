@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.hotrod.session;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.web.hotrod.session.fine.SessionAttributeKey;
+
+/**
+ * Unit test for {@link MarshalledSizeWeigher}.
+ */
+public class MarshalledSizeWeigherTestCase {
+
+    @Test
+    public void test() {
+        MarshalledSizeWeigher weigher = new MarshalledSizeWeigher();
+        String id = "ABC123";
+
+        assertEquals(MarshalledSizeWeigher.ENTRY_SIZE, weigher.weigh(new SessionCreationMetaDataKey(id), new MetadataValueImpl<>(0L, -1, 0L, -1, 1L, new Object())));
+
+        ByteBufferMarshalledValue<Object> value = new ByteBufferMarshalledValue<>(ByteBuffer.allocate(100));
+        assertEquals(MarshalledSizeWeigher.ENTRY_SIZE + 100, weigher.weigh(new SessionAttributeKey(id, UUID.randomUUID()), new MetadataValueImpl<>(0L, -1, 0L, -1, 1L, value)));
+    }
+}
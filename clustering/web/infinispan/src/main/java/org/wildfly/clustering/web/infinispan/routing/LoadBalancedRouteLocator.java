@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.remoting.transport.Address;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.registry.Registry;
+import org.wildfly.clustering.spi.NodeFactory;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.routing.RouteLocator;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Route locator that ranks the owners of a session by their recent load.
+ * Each member periodically publishes the number of requests it routed during the last interval into the routing cache, next to its route registry entry.
+ * The primary owner retains its rank unless its load exceeds that of another owner by more than the configured tolerance.
+ */
+public class LoadBalancedRouteLocator implements RouteLocator, Runnable, AutoCloseable {
+    static final long INTERVAL = 1;
+    static final TimeUnit INTERVAL_UNIT = TimeUnit.SECONDS;
+    // Load hints of members that stop publishing expire after a few intervals
+    static final long LIFESPAN = 3 * INTERVAL;
+
+    private final NodeFactory<Address> factory;
+    private final Registry<String, Void> registry;
+    private final Cache<GroupedKey<String>, ?> cache;
+    private final Cache<RouteLoadKey, Integer> routingCache;
+    private final String deployment;
+    private final String localRoute;
+    private final boolean preferPrimary;
+    private final String delimiter;
+    private final int maxRoutes;
+    private final double tolerance;
+    private final LongAdder requests = new LongAdder();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory(LoadBalancedRouteLocator.class));
+
+    private volatile int load = 0;
+    private volatile Map<String, Integer> loads = Collections.emptyMap();
+
+    public LoadBalancedRouteLocator(LoadBalancedRouteLocatorConfiguration config) {
+        this.cache = config.getCache();
+        this.routingCache = config.getRoutingCache();
+        this.registry = config.getRegistry();
+        this.factory = config.getMemberFactory();
+        this.deployment = config.getDeploymentName();
+        this.localRoute = this.registry.getEntry(this.registry.getGroup().getLocalMember()).getKey();
+        this.preferPrimary = config.getCache().getCacheConfiguration().clustering().cacheMode().isClustered();
+        this.delimiter = config.getDelimiter();
+        this.maxRoutes = config.getMaxRoutes();
+        this.tolerance = config.getLoadTolerance();
+        this.executor.scheduleWithFixedDelay(this, INTERVAL, INTERVAL, INTERVAL_UNIT);
+    }
+
+    @Override
+    public String locate(String sessionId) {
+        this.requests.increment();
+        DistributionInfo info = this.preferPrimary ? this.cache.getAdvancedCache().getDistributionManager().getCacheTopology().getDistribution(new GroupedKey<>(sessionId)) : null;
+        List<Address> addresses = (info != null) ? info.writeOwners() : Collections.emptyList();
+        boolean localOwner = (info == null) || info.isWriteOwner();
+        List<String> routes = !addresses.isEmpty() ? new ArrayList<>(addresses.size() + 1) : Collections.emptyList();
+        for (Address address : addresses) {
+            Node member = this.factory.createNode(address);
+            Map.Entry<String, Void> entry = this.registry.getEntry(member);
+            if (entry != null) {
+                routes.add(entry.getKey());
+            }
+        }
+        if (routes.size() > 1) {
+            Map<String, Integer> loads = this.loads;
+            String primary = routes.get(0);
+            // Stable sort, so that owners with equivalent load retain their ownership rank
+            routes.sort(Comparator.comparingDouble(route -> {
+                double load = loads.getOrDefault(route, 0);
+                return route.equals(primary) ? load / (1d + this.tolerance) : load;
+            }));
+        }
+        if (routes.size() > this.maxRoutes) {
+            routes = routes.subList(0, this.maxRoutes);
+        }
+        if (!localOwner && (routes.size() < this.maxRoutes)) {
+            Map.Entry<String, Void> entry = this.registry.getEntry(this.registry.getGroup().getLocalMember());
+            if (entry != null) {
+                routes.add(entry.getKey());
+            }
+        }
+        return !routes.isEmpty() ? String.join(this.delimiter, routes) : this.localRoute;
+    }
+
+    /**
+     * Publishes the load of this member and refreshes the load hints of all registered members.
+     */
+    @Override
+    public void run() {
+        // Smooth the request count across consecutive intervals
+        int load = (int) Math.min((this.load + this.requests.sumThenReset()) / 2, Integer.MAX_VALUE);
+        this.load = load;
+        try {
+            this.routingCache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(new RouteLoadKey(this.localRoute, this.deployment), load, LIFESPAN, INTERVAL_UNIT);
+
+            Map<String, Integer> loads = new HashMap<>();
+            for (String route : this.registry.getEntries().keySet()) {
+                Integer routeLoad = this.routingCache.get(new RouteLoadKey(route, this.deployment));
+                if (routeLoad != null) {
+                    loads.put(route, routeLoad);
+                }
+            }
+            this.loads = loads;
+        } catch (RuntimeException e) {
+            // Retain previous load hints until the next interval
+            InfinispanWebLogger.ROOT_LOGGER.debug(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        this.routingCache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY).remove(new RouteLoadKey(this.localRoute, this.deployment));
+    }
+}
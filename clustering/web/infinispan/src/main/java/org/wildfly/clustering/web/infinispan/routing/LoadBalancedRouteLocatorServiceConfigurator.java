@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.remoting.transport.Address;
+import org.jboss.as.clustering.function.Consumers;
+import org.jboss.as.controller.capability.CapabilityServiceSupport;
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
+import org.wildfly.clustering.registry.Registry;
+import org.wildfly.clustering.service.AsyncServiceConfigurator;
+import org.wildfly.clustering.service.CompositeDependency;
+import org.wildfly.clustering.service.FunctionalService;
+import org.wildfly.clustering.service.ServiceConfigurator;
+import org.wildfly.clustering.service.ServiceSupplierDependency;
+import org.wildfly.clustering.service.SupplierDependency;
+import org.wildfly.clustering.spi.ClusteringCacheRequirement;
+import org.wildfly.clustering.spi.NodeFactory;
+import org.wildfly.clustering.web.WebDeploymentConfiguration;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
+
+/**
+ * Configures a service providing a load-balanced route locator.
+ */
+public class LoadBalancedRouteLocatorServiceConfigurator extends RankedRouteLocatorServiceConfigurator implements LoadBalancedRouteLocatorConfiguration {
+
+    private final InfinispanSessionManagementConfiguration managementConfiguration;
+    private final WebDeploymentConfiguration deploymentConfiguration;
+    private final LoadBalancedRoutingConfiguration config;
+
+    private volatile SupplierDependency<Registry<String, Void>> registry;
+    private volatile SupplierDependency<Cache<GroupedKey<String>, ?>> cache;
+    private volatile SupplierDependency<NodeFactory<Address>> factory;
+    private volatile SupplierDependency<Cache<RouteLoadKey, Integer>> routingCache;
+
+    public LoadBalancedRouteLocatorServiceConfigurator(InfinispanSessionManagementConfiguration managementConfiguration, WebDeploymentConfiguration deploymentConfiguration, LoadBalancedRoutingConfiguration routeConfiguration) {
+        super(managementConfiguration, deploymentConfiguration, routeConfiguration);
+        this.managementConfiguration = managementConfiguration;
+        this.deploymentConfiguration = deploymentConfiguration;
+        this.config = routeConfiguration;
+    }
+
+    @Override
+    public LoadBalancedRouteLocator get() {
+        return new LoadBalancedRouteLocator(this);
+    }
+
+    @Override
+    public ServiceBuilder<?> build(ServiceTarget target) {
+        ServiceName name = this.getServiceName();
+        ServiceBuilder<?> builder = new AsyncServiceConfigurator(name).build(target);
+        Consumer<LoadBalancedRouteLocator> locator = new CompositeDependency(this.registry, this.cache, this.factory, this.routingCache).register(builder).provides(name);
+        Service service = new FunctionalService<>(locator, Function.identity(), this::get, Consumers.close());
+        return builder.setInstance(service).setInitialMode(ServiceController.Mode.ON_DEMAND);
+    }
+
+    @Override
+    public ServiceConfigurator configure(CapabilityServiceSupport support) {
+        String containerName = this.managementConfiguration.getContainerName();
+        String serverName = this.deploymentConfiguration.getServerName();
+        this.registry = new ServiceSupplierDependency<>(ClusteringCacheRequirement.REGISTRY.getServiceName(support, containerName, serverName));
+        this.factory = new ServiceSupplierDependency<>(ClusteringCacheRequirement.GROUP.getServiceName(support, containerName, serverName));
+        this.cache = new ServiceSupplierDependency<>(InfinispanCacheRequirement.CACHE.getServiceName(support, containerName, this.deploymentConfiguration.getDeploymentName()));
+        // The routing cache also backs the route registry
+        this.routingCache = new ServiceSupplierDependency<>(InfinispanCacheRequirement.CACHE.getServiceName(support, containerName, serverName));
+        return this;
+    }
+
+    @Override
+    public Registry<String, Void> getRegistry() {
+        return this.registry.get();
+    }
+
+    @Override
+    public Cache<GroupedKey<String>, ?> getCache() {
+        return this.cache.get();
+    }
+
+    @Override
+    public NodeFactory<Address> getMemberFactory() {
+        return this.factory.get();
+    }
+
+    @Override
+    public Cache<RouteLoadKey, Integer> getRoutingCache() {
+        return this.routingCache.get();
+    }
+
+    @Override
+    public String getDeploymentName() {
+        return this.deploymentConfiguration.getDeploymentName();
+    }
+
+    @Override
+    public double getLoadTolerance() {
+        return this.config.getLoadTolerance();
+    }
+}
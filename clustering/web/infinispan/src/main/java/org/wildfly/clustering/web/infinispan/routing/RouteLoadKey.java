@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.util.Objects;
+
+/**
+ * Cache key for the load hint published by a given route for a given deployment.
+ * Stored within the routing cache alongside the entries of the route registry.
+ */
+public class RouteLoadKey {
+
+    private final String route;
+    private final String deployment;
+
+    public RouteLoadKey(String route, String deployment) {
+        this.route = route;
+        this.deployment = deployment;
+    }
+
+    public String getRoute() {
+        return this.route;
+    }
+
+    public String getDeployment() {
+        return this.deployment;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.route, this.deployment);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof RouteLoadKey)) return false;
+        RouteLoadKey key = (RouteLoadKey) object;
+        return this.route.equals(key.route) && this.deployment.equals(key.deployment);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s[%s])", RouteLoadKey.class.getSimpleName(), this.route, this.deployment);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.kohsuke.MetaInfServices;
+import org.wildfly.clustering.marshalling.Externalizer;
+
+/**
+ * Externalizer for a {@link RouteLoadKey}.
+ */
+@MetaInfServices(Externalizer.class)
+public class RouteLoadKeyExternalizer implements Externalizer<RouteLoadKey> {
+
+    @Override
+    public void writeObject(ObjectOutput output, RouteLoadKey key) throws IOException {
+        output.writeUTF(key.getRoute());
+        output.writeUTF(key.getDeployment());
+    }
+
+    @Override
+    public RouteLoadKey readObject(ObjectInput input) throws IOException {
+        String route = input.readUTF();
+        String deployment = input.readUTF();
+        return new RouteLoadKey(route, deployment);
+    }
+
+    @Override
+    public Class<RouteLoadKey> getTargetClass() {
+        return RouteLoadKey.class;
+    }
+}
@@ -39,4 +39,8 @@ public interface InfinispanSessionAttributesFactoryConfiguration<S, C, L, V, SV>
     default CacheProperties getCacheProperties() {
         return InfinispanSessionMetaDataFactoryConfiguration.super.getCacheProperties();
     }
+
+    default SessionAttributePrefetch getAttributePrefetch() {
+        return SessionAttributePrefetch.NONE;
+    }
 }
@@ -30,4 +30,29 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface InfinispanSessionManagementConfiguration extends DistributableSessionManagementConfiguration, InfinispanCacheConfiguration {
+
+    /**
+     * Returns the strategy for prefetching the attributes of sessions using fine granularity.
+     * @return a prefetch strategy
+     */
+    default SessionAttributePrefetch getAttributePrefetch() {
+        return SessionAttributePrefetch.NONE;
+    }
+
+    /**
+     * Returns the strategy for replicating the attributes of sessions using coarse granularity.
+     * @return a replication strategy
+     */
+    default SessionAttributeReplication getAttributeReplication() {
+        return SessionAttributeReplication.FULL;
+    }
+
+    /**
+     * Returns the fraction of cache segments whose locally owned sessions must be scheduled for expiration before a deployment completes its startup.
+     * Sessions of any remaining segments are scheduled in the background.
+     * @return a fraction between 0 and 1
+     */
+    default double getWarmUpThreshold() {
+        return 1d;
+    }
 }
@@ -68,6 +68,7 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.web.session.Session;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
+import org.wildfly.clustering.web.session.SessionMetaDataLookupStatistics;
 import org.wildfly.clustering.web.session.SpecificationProvider;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
@@ -96,6 +97,7 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
     private final SC context;
     private final SpecificationProvider<S, SC, AL> provider;
     private final Runnable startTask;
+    private final SessionMetaDataLookupStatistics lookupStatistics;
 
     private volatile Duration defaultMaxInactiveInterval = Duration.ofMinutes(30L);
     private volatile Registration expirationRegistration;
@@ -114,6 +116,7 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
         this.context = configuration.getServletContext();
         this.provider = configuration.getSpecificationProvider();
         this.startTask = configuration.getStartTask();
+        this.lookupStatistics = configuration.getMetaDataLookupStatistics();
     }
 
     @Override
@@ -229,6 +232,11 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
         return this.getActiveSessions().size();
     }
 
+    @Override
+    public SessionMetaDataLookupStatistics getMetaDataLookupStatistics() {
+        return this.lookupStatistics;
+    }
+
     @CacheEntryActivated
     public CompletionStage<Void> activated(CacheEntryActivatedEvent<SessionCreationMetaDataKey, ?> event) {
         if (!event.isPre() && !this.properties.isPersistent()) {
@@ -33,6 +33,7 @@ import org.wildfly.clustering.web.IdentifierFactory;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionMetaDataLookupStatistics;
 import org.wildfly.clustering.web.session.SpecificationProvider;
 
 /**
@@ -54,4 +55,5 @@ public interface InfinispanSessionManagerConfiguration<S, C, AL> {
     Registrar<SessionExpirationListener> getExpirationRegistar();
     SpecificationProvider<S, C, AL> getSpecificationProvider();
     Runnable getStartTask();
+    SessionMetaDataLookupStatistics getMetaDataLookupStatistics();
 }
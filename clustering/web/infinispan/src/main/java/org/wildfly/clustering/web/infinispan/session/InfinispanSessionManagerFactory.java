@@ -22,16 +22,20 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.time.Duration;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ExecutorService;
 
 import org.infinispan.Cache;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.ExecutorServiceFactory;
 import org.wildfly.clustering.Registrar;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Recordable;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.cache.Key;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
+import org.wildfly.clustering.ee.infinispan.scheduler.KeySegmenter;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalKeysTask;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -41,7 +45,6 @@ import org.wildfly.clustering.ee.infinispan.tx.InfinispanBatcher;
 import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
@@ -51,9 +54,9 @@ import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
 import org.wildfly.clustering.web.cache.session.MarshalledValueSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.SessionFactory;
-import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.infinispan.AffinityIdentifierFactory;
 import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.coarse.DeltaCoarseSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
@@ -61,7 +64,9 @@ import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
+import org.wildfly.clustering.web.session.SessionMetaDataLookupStatistics;
 import org.wildfly.clustering.web.session.SpecificationProvider;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Factory for creating session managers.
@@ -73,6 +78,8 @@ import org.wildfly.clustering.web.session.SpecificationProvider;
  * @author Paul Ferraro
  */
 public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements SessionManagerFactory<SC, LC, TransactionBatch>, Runnable {
+    // Number of chunks into which cache segments are partitioned when scheduling newly owned sessions
+    private static final int CHUNKS = Runtime.getRuntime().availableProcessors();
 
     final Batcher<TransactionBatch> batcher;
     final Registrar<SessionExpirationListener> expirationRegistrar;
@@ -83,7 +90,10 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
 
     private final KeyAffinityServiceFactory affinityFactory;
     private final SessionFactory<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> factory;
-    private final BiConsumer<Locality, Locality> scheduleTask;
+    private final ScheduleLocalKeysTask<String, Key<String>> scheduleTask;
+    private final ExecutorService executor = new DefaultExecutorService(ScheduleLocalKeysTask.class, ExecutorServiceFactory.CACHED_THREAD);
+    private final double warmUpThreshold;
+    private final SessionMetaDataLookupStatistics lookupStatistics;
     private final SchedulerListener listener;
 
     public InfinispanSessionManagerFactory(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
@@ -92,22 +102,26 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
         this.batcher = new InfinispanBatcher(this.cache);
         this.properties = config.getCacheProperties();
         this.provider = config.getSpecificationProvider();
-        SessionMetaDataFactory<CompositeSessionMetaDataEntry<LC>> metaDataFactory = new InfinispanSessionMetaDataFactory<>(config);
+        InfinispanSessionMetaDataFactory<LC> metaDataFactory = new InfinispanSessionMetaDataFactory<>(config);
+        this.lookupStatistics = metaDataFactory.getLookupStatistics();
         this.factory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
         ExpiredSessionRemover<SC, ?, ?, LC> remover = new ExpiredSessionRemover<>(this.factory);
         this.expirationRegistrar = remover;
-        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()));
+        KeySegmenter<String> segmenter = new KeySegmenter<>(this.cache, GroupedKey::new);
+        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, segmenter, segmenter.getSegments(), Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()));
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         Group group = dispatcherFactory.getGroup();
         this.scheduler = group.isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(dispatcherFactory, this.cache.getName(), localScheduler, new PrimaryOwnerLocator<>(this.cache, config.getMemberFactory(), group), SessionCreationMetaDataKey::new);
 
-        this.scheduleTask = new ScheduleLocalKeysTask<>(this.cache, SessionCreationMetaDataKeyFilter.INSTANCE, localScheduler);
+        this.scheduleTask = new ScheduleLocalKeysTask<>(this.cache, SessionCreationMetaDataKeyFilter.INSTANCE, localScheduler, this.executor, CHUNKS);
+        this.warmUpThreshold = config.getWarmUpThreshold();
         this.listener = new SchedulerTopologyChangeListener<>(this.cache, localScheduler, this.scheduleTask);
     }
 
     @Override
     public void run() {
-        this.scheduleTask.accept(new SimpleLocality(false), new CacheLocality(this.cache));
+        // Wait only until the required fraction of segments is scheduled, and schedule the remainder in the background
+        this.scheduleTask.accept(new SimpleLocality(false), new CacheLocality(this.cache), this.warmUpThreshold);
     }
 
     @Override
@@ -168,6 +182,11 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
             public Runnable getStartTask() {
                 return InfinispanSessionManagerFactory.this;
             }
+
+            @Override
+            public SessionMetaDataLookupStatistics getMetaDataLookupStatistics() {
+                return InfinispanSessionManagerFactory.this.lookupStatistics;
+            }
         };
         return new InfinispanSessionManager<>(this.factory, config);
     }
@@ -178,6 +197,9 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
                 return new FineSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
             case COARSE: {
+                if (configuration.getAttributeReplication() == SessionAttributeReplication.DELTA) {
+                    return new DeltaCoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
+                }
                 return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
             default: {
@@ -191,6 +213,7 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
     public void close() {
         this.listener.close();
         this.scheduler.close();
+        WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
     }
 
     private static class InfinispanMarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> extends MarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> implements InfinispanSessionAttributesFactoryConfiguration<S, SC, AL, V, MarshalledValue<V, MC>> {
@@ -205,5 +228,10 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
         public <CK, CV> Cache<CK, CV> getCache() {
             return this.configuration.getCache();
         }
+
+        @Override
+        public SessionAttributePrefetch getAttributePrefetch() {
+            return this.configuration.getAttributePrefetch();
+        }
     }
 }
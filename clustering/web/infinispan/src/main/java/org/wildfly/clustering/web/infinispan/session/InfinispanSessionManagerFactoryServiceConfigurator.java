@@ -181,6 +181,21 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public SessionAttributePrefetch getAttributePrefetch() {
+        return this.configuration.getAttributePrefetch();
+    }
+
+    @Override
+    public SessionAttributeReplication getAttributeReplication() {
+        return this.configuration.getAttributeReplication();
+    }
+
+    @Override
+    public double getWarmUpThreshold() {
+        return this.configuration.getWarmUpThreshold();
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
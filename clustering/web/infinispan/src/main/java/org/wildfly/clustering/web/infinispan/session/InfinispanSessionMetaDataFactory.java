@@ -22,13 +22,19 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import javax.transaction.SystemException;
 
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheException;
 import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.distribution.DistributionManager;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
 import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
@@ -49,6 +55,7 @@ import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.cache.session.SimpleSessionAccessMetaData;
 import org.wildfly.clustering.web.cache.session.SimpleSessionCreationMetaData;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+import org.wildfly.clustering.web.session.SessionMetaDataLookupStatistics;
 
 /**
  * @author Paul Ferraro
@@ -59,15 +66,27 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
     private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataCache;
     private final MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataMutatorFactory;
     private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> findCreationMetaDataCache;
+    private final Cache<GroupedKey<String>, Object> findMetaDataCache;
     private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final MutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataMutatorFactory;
     private final CacheProperties properties;
+    private final DistributionManager distribution;
+    private final RecordableSessionMetaDataLookupStatistics statistics;
 
     public InfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration) {
+        this(configuration, new RecordableSessionMetaDataLookupStatistics());
+    }
+
+    public InfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration, RecordableSessionMetaDataLookupStatistics statistics) {
         this.properties = configuration.getCacheProperties();
+        this.statistics = statistics;
         this.creationMetaDataCache = configuration.getCache();
         this.creationMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.creationMetaDataCache, this.properties);
         this.findCreationMetaDataCache = this.properties.isLockOnRead() ? this.creationMetaDataCache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : this.creationMetaDataCache;
+        Cache<GroupedKey<String>, Object> cache = configuration.getCache();
+        this.findMetaDataCache = this.properties.isLockOnRead() ? cache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : cache;
+        // Lookups against local or invalidation caches never require a remote invocation
+        this.distribution = cache.getCacheConfiguration().clustering().cacheMode().needsStateTransfer() ? cache.getAdvancedCache().getDistributionManager() : null;
         this.accessMetaDataCache = configuration.getCache();
         this.accessMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.accessMetaDataCache, this.properties);
     }
@@ -85,11 +104,29 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
 
     @Override
     public CompositeSessionMetaDataEntry<L> findValue(String id) {
-        return this.getValue(id);
+        SessionCreationMetaDataKey creationMetaDataKey = new SessionCreationMetaDataKey(id);
+        SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+        Set<GroupedKey<String>> keys = new HashSet<>(Arrays.asList(creationMetaDataKey, accessMetaDataKey));
+        long start = System.nanoTime();
+        // Both entries belong to the same group, and thus share the same owners, so fetch them via a single invocation
+        Map<GroupedKey<String>, Object> entries = this.findMetaDataCache.getAll(keys);
+        this.statistics.record(this.isRemote(creationMetaDataKey), System.nanoTime() - start);
+        @SuppressWarnings("unchecked")
+        SessionCreationMetaDataEntry<L> creationMetaDataEntry = (SessionCreationMetaDataEntry<L>) entries.get(creationMetaDataKey);
+        if (creationMetaDataEntry != null) {
+            SessionAccessMetaData accessMetaData = (SessionAccessMetaData) entries.get(accessMetaDataKey);
+            if (accessMetaData != null) {
+                return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry.getMetaData(), accessMetaData, creationMetaDataEntry.getLocalContext());
+            }
+            // Purge orphaned entry, making sure not to trigger cache listener
+            this.purge(id);
+        }
+        return null;
     }
 
     @Override
     public CompositeSessionMetaDataEntry<L> tryValue(String id) {
+        // Fetch entries sequentially, such that failure to acquire the lock on the creation meta data entry aborts the lookup
         return this.getValue(id, Flag.ZERO_LOCK_ACQUISITION_TIMEOUT, Flag.FAIL_SILENTLY);
     }
 
@@ -101,14 +138,25 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
             if (accessMetaData != null) {
                 return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry.getMetaData(), accessMetaData, creationMetaDataEntry.getLocalContext());
             }
-            if (flags.length == 0) {
-                // Purge orphaned entry, making sure not to trigger cache listener
-                this.purge(id);
-            }
         }
         return null;
     }
 
+    private boolean isRemote(GroupedKey<String> key) {
+        if (this.distribution == null) return false;
+        DistributionInfo info = this.distribution.getCacheTopology().getDistribution(key);
+        // Reads under lock are directed to the primary owner
+        return this.properties.isLockOnRead() ? !info.isPrimary() : !info.isReadOwner();
+    }
+
+    /**
+     * Returns statistics for the lookups performed via {@link #findValue(String)}.
+     * @return statistics for session meta data lookups
+     */
+    public SessionMetaDataLookupStatistics getLookupStatistics() {
+        return this.statistics;
+    }
+
     @Override
     public InvalidatableSessionMetaData createSessionMetaData(String id, CompositeSessionMetaDataEntry<L> entry) {
         boolean created = entry.getAccessMetaData().getLastAccessedDuration().isZero();
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.web.session.SessionMetaDataLookupStatistics;
+
+/**
+ * Records the number and duration of local vs remote session meta data lookups.
+ */
+public class RecordableSessionMetaDataLookupStatistics implements SessionMetaDataLookupStatistics {
+
+    private final LongAdder localLookups = new LongAdder();
+    private final LongAdder localLookupTime = new LongAdder();
+    private final LongAdder remoteLookups = new LongAdder();
+    private final LongAdder remoteLookupTime = new LongAdder();
+
+    /**
+     * Records a session meta data lookup.
+     * @param remote indicates whether the lookup required a remote invocation
+     * @param duration the duration of the lookup, in nanoseconds
+     */
+    public void record(boolean remote, long duration) {
+        if (remote) {
+            this.remoteLookups.increment();
+            this.remoteLookupTime.add(duration);
+        } else {
+            this.localLookups.increment();
+            this.localLookupTime.add(duration);
+        }
+    }
+
+    @Override
+    public long getLocalMetaDataLookupCount() {
+        return this.localLookups.sum();
+    }
+
+    @Override
+    public Duration getMeanLocalMetaDataLookupTime() {
+        return mean(this.localLookupTime.sum(), this.localLookups.sum());
+    }
+
+    @Override
+    public long getRemoteMetaDataLookupCount() {
+        return this.remoteLookups.sum();
+    }
+
+    @Override
+    public Duration getMeanRemoteMetaDataLookupTime() {
+        return mean(this.remoteLookupTime.sum(), this.remoteLookups.sum());
+    }
+
+    private static Duration mean(long time, long count) {
+        return (count > 0) ? Duration.ofNanos(time / count) : Duration.ZERO;
+    }
+}
@@ -23,12 +23,12 @@ package org.wildfly.clustering.web.infinispan.session;
 
 import java.time.Duration;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.BucketedScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -44,13 +44,26 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  */
 public class SessionExpirationScheduler<MV> implements Scheduler<String, ImmutableSessionMetaData>, Predicate<String> {
 
-    private final LocalScheduler<String> scheduler;
+    private final BucketedScheduler<String> scheduler;
     private final Batcher<TransactionBatch> batcher;
     private final Remover<String> remover;
     private final ImmutableSessionMetaDataFactory<MV> metaDataFactory;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this(batcher, metaDataFactory, remover, sessionId -> 0, 1, closeTimeout);
+    }
+
+    /**
+     * Creates a session expiration scheduler whose scheduled sessions are partitioned by cache segment.
+     * @param batcher a batcher
+     * @param metaDataFactory a factory for session meta data
+     * @param remover a remover of expired sessions
+     * @param segmenter resolves the cache segment of a session
+     * @param segments the number of cache segments
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, ToIntFunction<String> segmenter, int segments, Duration closeTimeout) {
+        this.scheduler = new BucketedScheduler<>(this, segmenter, segments, BucketedScheduler.DEFAULT_THREADS, BucketedScheduler.DEFAULT_RESOLUTION, closeTimeout);
         this.batcher = batcher;
         this.metaDataFactory = metaDataFactory;
         this.remover = remover;
@@ -80,12 +93,8 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
 
     @Override
     public void cancel(Locality locality) {
-        for (String sessionId : this.scheduler) {
-            if (Thread.currentThread().isInterrupted()) break;
-            if (!locality.isLocal(new GroupedKey<>(sessionId))) {
-                this.cancel(sessionId);
-            }
-        }
+        // All sessions of a given segment share the same primary owner
+        this.scheduler.cancelSegments(sessionId -> !locality.isLocal(new GroupedKey<>(sessionId)));
     }
 
     @Override
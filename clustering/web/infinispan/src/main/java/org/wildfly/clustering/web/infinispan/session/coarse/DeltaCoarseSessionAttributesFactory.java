@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.cache.function.ConcurrentMapComputeFunction;
+import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapComputeFunction;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
+import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseSessionAttributes;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributeReplication;
+import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * {@link SessionAttributesFactory} for coarse granularity sessions using {@link SessionAttributeReplication#DELTA} replication.
+ * All session attributes are stored in a single cache entry, as a map of individually marshalled attribute values.
+ * Mutations replicate only the updated attributes of a session, via a single function applied to this cache entry.
+ */
+@Listener(sync = false)
+public class DeltaCoarseSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, Object>> {
+
+    private final Cache<SessionAttributesKey, Map<String, V>> cache;
+    private final Marshaller<Object, V> marshaller;
+    private final CacheProperties properties;
+    private final Immutability immutability;
+    private final HttpSessionActivationListenerProvider<S, C, L> provider;
+
+    public DeltaCoarseSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
+        this.cache = configuration.getCache();
+        this.marshaller = configuration.getMarshaller();
+        this.immutability = configuration.getImmutability();
+        this.properties = configuration.getCacheProperties();
+        this.provider = configuration.getHttpSessionActivationListenerProvider();
+    }
+
+    @Override
+    public Map<String, Object> createValue(String id, Void context) {
+        // Non-transactional caches apply updates to the cached map directly
+        Map<String, V> values = this.properties.isTransactional() ? new HashMap<>() : new ConcurrentHashMap<>();
+        this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(new SessionAttributesKey(id), values);
+        return this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Map<String, Object> findValue(String id) {
+        return this.getValue(id, true);
+    }
+
+    @Override
+    public Map<String, Object> tryValue(String id) {
+        return this.getValue(id, false);
+    }
+
+    private Map<String, Object> getValue(String id, boolean purgeIfInvalid) {
+        Map<String, V> values = this.cache.get(new SessionAttributesKey(id));
+        if (values != null) {
+            Map<String, Object> attributes = this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+            for (Map.Entry<String, V> entry : values.entrySet()) {
+                try {
+                    Object attribute = this.marshaller.read(entry.getValue());
+                    if (attribute != null) {
+                        attributes.put(entry.getKey(), attribute);
+                    }
+                } catch (IOException e) {
+                    InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, entry.getKey());
+                    if (purgeIfInvalid) {
+                        this.purge(id);
+                    }
+                    return null;
+                }
+            }
+            return attributes;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return this.delete(id);
+    }
+
+    @Override
+    public boolean purge(String id) {
+        return this.delete(id, Flag.SKIP_LISTENER_NOTIFICATION);
+    }
+
+    private boolean delete(String id, Flag... flags) {
+        this.cache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionAttributesKey(id));
+        return true;
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, Map<String, Object> values, ImmutableSessionMetaData metaData, C context) {
+        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, values);
+        SessionActivationNotifier notifier = new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        Function<Set<String>, Mutator> mutatorFactory = names -> {
+            // Marshal updated values eagerly, since attributes may be modified after the mutator is created
+            Map<String, V> updates = new HashMap<>();
+            for (String name : names) {
+                Object value = values.get(name);
+                try {
+                    updates.put(name, (value != null) ? this.marshaller.write(value) : null);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return () -> this.update(key, updates);
+        };
+        return new CoarseSessionAttributes(values, mutatorFactory, this.marshaller, this.immutability, this.properties, notifier);
+    }
+
+    private void update(SessionAttributesKey key, Map<String, V> updates) {
+        // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+        this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY).compute(key, this.properties.isTransactional() ? new CopyOnWriteMapComputeFunction<>(updates) : new ConcurrentMapComputeFunction<>(updates));
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, Object> values) {
+        return new CoarseImmutableSessionAttributes(values);
+    }
+
+    @CacheEntriesEvicted
+    public void evicted(CacheEntriesEvictedEvent<GroupedKey<String>, ?> event) {
+        if (!event.isPre()) {
+            Cache<SessionAttributesKey, Map<String, V>> cache = this.cache.getAdvancedCache().withFlags(Flag.SKIP_LISTENER_NOTIFICATION);
+            for (GroupedKey<String> key : event.getEntries().keySet()) {
+                // Workaround for ISPN-8324
+                if (key instanceof SessionCreationMetaDataKey) {
+                    cache.evict(new SessionAttributesKey(key.getId()));
+                }
+            }
+        }
+    }
+}
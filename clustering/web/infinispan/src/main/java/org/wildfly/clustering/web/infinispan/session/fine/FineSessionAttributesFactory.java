@@ -23,12 +23,14 @@
 package org.wildfly.clustering.web.infinispan.session.fine;
 
 import java.io.IOException;
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.infinispan.Cache;
@@ -51,6 +53,7 @@ import org.wildfly.clustering.web.cache.session.fine.FineImmutableSessionAttribu
 import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributes;
 import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributePrefetch;
 import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
@@ -60,10 +63,12 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  * {@link SessionAttributesFactory} for fine granularity sessions.
  * A given session's attributes are mapped to N+1 co-located cache entries, where N is the number of session attributes.
  * A separate cache entry stores the activate attribute names for the session.
+ * Depending on the configured {@link SessionAttributePrefetch}, the attribute cache entries of a session are read via a single bulk read when the session is found,
+ * in which case the attribute values are retained for use by the session attributes of the current request.
  * @author Paul Ferraro
  */
 @Listener(sync = false)
-public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, UUID>> {
+public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>>> {
 
     private final Cache<SessionAttributeNamesKey, Map<String, UUID>> namesCache;
     private final Cache<SessionAttributeKey, V> attributeCache;
@@ -72,6 +77,7 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributeKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final SessionAttributePrefetch prefetch;
 
     public FineSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
         this.namesCache = configuration.getCache();
@@ -81,31 +87,47 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.attributeCache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.prefetch = configuration.getAttributePrefetch();
     }
 
     @Override
-    public Map<String, UUID> createValue(String id, Void context) {
-        return Collections.emptyMap();
+    public Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>> createValue(String id, Void context) {
+        return new AbstractMap.SimpleImmutableEntry<>(Collections.emptyMap(), Collections.emptyMap());
     }
 
     @Override
-    public Map<String, UUID> findValue(String id) {
+    public Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>> findValue(String id) {
         return this.getValue(id, true);
     }
 
     @Override
-    public Map<String, UUID> tryValue(String id) {
+    public Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>> tryValue(String id) {
         return this.getValue(id, false);
     }
 
-    private Map<String, UUID> getValue(String id, boolean purgeIfInvalid) {
+    private Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>> getValue(String id, boolean purgeIfInvalid) {
         Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
         if (names != null) {
+            Map<SessionAttributeKey, V> values = null;
+            Map<SessionAttributeKey, Object> attributes = Collections.emptyMap();
+            if ((this.prefetch == SessionAttributePrefetch.ALL) && !names.isEmpty()) {
+                Set<SessionAttributeKey> keys = new HashSet<>();
+                for (UUID attributeId : names.values()) {
+                    keys.add(new SessionAttributeKey(id, attributeId));
+                }
+                values = this.attributeCache.getAll(keys);
+                // Handed over to the session attributes of the current request, which consume it
+                attributes = new ConcurrentHashMap<>(values.size());
+            }
             for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
+                SessionAttributeKey key = new SessionAttributeKey(id, nameEntry.getValue());
+                V value = (values != null) ? values.get(key) : this.attributeCache.get(key);
                 if (value != null) {
                     try {
-                        this.marshaller.read(value);
+                        Object attribute = this.marshaller.read(value);
+                        if ((values != null) && (attribute != null)) {
+                            attributes.put(key, attribute);
+                        }
                         continue;
                     } catch (IOException e) {
                         InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, nameEntry.getKey());
@@ -118,9 +140,9 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
                 }
                 return null;
             }
-            return names;
+            return new AbstractMap.SimpleImmutableEntry<>(names, attributes);
         }
-        return Collections.emptyMap();
+        return this.createValue(id, null);
     }
 
     @Override
@@ -144,15 +166,17 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     @Override
-    public SessionAttributes createSessionAttributes(String id, Map<String, UUID> names, ImmutableSessionMetaData metaData, C context) {
-        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, names);
+    public SessionAttributes createSessionAttributes(String id, Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>> entry, ImmutableSessionMetaData metaData, C context) {
+        Map<String, UUID> names = entry.getKey();
+        // Prefetched values are not shared with the attributes exposed to the notifier, since they will not reflect any mutations
+        ImmutableSessionAttributes attributes = new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
         SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
+        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, entry.getValue(), this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
     }
 
     @Override
-    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map.Entry<Map<String, UUID>, Map<SessionAttributeKey, Object>> entry) {
+        return new FineImmutableSessionAttributes<>(entry.getKey(), entry.getValue(), getKeyFactory(id), this.attributeCache, this.marshaller);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RecordableSessionMetaDataLookupStatistics}.
+ */
+public class RecordableSessionMetaDataLookupStatisticsTestCase {
+
+    @Test
+    public void test() {
+        RecordableSessionMetaDataLookupStatistics statistics = new RecordableSessionMetaDataLookupStatistics();
+
+        assertEquals(0L, statistics.getLocalMetaDataLookupCount());
+        assertEquals(Duration.ZERO, statistics.getMeanLocalMetaDataLookupTime());
+        assertEquals(0L, statistics.getRemoteMetaDataLookupCount());
+        assertEquals(Duration.ZERO, statistics.getMeanRemoteMetaDataLookupTime());
+
+        statistics.record(false, 100L);
+        statistics.record(false, 300L);
+        statistics.record(true, 5000L);
+
+        assertEquals(2L, statistics.getLocalMetaDataLookupCount());
+        assertEquals(Duration.ofNanos(200L), statistics.getMeanLocalMetaDataLookupTime());
+        assertEquals(1L, statistics.getRemoteMetaDataLookupCount());
+        assertEquals(Duration.ofNanos(5000L), statistics.getMeanRemoteMetaDataLookupTime());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.context.Flag;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.cache.function.ConcurrentMapComputeFunction;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * Unit test for {@link DeltaCoarseSessionAttributesFactory}.
+ */
+public class DeltaCoarseSessionAttributesFactoryTestCase {
+    private final AdvancedCache<SessionAttributesKey, Map<String, Object>> cache = mock(AdvancedCache.class);
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final HttpSessionActivationListenerProvider<Object, Object, Object> provider = mock(HttpSessionActivationListenerProvider.class);
+    private final DeltaCoarseSessionAttributesFactory<Object, Object, Object, Object> factory;
+
+    public DeltaCoarseSessionAttributesFactoryTestCase() {
+        InfinispanSessionAttributesFactoryConfiguration<Object, Object, Object, Object, Object> configuration = mock(InfinispanSessionAttributesFactoryConfiguration.class);
+        when(configuration.<SessionAttributesKey, Map<String, Object>>getCache()).thenReturn(this.cache);
+        when(configuration.getMarshaller()).thenReturn(this.marshaller);
+        when(configuration.getImmutability()).thenReturn(this.immutability);
+        when(configuration.getCacheProperties()).thenReturn(this.properties);
+        when(configuration.getHttpSessionActivationListenerProvider()).thenReturn(this.provider);
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        this.factory = new DeltaCoarseSessionAttributesFactory<>(configuration);
+    }
+
+    @Test
+    public void findValue() throws IOException {
+        SessionAttributesKey key = new SessionAttributesKey("session");
+        when(this.cache.get(key)).thenReturn(Collections.singletonMap("name", "marshalled-value"));
+        when(this.marshaller.read("marshalled-value")).thenReturn("value");
+
+        assertEquals(Collections.singletonMap("name", "value"), this.factory.findValue("session"));
+
+        // Attributes that cannot be unmarshalled invalidate the session
+        when(this.marshaller.read("marshalled-value")).thenThrow(new IOException());
+        when(this.cache.withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, Flag.SKIP_LISTENER_NOTIFICATION))).thenReturn(this.cache);
+
+        assertNull(this.factory.findValue("session"));
+        verify(this.cache).remove(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void replicateUpdatedAttributes() throws IOException {
+        SessionAttributesKey key = new SessionAttributesKey("session");
+        Map<String, Object> values = new HashMap<>();
+        values.put("unchanged", "unchanged-value");
+        values.put("removed", "removed-value");
+        when(this.immutability.test(any())).thenReturn(true);
+        when(this.marshaller.write("new-value")).thenReturn("marshalled-new-value");
+        when(this.cache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(this.cache);
+
+        SessionAttributes attributes = this.factory.createSessionAttributes("session", values, mock(ImmutableSessionMetaData.class), null);
+
+        assertEquals("unchanged-value", attributes.getAttribute("unchanged"));
+        assertNull(attributes.setAttribute("new", "new-value"));
+        assertEquals("removed-value", attributes.removeAttribute("removed"));
+        attributes.close();
+
+        ArgumentCaptor<BiFunction> capturedFunction = ArgumentCaptor.forClass(BiFunction.class);
+        verify(this.cache).compute(eq(key), capturedFunction.capture());
+        assertTrue(capturedFunction.getValue() instanceof ConcurrentMapComputeFunction);
+        // Only updated attributes are replicated, where a null value indicates a removed attribute
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("new", "marshalled-new-value");
+        expected.put("removed", null);
+        assertEquals(expected, ((ConcurrentMapComputeFunction<String, Object>) capturedFunction.getValue()).getOperand());
+        verify(this.marshaller, never()).write("unchanged-value");
+
+        // No further replication without further updates
+        attributes.close();
+        verify(this.cache).compute(any(), any(BiFunction.class));
+    }
+}
@@ -97,4 +97,12 @@ public interface SessionManager<L, B extends Batch> extends IdentifierFactory<St
      * @return a duration
      */
     Duration getStopTimeout();
+
+    /**
+     * Returns statistics for the session meta data lookups performed by this session manager, if supported.
+     * @return statistics for session meta data lookups, or null, if unsupported
+     */
+    default SessionMetaDataLookupStatistics getMetaDataLookupStatistics() {
+        return null;
+    }
 }
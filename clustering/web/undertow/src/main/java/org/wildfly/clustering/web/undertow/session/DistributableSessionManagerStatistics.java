@@ -22,10 +22,12 @@
 
 package org.wildfly.clustering.web.undertow.session;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.wildfly.clustering.web.session.ActiveSessionStatistics;
 import org.wildfly.clustering.web.session.InactiveSessionStatistics;
+import org.wildfly.clustering.web.session.SessionMetaDataLookupStatistics;
 
 import io.undertow.server.session.Session;
 
@@ -36,13 +38,19 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
 
     private final InactiveSessionStatistics inactiveSessionStatistics;
     private final ActiveSessionStatistics activeSessionStatistics;
+    private final SessionMetaDataLookupStatistics lookupStatistics;
     private final Integer maxActiveSessions;
     private volatile long startTime = System.currentTimeMillis();
     private final AtomicLong createdSessionCount = new AtomicLong();
 
     public DistributableSessionManagerStatistics(ActiveSessionStatistics activeSessionStatistics, InactiveSessionStatistics inactiveSessionStatistics, Integer maxActiveSessions) {
+        this(activeSessionStatistics, inactiveSessionStatistics, null, maxActiveSessions);
+    }
+
+    public DistributableSessionManagerStatistics(ActiveSessionStatistics activeSessionStatistics, InactiveSessionStatistics inactiveSessionStatistics, SessionMetaDataLookupStatistics lookupStatistics, Integer maxActiveSessions) {
         this.activeSessionStatistics = activeSessionStatistics;
         this.inactiveSessionStatistics = inactiveSessionStatistics;
+        this.lookupStatistics = lookupStatistics;
         this.maxActiveSessions = maxActiveSessions;
         this.reset();
     }
@@ -98,4 +106,32 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
     public long getStartTime() {
         return this.startTime;
     }
+
+    /**
+     * @return the number of session meta data lookups serviced locally, or -1 if unsupported by the session manager
+     */
+    public long getLocalMetaDataLookupCount() {
+        return (this.lookupStatistics != null) ? this.lookupStatistics.getLocalMetaDataLookupCount() : -1L;
+    }
+
+    /**
+     * @return the average duration, in microseconds, of session meta data lookups serviced locally, or -1 if unsupported by the session manager
+     */
+    public long getAverageLocalMetaDataLookupTime() {
+        return (this.lookupStatistics != null) ? TimeUnit.NANOSECONDS.toMicros(this.lookupStatistics.getMeanLocalMetaDataLookupTime().toNanos()) : -1L;
+    }
+
+    /**
+     * @return the number of session meta data lookups requiring a remote invocation, or -1 if unsupported by the session manager
+     */
+    public long getRemoteMetaDataLookupCount() {
+        return (this.lookupStatistics != null) ? this.lookupStatistics.getRemoteMetaDataLookupCount() : -1L;
+    }
+
+    /**
+     * @return the average duration, in microseconds, of session meta data lookups requiring a remote invocation, or -1 if unsupported by the session manager
+     */
+    public long getAverageRemoteMetaDataLookupTime() {
+        return (this.lookupStatistics != null) ? TimeUnit.NANOSECONDS.toMicros(this.lookupStatistics.getMeanRemoteMetaDataLookupTime().toNanos()) : -1L;
+    }
 }
@@ -26,6 +26,7 @@ import static org.jboss.as.ee.logging.EeLogger.ROOT_LOGGER;
 import static org.wildfly.common.Assert.checkNotNullParam;
 
 import java.security.Policy;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.security.jacc.PolicyConfiguration;
 import javax.security.jacc.PolicyConfigurationFactory;
@@ -52,6 +53,9 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
 
     public static final ServiceName SERVICE_NAME = ServiceName.of("jacc");
 
+    // Incremented whenever a policy configuration is committed or deleted, so that cached decisions can be invalidated
+    private static final AtomicLong POLICY_GENERATION = new AtomicLong();
+
     private final String contextId;
 
     private final T metaData;
@@ -102,6 +106,7 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
                 }
                 // Allow the policy to incorporate the policy configs
                 Policy.getPolicy().refresh();
+                POLICY_GENERATION.incrementAndGet();
             }
         } catch (Exception e) {
             throw ROOT_LOGGER.unableToStartException("JaccService", e);
@@ -137,6 +142,7 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
             synchronized (pcf) { // synchronize on the factory
                 policyConfiguration = pcf.getPolicyConfiguration(contextId, false);
                 policyConfiguration.delete();
+                POLICY_GENERATION.incrementAndGet();
             }
         } catch (Exception e) {
             ROOT_LOGGER.errorDeletingJACCPolicy(e);
@@ -144,6 +150,15 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
         policyConfiguration = null;
     }
 
+    /**
+     * Returns the generation of policy configurations, which changes whenever a policy configuration is committed or deleted.
+     *
+     * @return the current generation
+     */
+    public static long getPolicyGeneration() {
+        return POLICY_GENERATION.get();
+    }
+
     /**
      * Target {@code Injector}
      *
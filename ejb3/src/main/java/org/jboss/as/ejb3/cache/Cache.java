@@ -94,6 +94,22 @@ public interface Cache<K, V extends Identifiable<K>> extends AffinitySupport<K>,
 
     int getTotalSize();
 
+    /**
+     * Returns the number of objects removed from this cache due to expiration.
+     * @return the number of expired objects
+     */
+    default long getExpiredCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the delay, in milliseconds, between the expiration of the most recently expired object and its removal from this cache.
+     * @return the expiration lag, in milliseconds
+     */
+    default long getExpirationLag() {
+        return 0;
+    }
+
     /**
      * Checks whether the supplied {@link Throwable} is remotable meaning it can be safely sent to the client over the wire.
      */
@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Coarse-grained expiration scheduler for the keys of a {@link SimpleCache}.
+ * <p/>
+ * Keys are scheduled into buckets spanning a fixed resolution, rather than being ordered by their precise expiration time.
+ * The buckets are partitioned into shards by key hash, such that concurrent schedulers rarely contend for the same shard.
+ * Each key is scheduled within at most one bucket; rescheduling a key moves it to the bucket of its new expiration time.
+ * Keys need not be cancelled while in use; instead, the expiration task is expected to verify whether the key is still eligible for expiration.
+ * <p/>
+ * Due buckets are swept once per resolution by a single thread, and only while any key remains scheduled.
+ *
+ * @param <K> the key type
+ */
+public class ExpirationScheduler<K> implements Runnable, AutoCloseable {
+
+    private static final int MAX_SHARDS = 64;
+
+    private final Shard<K>[] shards;
+    private final int mask;
+    private final long resolution;
+    private final long origin = System.nanoTime();
+    private final Consumer<K> task;
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicBoolean active = new AtomicBoolean(false);
+
+    /**
+     * Creates a new expiration scheduler.
+     *
+     * @param task the task to perform for each key whose bucket is due
+     * @param resolution the duration, in nanoseconds, spanned by each bucket
+     */
+    public ExpirationScheduler(Consumer<K> task, long resolution) {
+        this(task, resolution, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    ExpirationScheduler(Consumer<K> task, long resolution, int concurrency) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException(Long.toString(resolution));
+        }
+        int shards = Math.min(Integer.highestOneBit(Math.max(concurrency - 1, 1)) << 1, MAX_SHARDS);
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; ++i) {
+            this.shards[i] = new Shard<>();
+        }
+        this.mask = shards - 1;
+        this.resolution = resolution;
+        this.task = task;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules the specified key for expiration no earlier than the specified time.
+     *
+     * @param key a key
+     * @param expiration the time, per {@link System#nanoTime()}, at which the specified key expires
+     */
+    public void schedule(K key, long expiration) {
+        long elapsed = expiration - this.origin;
+        // Round up, such that a key is never swept before its expiration
+        long bucket = (elapsed / this.resolution) + (((elapsed % this.resolution) > 0) ? 1 : 0);
+        this.shard(key).add(bucket, key);
+        if (this.active.compareAndSet(false, true)) {
+            this.submit();
+        }
+    }
+
+    /**
+     * Cancels the scheduled expiration of the specified key, if any.
+     *
+     * @param key a key
+     */
+    public void cancel(K key) {
+        this.shard(key).remove(key);
+    }
+
+    /**
+     * Returns the number of scheduled keys.
+     *
+     * @return the number of scheduled keys
+     */
+    public int size() {
+        int size = 0;
+        for (Shard<K> shard : this.shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void run() {
+        long bucket = (System.nanoTime() - this.origin) / this.resolution;
+        for (Shard<K> shard : this.shards) {
+            for (K key : shard.poll(bucket)) {
+                if (Thread.currentThread().isInterrupted()) return;
+                this.task.accept(key);
+            }
+        }
+        // Publish our inactivity before re-checking for scheduled keys, since schedulers only submit a sweep if they observe that we are inactive
+        this.active.set(false);
+        if ((this.size() > 0) && this.active.compareAndSet(false, true)) {
+            this.submit();
+        }
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+    }
+
+    private void submit() {
+        try {
+            this.executor.schedule(this, this.resolution, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Scheduler was closed
+        }
+    }
+
+    private Shard<K> shard(K key) {
+        int hash = key.hashCode();
+        return this.shards[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    private static class Shard<K> {
+        private final NavigableMap<Long, Set<K>> buckets = new TreeMap<>();
+        // Current bucket of each scheduled key
+        private final Map<K, Long> scheduled = new HashMap<>();
+
+        synchronized void add(long bucket, K key) {
+            Long previous = this.scheduled.put(key, bucket);
+            if (previous != null) {
+                if (previous == bucket) return;
+                this.removeFromBucket(previous, key);
+            }
+            this.buckets.computeIfAbsent(bucket, k -> new HashSet<>()).add(key);
+        }
+
+        synchronized void remove(K key) {
+            Long bucket = this.scheduled.remove(key);
+            if (bucket != null) {
+                this.removeFromBucket(bucket, key);
+            }
+        }
+
+        synchronized List<K> poll(long bucket) {
+            if (this.scheduled.isEmpty()) return Collections.emptyList();
+            List<K> keys = new ArrayList<>();
+            Iterator<Map.Entry<Long, Set<K>>> entries = this.buckets.headMap(bucket, true).entrySet().iterator();
+            while (entries.hasNext()) {
+                for (K key : entries.next().getValue()) {
+                    this.scheduled.remove(key);
+                    keys.add(key);
+                }
+                entries.remove();
+            }
+            return keys;
+        }
+
+        synchronized int size() {
+            return this.scheduled.size();
+        }
+
+        private void removeFromBucket(long bucket, K key) {
+            Set<K> keys = this.buckets.get(bucket);
+            if ((keys != null) && keys.remove(key) && keys.isEmpty()) {
+                this.buckets.remove(bucket);
+            }
+        }
+    }
+}
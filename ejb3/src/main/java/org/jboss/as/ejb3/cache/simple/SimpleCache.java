@@ -21,14 +21,12 @@
  */
 package org.jboss.as.ejb3.cache.simple;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.as.ejb3.cache.Cache;
 import org.jboss.as.ejb3.cache.Identifiable;
@@ -38,26 +36,33 @@ import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.ejb.client.Affinity;
 import org.jboss.ejb.client.NodeAffinity;
-import org.wildfly.clustering.ee.Scheduler;
-import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 
 /**
  * Simple {@link Cache} implementation using in-memory storage and eager expiration.
+ * Released beans are scheduled for expiration via a sharded, coarse-grained {@link ExpirationScheduler},
+ * such that retrieving a bean need not cancel its scheduled expiration.
  *
  * @param <K> the cache key type
  * @param <V> the cache value type
  * @author Paul Ferraro
  */
-public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, Predicate<K> {
+public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
+
+    // Minimum and maximum resolution, in nanoseconds, of expiration
+    private static final long MIN_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_RESOLUTION = TimeUnit.SECONDS.toNanos(1);
+    // Expiration resolution, as a fraction of the timeout
+    private static final int RESOLUTION_DIVISOR = 16;
 
     private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
     private final StatefulObjectFactory<V> factory;
     private final IdentifierFactory<K> identifierFactory;
-    private final Duration timeout;
+    private final Long timeout;
     private final ServerEnvironment environment;
-    private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), this, Duration.ZERO);
+    private final ExpirationScheduler<K> scheduler;
+    private final LongAdder expiredCount = new LongAdder();
+    private volatile long expirationLag = 0;
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment) {
         this.factory = factory;
@@ -67,8 +72,10 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
         if (timeout == null || timeout.getValue() < 0) {
             this.timeout = null;
         } else {
-            this.timeout = Duration.ofMillis(TimeUnit.MILLISECONDS.convert(timeout.getValue(), timeout.getTimeUnit()));
+            this.timeout = TimeUnit.NANOSECONDS.convert(timeout.getValue(), timeout.getTimeUnit());
         }
+        // A timeout of 0 means the bean is removed immediately upon release
+        this.scheduler = (this.timeout != null) && (this.timeout > 0) ? new ExpirationScheduler<>(this::expire, Math.min(Math.max(this.timeout / RESOLUTION_DIVISOR, MIN_RESOLUTION), MAX_RESOLUTION)) : null;
 
         this.environment = environment;
     }
@@ -80,7 +87,9 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
 
     @Override
     public void stop() {
-        this.scheduler.close();
+        if (this.scheduler != null) {
+            this.scheduler.close();
+        }
         for (Map.Entry<K, Entry<V>> entry : this.entries.entrySet()) {
             this.factory.destroyInstance(entry.getValue().getValue());
         }
@@ -115,23 +124,31 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
 
     @Override
     public void discard(V value) {
-        this.entries.remove(value.getId());
+        if (this.entries.remove(value.getId()) != null) {
+            this.cancel(value.getId());
+        }
     }
 
     @Override
     public void remove(K key) {
         Entry<V> entry = this.entries.remove(key);
         if (entry != null) {
+            this.cancel(key);
             this.factory.destroyInstance(entry.getValue());
         }
     }
 
+    private void cancel(K key) {
+        if (this.scheduler != null) {
+            this.scheduler.cancel(key);
+        }
+    }
+
     @Override
     public V get(K key) {
         Entry<V> entry = this.entries.get(key);
-        if (entry == null) return null;
-        this.scheduler.cancel(key);
-        entry.use();
+        // An entry that can no longer be used is in the process of expiring
+        if ((entry == null) || !entry.use()) return null;
         return entry.getValue();
     }
 
@@ -144,15 +161,18 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     public void release(V bean) {
         K id = bean.getId();
         Entry<V> entry = this.entries.get(id);
-        if ((entry != null) && entry.done()) {
-            if (this.timeout != null) {
-                if (!this.timeout.isZero()) {
-                    this.scheduler.schedule(id, Instant.now().plus(this.timeout));
-                } else {
-                    // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
-                    // However, removing it directly is faster than scheduling it for immediate removal.
-                    remove(id);
+        if (entry != null) {
+            if (this.scheduler != null) {
+                long expiration = System.nanoTime() + this.timeout;
+                // Expiration must be updated before the usage count, lest the entry be expired per a stale expiration time
+                entry.setExpiration(expiration);
+                if (entry.done()) {
+                    this.scheduler.schedule(id, expiration);
                 }
+            } else if (entry.done() && (this.timeout != null)) {
+                // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
+                // However, removing it directly is faster than scheduling it for immediate removal.
+                remove(id);
             }
         }
     }
@@ -173,21 +193,65 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     }
 
     @Override
-    public boolean test(K key) {
-        this.remove(key);
-        return true;
+    public long getExpiredCount() {
+        return this.expiredCount.sum();
+    }
+
+    @Override
+    public long getExpirationLag() {
+        return this.expirationLag;
+    }
+
+    /**
+     * Removes the bean with the specified identifier, if it is still eligible for expiration.
+     * @param key a bean identifier
+     */
+    void expire(K key) {
+        Entry<V> entry = this.entries.get(key);
+        long now = System.nanoTime();
+        if ((entry != null) && entry.expire(now) && this.entries.remove(key, entry)) {
+            this.expirationLag = TimeUnit.NANOSECONDS.toMillis(now - entry.getExpiration());
+            this.expiredCount.increment();
+            this.factory.destroyInstance(entry.getValue());
+        }
     }
 
     static class Entry<V> {
         private final V value;
+        // A negative usage count indicates that the entry has expired
         private final AtomicInteger usage = new AtomicInteger();
+        private volatile long expiration;
 
         Entry(V value) {
             this.value = value;
         }
 
-        void use() {
-            this.usage.incrementAndGet();
+        boolean use() {
+            int usage = this.usage.get();
+            while (usage >= 0) {
+                if (this.usage.compareAndSet(usage, usage + 1)) {
+                    return true;
+                }
+                usage = this.usage.get();
+            }
+            return false;
+        }
+
+        void setExpiration(long expiration) {
+            this.expiration = expiration;
+        }
+
+        long getExpiration() {
+            return this.expiration;
+        }
+
+        /**
+         * Marks this entry as expired, if it is not in use, and its expiration time has passed.
+         * @param now the current time, per {@link System#nanoTime()}
+         * @return true, if this entry was marked as expired, false otherwise
+         */
+        boolean expire(long now) {
+            return (now - this.expiration >= 0) && this.usage.compareAndSet(0, -1);
         }
 
         boolean done() {
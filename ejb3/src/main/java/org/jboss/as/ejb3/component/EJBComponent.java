@@ -466,6 +466,10 @@ public abstract class EJBComponent extends BasicComponent implements ServerActiv
         return EJBStatistics.getInstance().isEnabled();
     }
 
+    public boolean isStatisticsHistogramsEnabled() {
+        return EJBStatistics.getInstance().isHistogramsEnabled();
+    }
+
     public Object lookup(String name) throws IllegalArgumentException {
         if (name == null) {
             throw EjbLogger.ROOT_LOGGER.jndiNameCannotBeNull();
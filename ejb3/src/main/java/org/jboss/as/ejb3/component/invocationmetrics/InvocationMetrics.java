@@ -22,17 +22,19 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Invocation statistics of a component, overall and per method.
+ * Counters are striped, so that concurrent invocations do not contend on shared state.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -60,38 +62,83 @@ public class InvocationMetrics {
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    /**
+     * Accumulates invocation counts and times, in nanoseconds.
+     */
+    private static class Accumulator {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+
+        void accumulate(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+        }
+
+        Values values() {
+            return new Values(invocations.sum(), TimeUnit.NANOSECONDS.toMillis(waitTime.sum()), TimeUnit.NANOSECONDS.toMillis(executionTime.sum()));
+        }
+    }
+
+    private final Accumulator values = new Accumulator();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
-
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
+    private final ConcurrentMap<Method, Accumulator> methods = new ConcurrentHashMap<>();
+
+    // Created on demand, i.e. only if histograms are enabled
+    private volatile LatencyHistogram executionTimeHistogram;
+    private volatile LatencyHistogram waitTimeHistogram;
+
+    /**
+     * Records the completion of an invocation.
+     *
+     * @param method the invoked method
+     * @param invocationWaitTime the time spent waiting to obtain an instance, in nanoseconds
+     * @param invocationExecutionTime the time spent within the method, in nanoseconds
+     * @param histogramsEnabled indicates whether to also record these times within the latency histograms
+     */
+    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime, final boolean histogramsEnabled) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
+        values.accumulate(invocationWaitTime, invocationExecutionTime);
+        Accumulator methodValues = methods.get(method);
+        if (methodValues == null) {
+            methodValues = methods.computeIfAbsent(method, key -> new Accumulator());
         }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        methodValues.accumulate(invocationWaitTime, invocationExecutionTime);
+        if (histogramsEnabled) {
+            executionTimeHistogram().record(TimeUnit.NANOSECONDS.toMicros(invocationExecutionTime));
+            waitTimeHistogram().record(TimeUnit.NANOSECONDS.toMicros(invocationWaitTime));
         }
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    private LatencyHistogram executionTimeHistogram() {
+        LatencyHistogram histogram = this.executionTimeHistogram;
+        if (histogram == null) {
+            synchronized (this) {
+                histogram = this.executionTimeHistogram;
+                if (histogram == null) {
+                    histogram = new LatencyHistogram();
+                    this.executionTimeHistogram = histogram;
+                }
+            }
         }
-        return ref;
+        return histogram;
+    }
+
+    private LatencyHistogram waitTimeHistogram() {
+        LatencyHistogram histogram = this.waitTimeHistogram;
+        if (histogram == null) {
+            synchronized (this) {
+                histogram = this.waitTimeHistogram;
+                if (histogram == null) {
+                    histogram = new LatencyHistogram();
+                    this.waitTimeHistogram = histogram;
+                }
+            }
+        }
+        return histogram;
     }
 
     public long getConcurrent() {
@@ -99,62 +146,37 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return TimeUnit.NANOSECONDS.toMillis(values.executionTime.sum());
+    }
+
+    /**
+     * Returns the histogram of execution times.
+     *
+     * @return the histogram of execution times, or null if histograms were never enabled for this component
+     */
+    public LatencyHistogram getExecutionTimeHistogram() {
+        return executionTimeHistogram;
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return values.invocations.sum();
     }
 
+    /**
+     * Returns a snapshot of the invocation statistics per method name.
+     * The statistics of overloaded methods are combined.
+     *
+     * @return a map of invocation statistics per method name
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        if (methods.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Values> result = new HashMap<>();
+        for (Map.Entry<Method, Accumulator> entry : methods.entrySet()) {
+            result.merge(entry.getKey().getName(), entry.getValue().values(), (v1, v2) -> new Values(v1.invocations + v2.invocations, v1.waitTime + v2.waitTime, v1.executionTime + v2.executionTime));
+        }
+        return result;
     }
 
     public long getPeakConcurrent() {
@@ -162,13 +184,22 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return TimeUnit.NANOSECONDS.toMillis(values.waitTime.sum());
+    }
+
+    /**
+     * Returns the histogram of times spent waiting to obtain an instance.
+     *
+     * @return the histogram of wait times, or null if histograms were never enabled for this component
+     */
+    public LatencyHistogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
         // concurrent might decrement here, but we take that missing peak for granted.
         if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+            peakConcurrent.accumulateAndGet(v, Math::max);
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed memory histogram of latencies, in microseconds, using log-linear buckets, in the manner of an HDR histogram.
+ * Each power of 2 range is divided into 16 linear sub-buckets, such that any recorded value is reported within 1/16 (6.25%) of its actual value.
+ * Latencies of 2<sup>32</sup> microseconds (i.e. ~71 minutes) or more are recorded in the highest bucket.
+ * <p/>
+ * Recording a value is a single atomic increment, independent of the number of recorded values.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 32;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records the specified latency.
+     *
+     * @param latency a latency, in microseconds
+     */
+    public void record(long latency) {
+        this.counts.getAndIncrement(index(Math.max(latency, 0L)));
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latencies at each of the specified percentiles, computed from a single pass over the recorded values.
+     *
+     * @param percentiles a sequence of ascending percentiles, e.g. 50, 99, 99.9
+     * @return the highest latency, in microseconds, equivalent to the latency at each of the specified percentiles, or 0 if no latencies were recorded
+     */
+    public long[] getValuesAtPercentiles(double... percentiles) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            snapshot[i] = this.counts.get(i);
+            total += snapshot[i];
+        }
+        long[] values = new long[percentiles.length];
+        if (total == 0) {
+            return values;
+        }
+        int bucket = 0;
+        long count = snapshot[0];
+        for (int i = 0; i < percentiles.length; ++i) {
+            long target = Math.max((long) Math.ceil(percentiles[i] / 100d * total), 1L);
+            while ((count < target) && (bucket < BUCKETS - 1)) {
+                count += snapshot[++bucket];
+            }
+            values[i] = highestEquivalentValue(bucket);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the latency at the specified percentile.
+     *
+     * @param percentile a percentile, e.g. 99.9
+     * @return the highest latency, in microseconds, equivalent to the latency at the specified percentile, or 0 if no latencies were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        return this.getValuesAtPercentiles(percentile)[0];
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowestEquivalentValue = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowestEquivalentValue + (1L << shift) - 1;
+    }
+}
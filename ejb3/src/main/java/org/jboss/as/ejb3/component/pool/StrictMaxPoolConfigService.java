@@ -49,9 +49,13 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
 
 
     public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit) {
+        this(poolName, declaredMaxSize, derive, timeout, timeUnit, StrictMaxPoolConfig.DEFAULT_STRATEGY);
+    }
+
+    public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit, StrictMaxPoolConfig.Strategy strategy) {
         this.declaredMaxSize = declaredMaxSize;
         this.derive = derive;
-        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit);
+        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit, strategy);
     }
 
     @Override
@@ -106,6 +110,10 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
         poolConfig.setTimeoutUnit(timeUnit);
     }
 
+    public void setStrategy(StrictMaxPoolConfig.Strategy strategy) {
+        poolConfig.setStrategy(strategy);
+    }
+
     @Override
     public void stop(StopContext context) {
 
@@ -0,0 +1,368 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A reader-biased implementation of {@link ReadWriteLock}, with the same semantics as {@link EJBReadWriteLock}, optimized for read-mostly singletons.
+ * <p/>
+ * Locking semantics are delegated to a {@link StampedLock}, while reentrancy, and detection of illegal read to write upgrades, are tracked via a single
+ * mutable per-thread holder.
+ * While reader bias is enabled, the first read lock acquired by a thread only increments a visible reader counter, chosen by thread, and padded to avoid
+ * false sharing, such that concurrent readers do not contend on the same memory location.
+ * A writer acquires the write lock of the {@link StampedLock}, revokes reader bias, and waits for any visible readers to drain.
+ * Reader bias is subsequently restored by a reader once a period proportional to the cost of the last revocation has elapsed,
+ * such that frequent writes do not repeatedly pay the cost of revocation.
+ */
+public class EJBStampedReadWriteLock implements ReadWriteLock {
+
+    // Number of ints per visible reader counter, such that each counter occupies its own cache line
+    private static final int STRIDE = 16;
+    private static final int SLOTS = slots(Runtime.getRuntime().availableProcessors());
+    // Multiplier of the duration of a revocation of reader bias, during which reader bias will not be restored
+    private static final int INHIBIT_MULTIPLIER = 9;
+    private static final int DRAIN_SPINS = 64;
+    private static final long DRAIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final StampedLock delegate = new StampedLock();
+    private final AtomicIntegerArray visibleReaders = new AtomicIntegerArray(SLOTS * STRIDE);
+    private final ThreadLocal<Holds> holds = new ThreadLocal<Holds>() {
+        @Override
+        protected Holds initialValue() {
+            return new Holds();
+        }
+    };
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    private volatile boolean readerBias = true;
+    private volatile long inhibitUntil = System.nanoTime();
+
+    private static int slots(int processors) {
+        int slots = Integer.highestOneBit(Math.max(processors, 1)) << 1;
+        return Math.min(slots, 256);
+    }
+
+    /**
+     * The locks held by a given thread.
+     * A thread holding the write lock holds no other lock, such that any read locks acquired by that thread only increment {@link #reads}.
+     */
+    private static class Holds {
+        final int slot = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & (SLOTS - 1);
+        int reads;
+        int writes;
+        // Indicates whether the outermost read lock was acquired via a visible reader counter
+        boolean visible;
+        // Write stamp, if writes > 0, otherwise the read stamp, if reads > 0 and !visible
+        long stamp;
+    }
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    private boolean tryVisibleRead(Holds holds) {
+        if (this.readerBias) {
+            int index = holds.slot * STRIDE;
+            this.visibleReaders.getAndIncrement(index);
+            // Recheck, in case a writer revoked reader bias before it could observe our counter
+            if (this.readerBias) {
+                holds.reads = 1;
+                holds.visible = true;
+                return true;
+            }
+            this.visibleReaders.getAndDecrement(index);
+        }
+        return false;
+    }
+
+    private boolean readLocked(Holds holds, long stamp) {
+        if (stamp == 0L) {
+            return false;
+        }
+        // We hold the read lock, thus no writer can be revoking reader bias
+        if (!this.readerBias && (System.nanoTime() - this.inhibitUntil >= 0)) {
+            this.readerBias = true;
+        }
+        holds.reads = 1;
+        holds.visible = false;
+        holds.stamp = stamp;
+        return true;
+    }
+
+    private boolean writeLocked(Holds holds, long stamp, long deadline, boolean timed) throws InterruptedException {
+        if (stamp == 0L) {
+            return false;
+        }
+        if (this.readerBias) {
+            this.readerBias = false;
+            long start = System.nanoTime();
+            boolean drained = false;
+            try {
+                drained = this.drainVisibleReaders(deadline, timed);
+            } finally {
+                if (!drained) {
+                    // Visible readers remain, so the next writer must also revoke reader bias
+                    this.readerBias = true;
+                    this.delegate.unlockWrite(stamp);
+                }
+            }
+            if (!drained) {
+                return false;
+            }
+            long now = System.nanoTime();
+            this.inhibitUntil = now + (now - start) * INHIBIT_MULTIPLIER;
+        }
+        holds.writes = 1;
+        holds.stamp = stamp;
+        return true;
+    }
+
+    private boolean drainVisibleReaders(long deadline, boolean timed) throws InterruptedException {
+        for (int i = 0; i < SLOTS; ++i) {
+            int index = i * STRIDE;
+            int spins = 0;
+            while (this.visibleReaders.get(index) != 0) {
+                if (spins < DRAIN_SPINS) {
+                    spins += 1;
+                    Thread.yield();
+                    continue;
+                }
+                long park = DRAIN_PARK_NANOS;
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    park = Math.min(park, remaining);
+                }
+                LockSupport.parkNanos(this, park);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return true;
+    }
+
+    private void uninterruptibleDrain() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                this.drainVisibleReaders(0L, false);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link javax.ejb.IllegalLoopbackException}.
+     */
+    private static void checkLoopback(Holds holds) {
+        if (holds.reads > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+    }
+
+    /**
+     * A read lock, which is reentrant, and which may be acquired by a thread already holding the write lock.
+     */
+    private class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (!this.tryReentrantLock(holds) && !tryVisibleRead(holds)) {
+                readLocked(holds, EJBStampedReadWriteLock.this.delegate.readLock());
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (!this.tryReentrantLock(holds) && !tryVisibleRead(holds)) {
+                readLocked(holds, EJBStampedReadWriteLock.this.delegate.readLockInterruptibly());
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            return this.tryReentrantLock(holds) || tryVisibleRead(holds) || readLocked(holds, EJBStampedReadWriteLock.this.delegate.tryReadLock());
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            return this.tryReentrantLock(holds) || tryVisibleRead(holds) || readLocked(holds, EJBStampedReadWriteLock.this.delegate.tryReadLock(time, unit));
+        }
+
+        private boolean tryReentrantLock(Holds holds) {
+            if ((holds.reads > 0) || (holds.writes > 0)) {
+                holds.reads += 1;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.reads == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds.reads -= 1;
+            if ((holds.reads == 0) && (holds.writes == 0)) {
+                if (holds.visible) {
+                    holds.visible = false;
+                    EJBStampedReadWriteLock.this.visibleReaders.getAndDecrement(holds.slot * STRIDE);
+                } else {
+                    EJBStampedReadWriteLock.this.delegate.unlockRead(holds.stamp);
+                }
+            }
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A reentrant write lock, which throws an {@link javax.ejb.IllegalLoopbackException} if the current thread holds a read lock.
+     */
+    private class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (!this.tryReentrantLock(holds)) {
+                long stamp = EJBStampedReadWriteLock.this.delegate.writeLock();
+                if (EJBStampedReadWriteLock.this.readerBias) {
+                    EJBStampedReadWriteLock.this.readerBias = false;
+                    long start = System.nanoTime();
+                    uninterruptibleDrain();
+                    long now = System.nanoTime();
+                    EJBStampedReadWriteLock.this.inhibitUntil = now + (now - start) * INHIBIT_MULTIPLIER;
+                }
+                holds.writes = 1;
+                holds.stamp = stamp;
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (!this.tryReentrantLock(holds)) {
+                writeLocked(holds, EJBStampedReadWriteLock.this.delegate.writeLockInterruptibly(), 0L, false);
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (this.tryReentrantLock(holds)) {
+                return true;
+            }
+            try {
+                return writeLocked(holds, EJBStampedReadWriteLock.this.delegate.tryWriteLock(), System.nanoTime(), true);
+            } catch (InterruptedException e) {
+                // Not reachable, a timed drain with an elapsed deadline never parks
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (this.tryReentrantLock(holds)) {
+                return true;
+            }
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            return writeLocked(holds, EJBStampedReadWriteLock.this.delegate.tryWriteLock(time, unit), deadline, true);
+        }
+
+        private boolean tryReentrantLock(Holds holds) {
+            checkLoopback(holds);
+            if (holds.writes > 0) {
+                holds.writes += 1;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            Holds holds = EJBStampedReadWriteLock.this.holds.get();
+            if (holds.writes == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds.writes -= 1;
+            if (holds.writes == 0) {
+                if (holds.reads > 0) {
+                    // Downgrade to the read lock acquired while holding the write lock
+                    holds.stamp = EJBStampedReadWriteLock.this.delegate.tryConvertToReadLock(holds.stamp);
+                    holds.visible = false;
+                } else {
+                    EJBStampedReadWriteLock.this.delegate.unlockWrite(holds.stamp);
+                }
+            }
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -41,10 +41,12 @@ public class SingletonComponentCreateServiceFactory extends EJBComponentCreateSe
 
     private final boolean initOnStartup;
     private final List<ServiceName> dependsOn;
+    private final SingletonConcurrencyLock concurrencyLock;
 
-    public SingletonComponentCreateServiceFactory(final boolean initServiceOnStartup, final List<ServiceName> dependsOn) {
+    public SingletonComponentCreateServiceFactory(final boolean initServiceOnStartup, final List<ServiceName> dependsOn, final SingletonConcurrencyLock concurrencyLock) {
         this.initOnStartup = initServiceOnStartup;
         this.dependsOn = dependsOn;
+        this.concurrencyLock = concurrencyLock;
     }
 
     @Override
@@ -60,6 +62,6 @@ public class SingletonComponentCreateServiceFactory extends EJBComponentCreateSe
                 serviceBuilder.addDependency(DefaultAccessTimeoutService.SINGLETON_SERVICE_NAME, DefaultAccessTimeoutService.class, componentCreateService.getDefaultAccessTimeoutInjector());
             }
         });
-        return new SingletonComponentCreateService(configuration, this.ejbJarConfiguration, this.initOnStartup, dependsOn);
+        return new SingletonComponentCreateService(configuration, this.ejbJarConfiguration, this.initOnStartup, dependsOn, this.concurrencyLock);
     }
 }
@@ -82,6 +82,11 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
     private final List<ServiceName> dependsOn = new ArrayList<ServiceName>();
 
+    /**
+     * The lock implementation used for container-managed concurrency
+     */
+    private SingletonConcurrencyLock concurrencyLock = SingletonConcurrencyLock.REENTRANT;
+
     /**
      * Construct a new instance.
      *
@@ -111,7 +116,7 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
         ComponentConfiguration singletonComponentConfiguration = new ComponentConfiguration(this, classIndex, moduleClassLoader, moduleLoader);
         // setup the component create service
-        singletonComponentConfiguration.setComponentCreateServiceFactory(new SingletonComponentCreateServiceFactory(this.isInitOnStartup(), dependsOn));
+        singletonComponentConfiguration.setComponentCreateServiceFactory(new SingletonComponentCreateServiceFactory(this.isInitOnStartup(), dependsOn, this.concurrencyLock));
         final boolean definedSecurityDomain = getDefinedSecurityDomain() != null;
         if(definedSecurityDomain) {
             getConfigurators().add(new ComponentConfigurator() {
@@ -195,6 +200,24 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
     }
 
+    /**
+     * Returns the lock implementation used for container-managed concurrency of this singleton bean
+     *
+     * @return the concurrency lock implementation
+     */
+    public SingletonConcurrencyLock getConcurrencyLock() {
+        return this.concurrencyLock;
+    }
+
+    /**
+     * Sets the lock implementation used for container-managed concurrency of this singleton bean
+     *
+     * @param concurrencyLock the concurrency lock implementation
+     */
+    public void setConcurrencyLock(final SingletonConcurrencyLock concurrencyLock) {
+        this.concurrencyLock = concurrencyLock;
+    }
+
     @Override
     public SessionBeanType getSessionBeanType() {
         return SessionBeanComponentDescription.SessionBeanType.SINGLETON;
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Enumerates the lock implementations available for container-managed concurrency of singleton beans.
+ */
+public enum SingletonConcurrencyLock {
+    /**
+     * A lock based on a {@link java.util.concurrent.locks.ReentrantReadWriteLock}.
+     */
+    REENTRANT("reentrant") {
+        @Override
+        public ReadWriteLock createLock() {
+            return new EJBReadWriteLock();
+        }
+    },
+    /**
+     * A reader-biased lock based on a {@link java.util.concurrent.locks.StampedLock}, optimized for read-mostly singletons.
+     */
+    STAMPED("stamped") {
+        @Override
+        public ReadWriteLock createLock() {
+            return new EJBStampedReadWriteLock();
+        }
+    },
+    ;
+    private final String value;
+
+    SingletonConcurrencyLock(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Creates a new lock of this type.
+     *
+     * @return a new read/write lock
+     */
+    public abstract ReadWriteLock createLock();
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+    public static SingletonConcurrencyLock fromValue(String value) {
+        for (SingletonConcurrencyLock lock : values()) {
+            if (lock.value.equals(value)) {
+                return lock;
+            }
+        }
+        throw new IllegalArgumentException(value);
+    }
+}
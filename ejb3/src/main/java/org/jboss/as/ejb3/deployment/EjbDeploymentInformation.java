@@ -25,6 +25,8 @@ package org.jboss.as.ejb3.deployment;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.iiop.EjbIIOPService;
+import org.jboss.as.ejb3.remote.ObjectClonerPool;
+import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
 import org.jboss.msc.value.InjectedValue;
 
 import java.util.Collection;
@@ -44,6 +46,8 @@ public class EjbDeploymentInformation {
 
     private final ClassLoader deploymentClassLoader;
 
+    private final ObjectClonerPool parameterCloners;
+
     private final InjectedValue<EJBComponent> ejbComponent;
 
     private final Map<String, InjectedValue<ComponentView>> componentViews;
@@ -65,6 +69,7 @@ public class EjbDeploymentInformation {
         this.ejbComponent = ejbComponent;
         this.componentViews = componentViews;
         this.deploymentClassLoader = deploymentClassLoader;
+        this.parameterCloners = new ObjectClonerPool(new ClassLoaderClassCloner(deploymentClassLoader));
         this.iorFactory = iorFactory;
     }
 
@@ -90,6 +95,7 @@ public class EjbDeploymentInformation {
             this.componentViews.putAll(localViews);
         }
         this.deploymentClassLoader = deploymentClassLoader;
+        this.parameterCloners = new ObjectClonerPool(new ClassLoaderClassCloner(deploymentClassLoader));
         this.iorFactory = iorFactory;
     }
 
@@ -117,6 +123,15 @@ public class EjbDeploymentInformation {
         return deploymentClassLoader;
     }
 
+    /**
+     * Returns the cloners of the parameters of local invocations on the remote views of the EJB component.
+     *
+     * @return a pool of cloners into the deployment classloader of the EJB component
+     */
+    public ObjectClonerPool getParameterCloners() {
+        return parameterCloners;
+    }
+
     public EjbIIOPService getIorFactory() {
         return iorFactory.getOptionalValue();
     }
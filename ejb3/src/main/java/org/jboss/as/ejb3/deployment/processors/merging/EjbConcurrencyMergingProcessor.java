@@ -35,29 +35,47 @@ import org.jboss.as.ee.metadata.MethodAnnotationAggregator;
 import org.jboss.as.ee.metadata.RuntimeAnnotationInformation;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentDescription;
+import org.jboss.as.ejb3.component.singleton.SingletonComponentDescription;
+import org.jboss.as.ejb3.component.singleton.SingletonConcurrencyLock;
 import org.jboss.as.ejb3.concurrency.AccessTimeoutDetails;
+import org.jboss.as.ejb3.concurrency.EJBBoundConcurrencyLockMetaData;
+import org.jboss.as.ejb3.deployment.EjbDeploymentAttachmentKeys;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.metadata.ejb.spec.AssemblyDescriptorMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodsMetaData;
+import org.jboss.metadata.ejb.spec.EjbJarMetaData;
 import org.jboss.metadata.ejb.spec.NamedMethodMetaData;
 import org.jboss.metadata.ejb.spec.SessionBean31MetaData;
 import org.jboss.metadata.ejb.spec.SessionBeanMetaData;
 
 /**
- * Class that can merge {@link javax.ejb.Lock} and {@link javax.ejb.AccessTimeout} metadata
+ * Class that can merge {@link javax.ejb.Lock} and {@link javax.ejb.AccessTimeout} metadata,
+ * as well as the concurrency lock implementation of singleton beans
  *
  * @author Stuart Douglas
  */
 public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<SessionBeanComponentDescription> {
 
+    private volatile SingletonConcurrencyLock defaultConcurrencyLock = SingletonConcurrencyLock.REENTRANT;
+
     public EjbConcurrencyMergingProcessor() {
         super(SessionBeanComponentDescription.class);
     }
 
+    /**
+     * Sets the concurrency lock implementation of singleton beans that do not configure one explicitly
+     *
+     * @param defaultConcurrencyLock the default concurrency lock implementation
+     */
+    public void setDefaultConcurrencyLock(final SingletonConcurrencyLock defaultConcurrencyLock) {
+        this.defaultConcurrencyLock = defaultConcurrencyLock;
+    }
+
     protected void handleAnnotations(final DeploymentUnit deploymentUnit, final EEApplicationClasses applicationClasses, final DeploymentReflectionIndex deploymentReflectionIndex, final Class<?> componentClass, final SessionBeanComponentDescription componentConfiguration) {
 
         //handle lock annotations
@@ -90,6 +108,10 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
 
     protected void handleDeploymentDescriptor(final DeploymentUnit deploymentUnit, final DeploymentReflectionIndex deploymentReflectionIndex, final Class<?> componentClass, final SessionBeanComponentDescription componentConfiguration) throws DeploymentUnitProcessingException {
 
+        if (componentConfiguration instanceof SingletonComponentDescription) {
+            this.handleConcurrencyLock(deploymentUnit, (SingletonComponentDescription) componentConfiguration);
+        }
+
         if (componentConfiguration.getDescriptorData() == null) {
             return;
         }
@@ -126,6 +148,35 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
         }
     }
 
+    private void handleConcurrencyLock(final DeploymentUnit deploymentUnit, final SingletonComponentDescription componentConfiguration) throws DeploymentUnitProcessingException {
+        final String ejbName = componentConfiguration.getEJBName();
+        String lock = null;
+        final EjbJarMetaData metaData = deploymentUnit.getAttachment(EjbDeploymentAttachmentKeys.EJB_JAR_METADATA);
+        final AssemblyDescriptorMetaData assemblyDescriptor = (metaData != null) ? metaData.getAssemblyDescriptor() : null;
+        if (assemblyDescriptor != null) {
+            final List<EJBBoundConcurrencyLockMetaData> locks = assemblyDescriptor.getAny(EJBBoundConcurrencyLockMetaData.class);
+            if (locks != null) {
+                for (final EJBBoundConcurrencyLockMetaData lockMetaData : locks) {
+                    // if this applies for all EJBs and if there isn't a lock already explicitly specified
+                    // for the specific bean (i.e. via an ejb-name match)
+                    if ("*".equals(lockMetaData.getEjbName()) && lock == null) {
+                        lock = lockMetaData.getLock();
+                    } else if (ejbName.equals(lockMetaData.getEjbName())) {
+                        lock = lockMetaData.getLock();
+                    }
+                }
+            }
+        }
+        if (lock == null) {
+            componentConfiguration.setConcurrencyLock(this.defaultConcurrencyLock);
+        } else {
+            try {
+                componentConfiguration.setConcurrencyLock(SingletonConcurrencyLock.fromValue(lock));
+            } catch (IllegalArgumentException e) {
+                throw EjbLogger.ROOT_LOGGER.invalidConcurrencyLock(lock, ejbName);
+            }
+        }
+    }
 
     private Method resolveMethod(final DeploymentReflectionIndex index, final Class<?> currentClass, final Class<?> componentClass, final NamedMethodMetaData methodData) throws DeploymentUnitProcessingException {
         if (currentClass == null) {
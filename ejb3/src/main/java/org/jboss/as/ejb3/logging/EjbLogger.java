@@ -2990,7 +2990,7 @@ public interface EjbLogger extends BasicLogger {
 
     @LogMessage(level = ERROR)
     @Message(id = 456, value = "Failed to refresh timers for %s")
-    void failedToRefreshTimers(String timedObjectId);
+    void failedToRefreshTimers(String timedObjectId, @Cause Throwable cause);
 
     @Message(id = 457, value = "Unexpected Error")
     @Signature(String.class)
@@ -3229,4 +3229,43 @@ public interface EjbLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 522, value = "The default pool name %s could not be resolved from its value: %s")
     void defaultPoolExpressionCouldNotBeResolved(String defaultPoolName, String defaultPoolValue);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 523, value = "Failed to execute scheduled timeout task %s")
+    void failedToExecuteTimeoutTask(Runnable task, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 524, value = "Discarding invalid content at offset %d of timer journal segment %s")
+    void corruptTimerJournalSegment(long position, File segment);
+
+    @LogMessage(level = WARN)
+    @Message(id = 525, value = "Failed to compact timer journal %s")
+    void failedToCompactTimerJournal(File directory, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 526, value = "Failed to delete compacted timer journal segment %s")
+    void failedToDeleteTimerJournalSegment(File segment);
+
+    @LogMessage(level = INFO)
+    @Message(id = 527, value = "Migrated %d persistent timers of %s to the timer journal")
+    void migratedTimersToJournal(int count, String timedObjectId);
+
+    @Message(id = 528, value = "Invalid concurrency lock %s configured for singleton bean %s")
+    DeploymentUnitProcessingException invalidConcurrencyLock(String lock, String ejbName);
+
+    @Message(id = 529, value = "Failed to open timer journal %s")
+    RuntimeException failedToOpenTimerJournal(File directory, @Cause Throwable cause);
+
+    @Message(id = 530, value = "Failed to read the persistent timers of %s from the timer journal")
+    RuntimeException failedToReadTimerJournal(String timedObjectId, @Cause Throwable cause);
+
+    @Message(id = 531, value = "Failed to write timer %s to the timer journal")
+    RuntimeException failedToWriteTimerJournal(String timerId, @Cause Throwable cause);
+
+    @Message(id = 532, value = "Failed to obtain the status of the current transaction")
+    RuntimeException failedToGetTransactionStatus(@Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 533, value = "Discarding unreadable timer %s of %s from the timer journal")
+    void discardingUnreadableTimer(String timerId, String timedObjectId);
 }
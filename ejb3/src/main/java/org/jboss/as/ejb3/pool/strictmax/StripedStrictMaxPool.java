@@ -0,0 +1,247 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size, whose permits and idle instances are partitioned into a number of stripes.
+ * <p/>
+ * Each thread is mapped onto a home stripe, from which it acquires its permit and instance, and to which it
+ * returns them. If its home stripe is exhausted, a thread steals a permit and/or an idle instance from the other stripes
+ * before falling back to waiting for a permit to be handed off by a releasing thread. The sum of the permits of all stripes
+ * and of the hand-off semaphore never exceeds the maximum size of the pool, so the same strict upper limit as {@link StrictMaxPool} is enforced.
+ */
+public class StripedStrictMaxPool<T> extends AbstractPool<T> {
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private final int maxSize;
+    /**
+     * The time to wait for a permit.
+     */
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    /**
+     * Permits released while threads are waiting are handed off via this semaphore, rather than returned to a stripe.
+     */
+    private final Semaphore handoff = new Semaphore(0, false);
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public StripedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    StripedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // Use a power of 2, so that we can mask rather than mod, and never more stripes than permits
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxSize)));
+        this.mask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; ++i) {
+            this.stripes[i] = new Stripe<>((maxSize / stripeCount) + ((i < (maxSize % stripeCount)) ? 1 : 0));
+        }
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.releasePermit(this.index());
+
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        int count = this.handoff.availablePermits();
+        for (Stripe<T> stripe : this.stripes) {
+            count += stripe.permits.get();
+        }
+        return count;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    @Override
+    public T get() {
+        int index = this.index();
+        if (!this.tryAcquirePermit(index) && !this.awaitPermit(index)) {
+            throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+        }
+
+        T bean = this.poll(index);
+
+        if (bean != null) {
+            return bean;
+        }
+
+        try {
+            // Pool is empty, create an instance
+            bean = this.create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit(index);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.getAvailableCount(), this.maxSize, this);
+        }
+
+        int index = this.index();
+        this.stripes[index].instances.offer(obj);
+
+        this.releasePermit(index);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.releasePermit(this.index());
+
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        for (Stripe<T> stripe : this.stripes) {
+            for (T obj = stripe.instances.poll(); obj != null; obj = stripe.instances.poll()) {
+                this.destroy(obj);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the home stripe of the current thread.
+     */
+    private int index() {
+        long id = Thread.currentThread().getId();
+        // Spread the bits of sequentially assigned thread identifiers
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    private boolean tryAcquirePermit(int index) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            if (this.stripes[(index + i) & this.mask].tryAcquirePermit()) {
+                return true;
+            }
+        }
+        // A permit may have been handed off to a waiter that no longer needs it
+        return (this.handoff.availablePermits() > 0) && this.handoff.tryAcquire();
+    }
+
+    private boolean awaitPermit(int index) {
+        // Releasing threads only hand off their permit if they observe a waiter, so we must re-check after registering
+        this.waiters.incrementAndGet();
+        try {
+            return this.tryAcquirePermit(index) || this.handoff.tryAcquire(this.timeout, this.timeUnit);
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    private void releasePermit(int index) {
+        Stripe<T> stripe = this.stripes[index];
+        stripe.permits.incrementAndGet();
+        // Move the released permit to any waiting thread, unless it was already taken
+        if ((this.waiters.get() > 0) && stripe.tryAcquirePermit()) {
+            this.handoff.release();
+        }
+    }
+
+    private T poll(int index) {
+        T bean = this.stripes[index].instances.poll();
+        // Steal an idle instance from another stripe
+        for (int i = 1; (bean == null) && (i < this.stripes.length); ++i) {
+            bean = this.stripes[(index + i) & this.mask].instances.poll();
+        }
+        return bean;
+    }
+
+    private static class Stripe<T> {
+        final AtomicInteger permits;
+        final Queue<T> instances = new ConcurrentLinkedQueue<>();
+
+        Stripe(int permits) {
+            this.permits = new AtomicInteger(permits);
+        }
+
+        boolean tryAcquirePermit() {
+            int current = this.permits.get();
+            while (current > 0) {
+                if (this.permits.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+                current = this.permits.get();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Identifies types whose instances are immutable, and thus can be shared between the caller and callee of a local invocation
+ * without violating pass-by-value semantics, provided that both resolve the same class.
+ */
+final class ImmutableTypes {
+
+    private static final Set<Class<?>> TYPES = new HashSet<>(Arrays.asList(
+            Boolean.class, Byte.class, Character.class, Short.class, Integer.class, Long.class, Float.class, Double.class, String.class,
+            BigInteger.class, BigDecimal.class, UUID.class,
+            Duration.class, Instant.class, LocalDate.class, LocalDateTime.class, LocalTime.class, MonthDay.class, OffsetDateTime.class, OffsetTime.class,
+            Period.class, Year.class, YearMonth.class, ZonedDateTime.class));
+
+    private static final ClassValue<Boolean> IMMUTABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isImmutable(type, new HashSet<>());
+        }
+    };
+
+    private ImmutableTypes() {
+    }
+
+    /**
+     * Indicates whether instances of the specified class are immutable.
+     * @param type a class
+     * @return true, if instances of the specified class are immutable, false otherwise
+     */
+    static boolean isImmutable(Class<?> type) {
+        return IMMUTABLE.get(type);
+    }
+
+    /**
+     * Indicates whether an instance of the specified class can be shared with a recipient expecting the specified target type.
+     * Only immutable instances whose class is either loaded by the bootstrap class loader, or is the target type itself, may be shared.
+     * @param type the class of an instance
+     * @param target the type expected by the recipient, or null, if unknown
+     * @return true, if an instance of the specified class can be passed by reference, false otherwise
+     */
+    static boolean isShareable(Class<?> type, Class<?> target) {
+        return ((type.getClassLoader() == null) || (type == target)) && isImmutable(type);
+    }
+
+    /**
+     * Indicates whether an array of the specified class need only be copied shallowly for a recipient expecting the specified target type,
+     * i.e. whether any element of the array is shareable.
+     * @param type the class of an array
+     * @param target the type expected by the recipient
+     * @return true, if a shallow copy of an array of the specified class is sufficient, false otherwise
+     */
+    static boolean isShallowCopyable(Class<?> type, Class<?> target) {
+        Class<?> componentType = type.getComponentType();
+        if ((componentType == null) || componentType.isArray()) return false;
+        if (componentType.isPrimitive()) return true;
+        // Elements may be instances of a subclass of the component type, unless it is final, or an enum
+        if (!Modifier.isFinal(componentType.getModifiers()) && !componentType.isEnum()) return false;
+        return isShareable(componentType, target.isArray() ? target.getComponentType() : null);
+    }
+
+    private static boolean isImmutable(Class<?> type, Set<Class<?>> visiting) {
+        if (type.isPrimitive() || TYPES.contains(type)) return true;
+        // Enum constants are resolved by name when cloned, thus sharing an enum constant is equivalent to cloning it
+        if (Enum.class.isAssignableFrom(type)) return type != Enum.class;
+        // ZoneRegion is not public
+        if (ZoneId.class.isAssignableFrom(type)) return (type != ZoneId.class) && (type.getClassLoader() == null);
+        if (isRecord(type)) {
+            // Assume any record that is already being analyzed is immutable
+            if (!visiting.add(type)) return true;
+            Field[] fields = WildFlySecurityManager.isChecking() ? WildFlySecurityManager.doUnchecked((PrivilegedAction<Field[]>) type::getDeclaredFields) : type.getDeclaredFields();
+            for (Field field : fields) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    Class<?> fieldType = field.getType();
+                    // A field whose type is not final might reference a mutable subclass
+                    if (!fieldType.isPrimitive() && !Modifier.isFinal(fieldType.getModifiers()) && !fieldType.isEnum()) return false;
+                    if (!isImmutable(fieldType, visiting)) return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Records are only available since Java 16
+    private static boolean isRecord(Class<?> type) {
+        Class<?> superclass = type.getSuperclass();
+        return (superclass != null) && superclass.getName().equals("java.lang.Record") && Modifier.isFinal(type.getModifiers());
+    }
+}
@@ -47,10 +47,7 @@ import org.jboss.ejb.client.SessionID;
 import org.jboss.ejb.client.StatelessEJBLocator;
 import org.jboss.ejb.client.TransactionID;
 import org.jboss.invocation.InterceptorContext;
-import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
-import org.jboss.marshalling.cloner.ClonerConfiguration;
 import org.jboss.marshalling.cloner.ObjectCloner;
-import org.jboss.marshalling.cloner.ObjectCloners;
 import org.jboss.security.SecurityContext;
 import org.jboss.security.SecurityContextAssociation;
 import org.wildfly.security.auth.server.SecurityDomain;
@@ -58,6 +55,7 @@ import org.wildfly.security.auth.server.SecurityIdentity;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.io.Serializable;
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -79,6 +77,13 @@ public class LocalEjbReceiver extends EJBReceiver {
     private static final Object[] EMPTY_OBJECT_ARRAY = {};
     private static final EJBReceiverInvocationContext.ResultProducer.Immediate NULL_RESULT = new EJBReceiverInvocationContext.ResultProducer.Immediate(null);
     private static final AttachmentKey<CancellationFlag> CANCELLATION_FLAG_ATTACHMENT_KEY = new AttachmentKey<>();
+    // Cloners of return values and exceptions, per proxy class of the caller
+    private static final ClassValue<ObjectClonerPool> RESULT_CLONERS = new ClassValue<ObjectClonerPool>() {
+        @Override
+        protected ObjectClonerPool computeValue(Class<?> proxyClass) {
+            return new ObjectClonerPool(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(proxyClass)));
+        }
+    };
 
     private final DeploymentRepository deploymentRepository;
 
@@ -105,9 +110,6 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (!ejb.isRemoteView(viewClass.getName())) {
             throw EjbLogger.ROOT_LOGGER.viewNotFound(viewClass.getName(), ejb.getEjbName());
         }
-        final ClonerConfiguration paramConfig = new ClonerConfiguration();
-        paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
-        final ObjectCloner parameterCloner = createCloner(paramConfig);
         //TODO: this is not very efficient
         final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
 
@@ -117,10 +119,7 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (invocation.getParameters() == null) {
             parameters = EMPTY_OBJECT_ARRAY;
         } else {
-            parameters = new Object[invocation.getParameters().length];
-            for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
-            }
+            parameters = cloneParameters(RemoteViewMethodAnalysis.of(view.getViewClass(), method), ejb.getParameterCloners(), invocation.getParameters(), allowPassByReference);
         }
 
         final InterceptorContext interceptorContext = new InterceptorContext();
@@ -165,9 +164,7 @@ public class LocalEjbReceiver extends EJBReceiver {
             throw EjbLogger.ROOT_LOGGER.ejbNotFoundInDeployment(locator);
         }
 
-        final ClonerConfiguration config = new ClonerConfiguration();
-        config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
-        final ObjectCloner resultCloner = createCloner(config);
+        final ObjectClonerPool resultCloner = RESULT_CLONERS.get(invocation.getInvokedProxy().getClass());
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
                 final CancellationFlag flag = new CancellationFlag();
@@ -287,11 +284,11 @@ public class LocalEjbReceiver extends EJBReceiver {
 
     static final class CloningResultProducer implements EJBReceiverInvocationContext.ResultProducer {
         private final EJBClientInvocationContext invocation;
-        private final ObjectCloner resultCloner;
+        private final ObjectClonerPool resultCloner;
         private final Object result;
         private final boolean allowPassByReference;
 
-        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference) {
+        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectClonerPool resultCloner, final Object result, final boolean allowPassByReference) {
             this.invocation = invocation;
             this.resultCloner = resultCloner;
             this.result = result;
@@ -307,11 +304,11 @@ public class LocalEjbReceiver extends EJBReceiver {
     }
 
     static final class CloningExceptionProducer implements EJBReceiverInvocationContext.ResultProducer {
-        private final ObjectCloner resultCloner;
+        private final ObjectClonerPool resultCloner;
         private final Exception exception;
         private final boolean allowPassByReference;
 
-        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception, final boolean allowPassByReference) {
+        CloningExceptionProducer(final ObjectClonerPool resultCloner, final Exception exception, final boolean allowPassByReference) {
             this.resultCloner = resultCloner;
             this.exception = exception;
             this.allowPassByReference = allowPassByReference;
@@ -327,16 +324,6 @@ public class LocalEjbReceiver extends EJBReceiver {
 
 
 
-    private ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
-        ObjectCloner parameterCloner;
-        if(WildFlySecurityManager.isChecking()) {
-            parameterCloner = WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig));
-        } else {
-            parameterCloner = ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig);
-        }
-        return parameterCloner;
-    }
-
     protected SessionID createSession(final EJBReceiverSessionCreationContext receiverContext) throws Exception {
         final StatelessEJBLocator<?> statelessLocator = receiverContext.getClientInvocationContext().getLocator().asStateless();
         final EjbDeploymentInformation ejbInfo = findBean(statelessLocator);
@@ -348,18 +335,90 @@ public class LocalEjbReceiver extends EJBReceiver {
         return ((StatefulSessionComponent) component).createSession();
     }
 
-    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
+    static Object[] cloneParameters(final RemoteViewMethodAnalysis analysis, final ObjectClonerPool cloners, final Object[] values, final boolean allowPassByReference) {
+        final Object[] parameters = new Object[values.length];
+        // All parameters are cloned via the same cloner, to preserve any references between them
+        ObjectCloner cloner = null;
+        try {
+            for (int i = 0; i < parameters.length; ++i) {
+                final Object value = values[i];
+                final Class<?> target = analysis.getParameterType(i);
+                if (analysis.isShareable(i) || !requiresCloning(target, value, allowPassByReference)) {
+                    parameters[i] = value;
+                    continue;
+                }
+                final Object copy = shallowCopy(target, value);
+                if (copy != null) {
+                    parameters[i] = copy;
+                    // Preserve references between copies of the same array
+                    for (int j = 0; j < i; ++j) {
+                        if (values[j] == value) {
+                            parameters[i] = parameters[j];
+                            break;
+                        }
+                    }
+                    continue;
+                }
+                if (cloner == null) {
+                    cloner = cloners.acquire();
+                }
+                parameters[i] = clone(cloner, value);
+            }
+        } finally {
+            if (cloner != null) {
+                cloners.release(cloner);
+            }
+        }
+        return parameters;
+    }
+
+    static Object clone(final Class<?> target, final ObjectClonerPool cloners, final Object object, final boolean allowPassByReference) {
+        if (!requiresCloning(target, object, allowPassByReference)) {
+            return object;
+        }
+        final Object copy = shallowCopy(target, object);
+        if (copy != null) {
+            return copy;
+        }
+        final ObjectCloner cloner = cloners.acquire();
+        try {
+            return clone(cloner, object);
+        } finally {
+            cloners.release(cloner);
+        }
+    }
+
+    /**
+     * Indicates whether the specified object must be copied, i.e. whether it cannot be passed by reference to a recipient expecting the specified type.
+     */
+    private static boolean requiresCloning(final Class<?> target, final Object object, final boolean allowPassByReference) {
         if (object == null) {
-            return null;
+            return false;
         }
         // don't clone primitives
         if (target.isPrimitive()) {
-            return object;
+            return false;
         }
-        if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
-            return object;
+        final Class<?> type = object.getClass();
+        if (allowPassByReference && target.isAssignableFrom(type)) {
+            return false;
+        }
+        // immutable objects whose class is shared with the recipient need not be cloned
+        return !ImmutableTypes.isShareable(type, target);
+    }
+
+    /**
+     * Returns a shallow copy of the specified object, if it is an array whose elements can be passed by reference, or null otherwise.
+     */
+    private static Object shallowCopy(final Class<?> target, final Object object) {
+        final Class<?> type = object.getClass();
+        if (!type.isArray() || !ImmutableTypes.isShallowCopyable(type, target)) {
+            return null;
         }
-        return clone(cloner, object);
+        final int length = Array.getLength(object);
+        final Object copy = Array.newInstance(type.getComponentType(), length);
+        System.arraycopy(object, 0, copy, 0, length);
+        return copy;
     }
 
     private static Object clone(final ObjectCloner cloner, final Object object) {
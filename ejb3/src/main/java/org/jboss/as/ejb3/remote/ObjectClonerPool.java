@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.security.PrivilegedAction;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.jboss.marshalling.cloner.ClassCloner;
+import org.jboss.marshalling.cloner.ClonerConfiguration;
+import org.jboss.marshalling.cloner.ObjectCloner;
+import org.jboss.marshalling.cloner.ObjectCloners;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A pool of reusable {@link ObjectCloner} instances that clone into the same destination class loader.
+ * Since an {@link ObjectCloner} is not thread-safe, each cloner is used by a single invocation at a time, and is reset before it is reused.
+ */
+public class ObjectClonerPool {
+
+    private final ClonerConfiguration configuration = new ClonerConfiguration();
+    private final Queue<ObjectCloner> cloners = new ConcurrentLinkedQueue<>();
+
+    public ObjectClonerPool(ClassCloner classCloner) {
+        this.configuration.setClassCloner(classCloner);
+    }
+
+    /**
+     * Obtains a cloner from this pool, creating one if none are available.
+     * @return an object cloner
+     */
+    public ObjectCloner acquire() {
+        ObjectCloner cloner = this.cloners.poll();
+        if (cloner != null) {
+            return cloner;
+        }
+        if (WildFlySecurityManager.isChecking()) {
+            return WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(this.configuration));
+        }
+        return ObjectCloners.getSerializingObjectClonerFactory().createCloner(this.configuration);
+    }
+
+    /**
+     * Returns the specified cloner, previously obtained via {@link #acquire()}, to this pool.
+     * @param cloner an object cloner
+     */
+    public void release(ObjectCloner cloner) {
+        cloner.reset();
+        this.cloners.offer(cloner);
+    }
+}
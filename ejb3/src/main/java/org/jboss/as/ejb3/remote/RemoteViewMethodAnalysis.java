@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Analysis of the parameters of a method of a remote view, computed once per method, for use by local invocations.
+ * Parameters whose declared type is final, immutable, and loaded by the bootstrap class loader (e.g. {@link String}, {@link java.time.Instant})
+ * can always be passed by reference, without inspecting their value.
+ * The values of any other parameter are inspected per invocation, see {@link ImmutableTypes}.
+ */
+final class RemoteViewMethodAnalysis {
+
+    private static final ClassValue<Map<Method, RemoteViewMethodAnalysis>> ANALYSES = new ClassValue<Map<Method, RemoteViewMethodAnalysis>>() {
+        @Override
+        protected Map<Method, RemoteViewMethodAnalysis> computeValue(Class<?> viewClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Returns the analysis of the specified method of the specified view.
+     * @param viewClass the view class
+     * @param method a method of the view
+     * @return the analysis of the specified method
+     */
+    static RemoteViewMethodAnalysis of(Class<?> viewClass, Method method) {
+        return ANALYSES.get(viewClass).computeIfAbsent(method, RemoteViewMethodAnalysis::new);
+    }
+
+    private final Class<?>[] parameterTypes;
+    private final boolean[] shareable;
+
+    private RemoteViewMethodAnalysis(Method method) {
+        this.parameterTypes = method.getParameterTypes();
+        this.shareable = new boolean[this.parameterTypes.length];
+        for (int i = 0; i < this.parameterTypes.length; ++i) {
+            Class<?> type = this.parameterTypes[i];
+            this.shareable[i] = type.isPrimitive() || (Modifier.isFinal(type.getModifiers()) && (type.getClassLoader() == null) && ImmutableTypes.isImmutable(type));
+        }
+    }
+
+    /**
+     * Returns the declared type of the specified parameter.
+     * @param index a parameter index
+     * @return the declared parameter type
+     */
+    Class<?> getParameterType(int index) {
+        return this.parameterTypes[index];
+    }
+
+    /**
+     * Indicates whether any value of the specified parameter can be passed by reference.
+     * @param index a parameter index
+     * @return true, if any value of the specified parameter can be passed by reference, false if its value must be inspected
+     */
+    boolean isShareable(int index) {
+        return this.shareable[index];
+    }
+}
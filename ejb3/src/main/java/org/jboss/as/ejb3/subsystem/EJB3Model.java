@@ -17,10 +17,11 @@ public enum EJB3Model {
     VERSION_5_0_0(5, 0, 0), // EAP 7.2.0, EAP 7.1.0
     VERSION_6_0_0(6, 0, 0),
     VERSION_7_0_0(7, 0, 0),
-    VERSION_8_0_0(8, 0, 0)
+    VERSION_8_0_0(8, 0, 0),
+    VERSION_9_0_0(9, 0, 0)
     ;
 
-    static final EJB3Model CURRENT = VERSION_8_0_0;
+    static final EJB3Model CURRENT = VERSION_9_0_0;
 
     private final ModelVersion version;
 
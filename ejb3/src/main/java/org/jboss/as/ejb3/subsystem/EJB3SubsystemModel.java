@@ -68,12 +68,15 @@ public interface EJB3SubsystemModel {
 
     String ENABLE_STATISTICS = "enable-statistics";
     String STATISTICS_ENABLED = "statistics-enabled";
+    String STATISTICS_HISTOGRAMS_ENABLED = "statistics-histograms-enabled";
 
     String FILE_DATA_STORE = "file-data-store";
+    String FORMAT = "format";
 
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
+    String STRATEGY = "strategy";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
 
@@ -84,9 +87,12 @@ public interface EJB3SubsystemModel {
     String PATH = "path";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
+    String DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK = "default-singleton-bean-concurrency-lock";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
     String DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT = "default-stateful-bean-session-timeout";
     String DEFAULT_DATA_STORE = "default-data-store";
+    String SCHEDULER = "scheduler";
+    String SCHEDULER_TICK = "scheduler-tick";
 
     String REMOTE = "remote";
     String SERVICE = "service";
@@ -137,6 +143,7 @@ public interface EJB3SubsystemModel {
     String DATABASE_DATA_STORE = "database-data-store";
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
+    String REFRESH_MODE = "refresh-mode";
     String ALLOW_EXECUTION = "allow-execution";
 
     String STATIC_URLS = "static-urls";
@@ -46,7 +46,8 @@ public enum EJB3SubsystemNamespace {
     EJB3_5_0("urn:jboss:domain:ejb3:5.0"),
     EJB3_6_0("urn:jboss:domain:ejb3:6.0"),
     EJB3_7_0("urn:jboss:domain:ejb3:7.0"),
-    EJB3_8_0("urn:jboss:domain:ejb3:8.0");
+    EJB3_8_0("urn:jboss:domain:ejb3:8.0"),
+    EJB3_9_0("urn:jboss:domain:ejb3:9.0");
 
 
     private final String name;
@@ -48,6 +48,7 @@ public enum EJB3SubsystemXMLAttribute {
     CORE_THREADS("core-threads"),
 
     DEFAULT_ACCESS_TIMEOUT("default-access-timeout"),
+    DEFAULT_CONCURRENCY_LOCK("default-concurrency-lock"),
     DEFAULT_SESSION_TIMEOUT("default-session-timeout"),
     DEFAULT_DATA_STORE("default-data-store"),
     DATABASE("database"),
@@ -57,6 +58,10 @@ public enum EJB3SubsystemXMLAttribute {
     ENABLE_BY_DEFAULT("enable-by-default"),
     EXCLUDE_LOCAL_RECEIVER("exclude-local-receiver"),
 
+    FORMAT("format"),
+
+    HISTOGRAMS_ENABLED("histograms-enabled"),
+
     @Deprecated GROUPS_PATH("groups-path"),
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
@@ -79,6 +84,7 @@ public enum EJB3SubsystemXMLAttribute {
 
     PARTITION("partition"),
     REFRESH_INTERVAL("refresh-interval"),
+    REFRESH_MODE("refresh-mode"),
     PASS_BY_VALUE("pass-by-value"),
     @Deprecated PASSIVATE_EVENTS_ON_REPLICATE("passivate-events-on-replicate"),
     PASSIVATION_DISABLED_CACHE_REF("passivation-disabled-cache-ref"),
@@ -89,8 +95,11 @@ public enum EJB3SubsystemXMLAttribute {
     RELATIVE_TO("relative-to"),
     RESOURCE_ADAPTER_NAME("resource-adapter-name"),
 
+    SCHEDULER("scheduler"),
+    SCHEDULER_TICK("scheduler-tick"),
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
+    STRATEGY("strategy"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
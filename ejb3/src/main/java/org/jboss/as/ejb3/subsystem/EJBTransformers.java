@@ -35,6 +35,7 @@ import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_4_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_5_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_6_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_7_0_0;
+import static org.jboss.as.ejb3.subsystem.EJB3Model.VERSION_8_0_0;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.ALLOW_EXECUTION;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.CLIENT_MAPPINGS_CLUSTER_NAME;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.CONNECTORS;
@@ -94,7 +95,8 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         ModelVersion currentModel = subsystemRegistration.getCurrentSubsystemVersion();
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(currentModel);
 
-        registerTransformers_7_0_0(chainedBuilder.createBuilder(currentModel, VERSION_7_0_0.getVersion()));
+        registerTransformers_8_0_0(chainedBuilder.createBuilder(currentModel, VERSION_8_0_0.getVersion()));
+        registerTransformers_7_0_0(chainedBuilder.createBuilder(VERSION_8_0_0.getVersion(), VERSION_7_0_0.getVersion()));
         registerTransformers_6_0_0(chainedBuilder.createBuilder(VERSION_7_0_0.getVersion(), VERSION_6_0_0.getVersion()));
         registerTransformers_5_0_0(chainedBuilder.createBuilder(VERSION_6_0_0.getVersion(), VERSION_5_0_0.getVersion()));
         registerTransformers_4_0_0(chainedBuilder.createBuilder(VERSION_5_0_0.getVersion(), VERSION_4_0_0.getVersion()));
@@ -103,7 +105,7 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         registerTransformers_1_2_1(chainedBuilder.createBuilder(VERSION_1_3_0.getVersion(), VERSION_1_2_1.getVersion()));
 
         chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[] {
-                VERSION_7_0_0.getVersion(), VERSION_6_0_0.getVersion(), VERSION_5_0_0.getVersion(),
+                VERSION_8_0_0.getVersion(), VERSION_7_0_0.getVersion(), VERSION_6_0_0.getVersion(), VERSION_5_0_0.getVersion(),
                 VERSION_4_0_0.getVersion(), VERSION_3_0_0.getVersion(), VERSION_1_3_0.getVersion(), VERSION_1_2_1.getVersion()});
     }
 
@@ -302,6 +304,46 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
     }
 
 
+    /*
+     * Transformers for changes in model version 9.0.0
+     */
+    private static void registerTransformers_8_0_0(ResourceTransformationDescriptionBuilder subsystemBuilder) {
+        // Reject enabled statistics histograms and a non-default singleton bean concurrency lock
+        subsystemBuilder.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED.getDefaultValue()), EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED)
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK.getDefaultValue()), EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK)
+                .end();
+
+        // Reject a non-default strict-max-bean-instance-pool strategy
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH).getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(StrictMaxPoolResourceDefinition.STRATEGY.getDefaultValue()), StrictMaxPoolResourceDefinition.STRATEGY)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, StrictMaxPoolResourceDefinition.STRATEGY)
+                .end();
+
+        // Reject a non-default timer service scheduler
+        // The scheduler-tick attribute is only meaningful to the timing-wheel scheduler, which is itself rejected
+        ResourceTransformationDescriptionBuilder timerService = subsystemBuilder.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        timerService.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(TimerServiceResourceDefinition.SCHEDULER.getDefaultValue()), TimerServiceResourceDefinition.SCHEDULER)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, TimerServiceResourceDefinition.SCHEDULER)
+                .setDiscard(DiscardAttributeChecker.ALWAYS, TimerServiceResourceDefinition.SCHEDULER_TICK)
+                .end();
+
+        // Reject a non-default file-data-store format
+        timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH).getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(FileDataStoreResourceDefinition.FORMAT.getDefaultValue()), FileDataStoreResourceDefinition.FORMAT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.FORMAT)
+                .end();
+
+        // Reject a non-default database-data-store refresh mode
+        timerService.addChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH).getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(DatabaseDataStoreResourceDefinition.REFRESH_MODE.getDefaultValue()), DatabaseDataStoreResourceDefinition.REFRESH_MODE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, DatabaseDataStoreResourceDefinition.REFRESH_MODE)
+                .end();
+    }
+
     /*
      * This transformer is used with the datastores in /subsystem=ejb3/service=timer
      * <timer-service thread-pool-name= default-data-store=>
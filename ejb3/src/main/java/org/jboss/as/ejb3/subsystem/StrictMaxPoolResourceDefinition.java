@@ -25,6 +25,7 @@ package org.jboss.as.ejb3.subsystem;
 import static org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService.Derive;
 
 import java.util.EnumSet;
+import java.util.stream.Stream;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -38,6 +39,7 @@ import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.operations.validation.TimeUnitValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -93,12 +95,19 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .setAllowExpression(true)
                     .build();
+    public static final SimpleAttributeDefinition STRATEGY =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.STRATEGY, ModelType.STRING, true)
+                    .setDefaultValue(new ModelNode(StrictMaxPoolConfig.DEFAULT_STRATEGY.toString()))
+                    .setAllowExpression(true)
+                    .setValidator(new StringAllowedValuesValidator(Stream.of(StrictMaxPoolConfig.Strategy.values()).map(StrictMaxPoolConfig.Strategy::toString).toArray(String[]::new)))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
     public static final SimpleAttributeDefinition DERIVED_SIZE =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DERIVED_SIZE, ModelType.INT, true)
                     .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT };
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT, STRATEGY };
     private static final StrictMaxPoolAdd ADD_HANDLER = new StrictMaxPoolAdd(ATTRIBUTES);
     public static final StrictMaxPoolResourceDefinition INSTANCE = new StrictMaxPoolResourceDefinition();
 
@@ -148,6 +157,10 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
         return Derive.NONE;
     }
 
+    static StrictMaxPoolConfig.Strategy parseStrategy(OperationContext context, ModelNode strictMaxPoolModel) throws OperationFailedException {
+        return StrictMaxPoolConfig.Strategy.fromValue(STRATEGY.resolveModelAttribute(context, strictMaxPoolModel).asString());
+    }
+
     private StrictMaxPoolResourceDefinition() {
         super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL))
                 .setAddHandler(ADD_HANDLER)
@@ -24,8 +24,8 @@ package org.jboss.as.ejb3.subsystem;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
-import java.util.Timer;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
@@ -36,6 +36,9 @@ import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotation
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelTimeoutScheduler;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.Service;
@@ -62,6 +65,8 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
         final String defaultDataStore = TimerServiceResourceDefinition.DEFAULT_DATA_STORE.resolveModelAttribute(context, model).asString();
         final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
+        final TimeoutScheduler.Type schedulerType = TimerServiceResourceDefinition.parseScheduler(context, model);
+        final long schedulerTick = TimerServiceResourceDefinition.SCHEDULER_TICK.resolveModelAttribute(context, model).asLong();
 
         final ServiceName threadPoolServiceName = context.getCapabilityServiceName(TimerServiceResourceDefinition.THREAD_POOL_CAPABILITY_NAME, threadPoolName, Executor.class);
 
@@ -76,27 +81,42 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             }
         }, OperationContext.Stage.RUNTIME);
 
-        context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, new TimerValueService()).install();
+        context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, new TimerValueService(schedulerType, schedulerTick)).install();
     }
 
-    private static final class TimerValueService implements Service<Timer> {
+    private static final class TimerValueService implements Service<TimeoutScheduler> {
 
-        private Timer timer;
+        private final TimeoutScheduler.Type type;
+        private final long tick;
+        private TimeoutScheduler scheduler;
+
+        TimerValueService(TimeoutScheduler.Type type, long tick) {
+            this.type = type;
+            this.tick = tick;
+        }
 
         @Override
         public synchronized void start(final StartContext context) throws StartException {
-            timer = new Timer();
+            switch (type) {
+                case TIMING_WHEEL: {
+                    scheduler = new TimingWheelTimeoutScheduler(tick, TimeUnit.MILLISECONDS);
+                    break;
+                }
+                default: {
+                    scheduler = new TimerTimeoutScheduler();
+                }
+            }
         }
 
         @Override
         public synchronized void stop(final StopContext context) {
-            timer.cancel();
-            timer = null;
+            scheduler.close();
+            scheduler = null;
         }
 
         @Override
-        public synchronized Timer getValue() throws IllegalStateException, IllegalArgumentException {
-            return timer;
+        public synchronized TimeoutScheduler getValue() throws IllegalStateException, IllegalArgumentException {
+            return scheduler;
         }
     }
 }
@@ -34,11 +34,13 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.invocationmetrics.LatencyHistogram;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.dmr.ModelNode;
@@ -112,6 +114,21 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final AttributeDefinition[] PERCENTILES = new AttributeDefinition[] {
+            percentile("p50"), percentile("p90"), percentile("p99"), percentile("p999"), percentile("max"),
+    };
+    private static final double[] PERCENTILE_VALUES = new double[] { 50, 90, 99, 99.9, 100 };
+
+    private static final AttributeDefinition EXECUTION_TIME_HISTOGRAM = ObjectTypeAttributeDefinition.Builder.of("execution-time-histogram", PERCENTILES)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition WAIT_TIME_HISTOGRAM = ObjectTypeAttributeDefinition.Builder.of("wait-time-histogram", PERCENTILES)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     public static final SimpleAttributeDefinition RUN_AS_ROLE = new SimpleAttributeDefinitionBuilder("run-as-role", ModelType.STRING, true)
             .setValidator(new StringLengthValidator(1, true))
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
@@ -139,6 +156,17 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final AttributeDefinition EXPIRED_COUNT = new SimpleAttributeDefinitionBuilder("expired-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition EXPIRATION_LAG = new SimpleAttributeDefinitionBuilder("expiration-lag", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     // Pool attributes
 
     public static final SimpleAttributeDefinition POOL_AVAILABLE_COUNT = new SimpleAttributeDefinitionBuilder("pool-available-count", ModelType.INT, false)
@@ -157,6 +185,24 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
 
     final EJBComponentType componentType;
 
+    private static AttributeDefinition percentile(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
+    private static void readHistogram(final OperationContext context, final LatencyHistogram histogram) {
+        // Undefined if histograms were never enabled
+        if (histogram != null) {
+            final long[] values = histogram.getValuesAtPercentiles(PERCENTILE_VALUES);
+            final ModelNode result = context.getResult();
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                result.get(PERCENTILES[i].getName()).set(values[i]);
+            }
+        }
+    }
+
     public AbstractEJBComponentResourceDefinition(final EJBComponentType componentType) {
         super(PathElement.pathElement(componentType.getResourceType()),
                 EJB3Extension.getResourceDescriptionResolver(componentType.getResourceType()));
@@ -212,6 +258,18 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     context.getResult().set(((StatefulSessionComponent) component).getCache().getTotalSize());
                 }
             });
+            resourceRegistration.registerMetric(EXPIRED_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getExpiredCount());
+                }
+            });
+            resourceRegistration.registerMetric(EXPIRATION_LAG, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    context.getResult().set(((StatefulSessionComponent) component).getCache().getExpirationLag());
+                }
+            });
         }
 
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
@@ -238,6 +296,18 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        resourceRegistration.registerMetric(EXECUTION_TIME_HISTOGRAM, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                readHistogram(context, component.getInvocationMetrics().getExecutionTimeHistogram());
+            }
+        });
+        resourceRegistration.registerMetric(WAIT_TIME_HISTOGRAM, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                readHistogram(context, component.getInvocationMetrics().getWaitTimeHistogram());
+            }
+        });
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
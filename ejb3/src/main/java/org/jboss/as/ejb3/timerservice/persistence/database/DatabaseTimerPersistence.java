@@ -50,8 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -70,6 +69,7 @@ import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
 import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.marshalling.InputStreamByteInput;
@@ -103,7 +103,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimeoutScheduler> timerInjectedValue = new InjectedValue<TimeoutScheduler>();
 
     private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
 
@@ -119,12 +119,15 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Determines how timers are refreshed from the persistence store*/
+    private final RefreshMode refreshMode;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
+    private TimeoutScheduler.Timeout refreshTimeout;
 
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
@@ -134,17 +137,32 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String CLAIM_TIMER = "claim-timer";
+    private static final String CREATE_EVENT_TABLE = "create-event-table";
+    private static final String INSERT_TIMER_EVENT = "insert-timer-event";
+    private static final String LOAD_TIMER_EVENTS = "load-timer-events";
+    private static final String LOAD_LATEST_TIMER_EVENT = "load-latest-timer-event";
+    private static final String DELETE_TIMER_EVENTS = "delete-timer-events";
+    /** Events that changed within this period before the most recent event are re-read by each incremental refresh, to account for transactions that commit out of order*/
+    private static final long EVENT_GRACE_PERIOD = TimeUnit.MINUTES.toMillis(1);
+    /** Events older than this period before the most recent event are deleted*/
+    private static final long EVENT_RETENTION_PERIOD = TimeUnit.HOURS.toMillis(1);
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
     private static final Pattern MSSQL_PATTERN = Pattern.compile("(sqlserver|microsoft|mssql)");
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+        this(database, partition, nodeName, refreshInterval, allowExecution, RefreshMode.FULL);
+    }
+
+    public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, RefreshMode refreshMode) {
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.refreshMode = refreshMode;
     }
 
     @Override
@@ -168,15 +186,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
+        if (refreshMode == RefreshMode.INCREMENTAL) {
+            checkEventTable();
+        }
         refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
-            timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
+            refreshTimeout = timerInjectedValue.getValue().scheduleAtFixedRate(refreshTask, refreshInterval, refreshInterval);
         }
     }
 
     @Override
     public synchronized void stop(final StopContext context) {
-        refreshTask.cancel();
+        if (refreshTimeout != null) {
+            refreshTimeout.cancel();
+            refreshTimeout = null;
+        }
         knownTimerIds.clear();
         managedReference.release();
         managedReference = null;
@@ -314,6 +338,40 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Creates the timer event table used by the incremental refresh, if necessary.
+     */
+    private void checkEventTable() {
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            preparedStatement = connection.prepareStatement(sql(LOAD_LATEST_TIMER_EVENT));
+            preparedStatement.setString(1, partition);
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            //the query failed, assume it is because the table does not exist
+            if (connection != null) {
+                try {
+                    for (final String sql : sql(CREATE_EVENT_TABLE).split(";")) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.executeUpdate(sql);
+                        }
+                    }
+                } catch (SQLException e1) {
+                    EjbLogger.EJB3_TIMER_LOGGER.couldNotCreateTable(e1);
+                }
+            } else {
+                EjbLogger.EJB3_TIMER_LOGGER.couldNotCreateTable(e);
+            }
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(connection);
+        }
+    }
+
     private String sql(final String key) {
         if (database != null) {
             String result = sql.getProperty(key + "." + database);
@@ -337,6 +395,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
             statement.execute();
+            timerChanged(connection, timerEntity);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
@@ -379,6 +438,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 statement.setString(8, nodeName);   // only persist if this node or empty
                 statement.execute();
             }
+            timerChanged(connection, timerEntity);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
@@ -401,6 +461,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             tm.begin();
             try {
                 connection = dataSource.getConnection();
+                if (!claimTimer(connection, timer)) {
+                    // Another node holds or already claimed this timer
+                    tm.rollback();
+                    return false;
+                }
                 statement = connection.prepareStatement(loadTimer);
                 statement.setString(1, TimerState.IN_TIMEOUT.name());
                 setNodeName(TimerState.IN_TIMEOUT, statement, 2);
@@ -445,6 +510,50 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Locks the row of the specified timer when using the incremental refresh, if the dialect supports skipping rows locked by other transactions.
+     * Unlike the subsequent update, this does not block while another node updates the timer within its timeout transaction.
+     *
+     * @return false, if the timer is locked by another transaction or is no longer eligible to run, true otherwise
+     */
+    private boolean claimTimer(final Connection connection, final TimerImpl timer) throws SQLException {
+        if (refreshMode != RefreshMode.INCREMENTAL) {
+            return true;
+        }
+        String claimTimer = sql(CLAIM_TIMER);
+        if (claimTimer == null) {
+            return true;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(claimTimer)) {
+            statement.setString(1, timer.getId());
+            statement.setString(2, TimerState.IN_TIMEOUT.name());
+            statement.setString(3, TimerState.RETRY_TIMEOUT.name());
+            statement.setTimestamp(4, timestamp(timer.getNextExpiration()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Records a change to the specified timer for other nodes using the incremental refresh.
+     */
+    private void timerChanged(final Connection connection, final TimerImpl timer) throws SQLException {
+        timerChanged(connection, timer.getTimedObjectId(), timer.getId());
+    }
+
+    private void timerChanged(final Connection connection, final String timedObjectId, final String timerId) throws SQLException {
+        if (refreshMode != RefreshMode.INCREMENTAL) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql(INSERT_TIMER_EVENT))) {
+            statement.setString(1, partition);
+            statement.setString(2, timedObjectId);
+            statement.setString(3, timerId);
+            statement.execute();
+        }
+    }
+
     @Override
     public synchronized void timerUndeployed(final String timedObjectId) {
         knownTimerIds.remove(timedObjectId);
@@ -476,6 +585,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                             deleteStatement.setString(3, partition);
                             deleteStatement.execute();
                         }
+                        timerChanged(connection, resultSet.getString(2), resultSet.getString(1));
                     }
                 } catch (Exception e) {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
@@ -751,7 +861,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return moduleLoader;
     }
 
-    public InjectedValue<Timer> getTimerInjectedValue() {
+    public InjectedValue<TimeoutScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
@@ -795,96 +905,272 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    private class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
+        // The following are only accessed while running
+        /** The time, according to the database, of the most recent timer event processed by the incremental refresh*/
+        private Timestamp watermark;
+        private long lastRefresh;
 
         @Override
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
-                    synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                    if (refreshMode == RefreshMode.INCREMENTAL) {
+                        refreshIncrementally();
+                    } else {
+                        refreshAll();
                     }
-                    for (String timedObjectId : timedObjects) {
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        private void refreshAll() {
+            Set<String> timedObjects;
+            synchronized (DatabaseTimerPersistence.this) {
+                timedObjects = new HashSet<>(knownTimerIds.keySet());
+            }
+            for (String timedObjectId : timedObjects) {
+                TimerChangeListener listener = changeListeners.get(timedObjectId);
+                if (listener == null) {
+                    continue;
+                }
+                refresh(timedObjectId, listener);
+            }
+        }
+
+        /**
+         * Reloads only those timers changed since the previous refresh, according to the timer event table.
+         * Falls back to a full refresh initially, and whenever the events since the previous refresh may already have been deleted.
+         */
+        private void refreshIncrementally() {
+            final long now = System.nanoTime();
+            final boolean full = (watermark == null) || (TimeUnit.NANOSECONDS.toMillis(now - lastRefresh) > EVENT_RETENTION_PERIOD - EVENT_GRACE_PERIOD);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                final Map<String, Set<String>> changes = new HashMap<>();
+                Timestamp latest = watermark;
+                if (full) {
+                    // Determine the watermark before reloading, so that changes made during the reload are processed by the next refresh
+                    statement = connection.prepareStatement(sql(LOAD_LATEST_TIMER_EVENT));
+                    statement.setString(1, partition);
+                    resultSet = statement.executeQuery();
+                    latest = resultSet.next() ? resultSet.getTimestamp(1) : null;
+                    if (latest == null) {
+                        latest = new Timestamp(0);
+                    }
+                } else {
+                    statement = connection.prepareStatement(sql(LOAD_TIMER_EVENTS));
+                    statement.setString(1, partition);
+                    statement.setTimestamp(2, new Timestamp(watermark.getTime() - EVENT_GRACE_PERIOD));
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        changes.computeIfAbsent(resultSet.getString(1), key -> new HashSet<>()).add(resultSet.getString(2));
+                        Timestamp changed = resultSet.getTimestamp(3);
+                        if (changed.after(latest)) {
+                            latest = changed;
+                        }
+                    }
+                }
+                safeClose(resultSet);
+                resultSet = null;
+                safeClose(statement);
+                statement = null;
+
+                if (full) {
+                    refreshAll();
+                } else {
+                    for (Map.Entry<String, Set<String>> entry : changes.entrySet()) {
+                        final String timedObjectId = entry.getKey();
                         TimerChangeListener listener = changeListeners.get(timedObjectId);
                         if (listener == null) {
                             continue;
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                        for (String timerId : entry.getValue()) {
+                            refresh(connection, timedObjectId, timerId, listener);
                         }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if (holder != null) {
-                                            TimerImpl oldTimer = listener.getTimerService().getTimer(id);
-                                            // if it is already in memory but it is not in sync we have a problem
-                                            // remove and add -> the probable cause is db glitch
-                                            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
-                                            boolean validDBTimer = valid.contains(holder.timer.getState());
-                                            boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
-                                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                            if (validMemoryTimer && validDBTimer) {
-                                                synchronized (DatabaseTimerPersistence.this) {
-                                                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
-                                                    listener.timerSync(oldTimer, holder.timer);
-                                                }
-
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
+                    }
+                }
+
+                statement = connection.prepareStatement(sql(DELETE_TIMER_EVENTS));
+                statement.setString(1, partition);
+                statement.setTimestamp(2, new Timestamp(latest.getTime() - EVENT_RETENTION_PERIOD));
+                statement.executeUpdate();
+
+                watermark = latest;
+                lastRefresh = now;
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition, e);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Reloads all timers of the specified timed object.
+         */
+        private void refresh(String timedObjectId, TimerChangeListener listener) {
+            final Set<String> existing;
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> known = knownTimerIds.get(timedObjectId);
+                if (known == null) {
+                    // Timed object was undeployed
+                    return;
+                }
+                existing = new HashSet<>(known);
+            }
+            String loadTimer = sql(LOAD_ALL_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimer);
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                final TimerServiceImpl timerService = listener.getTimerService();
+                while (resultSet.next()) {
+                    try {
+                        String id = resultSet.getString(1);
+                        final Holder holder = timerFromResult(resultSet, timerService);
+                        if (holder != null) {
+                            if (!existing.remove(id)) {
+                                timerAdded(timedObjectId, holder.timer, listener);
+                            } else {
+                                timerUpdated(timedObjectId, holder.timer, listener);
                             }
+                        }
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+                    }
+                }
 
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    TimerImpl timer1 = timerService.getTimer(timer);
-                                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
+                for (String timer : existing) {
+                    timerRemoved(timedObjectId, timer, listener);
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId, e);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Reloads a single timer of the specified timed object.
+         */
+        private void refresh(Connection connection, String timedObjectId, String timerId, TimerChangeListener listener) throws SQLException {
+            final boolean known;
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> ids = knownTimerIds.get(timedObjectId);
+                if (ids == null) {
+                    // Timed object was undeployed
+                    return;
+                }
+                known = ids.contains(timerId);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql(LOAD_TIMER))) {
+                statement.setString(1, timedObjectId);
+                statement.setString(2, timerId);
+                statement.setString(3, partition);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        try {
+                            final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                            if (holder != null) {
+                                if (!known) {
+                                    timerAdded(timedObjectId, holder.timer, listener);
+                                } else {
+                                    timerUpdated(timedObjectId, holder.timer, listener);
                                 }
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, timerId, e);
                         }
+                    } else if (known) {
+                        timerRemoved(timedObjectId, timerId, listener);
                     }
-                } finally {
-                    running.set(false);
                 }
             }
+        }
+
+        private void timerAdded(String timedObjectId, TimerImpl timer, TimerChangeListener listener) {
+            synchronized (DatabaseTimerPersistence.this) {
+                knownTimerIds.get(timedObjectId).add(timer.getId());
+                listener.timerAdded(timer);
+            }
+        }
+
+        private void timerUpdated(String timedObjectId, TimerImpl timer, TimerChangeListener listener) {
+            TimerImpl oldTimer = listener.getTimerService().getTimer(timer.getId());
+            // if it is already in memory but it is not in sync we have a problem
+            // remove and add -> the probable cause is db glitch
+            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
+            boolean validDBTimer = valid.contains(timer.getState());
+            boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
+            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+            if (validMemoryTimer && validDBTimer) {
+                synchronized (DatabaseTimerPersistence.this) {
+                    knownTimerIds.get(timedObjectId).add(timer.getId());
+                    listener.timerSync(oldTimer, timer);
+                }
+            }
+        }
+
+        private void timerRemoved(String timedObjectId, String timerId, TimerChangeListener listener) {
+            synchronized (DatabaseTimerPersistence.this) {
+                TimerImpl timer = listener.getTimerService().getTimer(timerId);
+                if (timer != null && timer.getState() != TimerState.CREATED) {
+                    knownTimerIds.get(timedObjectId).remove(timerId);
+                    listener.timerRemoved(timerId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines how timers are refreshed from the database.
+     */
+    public enum RefreshMode {
+        /**
+         * Periodically reloads all timers of each timed object.
+         */
+        FULL("full"),
+        /**
+         * Periodically reloads only those timers changed since the previous refresh.
+         * Requires all nodes sharing the same partition to use this refresh mode.
+         */
+        INCREMENTAL("incremental"),
+        ;
+        private final String value;
+
+        RefreshMode(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
 
+        public static RefreshMode fromValue(String value) {
+            for (RefreshMode mode : values()) {
+                if (mode.value.equals(value)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException(value);
         }
     }
 
@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Binary counterpart of {@link EjbTimerXmlPersister} and {@link EjbTimerXmlParser_1_0}, used to store timers within a {@link TimerJournal}.
+ */
+public class EjbTimerBinaryMarshaller {
+
+    private static final byte VERSION = 1;
+    private static final byte TIMER = 0;
+    private static final byte CALENDAR_TIMER = 1;
+    private static final long UNDEFINED_DATE = Long.MIN_VALUE;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    public EjbTimerBinaryMarshaller(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Serializes the specified timer.
+     * @param timer a timer
+     * @return the serialized form of the timer
+     * @throws IOException if the info or primary key of the timer could not be marshalled
+     */
+    public byte[] write(TimerImpl timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            boolean calendar = timer instanceof CalendarTimer;
+            output.writeByte(calendar ? CALENDAR_TIMER : TIMER);
+            output.writeUTF(timer.getTimedObjectId());
+            output.writeUTF(timer.getId());
+            writeDate(output, timer.getInitialExpiration());
+            writeDate(output, timer.getNextExpiration());
+            writeDate(output, timer.getPreviousRun());
+            output.writeUTF(timer.getState().name());
+            this.writeObject(output, timer.getTimerInfo());
+            this.writeObject(output, timer.getPrimaryKey());
+            if (calendar) {
+                CalendarTimer calendarTimer = (CalendarTimer) timer;
+                ScheduleExpression expression = calendarTimer.getScheduleExpression();
+                output.writeUTF(expression.getSecond());
+                output.writeUTF(expression.getMinute());
+                output.writeUTF(expression.getHour());
+                output.writeUTF(expression.getDayOfWeek());
+                output.writeUTF(expression.getDayOfMonth());
+                output.writeUTF(expression.getMonth());
+                output.writeUTF(expression.getYear());
+                writeDate(output, expression.getStart());
+                writeDate(output, expression.getEnd());
+                writeString(output, expression.getTimezone());
+                output.writeBoolean(calendarTimer.isAutoTimer());
+                if (calendarTimer.isAutoTimer()) {
+                    Method method = calendarTimer.getTimeoutMethod();
+                    output.writeUTF(method.getDeclaringClass().getName());
+                    output.writeUTF(method.getName());
+                    Class<?>[] parameterTypes = method.getParameterTypes();
+                    output.writeByte(parameterTypes.length);
+                    for (Class<?> parameterType : parameterTypes) {
+                        output.writeUTF(parameterType.getName());
+                    }
+                }
+            } else {
+                output.writeLong(timer.getInterval());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes a timer.
+     * @param data the serialized form of a timer
+     * @param timerService the timer service of the timer
+     * @param classLoader the class loader of the timed object
+     * @return the deserialized timer, or null, if the timeout method of an automatic timer no longer exists
+     * @throws IOException if the timer could not be read
+     * @throws ClassNotFoundException if the info or primary key of the timer could not be unmarshalled
+     */
+    public TimerImpl read(byte[] data, TimerServiceImpl timerService, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException(String.valueOf(version));
+        }
+        boolean calendar = input.readByte() == CALENDAR_TIMER;
+        CalendarTimer.Builder calendarBuilder = calendar ? CalendarTimer.builder() : null;
+        TimerImpl.Builder builder = calendar ? calendarBuilder : TimerImpl.builder();
+        builder.setPersistent(true);
+        builder.setTimedObjectId(input.readUTF());
+        builder.setId(input.readUTF());
+        builder.setInitialDate(readDate(input));
+        builder.setNextDate(readDate(input));
+        builder.setPreviousRun(readDate(input));
+        builder.setTimerState(TimerState.valueOf(input.readUTF()));
+        builder.setInfo((Serializable) this.readObject(input));
+        builder.setPrimaryKey(this.readObject(input));
+        if (calendar) {
+            calendarBuilder.setScheduleExprSecond(input.readUTF());
+            calendarBuilder.setScheduleExprMinute(input.readUTF());
+            calendarBuilder.setScheduleExprHour(input.readUTF());
+            calendarBuilder.setScheduleExprDayOfWeek(input.readUTF());
+            calendarBuilder.setScheduleExprDayOfMonth(input.readUTF());
+            calendarBuilder.setScheduleExprMonth(input.readUTF());
+            calendarBuilder.setScheduleExprYear(input.readUTF());
+            calendarBuilder.setScheduleExprStartDate(readDate(input));
+            calendarBuilder.setScheduleExprEndDate(readDate(input));
+            calendarBuilder.setScheduleExprTimezone(readString(input));
+            boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                String className = input.readUTF();
+                String methodName = input.readUTF();
+                String[] parameterTypes = new String[input.readByte()];
+                for (int i = 0; i < parameterTypes.length; ++i) {
+                    parameterTypes[i] = input.readUTF();
+                }
+                Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(className, methodName, parameterTypes), classLoader);
+                if (timeoutMethod == null) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(builder.getTimedObjectId(), builder.getId(), null);
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+        } else {
+            builder.setRepeatInterval(input.readLong());
+        }
+        return builder.build(timerService);
+    }
+
+    private void writeObject(DataOutput output, Object object) throws IOException {
+        if (object == null) {
+            output.writeInt(-1);
+            return;
+        }
+        Marshaller marshaller = this.factory.createMarshaller(this.configuration);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.start(new OutputStreamByteOutput(out));
+        marshaller.writeObject(object);
+        marshaller.finish();
+        marshaller.flush();
+        byte[] bytes = out.toByteArray();
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private Object readObject(DataInput input) throws IOException, ClassNotFoundException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration);
+        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(bytes)));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+
+    private static void writeDate(DataOutput output, Date date) throws IOException {
+        output.writeLong((date != null) ? date.getTime() : UNDEFINED_DATE);
+    }
+
+    private static Date readDate(DataInput input) throws IOException {
+        long time = input.readLong();
+        return (time != UNDEFINED_DATE) ? new Date(time) : null;
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
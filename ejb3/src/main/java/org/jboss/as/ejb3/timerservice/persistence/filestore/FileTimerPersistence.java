@@ -62,6 +62,7 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -75,6 +76,9 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * Timers are either stored as one XML file per timer, or within a {@link TimerJournal}, depending on the configured {@link Format}.
+ * When using the journal, timers are cached in memory once loaded, and any timers of a timed object still stored as XML are migrated to the journal on first load.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -83,6 +87,8 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String JOURNAL_DIRECTORY = ".journal";
+    private static final long JOURNAL_SEGMENT_SIZE = 16 * 1024 * 1024;
 
     private final boolean createIfNotExists;
     private MarshallerFactory factory;
@@ -92,13 +98,22 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private final InjectedValue<PathManager> pathManager = new InjectedValue<PathManager>();
     private final String path;
     private final String pathRelativeTo;
+    private final Format format;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private TimerJournal journal;
+    private EjbTimerBinaryMarshaller binaryMarshaller;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    // Timers loaded from the journal, per timed object.  Each map is guarded by the lock of its timed object.
+    private final ConcurrentMap<String, Map<String, TimerImpl>> timers = new ConcurrentHashMap<String, Map<String, TimerImpl>>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, Format.XML);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final Format format) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
@@ -106,6 +121,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.format = format;
     }
 
     @Override
@@ -146,12 +162,30 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (format == Format.JOURNAL) {
+            try {
+                journal = new TimerJournal(new File(baseDir, JOURNAL_DIRECTORY), JOURNAL_SEGMENT_SIZE);
+            } catch (IOException e) {
+                throw EJB3_TIMER_LOGGER.failedToOpenTimerJournal(new File(baseDir, JOURNAL_DIRECTORY), e);
+            }
+            binaryMarshaller = new EjbTimerBinaryMarshaller(factory, configuration);
+        }
     }
 
     @Override
     public void stop(final StopContext context) {
         locks.clear();
         directories.clear();
+        timers.clear();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failToCloseFile(e);
+            }
+            journal = null;
+            binaryMarshaller = null;
+        }
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -201,6 +235,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private void persistTimer(final TimerImpl timer, boolean newTimer) {
         final Lock lock = getLock(timer.getTimedObjectId());
+        TimerJournal.Commit commit = null;
         try {
             final int status = ContextTransactionManager.getInstance().getStatus();
             if (status == Status.STATUS_MARKED_ROLLBACK || status == Status.STATUS_ROLLEDBACK ||
@@ -217,12 +252,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
                     map.remove(timer.getId());
-                    writeFile(timer);
+                    commit = write(timer);
                 } else if (newTimer || map.containsKey(timer.getId())) {
                     //if it is not a new timer and is not in the map then it has
                     //been removed by another thread.
                     map.put(timer.getId(), timer);
-                    writeFile(timer);
+                    commit = write(timer);
                 }
             } else {
 
@@ -236,10 +271,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                 transactionSynchronizationRegistry.getValue().putResource(key, timer);
             }
         } catch (SystemException e) {
-            throw new RuntimeException(e);
+            throw EJB3_TIMER_LOGGER.failedToGetTransactionStatus(e);
         } finally {
             lock.unlock();
         }
+        // Wait for the journal outside of the lock, so that concurrent changes to the timers of this timed object can share the same commit
+        await(commit, timer);
     }
 
     private String timerTransactionKey(final TimerImpl TimerImpl) {
@@ -253,6 +290,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            timers.remove(timedObjectId);
         } finally {
             lock.unlock();
         }
@@ -308,7 +346,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             TimerImpl existing = (TimerImpl) transactionSynchronizationRegistry.getValue().getResource(key);
             return existing != null ? existing : timerImpl;
         } catch (SystemException e) {
-            throw new RuntimeException(e);
+            throw EJB3_TIMER_LOGGER.failedToGetTransactionStatus(e);
         }
     }
 
@@ -331,17 +369,88 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (journal != null) {
+            Map<String, TimerImpl> map = timers.get(timedObjectId);
+            if (map == null) {
+                map = loadTimersFromJournal(timedObjectId, timerService);
+                timers.put(timedObjectId, map);
+            }
+            return map;
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        final ClassLoader classLoader = timerService.getTimedObjectInvoker().getValue().getClassLoader();
+        final List<TimerJournal.Commit> commits = new LinkedList<>();
+        try {
+            for (Map.Entry<String, byte[]> entry : journal.read(timedObjectId).entrySet()) {
+                try {
+                    TimerImpl timer = binaryMarshaller.read(entry.getValue(), timerService, classLoader);
+                    if (timer != null) {
+                        timers.put(timer.getId(), timer);
+                    } else {
+                        // The timeout method of this auto timer no longer exists
+                        commits.add(journal.remove(timedObjectId, entry.getKey()));
+                    }
+                } catch (Exception e) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+                    // Obsolete the unreadable record, so that compaction eventually drops it
+                    EJB3_TIMER_LOGGER.discardingUnreadableTimer(entry.getKey(), timedObjectId);
+                    commits.add(journal.remove(timedObjectId, entry.getKey()));
+                }
+            }
+            // Migrate any timers stored as XML, or in the legacy format, directly into the journal
+            final File directory = new File(baseDir, timedObjectId.replace(File.separator, "-"));
+            if (directory.isDirectory()) {
+                final Map<String, TimerImpl> migrated = loadTimersFromFile(timedObjectId, timerService, false);
+                for (TimerImpl timer : migrated.values()) {
+                    commits.add(journal.put(timedObjectId, timer.getId(), binaryMarshaller.write(timer)));
+                }
+                for (TimerJournal.Commit commit : commits) {
+                    commit.await();
+                }
+                commits.clear();
+                // The XML files are only deleted once the migrated timers are durable
+                for (File file : directory.listFiles()) {
+                    if (file.getName().endsWith(".xml")) {
+                        file.delete();
+                    }
+                }
+                timers.putAll(migrated);
+                if (!migrated.isEmpty()) {
+                    EJB3_TIMER_LOGGER.migratedTimersToJournal(migrated.size(), timedObjectId);
+                }
+            }
+            for (TimerJournal.Commit commit : commits) {
+                commit.await();
+            }
+        } catch (IOException e) {
+            throw EJB3_TIMER_LOGGER.failedToReadTimerJournal(timedObjectId, e);
+        }
+        return timers;
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
+        return loadTimersFromFile(timedObjectId, timerService, true);
+    }
+
+    /**
+     * Loads the timers of the specified timed object stored as XML, or in the legacy format.
+     *
+     * @param writeLegacyTimers indicates whether timers loaded from the legacy format should be rewritten as XML
+     */
+    private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService, boolean writeLegacyTimers) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
 
         timers.putAll(LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, directory, factory, configuration));
-        for(Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-            writeFile(entry.getValue()); //write legacy timers into the new format
-            //the legacy code handling code will write a marker file, to make sure that the old timers will not be loaded on next restart.
+        if (writeLegacyTimers) {
+            for(Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
+                writeFile(entry.getValue()); //write legacy timers into the new format
+                //the legacy code handling code will write a marker file, to make sure that the old timers will not be loaded on next restart.
+            }
         }
         final File file = new File(directory);
         if (!file.exists()) {
@@ -457,6 +566,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     if (timer == null) {
                         return null;
                     }
+                    TimerJournal.Commit commit = null;
                     try {
                         lock.lock();
                         if (status == Status.STATUS_COMMITTED) {
@@ -470,11 +580,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                                     map.put(timer.getId(), timer);
                                 }
                             }
-                            writeFile(timer);
+                            commit = write(timer);
                         }
                     } finally {
                         lock.unlock();
                     }
+                    await(commit, timer);
                     return null;
                 }
             });
@@ -483,6 +594,38 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     }
 
+    /**
+     * Writes the specified timer to the configured store.  Should be called under lock.
+     *
+     * @param timer The timer
+     * @return a commit to await outside of the lock, if the timer was written to the journal, or null if the timer was written to a file
+     */
+    private TimerJournal.Commit write(TimerImpl timer) {
+        if (journal == null) {
+            writeFile(timer);
+            return null;
+        }
+        if (timer.getState() == TimerState.CANCELED ||
+                timer.getState() == TimerState.EXPIRED) {
+            return journal.remove(timer.getTimedObjectId(), timer.getId());
+        }
+        try {
+            return journal.put(timer.getTimedObjectId(), timer.getId(), binaryMarshaller.write(timer));
+        } catch (IOException e) {
+            throw EJB3_TIMER_LOGGER.failedToWriteTimerJournal(timer.getId(), e);
+        }
+    }
+
+    private static void await(TimerJournal.Commit commit, TimerImpl timer) {
+        if (commit != null) {
+            try {
+                commit.await();
+            } catch (IOException e) {
+                throw EJB3_TIMER_LOGGER.failedToWriteTimerJournal(timer.getId(), e);
+            }
+        }
+    }
+
     private void writeFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
@@ -523,6 +666,34 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         return pathManager;
     }
 
+    /**
+     * The format in which timers are stored.
+     */
+    public enum Format {
+        XML("xml"),
+        JOURNAL("journal"),
+        ;
+        private final String value;
+
+        Format(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+
+        public static Format fromValue(String value) {
+            for (Format format : values()) {
+                if (format.value.equals(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException(value);
+        }
+    }
+
     private void setIfSupported(final XMLInputFactory inputFactory, final String property, final Object value) {
         if (inputFactory.isPropertySupported(property)) {
             inputFactory.setProperty(property, value);
@@ -0,0 +1,522 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented, append-only journal of persistent timer records.
+ * <p/>
+ * Each record either stores the serialized form of a timer, or removes a previously stored timer.
+ * Records are appended to the current segment, which is replaced by a new segment once it exceeds a configured size.
+ * An in-memory index maps each timer to the location of its most recent record, and is rebuilt by scanning the segments on startup.
+ * <p/>
+ * Appending a record is split into two phases: {@link #put(String, String, byte[])} and {@link #remove(String, String)}
+ * enqueue a record and return a {@link Commit}, whose {@link Commit#await()} blocks until the record is durable.
+ * The first thread to await a batch of records writes and forces the entire batch on behalf of all the threads that enqueued records into it (i.e. group commit),
+ * so the cost of forcing the journal to disk is amortized across concurrent writers.
+ * <p/>
+ * Once the number of obsolete bytes in the sealed segments exceeds the number of live bytes, the live records of the sealed segments
+ * are copied into the current segment, after which the sealed segments are deleted.
+ */
+public class TimerJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int SEGMENT_MAGIC = 0x454a4254; // "EJBT"
+    private static final int SEGMENT_VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    // Record length + checksum
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final File directory;
+    private final long segmentSize;
+    private final Lock writeLock = new ReentrantLock();
+    private final Object pendingLock = new Object();
+    // Guarded by pendingLock
+    private Batch pending = new Batch();
+
+    // The following are guarded by writeLock
+    private final LinkedList<Segment> segments = new LinkedList<>();
+    private final Map<String, Map<String, Location>> index = new HashMap<>();
+    private Segment current;
+    private long nextSegmentId;
+    private boolean compacting = false;
+
+    /**
+     * Opens the journal within the specified directory, recovering the index from any existing segments.
+     * @param directory the directory containing the segments of this journal
+     * @param segmentSize the size in bytes beyond which the current segment is sealed and replaced by a new segment
+     * @throws IOException if the journal could not be recovered
+     */
+    public TimerJournal(File directory, long segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw EJB3_TIMER_LOGGER.failToCreateTimerFileStoreDir(directory);
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = file.getName();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16);
+            Segment segment = new Segment(id, file);
+            this.segments.add(segment);
+            this.recover(segment, file == files[files.length - 1]);
+            this.nextSegmentId = id + 1;
+        }
+        // Never append to a recovered segment
+        this.createSegment();
+    }
+
+    /**
+     * Enqueues a record storing the specified serialized timer.
+     * @param timedObjectId a timed object identifier
+     * @param timerId a timer identifier
+     * @param timer the serialized timer
+     * @return a commit through which the caller can wait for the record to become durable
+     */
+    public Commit put(String timedObjectId, String timerId, byte[] timer) {
+        return this.enqueue(new Record(PUT, timedObjectId, timerId, timer));
+    }
+
+    /**
+     * Enqueues a record removing the specified timer.
+     * @param timedObjectId a timed object identifier
+     * @param timerId a timer identifier
+     * @return a commit through which the caller can wait for the record to become durable
+     */
+    public Commit remove(String timedObjectId, String timerId) {
+        return this.enqueue(new Record(REMOVE, timedObjectId, timerId, new byte[0]));
+    }
+
+    /**
+     * Reads the live timers of the specified timed object.
+     * @param timedObjectId a timed object identifier
+     * @return a map of serialized timer per timer identifier
+     * @throws IOException if the journal could not be read
+     */
+    public Map<String, byte[]> read(String timedObjectId) throws IOException {
+        this.writeLock.lock();
+        try {
+            // Make sure any pending records are visible
+            this.commit();
+            Map<String, Location> locations = this.index.get(timedObjectId);
+            if (locations == null) {
+                return Collections.emptyMap();
+            }
+            Map<String, byte[]> result = new HashMap<>();
+            for (Map.Entry<String, Location> entry : locations.entrySet()) {
+                Location location = entry.getValue();
+                ByteBuffer buffer = location.segment.read(location.position, location.length);
+                result.put(entry.getKey(), new Record(buffer).data);
+            }
+            return result;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writeLock.lock();
+        try {
+            this.commit();
+            for (Segment segment : this.segments) {
+                segment.close();
+            }
+            this.segments.clear();
+            this.index.clear();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private Commit enqueue(Record record) {
+        synchronized (this.pendingLock) {
+            Batch batch = this.pending;
+            batch.records.add(record);
+            return batch;
+        }
+    }
+
+    /**
+     * Writes and forces the pending batch of records.  Must be called while holding the write lock.
+     */
+    private void commit() throws IOException {
+        Batch batch;
+        synchronized (this.pendingLock) {
+            batch = this.pending;
+            this.pending = new Batch();
+        }
+        if (!batch.records.isEmpty()) {
+            this.write(batch);
+            if (batch.failure != null) {
+                throw batch.failure;
+            }
+        }
+    }
+
+    private void write(Batch batch) {
+        Segment segment = this.current;
+        long position = segment.size;
+        List<Location> locations = new ArrayList<>(batch.records.size());
+        try {
+            for (Record record : batch.records) {
+                ByteBuffer buffer = record.toByteBuffer();
+                if ((segment.size > SEGMENT_HEADER_SIZE) && (segment.size + buffer.remaining() > this.segmentSize)) {
+                    segment.force();
+                    segment = this.createSegment();
+                    position = segment.size;
+                }
+                locations.add(new Location(segment, segment.append(buffer), buffer.limit() - RECORD_HEADER_SIZE));
+            }
+            segment.force();
+        } catch (IOException e) {
+            batch.failure = e;
+            // Discard any partially written records, so that subsequent records remain recoverable
+            try {
+                segment.truncate(position);
+            } catch (IOException ignored) {
+                // Recovery will truncate at the first invalid record
+            }
+            batch.done = true;
+            return;
+        }
+        Iterator<Location> iterator = locations.iterator();
+        for (Record record : batch.records) {
+            this.index(record, iterator.next());
+        }
+        batch.done = true;
+
+        long sealedSize = 0;
+        long sealedLiveSize = 0;
+        boolean corrupt = false;
+        for (Segment sealed : this.segments) {
+            if (sealed != this.current) {
+                sealedSize += sealed.size - SEGMENT_HEADER_SIZE;
+                sealedLiveSize += sealed.liveSize;
+                corrupt |= sealed.corrupt;
+            }
+        }
+        // Segments containing unreadable content are compacted away eagerly
+        if (!this.compacting && (corrupt || ((sealedSize > this.segmentSize) && (sealedLiveSize * 2 < sealedSize)))) {
+            this.compacting = true;
+            try {
+                this.compact();
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failedToCompactTimerJournal(this.directory, e);
+            } finally {
+                this.compacting = false;
+            }
+        }
+    }
+
+    private void index(Record record, Location location) {
+        Map<String, Location> locations = this.index.computeIfAbsent(record.timedObjectId, key -> new HashMap<>());
+        Location previous = (record.type == PUT) ? locations.put(record.timerId, location) : locations.remove(record.timerId);
+        if (record.type == PUT) {
+            location.segment.liveSize += location.length;
+        }
+        if (previous != null) {
+            previous.segment.liveSize -= previous.length;
+        }
+        if (locations.isEmpty()) {
+            this.index.remove(record.timedObjectId);
+        }
+    }
+
+    /**
+     * Copies the live records of all sealed segments into the current segment, and deletes the sealed segments.
+     * Since the sealed segments always precede the current segment, any removal records within them are obsolete once they are deleted.
+     */
+    private void compact() throws IOException {
+        List<Segment> sealed = new ArrayList<>(this.segments);
+        sealed.remove(this.current);
+        Batch batch = new Batch();
+        for (Map<String, Location> locations : this.index.values()) {
+            for (Location location : locations.values()) {
+                if (location.segment != this.current) {
+                    batch.records.add(new Record(location.segment.read(location.position, location.length)));
+                }
+            }
+        }
+        if (!batch.records.isEmpty()) {
+            this.write(batch);
+            if (batch.failure != null) {
+                throw batch.failure;
+            }
+        }
+        // Delete the oldest segments first, so that a failure never leaves a put record without a subsequent removal record
+        for (Segment segment : sealed) {
+            segment.close();
+            if (!segment.file.delete()) {
+                EJB3_TIMER_LOGGER.failedToDeleteTimerJournalSegment(segment.file);
+                break;
+            }
+            this.segments.remove(segment);
+        }
+    }
+
+    /**
+     * Creates a new segment, which becomes the current segment.
+     */
+    private Segment createSegment() throws IOException {
+        Segment segment = new Segment(this.nextSegmentId++, null);
+        segment.initialize();
+        this.segments.add(segment);
+        this.current = segment;
+        return segment;
+    }
+
+    /**
+     * Scans the records of the specified segment into the index.
+     */
+    private void recover(Segment segment, boolean last) throws IOException {
+        long size = segment.channel.size();
+        ByteBuffer header = segment.read(0, SEGMENT_HEADER_SIZE);
+        if ((size < SEGMENT_HEADER_SIZE) || (header.getInt() != SEGMENT_MAGIC) || (header.getInt() != SEGMENT_VERSION)) {
+            EJB3_TIMER_LOGGER.corruptTimerJournalSegment(0, segment.file);
+            segment.size = size;
+            segment.corrupt = true;
+            return;
+        }
+        ByteBuffer buffer = segment.read(0, (int) size);
+        buffer.position(SEGMENT_HEADER_SIZE);
+        long position = SEGMENT_HEADER_SIZE;
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if ((length <= 0) || (length > buffer.remaining())) {
+                break;
+            }
+            ByteBuffer body = buffer.slice();
+            body.limit(length);
+            if (checksum(body) != checksum) {
+                break;
+            }
+            this.index(new Record(body), new Location(segment, position + RECORD_HEADER_SIZE, length));
+            buffer.position(buffer.position() + length);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        if (position < size) {
+            EJB3_TIMER_LOGGER.corruptTimerJournalSegment(position, segment.file);
+            if (last) {
+                // Discard torn write
+                segment.truncate(position);
+            } else {
+                segment.corrupt = true;
+            }
+        }
+        segment.size = position;
+    }
+
+    static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Handle to a pending batch of records.
+     */
+    public interface Commit {
+        /**
+         * Waits until the associated record is durable.
+         * @throws IOException if the associated record could not be written.
+         */
+        void await() throws IOException;
+    }
+
+    private class Batch implements Commit {
+        final List<Record> records = new ArrayList<>();
+        volatile boolean done = false;
+        volatile IOException failure;
+
+        @Override
+        public void await() throws IOException {
+            if (!this.done) {
+                TimerJournal.this.writeLock.lock();
+                try {
+                    // If no other thread committed our batch while we were waiting for the lock, then it must still be pending
+                    if (!this.done) {
+                        TimerJournal.this.commit();
+                    }
+                } finally {
+                    TimerJournal.this.writeLock.unlock();
+                }
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+    }
+
+    private static class Record {
+        final byte type;
+        final String timedObjectId;
+        final String timerId;
+        final byte[] data;
+
+        Record(byte type, String timedObjectId, String timerId, byte[] data) {
+            this.type = type;
+            this.timedObjectId = timedObjectId;
+            this.timerId = timerId;
+            this.data = data;
+        }
+
+        Record(ByteBuffer body) {
+            this.type = body.get();
+            this.timedObjectId = readString(body);
+            this.timerId = readString(body);
+            this.data = new byte[body.remaining()];
+            body.get(this.data);
+        }
+
+        ByteBuffer toByteBuffer() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + this.data.length + 128);
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                // Reserve space for header
+                output.writeLong(0L);
+                output.writeByte(this.type);
+                writeString(output, this.timedObjectId);
+                writeString(output, this.timerId);
+                output.write(this.data);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            ByteBuffer body = buffer.duplicate();
+            body.position(RECORD_HEADER_SIZE);
+            buffer.putInt(0, buffer.limit() - RECORD_HEADER_SIZE);
+            buffer.putInt(4, checksum(body));
+            return buffer;
+        }
+
+        private static void writeString(DataOutputStream output, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class Location {
+        final Segment segment;
+        // Position of the record body
+        final long position;
+        final int length;
+
+        Location(Segment segment, long position, int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    private class Segment {
+        final long id;
+        final File file;
+        final FileChannel channel;
+        // Guarded by writeLock
+        long size;
+        long liveSize;
+        // Indicates that this segment contains unreadable content
+        boolean corrupt = false;
+
+        Segment(long id, File file) throws IOException {
+            this.id = id;
+            this.file = (file != null) ? file : new File(TimerJournal.this.directory, String.format("%016x%s", id, SEGMENT_SUFFIX));
+            this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void initialize() throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            header.putInt(SEGMENT_MAGIC).putInt(SEGMENT_VERSION).flip();
+            this.append(header);
+            this.force();
+        }
+
+        /**
+         * Appends the specified buffer to this segment.
+         * @return the position of the record body
+         */
+        long append(ByteBuffer buffer) throws IOException {
+            long position = this.size;
+            while (buffer.hasRemaining()) {
+                this.size += this.channel.write(buffer, this.size);
+            }
+            return position + RECORD_HEADER_SIZE;
+        }
+
+        ByteBuffer read(long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        void force() throws IOException {
+            this.channel.force(false);
+        }
+
+        void truncate(long size) throws IOException {
+            this.channel.truncate(size);
+            this.size = size;
+        }
+
+        void close() throws IOException {
+            this.channel.close();
+        }
+    }
+}
@@ -102,6 +102,11 @@ public class CalendarBasedTimeout {
      */
     private TimeZone timezone;
 
+    /**
+     * The schedule compiled from the parsed values of the {@link javax.ejb.ScheduleExpression}
+     */
+    private CompiledScheduleExpression compiledExpression;
+
     /**
      * Creates a {@link CalendarBasedTimeout} from the passed <code>schedule</code>.
      * <p>
@@ -152,14 +157,17 @@ public class CalendarBasedTimeout {
             this.timezone = TimeZone.getDefault();
         }
 
+        this.compiledExpression = new CompiledScheduleExpression(this.second, this.minute, this.hour, this.dayOfMonth, this.isDayOfMonthWildcard(),
+                this.dayOfWeek, this.isDayOfWeekWildcard(), this.month, this.year, this.timezone, schedule.getStart(), schedule.getEnd());
+
         // Now that we have parsed the values from the ScheduleExpression,
         // determine and set the first timeout (relative to the current time)
         // of this CalendarBasedTimeout
-        setFirstTimeout();
-        }
+        this.firstTimeout = this.toCalendar(this.compiledExpression.getFirstTimeout(System.currentTimeMillis()));
+    }
 
     public Calendar getNextTimeout() {
-        return getNextTimeout(new GregorianCalendar(this.timezone), true);
+        return this.toCalendar(this.compiledExpression.getNextTimeout(System.currentTimeMillis(), true));
     }
 
     /**
@@ -169,17 +177,6 @@ public class CalendarBasedTimeout {
         return this.firstTimeout;
     }
 
-    private void setFirstTimeout() {
-        Calendar currentCal = new GregorianCalendar(this.timezone);
-        Date start = this.scheduleExpression.getStart();
-        if (start != null) {
-            currentCal.setTime(start);
-        } else {
-            resetTimeToFirstValues(currentCal);
-        }
-        this.firstTimeout = getNextTimeout(currentCal, false);
-    }
-
     /**
      * Returns the original {@link javax.ejb.ScheduleExpression} from which this {@link CalendarBasedTimeout}
      * was created.
@@ -191,331 +188,40 @@ public class CalendarBasedTimeout {
     }
 
     public Calendar getNextTimeout(Calendar currentCal) {
-        return getNextTimeout(currentCal, true);
-    }
-
-    private Calendar getNextTimeout(Calendar currentCal, boolean increment) {
-        if (this.noMoreTimeouts(currentCal)) {
-            return null;
-        }
-        Calendar nextCal = (Calendar) currentCal.clone();
-        nextCal.setTimeZone(this.timezone);
-        Date start = this.scheduleExpression.getStart();
-        if (start != null && currentCal.getTime().before(start)) {
-            //this may result in a millisecond component, however that is ok
-            //otherwise WFLY-6561 will rear its only head
-            //also as the start time may include milliseconds this is technically correct
-            nextCal.setTime(start);
-        } else {
-            if (increment) {
-                // increment the current second by 1
-                nextCal.add(Calendar.SECOND, 1);
-            }
-            nextCal.add(Calendar.MILLISECOND, -nextCal.get(Calendar.MILLISECOND));
-        }
-        nextCal.setFirstDayOfWeek(Calendar.SUNDAY);
-
-        nextCal = this.computeNextTime(nextCal);
-        if (nextCal == null) {
-            return null;
-        }
-
-        nextCal = this.computeNextMonth(nextCal);
-        if (nextCal == null) {
-            return null;
-        }
-
-        nextCal = this.computeNextDate(nextCal);
-        if (nextCal == null) {
-            return null;
-        }
-
-        nextCal = this.computeNextYear(nextCal);
-        if (nextCal == null) {
-            return null;
-        }
-
-        // one final check
-        if (this.noMoreTimeouts(nextCal)) {
-            return null;
-        }
-        return nextCal;
-    }
-
-    private Calendar computeNextTime(Calendar nextCal) {
-        int currentSecond = nextCal.get(Calendar.SECOND);
-        int currentMinute = nextCal.get(Calendar.MINUTE);
-        int currentHour = nextCal.get(Calendar.HOUR_OF_DAY);
-        final int currentTimeInSeconds = currentHour*3600 + currentMinute*60 + currentSecond;
-
-        // compute next second
-        Integer nextSecond = this.second.getNextMatch(currentSecond);
-        if (nextSecond == null) {
-            return null;
-        }
-        // compute next minute
-        if (nextSecond < currentSecond) {
-            currentMinute++;
-        }
-        Integer nextMinute = this.minute.getNextMatch(currentMinute < 60 ? currentMinute : 0);
-        if (nextMinute == null) {
-            return null;
-        }
-        // reset second if minute was changed  (Fix WFLY-5955)
-        if( nextMinute != currentMinute) {
-            nextSecond = this.second.getNextMatch(0);
-        }
-        // compute next hour
-        if (nextMinute < currentMinute) {
-            currentHour++;
-        }
-        Integer nextHour = this.hour.getNextMatch(currentHour < 24 ? currentHour : 0);
-        if (nextHour == null) {
-            return null;
-        }
-        if(nextHour != currentHour) {
-            // reset second/minute if hour changed  (Fix WFLY-5955)
-            nextSecond = this.second.getNextMatch(0);
-            nextMinute = this.minute.getNextMatch(0);
-        }
-
-        final int nextTimeInSeconds = nextHour*3600 + nextMinute*60 + nextSecond;
-        if (nextTimeInSeconds == currentTimeInSeconds) {
-            // no change in time
-            return nextCal;
-        }
-
-        // Set the time before adding the a day. If we do it after,
-        // we could be using an invalid DST value in setTime method
-        setTime(nextCal, nextHour, nextMinute, nextSecond);
-
-        // time change
-        if (nextTimeInSeconds < currentTimeInSeconds) {
-            // advance to next day
-            nextCal.add(Calendar.DATE, 1);
-        }
-
-        return nextCal;
-    }
-
-    private Calendar computeNextDayOfWeek(Calendar nextCal) {
-        Integer nextDayOfWeek = this.dayOfWeek.getNextMatch(nextCal);
-
-        if (nextDayOfWeek == null) {
-            return null;
-        }
-        int currentDayOfWeek = nextCal.get(Calendar.DAY_OF_WEEK);
-        // if the current day-of-week is a match, then nothing else to
-        // do. Just return back the calendar
-        if (currentDayOfWeek == nextDayOfWeek) {
-            return nextCal;
-        }
-        int currentMonth = nextCal.get(Calendar.MONTH);
-
-        // At this point, a suitable "next" day-of-week has been identified.
-        // There can be 2 cases
-        // 1) The "next" day-of-week is greater than the current day-of-week : This
-        // implies that the next day-of-week is within the "current" week.
-        // 2) The "next" day-of-week is lesser than the current day-of-week : This implies
-        // that the next day-of-week is in the next week (i.e. current week needs to
-        // be advanced to next week).
-        if (nextDayOfWeek < currentDayOfWeek) {
-            // advance one week
-            nextCal.add(Calendar.WEEK_OF_MONTH, 1);
-        }
-        // set the chosen day of week
-        nextCal.set(Calendar.DAY_OF_WEEK, nextDayOfWeek);
-        // since we are moving to a different day-of-week (as compared to the current day-of-week),
-        // we should reset the second, minute and hour appropriately, to their first possible
-        // values
-        resetTimeToFirstValues(nextCal);
-
-        if (nextCal.get(Calendar.MONTH) != currentMonth) {
-            nextCal = computeNextMonth(nextCal);
-        }
-        return nextCal;
-    }
-
-    private Calendar computeNextMonth(Calendar nextCal) {
-        Integer nextMonth = this.month.getNextMatch(nextCal);
-
-        if (nextMonth == null) {
-            return null;
-        }
-        int currentMonth = nextCal.get(Calendar.MONTH);
-        // if the current month is a match, then nothing else to
-        // do. Just return back the calendar
-        if (currentMonth == nextMonth) {
-            return nextCal;
-        }
-
-        // At this point, a suitable "next" month has been identified.
-        // There can be 2 cases
-        // 1) The "next" month is greater than the current month : This
-        // implies that the next month is within the "current" year.
-        // 2) The "next" month is lesser than the current month : This implies
-        // that the next month is in the next year (i.e. current year needs to
-        // be advanced to next year).
-        if (nextMonth < currentMonth) {
-            // advance to next year
-            nextCal.add(Calendar.YEAR, 1);
-        }
-        // set the chosen month
-        nextCal.set(Calendar.MONTH, nextMonth);
-        // since we are moving to a different month (as compared to the current month),
-        // we should reset the second, minute, hour, day-of-week and dayofmonth appropriately, to their first possible
-        // values
-        nextCal.set(Calendar.DAY_OF_WEEK, this.dayOfWeek.getFirst());
-        nextCal.set(Calendar.DAY_OF_MONTH, 1);
-        resetTimeToFirstValues(nextCal);
-
-        return nextCal;
-    }
-
-    private Calendar computeNextDate(Calendar nextCal) {
-        if (this.isDayOfMonthWildcard()) {
-            return this.computeNextDayOfWeek(nextCal);
-        }
-
-        if (this.isDayOfWeekWildcard()) {
-            return this.computeNextDayOfMonth(nextCal);
-        }
-
-        // both day-of-month and day-of-week are *non-wildcards*
-        Calendar nextDayOfMonthCal = this.computeNextDayOfMonth((Calendar) nextCal.clone());
-        Calendar nextDayOfWeekCal = this.computeNextDayOfWeek((Calendar) nextCal.clone());
-
-        if (nextDayOfMonthCal == null) {
-            return nextDayOfWeekCal;
-        }
-        if (nextDayOfWeekCal == null) {
-            return nextDayOfMonthCal;
-        }
-
-        return nextDayOfWeekCal.getTime().before(nextDayOfMonthCal.getTime()) ? nextDayOfWeekCal : nextDayOfMonthCal;
+        return this.toCalendar(this.compiledExpression.getNextTimeout(currentCal.getTimeInMillis(), true));
     }
 
-    private Calendar computeNextDayOfMonth(Calendar nextCal) {
-        Integer nextDayOfMonth = this.dayOfMonth.getNextMatch(nextCal);
-
-        if (nextDayOfMonth == null) {
-            return null;
-        }
-        int currentDayOfMonth = nextCal.get(Calendar.DAY_OF_MONTH);
-        // if the current day-of-month is a match, then nothing else to
-        // do. Just return back the calendar
-        if (currentDayOfMonth == nextDayOfMonth) {
-            return nextCal;
-        }
-
-        if (nextDayOfMonth > currentDayOfMonth) {
-            if (this.monthHasDate(nextCal, nextDayOfMonth)) {
-                // set the chosen day-of-month
-                nextCal.set(Calendar.DAY_OF_MONTH, nextDayOfMonth);
-                // since we are moving to a different day-of-month (as compared to the current day-of-month),
-                // we should reset the second, minute and hour appropriately, to their first possible
-                // values
-                resetTimeToFirstValues(nextCal);
-
-            } else {
-                nextCal = this.advanceTillMonthHasDate(nextCal, nextDayOfMonth);
-            }
-        } else {
-            // since the next day is before the current day we need to shift to the next month
-            nextCal.add(Calendar.MONTH, 1);
-            // also we need to reset the time
-            resetTimeToFirstValues(nextCal);
-            nextCal = this.computeNextMonth(nextCal);
-            if (nextCal == null) {
-                return null;
-            }
-            nextDayOfMonth = this.dayOfMonth.getFirstMatch(nextCal);
-            if (nextDayOfMonth == null) {
-                return null;
-            }
-            // make sure the month can handle the date
-            nextCal = this.advanceTillMonthHasDate(nextCal, nextDayOfMonth);
-        }
-        return nextCal;
+    /**
+     * Computes the next timeout after the passed <code>currentTimeout</code>, without creating any intermediate {@link Calendar}.
+     *
+     * @param currentTimeout The current timeout
+     * @return the next timeout, or null if there are no more timeouts
+     */
+    public Date getNextTimeout(Date currentTimeout) {
+        long nextTimeout = this.compiledExpression.getNextTimeout(currentTimeout.getTime(), true);
+        return (nextTimeout != CompiledScheduleExpression.NO_MORE_TIMEOUTS) ? new Date(nextTimeout) : null;
     }
 
-    private Calendar computeNextYear(Calendar nextCal) {
-        Integer nextYear = this.year.getNextMatch(nextCal);
-
-        if (nextYear == null || nextYear > Year.MAX_YEAR) {
-            return null;
-        }
-        int currentYear = nextCal.get(Calendar.YEAR);
-        // if the current year is a match, then nothing else to
-        // do. Just return back the calendar
-        if (currentYear == nextYear) {
-            return nextCal;
-        }
-        // If the next year is lesser than the current year, then
-        // we have no more timeouts for the calendar expression
-        if (nextYear < currentYear) {
+    private Calendar toCalendar(long timeout) {
+        if (timeout == CompiledScheduleExpression.NO_MORE_TIMEOUTS) {
             return null;
         }
-
-        // at this point we have chosen a year which is greater than the current
-        // year.
-        // set the chosen year
-        nextCal.set(Calendar.YEAR, nextYear);
-        // since we are moving to a different year (as compared to the current year),
-        // we should reset all other calendar attribute expressions appropriately, to their first possible
-        // values
-        nextCal.set(Calendar.MONTH, this.month.getFirstMatch());
-        nextCal.set(Calendar.DAY_OF_MONTH, 1);
-        resetTimeToFirstValues(nextCal);
-
-        // recompute date
-        nextCal = this.computeNextDate(nextCal);
-
-        return nextCal;
-    }
-
-    private Calendar advanceTillMonthHasDate(Calendar cal, Integer date) {
-        resetTimeToFirstValues(cal);
-
-        // make sure the month can handle the date
-        while (monthHasDate(cal, date) == false) {
-            if (cal.get(Calendar.YEAR) > Year.MAX_YEAR) {
-                return null;
-            }
-            // this month can't handle the date, so advance month to next month
-            // and get the next suitable matching month
-            cal.add(Calendar.MONTH, 1);
-            cal = this.computeNextMonth(cal);
-            if (cal == null) {
-                return null;
-            }
-            date = this.dayOfMonth.getFirstMatch(cal);
-            if (date == null) {
-                return null;
-            }
-        }
-        cal.set(Calendar.DAY_OF_MONTH, date);
-        return cal;
-    }
-
-    private boolean monthHasDate(Calendar cal, int date) {
-        return date <= cal.getActualMaximum(Calendar.DAY_OF_MONTH);
-    }
-
-    private boolean isAfterEnd(Calendar cal) {
-        Date end = this.scheduleExpression.getEnd();
-        if (end == null) {
-            return false;
-        }
-        // check that the next timeout isn't past the end date
-        return cal.getTime().after(end);
-    }
-
-    private boolean noMoreTimeouts(Calendar cal) {
-        if (cal.get(Calendar.YEAR) > Year.MAX_YEAR || isAfterEnd(cal)) {
-            return true;
-        }
-        return false;
+        Calendar calendar = new GregorianCalendar(this.timezone);
+        calendar.setFirstDayOfWeek(Calendar.SUNDAY);
+        calendar.setTimeInMillis(timeout);
+        int secondOfDay = calendar.get(Calendar.HOUR_OF_DAY) * 3600 + calendar.get(Calendar.MINUTE) * 60 + calendar.get(Calendar.SECOND);
+        if (!this.compiledExpression.matchesTimeOfDay(secondOfDay)) {
+            // The scheduled local time was skipped, e.g. when daylight saving time started, so the timeout was moved later by the length of the gap.
+            // Retain the scheduled local time, along with the daylight saving offset in effect prior to the gap  (WFLY-9537)
+            int gap = this.compiledExpression.getPrecedingGap(timeout);
+            int dst = calendar.get(Calendar.DST_OFFSET) - gap * 1000;
+            secondOfDay -= gap;
+            calendar.set(Calendar.HOUR_OF_DAY, secondOfDay / 3600);
+            calendar.set(Calendar.MINUTE, (secondOfDay / 60) % 60);
+            calendar.set(Calendar.SECOND, secondOfDay % 60);
+            calendar.set(Calendar.DST_OFFSET, dst);
+        }
+        return calendar;
     }
 
     private boolean isDayOfWeekWildcard() {
@@ -567,35 +273,4 @@ public class CalendarBasedTimeout {
         return clonedSchedule;
     }
 
-    /**
-     *
-     * @param calendar
-     */
-    private void resetTimeToFirstValues(Calendar calendar) {
-        final int currentHour = calendar.get(Calendar.HOUR_OF_DAY);
-        final int currentMinute = calendar.get(Calendar.MINUTE);
-        final int currentSecond = calendar.get(Calendar.SECOND);
-        final int firstHour = this.hour.getFirst();
-        final int firstMinute = this.minute.getFirst();
-        final int firstSecond = this.second.getFirst();
-        if (currentHour != firstHour || currentMinute != firstMinute || currentSecond != firstSecond) {
-            setTime(calendar, firstHour, firstMinute, firstSecond);
-        }
-    }
-
-    private void setTime(Calendar calendar, int hour, int minute, int second) {
-        int dst = calendar.get(Calendar.DST_OFFSET);
-        calendar.clear(Calendar.HOUR_OF_DAY);
-        calendar.set(Calendar.HOUR_OF_DAY, hour);
-        calendar.clear(Calendar.MINUTE);
-        calendar.set(Calendar.MINUTE, minute);
-        calendar.clear(Calendar.SECOND);
-        calendar.set(Calendar.SECOND, second);
-        // restore summertime offset WFLY-9537
-        // this is to avoid to have the standard time (winter) set by GregorianCalendar
-        // after clear and set the time explicit
-        // see comment for computeTime() -> http://grepcode.com/file/repository.grepcode.com/java/root/jdk/openjdk/8-b132/java/util/GregorianCalendar.java#2776
-        calendar.set(Calendar.DST_OFFSET, dst);
-    }
-
 }
@@ -0,0 +1,378 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.schedule;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.IntegerBasedExpression;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Year;
+
+/**
+ * A schedule expression compiled into bit set based matchers for each of its attributes.
+ * <p>
+ * The next timeout is computed directly on the epoch second, and the date and time-of-day fields derived from it,
+ * without intermediate {@link Calendar} instances.
+ * Relative day-of-month values (e.g. "Last", "2nd Fri") only depend on the length of a month and the day-of-week on which it starts,
+ * so the days matched by the day-of-month and day-of-week attributes are computed in advance for each such combination.
+ * For time zones with a fixed offset, no objects are allocated in order to compute a timeout.
+ * </p>
+ */
+final class CompiledScheduleExpression {
+
+    /**
+     * Returned by {@link #getNextTimeout(long, boolean)} if there are no more timeouts
+     */
+    static final long NO_MORE_TIMEOUTS = Long.MIN_VALUE;
+
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int MIN_DAYS_PER_MONTH = 28;
+    private static final long ALL_HOURS = -1L >>> (Long.SIZE - 1 - Hour.MAX_HOUR);
+    // 1970-01-01 is a Thursday
+    private static final int EPOCH_DAY_OF_WEEK = Calendar.THURSDAY;
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    // Bit n represents month n, where 1 = January
+    private final long months;
+    private final BitSet years;
+    // Indexed by (length of month - 28) * 7 + (Calendar.DAY_OF_WEEK of the first day of the month - 1)
+    private final int[] daysOfMonth = new int[(DayOfMonth.MAX_DAY_OF_MONTH - MIN_DAYS_PER_MONTH + 1) * DAYS_PER_WEEK];
+    private final int firstSecondOfDay;
+    private final ZoneRules rules;
+    private final boolean fixedOffset;
+    // The offset of a fixed offset time zone, in seconds
+    private final int offset;
+    private final long start;
+    private final long end;
+
+    CompiledScheduleExpression(Second second, Minute minute, Hour hour, DayOfMonth dayOfMonth, boolean dayOfMonthWildcard, DayOfWeek dayOfWeek, boolean dayOfWeekWildcard, Month month, Year year, TimeZone timezone, Date start, Date end) {
+        this.seconds = bits(second, Second.MAX_SECOND);
+        this.minutes = bits(minute, Minute.MAX_MINUTE);
+        this.hours = bits(hour, Hour.MAX_HOUR);
+        this.months = bits(month, Month.MAX_MONTH);
+        this.years = new BitSet(Year.MAX_YEAR + 1);
+        if (year.isWildcard()) {
+            this.years.set(Year.MIN_YEAR, Year.MAX_YEAR + 1);
+        } else {
+            for (Integer value : year.getAbsoluteValues()) {
+                this.years.set(value);
+            }
+        }
+        // Day-of-week 0 and 7 both represent Sunday, i.e. Calendar.SUNDAY
+        int daysOfWeek = (int) bits(dayOfWeek, DayOfWeek.MAX_DAY_OF_WEEK);
+        daysOfWeek = (daysOfWeek | (daysOfWeek >>> DAYS_PER_WEEK)) & ((1 << DAYS_PER_WEEK) - 1);
+        for (int lastDateOfMonth = MIN_DAYS_PER_MONTH; lastDateOfMonth <= DayOfMonth.MAX_DAY_OF_MONTH; ++lastDateOfMonth) {
+            for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; ++firstDayOfWeek) {
+                int matchingDaysOfWeek = 0;
+                for (int date = 1; date <= lastDateOfMonth; ++date) {
+                    int dayOfWeekIndex = (firstDayOfWeek - Calendar.SUNDAY + date - 1) % DAYS_PER_WEEK;
+                    if ((daysOfWeek & (1 << dayOfWeekIndex)) != 0) {
+                        matchingDaysOfWeek |= 1 << date;
+                    }
+                }
+                int matchingDaysOfMonth = dayOfMonth.getEligibleDaysOfMonth(lastDateOfMonth, firstDayOfWeek);
+                final int days;
+                if (dayOfMonthWildcard) {
+                    days = matchingDaysOfWeek;
+                } else if (dayOfWeekWildcard) {
+                    days = matchingDaysOfMonth;
+                } else {
+                    // If both day-of-month and day-of-week are restricted, a day matches if either matches
+                    days = matchingDaysOfMonth | matchingDaysOfWeek;
+                }
+                this.daysOfMonth[index(lastDateOfMonth, firstDayOfWeek)] = days;
+            }
+        }
+        this.firstSecondOfDay = this.nextTimeOfDay(0);
+        this.rules = timezone.toZoneId().getRules();
+        this.fixedOffset = this.rules.isFixedOffset();
+        this.offset = this.rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        this.start = (start != null) ? start.getTime() : NO_MORE_TIMEOUTS;
+        this.end = (end != null) ? end.getTime() : Long.MAX_VALUE;
+    }
+
+    private static long bits(IntegerBasedExpression expression, int maxValue) {
+        if (expression.isWildcard()) {
+            return -1L >>> (Long.SIZE - 1 - maxValue);
+        }
+        long bits = 0;
+        for (Integer value : expression.getAbsoluteValues()) {
+            if (value >= 0 && value <= maxValue) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    private static int index(int lastDateOfMonth, int firstDayOfWeek) {
+        return (lastDateOfMonth - MIN_DAYS_PER_MONTH) * DAYS_PER_WEEK + (firstDayOfWeek - Calendar.SUNDAY);
+    }
+
+    /**
+     * Computes the first timeout, which may be earlier than the current time.
+     * If the schedule has a start date, this is the first timeout at or after the start date,
+     * otherwise the first timeout at or after the first matching time-of-day of the current day.
+     *
+     * @param currentTime the current time, in milliseconds since the epoch
+     * @return the first timeout, in milliseconds since the epoch, or {@link #NO_MORE_TIMEOUTS}
+     */
+    long getFirstTimeout(long currentTime) {
+        if (this.start != NO_MORE_TIMEOUTS) {
+            return this.getNextTimeout(this.start, false);
+        }
+        if (this.firstSecondOfDay < 0) {
+            return NO_MORE_TIMEOUTS;
+        }
+        long epochSecond = Math.floorDiv(currentTime, 1000L);
+        long day = Math.floorDiv(epochSecond + this.offset(epochSecond), SECONDS_PER_DAY);
+        long firstTimeOfDay = this.toEpochSecond(day * SECONDS_PER_DAY + this.firstSecondOfDay, Long.MIN_VALUE);
+        return this.getNextTimeout(firstTimeOfDay * 1000L, false);
+    }
+
+    /**
+     * Computes the next timeout after the specified time.
+     *
+     * @param currentTime the time, in milliseconds since the epoch
+     * @param increment indicates whether the next timeout must be strictly after the second of the specified time
+     * @return the next timeout, in milliseconds since the epoch, or {@link #NO_MORE_TIMEOUTS}
+     */
+    long getNextTimeout(long currentTime, boolean increment) {
+        if (currentTime > this.end) {
+            return NO_MORE_TIMEOUTS;
+        }
+        final long from;
+        final int millis;
+        if (currentTime < this.start) {
+            // Timeouts computed from the start date retain any millisecond component
+            from = Math.floorDiv(this.start, 1000L);
+            millis = (int) Math.floorMod(this.start, 1000L);
+        } else {
+            from = Math.floorDiv(currentTime, 1000L) + (increment ? 1 : 0);
+            millis = 0;
+        }
+        long localSecond = this.nextLocalSecond(from + this.offset(from));
+        if (localSecond == NO_MORE_TIMEOUTS) {
+            return NO_MORE_TIMEOUTS;
+        }
+        long epochSecond = this.toEpochSecond(localSecond, from);
+        if (!this.fixedOffset && (this.hours == ALL_HOURS)) {
+            // If the local time line repeats before the timeout, e.g. when daylight saving time ends,
+            // an hourly schedule continues to fire within the repeated period, whereas other schedules fire only once per local time
+            ZoneOffsetTransition transition = this.rules.nextTransition(Instant.ofEpochSecond(from));
+            while (transition != null && transition.toEpochSecond() <= epochSecond) {
+                long transitionSecond = transition.toEpochSecond();
+                if (transition.isOverlap()) {
+                    epochSecond = this.toEpochSecond(this.nextLocalSecond(transitionSecond + transition.getOffsetAfter().getTotalSeconds()), transitionSecond);
+                }
+                transition = this.rules.nextTransition(transition.getInstant());
+            }
+        }
+        long timeout = epochSecond * 1000L + millis;
+        return (timeout > this.end) ? NO_MORE_TIMEOUTS : timeout;
+    }
+
+    /**
+     * Indicates whether the specified time-of-day matches this schedule.
+     *
+     * @param secondOfDay the second of the day
+     */
+    boolean matchesTimeOfDay(int secondOfDay) {
+        return this.nextTimeOfDay(secondOfDay) == secondOfDay;
+    }
+
+    /**
+     * Returns the length of the gap in the local time line, e.g. when daylight saving time starts, most recently preceding the specified time.
+     *
+     * @param time the time, in milliseconds since the epoch
+     * @return the length of the gap, in seconds, or 0 if the most recent transition was not a gap
+     */
+    int getPrecedingGap(long time) {
+        ZoneOffsetTransition transition = this.rules.previousTransition(Instant.ofEpochMilli(time + 1));
+        return (transition != null && transition.isGap()) ? (int) transition.getDuration().getSeconds() : 0;
+    }
+
+    /**
+     * Finds the first local date and time matching this schedule, at or after the specified local date and time.
+     *
+     * @param localSecond the local date and time, in seconds since the local epoch
+     * @return the matching local date and time, in seconds since the local epoch, or {@link #NO_MORE_TIMEOUTS}
+     */
+    private long nextLocalSecond(long localSecond) {
+        long day = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localSecond, SECONDS_PER_DAY);
+        while (true) {
+            // Convert the epoch day to year, month and date, see http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+            long shiftedDay = day + 719468;
+            long era = Math.floorDiv(shiftedDay, 146097);
+            int dayOfEra = (int) (shiftedDay - era * 146097);
+            int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+            int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            int shiftedMonth = (5 * dayOfYear + 2) / 153;
+            int date = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+            int month = (shiftedMonth < 10) ? shiftedMonth + 3 : shiftedMonth - 9;
+            long year = era * 400 + yearOfEra + ((month <= 2) ? 1 : 0);
+
+            if (year > Year.MAX_YEAR) {
+                return NO_MORE_TIMEOUTS;
+            }
+            if (year < Year.MIN_YEAR || !this.years.get((int) year)) {
+                int nextYear = this.years.nextSetBit((int) Math.max(year, Year.MIN_YEAR));
+                if (nextYear < 0) {
+                    return NO_MORE_TIMEOUTS;
+                }
+                day = epochDay(nextYear, 1, 1);
+                secondOfDay = 0;
+                continue;
+            }
+            int nextMonth = next(this.months, month);
+            if (nextMonth != month) {
+                day = (nextMonth < 0) ? epochDay(year + 1, 1, 1) : epochDay(year, nextMonth, 1);
+                secondOfDay = 0;
+                continue;
+            }
+            int lastDateOfMonth = lengthOfMonth(year, month);
+            int firstDayOfWeek = (int) Math.floorMod(day - date + 1 + EPOCH_DAY_OF_WEEK - Calendar.SUNDAY, (long) DAYS_PER_WEEK) + Calendar.SUNDAY;
+            int days = this.daysOfMonth[index(lastDateOfMonth, firstDayOfWeek)] & (-1 << date);
+            if (days == 0) {
+                day += lastDateOfMonth - date + 1;
+                secondOfDay = 0;
+                continue;
+            }
+            int nextDate = Integer.numberOfTrailingZeros(days);
+            if (nextDate != date) {
+                day += nextDate - date;
+                secondOfDay = 0;
+            }
+            int nextSecondOfDay = this.nextTimeOfDay(secondOfDay);
+            if (nextSecondOfDay < 0) {
+                day += 1;
+                secondOfDay = 0;
+                continue;
+            }
+            return day * SECONDS_PER_DAY + nextSecondOfDay;
+        }
+    }
+
+    /**
+     * Finds the first time-of-day matching this schedule, at or after the specified second of the day.
+     *
+     * @return the second of the day, or -1 if there is no such time on the same day
+     */
+    private int nextTimeOfDay(int secondOfDay) {
+        int hour = secondOfDay / 3600;
+        int minute = (secondOfDay / 60) % 60;
+        int second = secondOfDay % 60;
+        int nextHour = next(this.hours, hour);
+        if (nextHour == hour) {
+            int nextMinute = next(this.minutes, minute);
+            if (nextMinute == minute) {
+                int nextSecond = next(this.seconds, second);
+                if (nextSecond >= 0) {
+                    return hour * 3600 + minute * 60 + nextSecond;
+                }
+                nextMinute = next(this.minutes, minute + 1);
+            }
+            if (nextMinute >= 0) {
+                return hour * 3600 + nextMinute * 60 + next(this.seconds, 0);
+            }
+            nextHour = next(this.hours, hour + 1);
+        }
+        if (nextHour < 0) {
+            return -1;
+        }
+        return nextHour * 3600 + next(this.minutes, 0) * 60 + next(this.seconds, 0);
+    }
+
+    /**
+     * Returns the smallest value of the specified bit set that is greater than or equal to the specified value, or -1 if there is none.
+     */
+    private static int next(long bits, int value) {
+        long remaining = (value < Long.SIZE) ? bits & (-1L << value) : 0;
+        return (remaining != 0) ? Long.numberOfTrailingZeros(remaining) : -1;
+    }
+
+    private int offset(long epochSecond) {
+        return this.fixedOffset ? this.offset : this.rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    /**
+     * Converts the specified local date and time to an epoch second.
+     * A local time within a gap, e.g. when daylight saving time starts, is moved later by the length of the gap.
+     * For a local time within an overlap, e.g. when daylight saving time ends, the earlier offset is used, unless that precedes the specified minimum.
+     */
+    private long toEpochSecond(long localSecond, long minimum) {
+        if (this.fixedOffset) {
+            return localSecond - this.offset;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        ZoneOffsetTransition transition = this.rules.getTransition(dateTime);
+        if (transition == null) {
+            return localSecond - this.rules.getOffset(dateTime).getTotalSeconds();
+        }
+        long earlier = localSecond - transition.getOffsetBefore().getTotalSeconds();
+        if (transition.isGap() || earlier >= minimum) {
+            return earlier;
+        }
+        return localSecond - transition.getOffsetAfter().getTotalSeconds();
+    }
+
+    private static long epochDay(long year, int month, int date) {
+        // See http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+        long y = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * ((month > 2) ? month - 3 : month + 9) + 2) / 5 + date - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0) && ((year % 100 != 0) || (year % 400 == 0))) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -258,6 +258,86 @@ public class DayOfMonth extends IntegerBasedExpression {
         return eligibleDaysOfMonth;
     }
 
+    /**
+     * Returns the days matched by this expression within a month of the specified length, starting on the specified day-of-week.
+     * Since relative values only depend upon these two properties of a month, the result can be computed in advance.
+     *
+     * @param lastDateOfMonth The last date, i.e. the number of days, of the month
+     * @param firstDayOfWeek The {@link Calendar#DAY_OF_WEEK} of the first day of the month
+     * @return a bit set in which bit <code>n</code> is set if day <code>n</code> of the month is matched
+     */
+    public int getEligibleDaysOfMonth(int lastDateOfMonth, int firstDayOfWeek) {
+        final int daysOfMonth = (1 << (lastDateOfMonth + 1)) - 2;
+        if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
+            return daysOfMonth;
+        }
+        int eligibleDaysOfMonth = 0;
+        for (Integer dayOfMonth : this.absoluteValues) {
+            eligibleDaysOfMonth |= dayOfMonthBit(dayOfMonth);
+        }
+        for (ScheduleValue relativeValue : this.relativeValues) {
+            if (relativeValue instanceof SingleValue) {
+                String value = ((SingleValue) relativeValue).getValue();
+                eligibleDaysOfMonth |= dayOfMonthBit(this.getAbsoluteDayOfMonth(lastDateOfMonth, firstDayOfWeek, value));
+            } else if (relativeValue instanceof RangeValue) {
+                RangeValue range = (RangeValue) relativeValue;
+                String start = range.getStart();
+                String end = range.getEnd();
+                Integer dayOfMonthStart = this.isRelativeValue(start) ? this.getAbsoluteDayOfMonth(lastDateOfMonth, firstDayOfWeek, start) : this.parseInt(start);
+                Integer dayOfMonthEnd = this.isRelativeValue(end) ? this.getAbsoluteDayOfMonth(lastDateOfMonth, firstDayOfWeek, end) : this.parseInt(end);
+                // validations
+                this.assertValid(dayOfMonthStart);
+                this.assertValid(dayOfMonthEnd);
+
+                if (dayOfMonthStart > dayOfMonthEnd) {
+                    // In range "x-y", if x is larger than y, the range is equivalent to "x-max, min-y"
+                    for (int i = dayOfMonthStart; i <= this.getMaxValue(); i++) {
+                        eligibleDaysOfMonth |= dayOfMonthBit(i);
+                    }
+                    for (int i = this.getMinValue(); i <= dayOfMonthEnd; i++) {
+                        eligibleDaysOfMonth |= dayOfMonthBit(i);
+                    }
+                } else {
+                    for (int i = dayOfMonthStart; i <= dayOfMonthEnd; i++) {
+                        eligibleDaysOfMonth |= dayOfMonthBit(i);
+                    }
+                }
+            }
+        }
+        return eligibleDaysOfMonth & daysOfMonth;
+    }
+
+    private static int dayOfMonthBit(int dayOfMonth) {
+        return (dayOfMonth > 0 && dayOfMonth <= MAX_DAY_OF_MONTH) ? (1 << dayOfMonth) : 0;
+    }
+
+    private int getAbsoluteDayOfMonth(int lastDateOfMonth, int firstDayOfWeek, String relativeDayOfMonth) {
+        if (relativeDayOfMonth == null || relativeDayOfMonth.trim().isEmpty()) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.relativeDayOfMonthIsNull();
+        }
+        String trimmedRelativeDayOfMonth = relativeDayOfMonth.trim();
+        if (trimmedRelativeDayOfMonth.equalsIgnoreCase("last")) {
+            return lastDateOfMonth;
+        }
+        if (this.isValidNegativeDayOfMonth(trimmedRelativeDayOfMonth)) {
+            return lastDateOfMonth + Integer.parseInt(trimmedRelativeDayOfMonth);
+        }
+        if (this.isDayOfWeekBased(trimmedRelativeDayOfMonth)) {
+            String[] parts = trimmedRelativeDayOfMonth.split("\\s+");
+            String ordinal = parts[0];
+            int dayOfWeek = DAY_OF_MONTH_ALIAS.get(parts[1].toLowerCase(Locale.ENGLISH));
+            // date of the first occurrence of the day-of-week within the month
+            int date = 1 + Math.floorMod(dayOfWeek - firstDayOfWeek, 7);
+            if (ordinal.equalsIgnoreCase("last")) {
+                return date + ((lastDateOfMonth - date) / 7) * 7;
+            }
+            date += (ORDINAL_TO_WEEK_NUMBER_MAPPING.get(ordinal.toLowerCase(Locale.ENGLISH)) - 1) * 7;
+            // As for getAbsoluteDayOfMonth(Calendar, String), use the last date of the month if it has no such day
+            return (date <= lastDateOfMonth) ? date : lastDateOfMonth;
+        }
+        throw EjbLogger.EJB3_TIMER_LOGGER.invalidRelativeValue(relativeDayOfMonth);
+    }
+
     private int getAbsoluteDayOfMonth(Calendar cal, String relativeDayOfMonth) {
         if (relativeDayOfMonth == null || relativeDayOfMonth.trim().isEmpty()) {
             throw EjbLogger.EJB3_TIMER_LOGGER.relativeDayOfMonthIsNull();
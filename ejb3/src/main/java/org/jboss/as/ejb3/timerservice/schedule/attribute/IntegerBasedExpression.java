@@ -30,6 +30,7 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleValue;
 import org.jboss.as.ejb3.timerservice.schedule.value.SingleValue;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
@@ -213,4 +214,19 @@ public abstract class IntegerBasedExpression {
 
     public abstract boolean isRelativeValue(String value);
 
+    /**
+     * Returns true if this expression is a wildcard, which matches every value.
+     */
+    public boolean isWildcard() {
+        return this.scheduleExpressionType == ScheduleExpressionType.WILDCARD;
+    }
+
+    /**
+     * Returns the absolute values matched by this expression, excluding any relative values.
+     * A wildcard expression has no absolute values.
+     */
+    public SortedSet<Integer> getAbsoluteValues() {
+        return Collections.unmodifiableSortedSet(this.absoluteValues);
+    }
+
 }
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the timeout tasks of the EJB timer service.
+ * <p/>
+ * Unlike {@link java.util.Timer}, implementations are not required to execute tasks on a single thread, thus
+ * tasks should not assume that they never run concurrently with other tasks, nor with a previous execution of themselves.
+ */
+public interface TimeoutScheduler extends AutoCloseable {
+
+    /**
+     * Schedules the specified task for execution after the specified delay.
+     *
+     * @param task the task to execute
+     * @param delay the delay in milliseconds
+     * @return a handle through which the scheduled task can be cancelled
+     */
+    Timeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules the specified task for repeated fixed-rate execution, beginning after the specified delay.
+     *
+     * @param task the task to execute
+     * @param delay the delay in milliseconds before the first execution
+     * @param period the time in milliseconds between the start of successive executions
+     * @return a handle through which the scheduled task can be cancelled
+     */
+    Timeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Removes any cancelled tasks still retained by this scheduler.
+     */
+    default void purge() {
+        // Do nothing
+    }
+
+    /**
+     * Terminates this scheduler, discarding any scheduled tasks.
+     */
+    @Override
+    void close();
+
+    /**
+     * A handle to a scheduled task.
+     */
+    interface Timeout {
+        /**
+         * Cancels the scheduled task.
+         * @return true, if this prevented one or more scheduled executions, false otherwise.
+         */
+        boolean cancel();
+    }
+
+    /**
+     * Enumerates the available scheduler implementations.
+     */
+    enum Type {
+        TIMER("timer"),
+        TIMING_WHEEL("timing-wheel"),
+        ;
+        private final String value;
+
+        Type(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+
+        public static Type fromValue(String value) {
+            for (Type type : values()) {
+                if (type.value.equals(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException(value);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * {@link TimeoutScheduler} that executes all tasks on the single thread of a {@link Timer}.
+ */
+public class TimerTimeoutScheduler implements TimeoutScheduler {
+
+    private final Timer timer = new Timer();
+
+    @Override
+    public Timeout schedule(Runnable task, long delay) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.schedule(timerTask, delay);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public Timeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.scheduleAtFixedRate(timerTask, delay, period);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    @Override
+    public void close() {
+        this.timer.cancel();
+    }
+
+    private static class RunnableTimerTask extends TimerTask {
+        private final Runnable task;
+
+        RunnableTimerTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+    }
+}
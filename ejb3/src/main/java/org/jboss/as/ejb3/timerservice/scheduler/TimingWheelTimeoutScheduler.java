@@ -0,0 +1,305 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+
+/**
+ * {@link TimeoutScheduler} based on a hierarchical timing wheel.
+ * <p/>
+ * Each scheduled task is placed into a slot of one of a hierarchy of wheels, chosen according to the distance of its deadline.
+ * Each slot of the lowest wheel spans a single tick, while each slot of a higher wheel spans an entire revolution of the wheel beneath it.
+ * Whenever a wheel completes a revolution, the next slot of the wheel above it is cascaded into the lower wheels.
+ * Consequently, scheduling and cancelling a task are O(1) operations, and each task is moved at most once per wheel.
+ * <p/>
+ * The wheels are only accessed by a single worker thread, which advances the wheels once per tick.
+ * Other threads merely enqueue the tasks they schedule or cancel.
+ * Like {@link java.util.Timer}, expired tasks are executed by the worker thread itself, thus tasks are expected to complete quickly,
+ * e.g. by handing off any actual work to an executor, as the timer service does.
+ */
+public class TimingWheelTimeoutScheduler implements TimeoutScheduler, Runnable {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // Spans 2^48 ticks, beyond which tasks are cascaded through the highest wheel more than once
+    private static final int LEVELS = 8;
+
+    private final long tick;
+    private final long start = System.nanoTime();
+    private final Slot[][] wheels = new Slot[LEVELS][WHEEL_SIZE];
+    private final Queue<Entry> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean idle = false;
+    private volatile boolean closed = false;
+
+    // Only accessed by the worker thread
+    private long currentTick = 0;
+    private int size = 0;
+
+    public TimingWheelTimeoutScheduler(long tick, TimeUnit unit) {
+        this(tick, unit, new DefaultThreadFactory(TimingWheelTimeoutScheduler.class));
+    }
+
+    TimingWheelTimeoutScheduler(long tick, TimeUnit unit, ThreadFactory factory) {
+        this.tick = unit.toNanos(tick);
+        for (Slot[] wheel : this.wheels) {
+            for (int i = 0; i < WHEEL_SIZE; ++i) {
+                wheel[i] = new Slot();
+            }
+        }
+        this.worker = factory.newThread(this);
+        this.worker.start();
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay) {
+        return this.enqueue(new Entry(task, this.deadline(delay), 0L));
+    }
+
+    @Override
+    public Timeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.enqueue(new Entry(task, this.deadline(delay), TimeUnit.MILLISECONDS.toNanos(period)));
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.worker);
+    }
+
+    @Override
+    public void run() {
+        while (!this.closed) {
+            if ((this.size == 0) && this.scheduled.isEmpty()) {
+                this.idle = true;
+                // Scheduling threads only unpark us if they observe that we are idle, so we must re-check after publishing our state
+                if (this.scheduled.isEmpty() && !this.closed) {
+                    LockSupport.park(this);
+                }
+                this.idle = false;
+                // The wheels are empty, so we can skip directly to the current tick
+                this.currentTick = Math.max(this.currentTick, this.elapsed() / this.tick);
+            }
+            this.drain();
+            long remaining = ((this.currentTick + 1) * this.tick) - this.elapsed();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                this.advance();
+            }
+        }
+    }
+
+    private Entry enqueue(Entry entry) {
+        if (this.closed) {
+            throw new IllegalStateException();
+        }
+        this.scheduled.add(entry);
+        if (this.idle) {
+            LockSupport.unpark(this.worker);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the deadline, in nanoseconds since the start of this scheduler, of a task scheduled with the specified delay.
+     */
+    private long deadline(long delay) {
+        long deadline = this.elapsed() + TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0L));
+        // Saturate on overflow
+        return (deadline >= 0) ? deadline : Long.MAX_VALUE;
+    }
+
+    private long elapsed() {
+        return System.nanoTime() - this.start;
+    }
+
+    /**
+     * Applies any pending cancellations, and places any newly scheduled tasks into the wheels.
+     */
+    private void drain() {
+        for (Entry entry = this.cancelled.poll(); entry != null; entry = this.cancelled.poll()) {
+            if (entry.slot != null) {
+                entry.slot.remove(entry);
+                this.size -= 1;
+            }
+        }
+        for (Entry entry = this.scheduled.poll(); entry != null; entry = this.scheduled.poll()) {
+            if (!entry.isDone()) {
+                this.place(entry, this.currentTick + 1);
+            }
+        }
+    }
+
+    /**
+     * Advances the wheels by a single tick, executing any expired tasks.
+     */
+    private void advance() {
+        long tick = ++this.currentTick;
+        // Cascade the next slot of each wheel whose lower wheel completed a revolution, starting with the highest wheel
+        for (int level = LEVELS - 1; level > 0; --level) {
+            int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                Entry entry = this.wheels[level][(int) (tick >>> shift) & WHEEL_MASK].clear();
+                while (entry != null) {
+                    Entry next = this.detach(entry);
+                    this.place(entry, tick);
+                    entry = next;
+                }
+            }
+        }
+        Entry entry = this.wheels[0][(int) tick & WHEEL_MASK].clear();
+        while (entry != null) {
+            Entry next = this.detach(entry);
+            this.expire(entry);
+            entry = next;
+        }
+    }
+
+    /**
+     * Places the specified task into the lowest wheel whose revolution covers its deadline, but no earlier than the specified tick.
+     */
+    private void place(Entry entry, long minTick) {
+        long deadlineTick = (entry.deadline / this.tick) + (((entry.deadline % this.tick) != 0) ? 1 : 0);
+        long tick = Math.max(deadlineTick, minTick);
+        int level = 0;
+        while ((level < LEVELS - 1) && ((tick >>> (WHEEL_BITS * (level + 1))) != (this.currentTick >>> (WHEEL_BITS * (level + 1))))) {
+            level += 1;
+        }
+        this.wheels[level][(int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK].add(entry);
+        this.size += 1;
+    }
+
+    private void expire(Entry entry) {
+        if (entry.period > 0) {
+            if (!entry.isDone()) {
+                entry.run();
+                // The task may have cancelled itself
+                if (!entry.isDone()) {
+                    long deadline = entry.deadline + entry.period;
+                    entry.deadline = (deadline >= 0) ? deadline : Long.MAX_VALUE;
+                    this.place(entry, this.currentTick + 1);
+                }
+            }
+        } else if (entry.done.compareAndSet(false, true)) {
+            entry.run();
+        }
+    }
+
+    private Entry detach(Entry entry) {
+        Entry next = entry.next;
+        entry.slot = null;
+        entry.next = null;
+        entry.previous = null;
+        this.size -= 1;
+        return next;
+    }
+
+    private class Entry implements Timeout, Runnable {
+        final Runnable task;
+        final long period;
+        final AtomicBoolean done = new AtomicBoolean(false);
+        // The following are only accessed by the worker thread, following publication via the scheduled queue
+        long deadline;
+        Slot slot;
+        Entry previous;
+        Entry next;
+
+        Entry(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        boolean isDone() {
+            return this.done.get();
+        }
+
+        @Override
+        public boolean cancel() {
+            if (this.done.compareAndSet(false, true)) {
+                TimingWheelTimeoutScheduler.this.cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                EJB3_TIMER_LOGGER.failedToExecuteTimeoutTask(this.task, e);
+            }
+        }
+    }
+
+    /**
+     * A slot of a wheel, containing an intrusive doubly linked list of entries.
+     */
+    private static class Slot {
+        private Entry head;
+
+        void add(Entry entry) {
+            entry.slot = this;
+            entry.next = this.head;
+            if (this.head != null) {
+                this.head.previous = entry;
+            }
+            this.head = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.previous != null) {
+                entry.previous.next = entry.next;
+            } else {
+                this.head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            }
+            entry.slot = null;
+            entry.next = null;
+            entry.previous = null;
+        }
+
+        Entry clear() {
+            Entry head = this.head;
+            this.head = null;
+            return head;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests expiration of {@link SimpleCache} entries via {@link ExpirationScheduler}.
+ */
+public class SimpleCacheTestCase {
+
+    private static final long TIMEOUT = 100;
+    private static final long WAIT = TimeUnit.SECONDS.toMillis(5);
+
+    @Test
+    public void expiration() throws InterruptedException {
+        BeanFactory factory = new BeanFactory();
+        SimpleCache<UUID, Bean> cache = new SimpleCache<>(factory, UUID::randomUUID, new StatefulTimeoutInfo(TIMEOUT, TimeUnit.MILLISECONDS), null);
+        cache.start();
+        try {
+            Bean bean = cache.create();
+            UUID id = bean.getId();
+            Assert.assertSame(bean, cache.get(id));
+            cache.release(bean);
+            Assert.assertTrue(cache.contains(id));
+
+            waitUntil(() -> factory.destroyed.contains(id));
+            Assert.assertFalse(cache.contains(id));
+            Assert.assertEquals(1L, cache.getExpiredCount());
+            Assert.assertTrue(cache.getExpirationLag() >= 0);
+            Assert.assertEquals(0, cache.getCacheSize());
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void inUse() throws InterruptedException {
+        BeanFactory factory = new BeanFactory();
+        SimpleCache<UUID, Bean> cache = new SimpleCache<>(factory, UUID::randomUUID, new StatefulTimeoutInfo(TIMEOUT, TimeUnit.MILLISECONDS), null);
+        cache.start();
+        try {
+            Bean bean = cache.create();
+            UUID id = bean.getId();
+            cache.get(id);
+            cache.release(bean);
+            // Retrieve the bean again, such that its prior expiration no longer applies
+            Assert.assertSame(bean, cache.get(id));
+            Thread.sleep(TIMEOUT * 3);
+            Assert.assertTrue(cache.contains(id));
+            Assert.assertSame(bean, cache.get(id));
+            cache.release(bean);
+            cache.release(bean);
+            waitUntil(() -> factory.destroyed.contains(id));
+            Assert.assertFalse(cache.contains(id));
+            Assert.assertEquals(1L, cache.getExpiredCount());
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void zeroTimeout() {
+        BeanFactory factory = new BeanFactory();
+        SimpleCache<UUID, Bean> cache = new SimpleCache<>(factory, UUID::randomUUID, new StatefulTimeoutInfo(0, TimeUnit.MILLISECONDS), null);
+        cache.start();
+        try {
+            Bean bean = cache.create();
+            cache.get(bean.getId());
+            cache.release(bean);
+            Assert.assertFalse(cache.contains(bean.getId()));
+            Assert.assertTrue(factory.destroyed.contains(bean.getId()));
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void noTimeout() throws InterruptedException {
+        BeanFactory factory = new BeanFactory();
+        SimpleCache<UUID, Bean> cache = new SimpleCache<>(factory, UUID::randomUUID, new StatefulTimeoutInfo(-1, TimeUnit.MILLISECONDS), null);
+        cache.start();
+        Bean bean = cache.create();
+        cache.get(bean.getId());
+        cache.release(bean);
+        Thread.sleep(TIMEOUT);
+        Assert.assertTrue(cache.contains(bean.getId()));
+        cache.stop();
+        Assert.assertTrue(factory.destroyed.contains(bean.getId()));
+    }
+
+    @Test
+    public void scheduler() throws InterruptedException {
+        Map<Integer, AtomicInteger> expired = new ConcurrentHashMap<>();
+        AtomicInteger early = new AtomicInteger();
+        long resolution = TimeUnit.MILLISECONDS.toNanos(10);
+        long expiration = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+        Consumer<Integer> task = key -> {
+            if (System.nanoTime() - expiration < 0) {
+                early.incrementAndGet();
+            }
+            expired.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        };
+        try (ExpirationScheduler<Integer> scheduler = new ExpirationScheduler<>(task, resolution, 4)) {
+            for (int i = 0; i < 100; ++i) {
+                scheduler.schedule(i, expiration);
+                // Scheduling the same key within the same bucket is idempotent
+                scheduler.schedule(i, expiration);
+            }
+            Assert.assertEquals(100, scheduler.size());
+
+            waitUntil(() -> expired.size() == 100);
+            // Keys are never expired early
+            Assert.assertEquals(0, early.get());
+            for (AtomicInteger count : expired.values()) {
+                Assert.assertEquals(1, count.get());
+            }
+            Assert.assertEquals(0, scheduler.size());
+        }
+    }
+
+    @Test
+    public void reschedule() throws InterruptedException {
+        Map<Integer, AtomicInteger> expired = new ConcurrentHashMap<>();
+        long resolution = TimeUnit.MILLISECONDS.toNanos(10);
+        long now = System.nanoTime();
+        try (ExpirationScheduler<Integer> scheduler = new ExpirationScheduler<>(key -> expired.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet(), resolution, 4)) {
+            for (int i = 0; i < 100; ++i) {
+                // Rescheduling a key moves it to the bucket of its new expiration time
+                scheduler.schedule(i, now + TimeUnit.MILLISECONDS.toNanos(TIMEOUT));
+                scheduler.schedule(i, now + TimeUnit.MILLISECONDS.toNanos(TIMEOUT * 2));
+            }
+            Assert.assertEquals(100, scheduler.size());
+            for (int i = 0; i < 100; i += 2) {
+                scheduler.cancel(i);
+            }
+            // Cancelling an unscheduled key is a no-op
+            scheduler.cancel(0);
+            Assert.assertEquals(50, scheduler.size());
+
+            waitUntil(() -> expired.size() == 50);
+            for (Map.Entry<Integer, AtomicInteger> entry : expired.entrySet()) {
+                Assert.assertEquals(1, entry.getKey() % 2);
+                Assert.assertEquals(1, entry.getValue().get());
+            }
+            Assert.assertEquals(0, scheduler.size());
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    static class Bean implements Identifiable<UUID> {
+        private final UUID id = UUID.randomUUID();
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+    }
+
+    static class BeanFactory implements StatefulObjectFactory<Bean> {
+        final Set<UUID> destroyed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        @Override
+        public Bean createInstance() {
+            return new Bean();
+        }
+
+        @Override
+        public void destroyInstance(Bean instance) {
+            this.destroyed.add(instance.getId());
+        }
+    }
+}
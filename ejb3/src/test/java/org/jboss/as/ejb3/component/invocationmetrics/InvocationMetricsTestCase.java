@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link InvocationMetrics} and {@link LatencyHistogram}.
+ */
+public class InvocationMetricsTestCase {
+
+    @Test
+    public void metrics() throws NoSuchMethodException {
+        InvocationMetrics metrics = new InvocationMetrics();
+        Method toString = Object.class.getMethod("toString");
+        Method wait = Object.class.getMethod("wait");
+        Method waitTimeout = Object.class.getMethod("wait", long.class);
+
+        invoke(metrics, toString, 1, 10, false);
+        invoke(metrics, toString, 2, 20, false);
+        invoke(metrics, wait, 0, 5, false);
+        invoke(metrics, waitTimeout, 0, 5, false);
+
+        Assert.assertEquals(4L, metrics.getInvocations());
+        Assert.assertEquals(40L, metrics.getExecutionTime());
+        Assert.assertEquals(3L, metrics.getWaitTime());
+        Assert.assertEquals(0L, metrics.getConcurrent());
+        Assert.assertEquals(1L, metrics.getPeakConcurrent());
+        Assert.assertNull(metrics.getExecutionTimeHistogram());
+        Assert.assertNull(metrics.getWaitTimeHistogram());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        Assert.assertEquals(2, methods.size());
+        Assert.assertEquals(2L, methods.get("toString").getInvocations());
+        Assert.assertEquals(30L, methods.get("toString").getExecutionTime());
+        Assert.assertEquals(3L, methods.get("toString").getWaitTime());
+        // Overloaded methods are combined
+        Assert.assertEquals(2L, methods.get("wait").getInvocations());
+        Assert.assertEquals(10L, methods.get("wait").getExecutionTime());
+
+        invoke(metrics, toString, 0, 7, true);
+        Assert.assertEquals(1L, metrics.getExecutionTimeHistogram().getCount());
+        Assert.assertEquals(1L, metrics.getWaitTimeHistogram().getCount());
+    }
+
+    @Test
+    public void peakConcurrent() {
+        InvocationMetrics metrics = new InvocationMetrics();
+        metrics.startInvocation();
+        metrics.startInvocation();
+        metrics.startInvocation();
+        Assert.assertEquals(3L, metrics.getConcurrent());
+        Assert.assertEquals(3L, metrics.getPeakConcurrent());
+    }
+
+    @Test
+    public void histogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0L, histogram.getValueAtPercentile(99));
+
+        for (long value = 1; value <= 1000; ++value) {
+            histogram.record(value);
+        }
+        Assert.assertEquals(1000L, histogram.getCount());
+        long[] values = histogram.getValuesAtPercentiles(50, 90, 99, 100);
+        assertWithinPrecision(500, values[0]);
+        assertWithinPrecision(900, values[1]);
+        assertWithinPrecision(990, values[2]);
+        assertWithinPrecision(1000, values[3]);
+
+        // Values beyond the range of the histogram are recorded within the highest bucket
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(LatencyHistogram.highestEquivalentValue(LatencyHistogram.BUCKETS - 1), histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void buckets() {
+        // Every value maps to a bucket whose range contains it, and whose range is within the expected precision
+        for (long value = 0; value < (1L << 32); value = (value * 9 / 8) + 1) {
+            int index = LatencyHistogram.index(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            long lowest = (index > 0) ? LatencyHistogram.highestEquivalentValue(index - 1) + 1 : 0;
+            Assert.assertTrue(Long.toString(value), (lowest <= value) && (value <= highest));
+            assertWithinPrecision(value, highest);
+        }
+        Assert.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    private static void invoke(InvocationMetrics metrics, Method method, long waitTime, long executionTime, boolean histogramsEnabled) {
+        metrics.startInvocation();
+        metrics.finishInvocation(method, TimeUnit.MILLISECONDS.toNanos(waitTime), TimeUnit.MILLISECONDS.toNanos(executionTime), histogramsEnabled);
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        Assert.assertTrue(expected + " vs " + actual, (actual >= expected) && (actual - expected <= expected / 16));
+    }
+}
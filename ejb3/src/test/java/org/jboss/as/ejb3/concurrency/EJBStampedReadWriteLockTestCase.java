@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.jboss.as.ejb3.component.singleton.EJBStampedReadWriteLock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link EJBStampedReadWriteLock}
+ */
+public class EJBStampedReadWriteLockTestCase {
+
+    private EJBStampedReadWriteLock lock;
+    private ExecutorService executor;
+
+    @Before
+    public void beforeTest() {
+        this.lock = new EJBStampedReadWriteLock();
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void afterTest() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testIllegalLoopBack() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().lock();
+            this.lock.writeLock().unlock();
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+        // Nested read locks acquired while holding the write lock also prevent an upgrade
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            readLock.lock();
+            try {
+                writeLock.lock();
+                Assert.fail("Unexpected acquired write lock");
+            } catch (IllegalLoopbackException e) {
+                // expected
+            } finally {
+                readLock.unlock();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        this.assertUnlocked();
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            Assert.assertFalse(this.executor.submit(() -> this.lock.readLock().tryLock(100, TimeUnit.MILLISECONDS)).get());
+        } finally {
+            writeLock.unlock();
+        }
+        this.assertUnlocked();
+    }
+
+    @Test
+    public void testWriteTimeout() throws Exception {
+        // Covers both biased and unbiased readers
+        for (int i = 0; i < 2; ++i) {
+            Lock readLock = this.lock.readLock();
+            Assert.assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+            try {
+                Assert.assertFalse(this.executor.submit(() -> this.lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS)).get());
+                Assert.assertFalse(this.executor.submit(() -> this.lock.writeLock().tryLock()).get());
+            } finally {
+                readLock.unlock();
+            }
+        }
+        this.assertUnlocked();
+    }
+
+    @Test
+    public void testWriterWaitsForReaders() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        CountDownLatch acquired = new CountDownLatch(1);
+        Future<?> writer = this.executor.submit(() -> {
+            Lock writeLock = this.lock.writeLock();
+            writeLock.lock();
+            acquired.countDown();
+            writeLock.unlock();
+        });
+        Assert.assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        readLock.unlock();
+        Assert.assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        writer.get();
+        this.assertUnlocked();
+    }
+
+    @Test
+    public void testSameThreadCanGetWriteThenReadLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        Lock readLock = this.lock.readLock();
+        writeLock.lock();
+        try {
+            Assert.assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+            // Reentrant write lock
+            Assert.assertTrue(this.lock.readLock().tryLock());
+            readLock.unlock();
+            readLock.unlock();
+            Assert.assertTrue(writeLock.tryLock(1, TimeUnit.SECONDS));
+            writeLock.unlock();
+        } finally {
+            writeLock.unlock();
+        }
+        this.assertUnlocked();
+    }
+
+    @Test
+    public void testDowngrade() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        Lock readLock = this.lock.readLock();
+        writeLock.lock();
+        readLock.lock();
+        writeLock.unlock();
+        try {
+            // We still hold a read lock, so other readers may proceed, but writers may not
+            Assert.assertTrue(this.executor.submit(() -> {
+                boolean locked = this.lock.readLock().tryLock(1, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.readLock().unlock();
+                }
+                return locked;
+            }).get());
+            Assert.assertFalse(this.executor.submit(() -> this.lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS)).get());
+        } finally {
+            readLock.unlock();
+        }
+        this.assertUnlocked();
+    }
+
+    @Test
+    public void testUnlockWithoutLock() {
+        try {
+            this.lock.readLock().unlock();
+            Assert.fail();
+        } catch (IllegalMonitorStateException e) {
+            // expected
+        }
+        try {
+            this.lock.writeLock().unlock();
+            Assert.fail();
+        } catch (IllegalMonitorStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMutualExclusion() throws Exception {
+        int threads = 8;
+        int iterations = 20000;
+        long[] value = new long[2];
+        CountDownLatch start = new CountDownLatch(1);
+        Future<?>[] futures = new Future<?>[threads];
+        for (int i = 0; i < threads; ++i) {
+            boolean writer = (i % 4) == 0;
+            futures[i] = this.executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < iterations; ++j) {
+                    Lock lock = (writer || (j % 64) == 0) ? this.lock.writeLock() : this.lock.readLock();
+                    Assert.assertTrue(lock.tryLock(10, TimeUnit.SECONDS));
+                    try {
+                        if (lock == this.lock.writeLock()) {
+                            value[0] += 1;
+                            value[1] += 1;
+                        } else {
+                            // Readers must never observe a partial write
+                            Assert.assertEquals(value[0], value[1]);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        long writes = 0;
+        for (int i = 0; i < threads; ++i) {
+            futures[i].get();
+            writes += ((i % 4) == 0) ? iterations : (iterations + 63) / 64;
+        }
+        Assert.assertEquals(writes, value[0]);
+        this.assertUnlocked();
+    }
+
+    private void assertUnlocked() {
+        try {
+            Assert.assertTrue(this.executor.submit(() -> {
+                boolean locked = this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.writeLock().unlock();
+                }
+                return locked;
+            }).get());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.jboss.as.ejb3.component.singleton.SingletonConcurrencyLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of the singleton concurrency lock implementations, as used by container-managed concurrency,
+ * for a read-only and a read-mostly workload, for 1 through 64 concurrent threads.
+ * <p/>
+ * Run via {@link #main(String[])}, e.g. from the test classpath of this module; additional JMH command line options are honored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonConcurrencyLockBenchmark {
+
+    static final int[] THREADS = new int[] { 1, 2, 4, 8, 16, 32, 64 };
+
+    @Param({ "reentrant", "stamped" })
+    public String lock;
+
+    @Param({ "0", "1" })
+    public int writePercent;
+
+    @Param({ "20" })
+    public int tokens;
+
+    private ReadWriteLock readWriteLock;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.readWriteLock = SingletonConcurrencyLock.fromValue(this.lock).createLock();
+    }
+
+    @Benchmark
+    public void invoke(Blackhole blackhole) throws InterruptedException {
+        boolean write = (this.writePercent > 0) && (ThreadLocalRandom.current().nextInt(100) < this.writePercent);
+        Lock lock = write ? this.readWriteLock.writeLock() : this.readWriteLock.readLock();
+        // Mirrors ContainerManagedConcurrencyInterceptor
+        if (!lock.tryLock(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException();
+        }
+        try {
+            // Simulate the cost of the invocation itself
+            Blackhole.consumeCPU(this.tokens);
+            blackhole.consume(lock);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        for (int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                    .parent(options)
+                    .include(SingletonConcurrencyLockBenchmark.class.getName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of the {@link StrictMaxPool} and {@link StripedStrictMaxPool} implementations
+ * for an invocation-like get/release cycle, for 1 through 128 concurrent threads.
+ * <p/>
+ * Run via {@link #main(String[])}, e.g. from the test classpath of this module; additional JMH command line options are honored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrictMaxPoolBenchmark {
+
+    static final int[] THREADS = new int[] { 1, 2, 4, 8, 16, 32, 64, 128 };
+
+    @Param({ "queue", "striped" })
+    public String strategy;
+
+    // derive-size="from-cpu-count" default multiplier, and a pool smaller than the largest thread count
+    @Param({ "0", "20" })
+    public int maxPoolSize;
+
+    @Param({ "0", "100" })
+    public int tokens;
+
+    private Pool<Object> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int maxSize = (this.maxPoolSize > 0) ? this.maxPoolSize : Runtime.getRuntime().availableProcessors() * 4;
+        StrictMaxPoolConfig config = new StrictMaxPoolConfig("benchmark", maxSize, 5, TimeUnit.MINUTES, StrictMaxPoolConfig.Strategy.fromValue(this.strategy));
+        this.pool = config.createPool(new StatelessObjectFactory<Object>() {
+            @Override
+            public Object create() {
+                return new Object();
+            }
+
+            @Override
+            public void destroy(Object obj) {
+            }
+        });
+        this.pool.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.stop();
+    }
+
+    @Benchmark
+    public void getAndRelease(Blackhole blackhole) {
+        Object instance = this.pool.get();
+        try {
+            // Simulate the cost of the invocation itself
+            Blackhole.consumeCPU(this.tokens);
+            blackhole.consume(instance);
+        } finally {
+            this.pool.release(instance);
+        }
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        for (int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                    .parent(options)
+                    .include(StrictMaxPoolBenchmark.class.getName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
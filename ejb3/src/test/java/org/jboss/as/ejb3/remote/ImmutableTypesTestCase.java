@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ImmutableTypes} and {@link RemoteViewMethodAnalysis}.
+ */
+public class ImmutableTypesTestCase {
+
+    @Test
+    public void immutable() {
+        Assert.assertTrue(ImmutableTypes.isImmutable(int.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(Integer.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(String.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(BigInteger.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(Instant.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(LocalDate.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(ZoneId.of("Europe/Berlin").getClass()));
+        Assert.assertTrue(ImmutableTypes.isImmutable(TimeUnit.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(TimeUnit.SECONDS.getClass()));
+
+        Assert.assertFalse(ImmutableTypes.isImmutable(Enum.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(ZoneId.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(Object.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(Number.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(Date.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(ArrayList.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(String[].class));
+    }
+
+    @Test
+    public void shareable() {
+        // Classes loaded by the bootstrap class loader are always shared
+        Assert.assertTrue(ImmutableTypes.isShareable(String.class, Object.class));
+        Assert.assertTrue(ImmutableTypes.isShareable(Integer.class, Serializable.class));
+        Assert.assertFalse(ImmutableTypes.isShareable(Date.class, Date.class));
+        // Other classes are only shared if the recipient resolves the same class
+        Assert.assertTrue(ImmutableTypes.isShareable(Color.class, Color.class));
+        Assert.assertFalse(ImmutableTypes.isShareable(Color.class, Object.class));
+        Assert.assertFalse(ImmutableTypes.isShareable(Color.class, null));
+    }
+
+    @Test
+    public void shallowCopyable() {
+        Assert.assertTrue(ImmutableTypes.isShallowCopyable(int[].class, Object.class));
+        Assert.assertTrue(ImmutableTypes.isShallowCopyable(String[].class, Object.class));
+        Assert.assertTrue(ImmutableTypes.isShallowCopyable(String[].class, String[].class));
+        Assert.assertTrue(ImmutableTypes.isShallowCopyable(Color[].class, Color[].class));
+
+        Assert.assertFalse(ImmutableTypes.isShallowCopyable(String.class, Object.class));
+        Assert.assertFalse(ImmutableTypes.isShallowCopyable(Color[].class, Object.class));
+        Assert.assertFalse(ImmutableTypes.isShallowCopyable(Number[].class, Number[].class));
+        Assert.assertFalse(ImmutableTypes.isShallowCopyable(Date[].class, Date[].class));
+        Assert.assertFalse(ImmutableTypes.isShallowCopyable(String[][].class, String[][].class));
+    }
+
+    @Test
+    public void analysis() throws NoSuchMethodException {
+        RemoteViewMethodAnalysis analysis = RemoteViewMethodAnalysis.of(View.class, View.class.getMethod("invoke", int.class, String.class, Instant.class, Color.class, Object.class, List.class, String[].class));
+        Assert.assertSame(analysis, RemoteViewMethodAnalysis.of(View.class, View.class.getMethod("invoke", int.class, String.class, Instant.class, Color.class, Object.class, List.class, String[].class)));
+
+        Assert.assertTrue(analysis.isShareable(0));
+        Assert.assertTrue(analysis.isShareable(1));
+        Assert.assertTrue(analysis.isShareable(2));
+        // The values of the remaining parameters must be inspected
+        Assert.assertFalse(analysis.isShareable(3));
+        Assert.assertFalse(analysis.isShareable(4));
+        Assert.assertFalse(analysis.isShareable(5));
+        Assert.assertFalse(analysis.isShareable(6));
+        Assert.assertSame(Color.class, analysis.getParameterType(3));
+    }
+
+    enum Color {
+        RED, GREEN {
+            @Override
+            public String toString() {
+                return "green";
+            }
+        },
+    }
+
+    interface View {
+        void invoke(int primitive, String string, Instant instant, Color color, Object object, List<String> list, String[] array);
+    }
+}
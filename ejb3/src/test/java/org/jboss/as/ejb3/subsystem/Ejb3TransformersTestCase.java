@@ -86,7 +86,7 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_8_0.xsd";
+        return "schema/wildfly-ejb3_9_0.xsd";
     }
 
     @Override
@@ -355,7 +355,9 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                             /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS,
                             EJB3SubsystemRootResourceDefinition.ALLOW_EJB_NAME_REGEX, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN,
                             EJB3SubsystemRootResourceDefinition.SERVER_INTERCEPTORS, EJB3SubsystemRootResourceDefinition.CLIENT_INTERCEPTORS,
-                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT))
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT,
+                            EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED,
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK))
                     .addConfig(new CorrectFalseToTrue(EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS))
                     .build();
 
@@ -402,7 +404,9 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                             /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS,
                             EJB3SubsystemRootResourceDefinition.ALLOW_EJB_NAME_REGEX, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN,
                             EJB3SubsystemRootResourceDefinition.SERVER_INTERCEPTORS, EJB3SubsystemRootResourceDefinition.CLIENT_INTERCEPTORS,
-                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT))
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT,
+                            EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED,
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK))
                     .addConfig(new CorrectFalseToTrue(EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS))
                     .build();
 
@@ -452,7 +456,9 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                             EJB3SubsystemRootResourceDefinition.CLIENT_INTERCEPTORS,
                             EJB3SubsystemRootResourceDefinition.SERVER_INTERCEPTORS,
                             EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN,
-                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT,
+                            EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED,
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK
                             )
             );
 
@@ -481,7 +487,8 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             config.addFailedAttribute(subsystemAddress,
                     new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemRootResourceDefinition.CLIENT_INTERCEPTORS,
                             EJB3SubsystemRootResourceDefinition.SERVER_INTERCEPTORS,
-                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT));
+                            EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT,
+                            EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED, EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK));
 
             // reject the attribute core-threads from resource /subsystem=ejb3/thread-pool=default
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.THREAD_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(PoolAttributeDefinitions.CORE_THREADS));
@@ -498,7 +505,8 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
         // need to include all changes from current to 6.0.0
         if (EJB3Model.VERSION_6_0_0.matches(version)) {
-            config.addFailedAttribute(subsystemAddress, new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT));
+            config.addFailedAttribute(subsystemAddress, new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemRootResourceDefinition.DEFAULT_STATEFUL_BEAN_SESSION_TIMEOUT,
+                    EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED, EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK));
 
             // reject the attribute 'connectors' from resource /subsystem=ejb3/service=remote
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.REMOTE_SERVICE_PATH),
@@ -523,6 +531,27 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                     FailedOperationTransformationConfig.REJECTED_RESOURCE);
         }
 
+        // register rejections for changes in 9.0.0, which apply to all legacy versions
+        if (EJB3Model.VERSION_7_0_0.matches(version) || EJB3Model.VERSION_8_0_0.matches(version)) {
+            // Other legacy versions include these attributes within their existing subsystem configuration
+            config.addFailedAttribute(subsystemAddress, new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemRootResourceDefinition.STATISTICS_HISTOGRAMS_ENABLED,
+                    EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_CONCURRENCY_LOCK));
+        }
+        config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(STRICT_MAX_BEAN_INSTANCE_POOL, "slsb-strict-max-pool")),
+                new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.STRATEGY));
+        config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.SCHEDULER));
+        if (!EJB3Model.VERSION_1_2_1.matches(version)) {
+            // EAP 6.4.0 already rejects this file-data-store resource
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, PathElement.pathElement(EJB3SubsystemModel.FILE_DATA_STORE, "file-data-store-rejected")),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(FileDataStoreResourceDefinition.FORMAT));
+        }
+        if (!EJB3Model.VERSION_1_2_1.matches(version) && !EJB3Model.VERSION_1_3_0.matches(version)) {
+            // EAP 6.4.x already rejects the database-data-store resource
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.REFRESH_MODE));
+        }
+
         return config;
     }
 
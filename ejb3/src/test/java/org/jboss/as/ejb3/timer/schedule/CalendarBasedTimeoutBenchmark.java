@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timer.schedule;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of computing the next timeout of a calendar timer using {@link LegacyCalendarBasedTimeout} and {@link CalendarBasedTimeout},
+ * for each of the schedules of {@link CalendarBasedTimeoutComparisonTestCase}.
+ * <p/>
+ * Run via {@link #main(String[])}, e.g. from the test classpath of this module; additional JMH command line options are honored.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarBasedTimeoutBenchmark {
+
+    @Param({ "legacy", "compiled" })
+    public String implementation;
+
+    @Param({ "UTC", "Europe/Berlin" })
+    public String timeZone;
+
+    private Calendar start;
+    private LegacyCalendarBasedTimeout[] legacyTimeouts;
+    private Calendar[] legacyCurrent;
+    private CalendarBasedTimeout[] timeouts;
+    private Date[] current;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.start = new GregorianCalendar(TimeZone.getTimeZone(this.timeZone));
+        this.start.clear();
+        this.start.set(2020, Calendar.JANUARY, 1, 0, 0, 0);
+        int count = CalendarBasedTimeoutComparisonTestCase.SCHEDULES.length;
+        this.legacyTimeouts = new LegacyCalendarBasedTimeout[count];
+        this.legacyCurrent = new Calendar[count];
+        this.timeouts = new CalendarBasedTimeout[count];
+        this.current = new Date[count];
+        for (int i = 0; i < count; ++i) {
+            ScheduleExpression schedule = CalendarBasedTimeoutComparisonTestCase.createSchedule(CalendarBasedTimeoutComparisonTestCase.SCHEDULES[i], this.timeZone, this.start.getTime());
+            this.legacyTimeouts[i] = new LegacyCalendarBasedTimeout(schedule);
+            this.legacyCurrent[i] = this.start;
+            this.timeouts[i] = new CalendarBasedTimeout(schedule);
+            this.current[i] = this.start.getTime();
+        }
+    }
+
+    @Benchmark
+    public Object nextTimeout() {
+        int i = this.index;
+        this.index = (i + 1) % this.timeouts.length;
+        if ("legacy".equals(this.implementation)) {
+            Calendar next = this.legacyTimeouts[i].getNextTimeout(this.legacyCurrent[i]);
+            // Restart from the start date once a schedule is exhausted
+            this.legacyCurrent[i] = (next != null) ? next : this.start;
+            return next;
+        }
+        Date next = this.timeouts[i].getNextTimeout(this.current[i]);
+        this.current[i] = (next != null) ? next : this.start.getTime();
+        return next;
+    }
+
+    public static void main(String... args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CalendarBasedTimeoutBenchmark.class.getName())
+                .build()).run();
+    }
+}
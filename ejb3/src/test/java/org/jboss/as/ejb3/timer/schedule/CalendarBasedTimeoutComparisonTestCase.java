@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timer.schedule;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Verifies that {@link CalendarBasedTimeout} computes the same sequence of timeouts as {@link LegacyCalendarBasedTimeout}.
+ */
+public class CalendarBasedTimeoutComparisonTestCase {
+
+    private static final String[] TIME_ZONES = { "UTC", "Europe/Berlin", "America/Los_Angeles", "Asia/Kolkata", "Australia/Sydney" };
+    private static final int TIMEOUTS = 500;
+
+    // second, minute, hour, day-of-month, month, day-of-week, year
+    // Local times skipped by daylight saving transitions are verified by CalendarBasedTimeoutTestCase, so are excluded here
+    static final String[][] SCHEDULES = {
+            { "*/5", "*", "*", "*", "*", "*", "*" },
+            { "0", "*/15", "*", "*", "*", "*", "*" },
+            { "0", "0", "*", "*", "*", "*", "*" },
+            { "0", "15", "8", "*", "*", "Mon-Fri", "*" },
+            { "0", "30", "12", "*", "*", "Mon,Wed,Fri", "*" },
+            { "0", "0", "6", "*", "*", "*", "*" },
+            { "0", "30", "5", "*", "*", "Sun", "*" },
+            { "0", "0", "0", "Last", "*", "*", "*" },
+            { "0", "0", "0", "-3", "*", "*", "*" },
+            { "0", "0", "9", "2nd Fri", "*", "*", "*" },
+            { "0", "0", "17", "Last Mon", "*", "*", "*" },
+            { "0", "0", "0", "1", "*", "Sat", "*" },
+            { "0", "0", "0", "25-5", "*", "*", "*" },
+            { "0", "0", "0", "29", "Feb", "*", "*" },
+            { "0", "0", "0", "31", "*", "*", "*" },
+            { "0", "0", "12", "15", "Jan,Jul", "*", "2016-2030" },
+            { "10", "20,40", "3-4", "*", "Mar,Oct,Nov", "*", "*" },
+    };
+
+    static ScheduleExpression createSchedule(String[] fields, String timeZone, Date start) {
+        return new ScheduleExpression()
+                .second(fields[0])
+                .minute(fields[1])
+                .hour(fields[2])
+                .dayOfMonth(fields[3])
+                .month(fields[4])
+                .dayOfWeek(fields[5])
+                .year(fields[6])
+                .timezone(timeZone)
+                .start(start);
+    }
+
+    @Test
+    public void test() {
+        for (String timeZone : TIME_ZONES) {
+            Calendar start = new GregorianCalendar(TimeZone.getTimeZone(timeZone));
+            start.clear();
+            start.set(2016, Calendar.JANUARY, 1, 0, 0, 0);
+            for (String[] fields : SCHEDULES) {
+                ScheduleExpression schedule = createSchedule(fields, timeZone, start.getTime());
+                LegacyCalendarBasedTimeout expected = new LegacyCalendarBasedTimeout(schedule);
+                CalendarBasedTimeout actual = new CalendarBasedTimeout(schedule);
+
+                Calendar expectedTimeout = expected.getFirstTimeout();
+                Calendar actualTimeout = actual.getFirstTimeout();
+                for (int i = 0; (i < TIMEOUTS) && (expectedTimeout != null); ++i) {
+                    Assert.assertNotNull(schedule.toString(), actualTimeout);
+                    Assert.assertEquals(schedule.toString(), expectedTimeout.getTime(), actualTimeout.getTime());
+                    Assert.assertEquals(schedule.toString(), actualTimeout.getTime(), actual.getNextTimeout(new Date(actualTimeout.getTimeInMillis() - 1)));
+                    expectedTimeout = expected.getNextTimeout(expectedTimeout);
+                    actualTimeout = actual.getNextTimeout(actualTimeout);
+                }
+                if (expectedTimeout == null) {
+                    Assert.assertNull(schedule.toString(), actualTimeout);
+                }
+            }
+        }
+    }
+}
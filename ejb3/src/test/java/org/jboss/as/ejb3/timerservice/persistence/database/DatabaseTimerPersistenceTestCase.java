@@ -1,12 +1,36 @@
 package org.jboss.as.ejb3.timerservice.persistence.database;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
 
 public class DatabaseTimerPersistenceTestCase {
 
@@ -156,4 +180,146 @@ public class DatabaseTimerPersistenceTestCase {
         Assert.assertEquals("sybase", field.get(object));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void claimTimer() throws Exception {
+        DatabaseTimerPersistence persistence = new DatabaseTimerPersistence("", "part", "nodeA", 0, true, DatabaseTimerPersistence.RefreshMode.INCREMENTAL);
+        Connection connection = mock(Connection.class);
+        Map<String, PreparedStatement> statements = prepare(connection, "claim-timer");
+        setField(persistence, "sql", sql("claim-timer"));
+        Method claim = DatabaseTimerPersistence.class.getDeclaredMethod("claimTimer", Connection.class, TimerImpl.class);
+        claim.setAccessible(true);
+
+        Date expiration = new Date();
+        TimerImpl timer = timer("bean", "1", TimerState.ACTIVE);
+        when(timer.getNextExpiration()).thenReturn(expiration);
+        PreparedStatement statement = statements.get("claim-timer");
+
+        // Row locked by another node, or no longer eligible to run
+        ResultSet unclaimed = mock(ResultSet.class);
+        when(statement.executeQuery()).thenReturn(unclaimed);
+        Assert.assertFalse((Boolean) claim.invoke(persistence, connection, timer));
+
+        ResultSet claimed = mock(ResultSet.class);
+        when(claimed.next()).thenReturn(true);
+        when(statement.executeQuery()).thenReturn(claimed);
+        Assert.assertTrue((Boolean) claim.invoke(persistence, connection, timer));
+
+        verify(statement, times(2)).setString(1, "1");
+        verify(statement, times(2)).setString(2, TimerState.IN_TIMEOUT.name());
+        verify(statement, times(2)).setString(3, TimerState.RETRY_TIMEOUT.name());
+        verify(statement, times(2)).setTimestamp(4, new Timestamp(expiration.getTime()));
+
+        // Without a claim statement for the dialect, the subsequent update alone determines ownership
+        setField(persistence, "sql", sql());
+        Assert.assertTrue((Boolean) claim.invoke(persistence, connection, timer));
+        verify(connection, times(2)).prepareStatement("claim-timer");
+
+        // The full refresh does not claim timers
+        DatabaseTimerPersistence fullRefresh = new DatabaseTimerPersistence("", "part", "nodeA", 0, true);
+        setField(fullRefresh, "sql", sql("claim-timer"));
+        Assert.assertTrue((Boolean) claim.invoke(fullRefresh, connection, timer));
+        verify(connection, times(2)).prepareStatement("claim-timer");
+    }
+
+    @Test
+    public void incrementalRefresh() throws Exception {
+        DatabaseTimerPersistence persistence = new DatabaseTimerPersistence("", "part", "nodeA", 0, true, DatabaseTimerPersistence.RefreshMode.INCREMENTAL);
+        Connection connection = mock(Connection.class);
+        Map<String, PreparedStatement> statements = prepare(connection, "load-all-timers", "load-timer", "update-timer", "insert-timer-event", "load-timer-events", "load-latest-timer-event", "delete-timer-events");
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        setField(persistence, "dataSource", dataSource);
+        setField(persistence, "sql", sql(statements.keySet().toArray(new String[0])));
+        Constructor<?> constructor = Class.forName(DatabaseTimerPersistence.class.getName() + "$RefreshTask").getDeclaredConstructor(DatabaseTimerPersistence.class);
+        constructor.setAccessible(true);
+        setField(persistence, "refreshTask", constructor.newInstance(persistence));
+
+        Timestamp latest = new Timestamp(System.currentTimeMillis());
+        Timestamp changed = new Timestamp(latest.getTime() + 1000);
+        when(statements.get("load-all-timers").executeQuery()).thenReturn(mock(ResultSet.class));
+        when(statements.get("load-timer").executeQuery()).thenReturn(mock(ResultSet.class));
+        ResultSet latestResult = mock(ResultSet.class);
+        when(latestResult.next()).thenReturn(true);
+        when(latestResult.getTimestamp(1)).thenReturn(latest);
+        when(statements.get("load-latest-timer-event").executeQuery()).thenReturn(latestResult);
+        ResultSet events = mock(ResultSet.class);
+        when(events.next()).thenReturn(true, false);
+        when(events.getString(1)).thenReturn("bean");
+        when(events.getString(2)).thenReturn("1");
+        when(events.getTimestamp(3)).thenReturn(changed);
+        when(statements.get("load-timer-events").executeQuery()).thenReturn(events);
+
+        TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+        Assert.assertTrue(persistence.loadActiveTimers("bean", timerService).isEmpty());
+
+        // Each change records an event, and the update only applies to timers not owned by another node
+        TimerImpl timer = timer("bean", "1", TimerState.ACTIVE);
+        persistence.persistTimer(timer);
+        PreparedStatement update = statements.get("update-timer");
+        verify(update).setString(6, "1");
+        verify(update).setString(7, "part");
+        verify(update).setString(8, "nodeA");
+        PreparedStatement insertEvent = statements.get("insert-timer-event");
+        verify(insertEvent).setString(1, "part");
+        verify(insertEvent).setString(2, "bean");
+        verify(insertEvent).setString(3, "1");
+        verify(insertEvent).execute();
+
+        // Initial refresh determines the watermark
+        persistence.refreshTimers();
+        verify(statements.get("load-latest-timer-event")).setString(1, "part");
+        verify(statements.get("load-timer-events"), never()).executeQuery();
+
+        // Subsequent refresh only reloads the timers changed since the watermark
+        TimerChangeListener listener = mock(TimerChangeListener.class);
+        when(listener.getTimerService()).thenReturn(timerService);
+        when(timerService.getTimer("1")).thenReturn(timer);
+        persistence.registerChangeListener("bean", listener);
+        persistence.refreshTimers();
+
+        verify(statements.get("load-timer-events")).setTimestamp(2, new Timestamp(latest.getTime() - TimeUnit.MINUTES.toMillis(1)));
+        PreparedStatement load = statements.get("load-timer");
+        verify(load).setString(1, "bean");
+        verify(load).setString(2, "1");
+        verify(load).setString(3, "part");
+        // Timer was deleted by another node
+        verify(listener).timerRemoved("1");
+        verify(statements.get("delete-timer-events")).setTimestamp(2, new Timestamp(changed.getTime() - TimeUnit.HOURS.toMillis(1)));
+        // Only the initial load reads all timers
+        verify(statements.get("load-all-timers"), times(1)).executeQuery();
+    }
+
+    private static TimerImpl timer(String timedObjectId, String id, TimerState state) {
+        TimerImpl timer = mock(TimerImpl.class);
+        when(timer.getTimedObjectId()).thenReturn(timedObjectId);
+        when(timer.getId()).thenReturn(id);
+        when(timer.getState()).thenReturn(state);
+        return timer;
+    }
+
+    /**
+     * Creates SQL properties whose statements are identified by their key.
+     */
+    private static Properties sql(String... keys) {
+        Properties properties = new Properties();
+        for (String key : keys) {
+            properties.setProperty(key, key);
+        }
+        return properties;
+    }
+
+    private static Map<String, PreparedStatement> prepare(Connection connection, String... keys) throws SQLException {
+        Map<String, PreparedStatement> statements = new HashMap<>();
+        for (String key : keys) {
+            statements.put(key, mock(PreparedStatement.class));
+        }
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> statements.get(invocation.<String>getArgument(0)));
+        return statements;
+    }
+
+    private static void setField(DatabaseTimerPersistence persistence, String name, Object value) throws ReflectiveOperationException {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(persistence, value);
+    }
+}
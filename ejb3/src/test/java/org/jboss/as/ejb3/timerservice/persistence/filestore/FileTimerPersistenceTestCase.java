@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.value.InjectedValue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for the migration of timers stored as XML by {@link FileTimerPersistence} into its {@link TimerJournal}.
+ */
+public class FileTimerPersistenceTestCase {
+
+    private static final String TIMED_OBJECT_ID = "app.module.bean";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+
+    @Before
+    public void init() {
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(invoker.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(invoker.getClassLoader()).thenReturn(this.getClass().getClassLoader());
+        InjectedValue<TimedObjectInvoker> invokerValue = new InjectedValue<>();
+        invokerValue.inject(invoker);
+        when(this.timerService.getInvoker()).thenReturn(invoker);
+        when(this.timerService.getTimedObjectInvoker()).thenReturn(invokerValue);
+    }
+
+    @Test
+    public void migrateToJournal() throws Exception {
+        File directory = this.folder.newFolder();
+        Date expiration = new Date(System.currentTimeMillis() + 3600000L);
+
+        FileTimerPersistence persistence = this.start(directory, FileTimerPersistence.Format.XML);
+        try {
+            persistence.addTimer(this.createTimer("timer-1", expiration));
+            persistence.addTimer(this.createTimer("timer-2", expiration));
+        } finally {
+            persistence.stop(null);
+        }
+        File timerDirectory = new File(directory, TIMED_OBJECT_ID);
+        assertTrue(new File(timerDirectory, "timer-1.xml").exists());
+        assertTrue(new File(timerDirectory, "timer-2.xml").exists());
+
+        persistence = this.start(directory, FileTimerPersistence.Format.JOURNAL);
+        try {
+            this.assertTimers(persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService), expiration);
+            // The XML files are deleted once the migrated timers are durable
+            assertFalse(new File(timerDirectory, "timer-1.xml").exists());
+            assertFalse(new File(timerDirectory, "timer-2.xml").exists());
+        } finally {
+            persistence.stop(null);
+        }
+
+        // The migrated timers must now be loaded from the journal
+        persistence = this.start(directory, FileTimerPersistence.Format.JOURNAL);
+        try {
+            this.assertTimers(persistence.loadActiveTimers(TIMED_OBJECT_ID, this.timerService), expiration);
+        } finally {
+            persistence.stop(null);
+        }
+    }
+
+    private void assertTimers(List<TimerImpl> timers, Date expiration) {
+        assertEquals(2, timers.size());
+        for (TimerImpl timer : timers) {
+            assertTrue(timer.getId(), timer.getId().equals("timer-1") || timer.getId().equals("timer-2"));
+            assertEquals(expiration, timer.getNextExpiration());
+        }
+    }
+
+    private TimerImpl createTimer(String id, Date expiration) {
+        return TimerImpl.builder()
+                .setId(id)
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(expiration)
+                .setRepeatInterval(0)
+                .setInfo(id)
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .setNewTimer(true)
+                .build(this.timerService);
+    }
+
+    private FileTimerPersistence start(File directory, FileTimerPersistence.Format format) {
+        FileTimerPersistence persistence = new FileTimerPersistence(true, directory.getAbsolutePath(), null, format);
+        PathManager pathManager = mock(PathManager.class);
+        when(pathManager.resolveRelativePathEntry(directory.getAbsolutePath(), null)).thenReturn(directory.getAbsolutePath());
+        persistence.getPathManager().inject(pathManager);
+        persistence.getModuleLoader().inject(mock(ModuleLoader.class));
+        persistence.start(null);
+        return persistence;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final long SEGMENT_SIZE = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void putAndRemove() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.put("bean", "1", bytes("one")).await();
+            journal.put("bean", "2", bytes("two")).await();
+            journal.put("other", "3", bytes("three")).await();
+            journal.put("bean", "1", bytes("uno")).await();
+            journal.remove("bean", "2").await();
+
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("uno"), timers.get("1"));
+            assertEquals(1, journal.read("other").size());
+
+            journal.remove("other", "3").await();
+            assertTrue(journal.read("other").isEmpty());
+        }
+    }
+
+    @Test
+    public void recover() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; ++i) {
+                journal.put("bean", String.valueOf(i), bytes("timer-" + i)).await();
+            }
+            for (int i = 0; i < 100; i += 2) {
+                journal.remove("bean", String.valueOf(i)).await();
+            }
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(50, timers.size());
+            for (int i = 1; i < 100; i += 2) {
+                assertArrayEquals(bytes("timer-" + i), timers.get(String.valueOf(i)));
+            }
+        }
+    }
+
+    @Test
+    public void recoverTornWrite() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.put("bean", "1", bytes("one")).await();
+            journal.put("bean", "2", bytes("two")).await();
+        }
+        File[] segments = directory.listFiles();
+        File last = segments[0];
+        for (File segment : segments) {
+            if (segment.getName().compareTo(last.getName()) > 0) {
+                last = segment;
+            }
+        }
+        // Simulate a crash in the middle of writing the last record
+        try (RandomAccessFile file = new RandomAccessFile(last, "rw")) {
+            file.setLength(file.length() - 2);
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("one"), timers.get("1"));
+
+            // Subsequent writes must remain recoverable
+            journal.put("bean", "3", bytes("three")).await();
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(2, timers.size());
+            assertArrayEquals(bytes("three"), timers.get("3"));
+        }
+    }
+
+    @Test
+    public void compactCorruptSegment() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.put("bean", "1", bytes("one")).await();
+            journal.put("bean", "2", bytes("two")).await();
+        }
+        File[] segments = directory.listFiles();
+        assertEquals(1, segments.length);
+        File corrupt = segments[0];
+        // Reopen, so that the corrupted segment is no longer the last segment
+        new TimerJournal(directory, SEGMENT_SIZE).close();
+        try (RandomAccessFile file = new RandomAccessFile(corrupt, "rw")) {
+            file.seek(20);
+            int value = file.read();
+            file.seek(20);
+            file.write(~value);
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            assertTrue(journal.read("bean").isEmpty());
+            journal.put("bean", "3", bytes("three")).await();
+            assertFalse(corrupt.exists());
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("three"), timers.get("3"));
+        }
+    }
+
+    @Test
+    public void compact() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            journal.put("bean", "live", bytes("live")).await();
+            // Repeatedly update the same timers, generating mostly obsolete records
+            for (int i = 0; i < 1000; ++i) {
+                journal.put("bean", String.valueOf(i % 10), bytes("timer-" + i)).await();
+            }
+            // Without compaction, we would need at least 10 segments
+            assertTrue(directory.listFiles().length < 5);
+
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(11, timers.size());
+            assertArrayEquals(bytes("live"), timers.get("live"));
+            assertArrayEquals(bytes("timer-999"), timers.get("9"));
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(11, timers.size());
+            assertArrayEquals(bytes("live"), timers.get("live"));
+            assertArrayEquals(bytes("timer-990"), timers.get("0"));
+        }
+    }
+
+    @Test
+    public void concurrentCommits() throws Exception {
+        File directory = this.folder.newFolder();
+        int threads = 8;
+        int count = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                String timedObjectId = "bean-" + i;
+                Callable<Void> task = () -> {
+                    for (int j = 0; j < count; ++j) {
+                        journal.put(timedObjectId, String.valueOf(j), bytes(timedObjectId + j)).await();
+                    }
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try (TimerJournal journal = new TimerJournal(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < threads; ++i) {
+                Map<String, byte[]> timers = journal.read("bean-" + i);
+                assertEquals(count, timers.size());
+                assertArrayEquals(bytes("bean-" + i + (count - 1)), timers.get(String.valueOf(count - 1)));
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
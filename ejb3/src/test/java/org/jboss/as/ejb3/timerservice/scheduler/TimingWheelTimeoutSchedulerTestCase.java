@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelTimeoutScheduler}.
+ */
+public class TimingWheelTimeoutSchedulerTestCase {
+
+    private TimeoutScheduler scheduler;
+
+    @Before
+    public void init() {
+        this.scheduler = new TimingWheelTimeoutScheduler(1, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void destroy() {
+        this.scheduler.close();
+    }
+
+    @Test
+    public void schedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong fired = new AtomicLong();
+        long start = System.nanoTime();
+        this.scheduler.schedule(() -> {
+            fired.set(System.nanoTime());
+            latch.countDown();
+        }, 100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // Must never fire early
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(fired.get() - start) >= 100);
+    }
+
+    @Test
+    public void scheduleBeyondLowestWheel() throws InterruptedException {
+        // Requires cascading from a higher wheel
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicLong fired = new AtomicLong();
+        long start = System.nanoTime();
+        this.scheduler.schedule(() -> {
+            fired.set(System.nanoTime());
+            latch.countDown();
+        }, 300);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(fired.get() - start);
+        assertTrue(String.valueOf(elapsed), elapsed >= 300);
+        assertTrue(String.valueOf(elapsed), elapsed < 2000);
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        TimeoutScheduler.Timeout timeout = this.scheduler.schedule(count::incrementAndGet, 100);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        this.awaitExpiration(200);
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    public void cancelAfterExpiration() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimeoutScheduler.Timeout timeout = this.scheduler.schedule(latch::countDown, 0);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(5);
+        TimeoutScheduler.Timeout timeout = this.scheduler.scheduleAtFixedRate(latch::countDown, 10, 20);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        AtomicInteger count = new AtomicInteger();
+        TimeoutScheduler.Timeout other = this.scheduler.scheduleAtFixedRate(count::incrementAndGet, 0, 10);
+        other.cancel();
+        this.awaitExpiration(100);
+        assertTrue(count.get() <= 1);
+    }
+
+    @Test
+    public void cancelFromTask() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        AtomicReference<TimeoutScheduler.Timeout> timeout = new AtomicReference<>();
+        CountDownLatch scheduled = new CountDownLatch(1);
+        timeout.set(this.scheduler.scheduleAtFixedRate(() -> {
+            try {
+                scheduled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (count.incrementAndGet() == 3) {
+                timeout.get().cancel();
+            }
+        }, 0, 10));
+        scheduled.countDown();
+        // Expired tasks run on the worker thread in deadline order, so any further execution would precede this one
+        this.awaitExpiration(100);
+        assertEquals(3, count.get());
+    }
+
+    @Test
+    public void scheduleMany() throws InterruptedException {
+        int count = 10000;
+        Random random = new Random();
+        CountDownLatch latch = new CountDownLatch(count / 2);
+        AtomicInteger cancelledExecutions = new AtomicInteger();
+        List<TimeoutScheduler.Timeout> cancelled = new ArrayList<>(count / 2);
+        for (int i = 0; i < count; ++i) {
+            long delay = random.nextInt(500);
+            if (i % 2 == 0) {
+                this.scheduler.schedule(latch::countDown, delay);
+            } else {
+                cancelled.add(this.scheduler.schedule(cancelledExecutions::incrementAndGet, delay + 1000));
+            }
+            // Cancel some timeouts before they are placed into the wheels, and the rest afterwards
+            if (i % 4 == 1) {
+                assertTrue(cancelled.get(cancelled.size() - 1).cancel());
+            }
+        }
+        // Ensure that the remaining timeouts were placed into the wheels before cancelling them
+        this.awaitExpiration(0);
+        for (TimeoutScheduler.Timeout timeout : cancelled) {
+            timeout.cancel();
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        this.awaitExpiration(1600);
+        assertEquals(0, cancelledExecutions.get());
+    }
+
+    /**
+     * Schedules a timeout with the specified delay and waits for it to expire.
+     * Since expired tasks run on the single worker thread in deadline order, any task scheduled to expire earlier will have run by then.
+     */
+    private void awaitExpiration(long delay) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(latch::countDown, delay);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void scheduleAfterClose() {
+        this.scheduler.close();
+        this.scheduler.schedule(() -> { }, 0);
+    }
+}
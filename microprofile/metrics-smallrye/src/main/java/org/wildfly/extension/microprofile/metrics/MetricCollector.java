@@ -25,12 +25,6 @@ import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 import static org.wildfly.extension.microprofile.metrics._private.MicroProfileMetricsLogger.LOGGER;
@@ -64,7 +58,6 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProcessStateNotifier;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
-import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
@@ -77,11 +70,11 @@ public class MetricCollector {
     private final boolean exposeAnySubsystem;
     private String globalPrefix;
     private final List<String> exposedSubsystems;
-    private final LocalModelControllerClient modelControllerClient;
+    private final MetricSnapshot snapshot;
     private final ProcessStateNotifier processStateNotifier;
 
     public MetricCollector(LocalModelControllerClient modelControllerClient, ProcessStateNotifier processStateNotifier, List<String> exposedSubsystems, String globalPrefix) {
-        this.modelControllerClient = modelControllerClient;
+        this.snapshot = new MetricSnapshot(modelControllerClient);
         this.processStateNotifier = processStateNotifier;
         this.exposedSubsystems = exposedSubsystems;
         this.exposeAnySubsystem = exposedSubsystems.remove("*");
@@ -117,6 +110,14 @@ public class MetricCollector {
         return registration;
     }
 
+    /**
+     * Expires the snapshot of metric values, so that the values read by the next scrape reflect the current state of
+     * the server.
+     */
+    public void expireSnapshot() {
+        this.snapshot.expire();
+    }
+
     private void collectResourceMetrics0(final Resource current,
                                          ImmutableManagementResourceRegistration managementResourceRegistration,
                                          PathAddress address,
@@ -153,8 +154,12 @@ public class MetricCollector {
             Tag[] tags = createTags(metricMetadata);
             MetricID metricID = new MetricID(metricMetadata.metricName, tags);
 
-            registration.addRegistrationTask(() -> registerMetric(metricMetadata, resourceAddress, attributeName, unit, attributeDescription, isCounter, tags));
+            registration.addRegistrationTask(() -> {
+                snapshot.register(resourceAddress, attributeName);
+                registerMetric(metricMetadata, resourceAddress, attributeName, unit, attributeDescription, isCounter, tags);
+            });
             registration.addUnregistrationTask(metricID);
+            registration.addCleanupTask(() -> snapshot.unregister(resourceAddress, attributeName));
         }
 
         for (String type : current.getChildTypes()) {
@@ -182,7 +187,7 @@ public class MetricCollector {
 
                 @Override
                 public long getCount() {
-                    ModelNode result = readAttributeValue(address, attributeName);
+                    ModelNode result = snapshot.read(address, attributeName);
                     if (result.isDefined()) {
                         try {
                             return result.asLong();
@@ -197,7 +202,7 @@ public class MetricCollector {
             metric = new Gauge<Number>() {
                 @Override
                 public Double getValue() {
-                    ModelNode result = readAttributeValue(address, attributeName);
+                    ModelNode result = snapshot.read(address, attributeName);
                     if (result.isDefined()) {
                         try {
                             return result.asDouble();
@@ -317,20 +322,6 @@ public class MetricCollector {
         return tags;
     }
 
-    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
-        final ModelNode readAttributeOp = new ModelNode();
-        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
-        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
-        readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
-        readAttributeOp.get(NAME).set(attributeName);
-        ModelNode response = modelControllerClient.execute(readAttributeOp);
-        String error = getFailureDescription(response);
-        if (error != null) {
-            throw LOGGER.unableToReadAttribute(attributeName, address, error);
-        }
-        return  response.get(RESULT);
-    }
-
     private boolean isExposingMetrics(PathAddress address) {
         // root resource
         if (address.size() == 0) {
@@ -369,17 +360,11 @@ public class MetricCollector {
         return false;
     }
 
-    private String getFailureDescription(ModelNode result) {
-        if (result.hasDefined(FAILURE_DESCRIPTION)) {
-            return result.get(FAILURE_DESCRIPTION).toString();
-        }
-        return null;
-    }
-
     public static final class MetricRegistration {
 
         private final List<Runnable> registrationTasks = new ArrayList<>();
         private final List<MetricID> unregistrationTasks = new ArrayList<>();
+        private final List<Runnable> cleanupTasks = new ArrayList<>();
 
         MetricRegistration() {
         }
@@ -398,6 +383,9 @@ public class MetricCollector {
             for (MetricID id : unregistrationTasks) {
                 registry.remove(id);
             }
+            for (Runnable task : cleanupTasks) {
+                task.run();
+            }
         }
 
         private synchronized void addRegistrationTask(Runnable task) {
@@ -407,6 +395,10 @@ public class MetricCollector {
         private void addUnregistrationTask(MetricID metricID) {
             unregistrationTasks.add(metricID);
         }
+
+        private void addCleanupTask(Runnable task) {
+            cleanupTasks.add(task);
+        }
     }
 
     private static class MetricMetadata {
@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.microprofile.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.wildfly.extension.microprofile.metrics._private.MicroProfileMetricsLogger.LOGGER;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Snapshot of the values of all registered metric attributes.
+ * <p>
+ * Rather than executing a read-attribute operation per metric, the values of all registered metrics are read by a
+ * single composite operation, whose results are used for all subsequent reads until the snapshot expires, i.e. for
+ * the duration of a scrape.
+ */
+class MetricSnapshot {
+
+    // Maximum age of a snapshot, if not explicitly expired by the next scrape
+    private static final long MAX_AGE = TimeUnit.SECONDS.toNanos(1);
+
+    private final LocalModelControllerClient modelControllerClient;
+    private final Set<Key> keys = ConcurrentHashMap.newKeySet();
+    private volatile Values values = new Values(Collections.emptyMap(), Collections.emptyMap(), System.nanoTime() - MAX_AGE);
+
+    MetricSnapshot(LocalModelControllerClient modelControllerClient) {
+        this.modelControllerClient = modelControllerClient;
+    }
+
+    void register(PathAddress address, String attributeName) {
+        this.keys.add(new Key(address, attributeName));
+    }
+
+    void unregister(PathAddress address, String attributeName) {
+        this.keys.remove(new Key(address, attributeName));
+    }
+
+    /**
+     * Expires the current snapshot, such that the next read will create a new snapshot.
+     */
+    void expire() {
+        this.values = new Values(Collections.emptyMap(), Collections.emptyMap(), System.nanoTime() - MAX_AGE);
+    }
+
+    /**
+     * Reads the value of the specified metric attribute from the current snapshot, creating a new snapshot if necessary.
+     * @param address the address of the resource
+     * @param attributeName the name of the metric attribute
+     * @return the value of the attribute
+     */
+    ModelNode read(PathAddress address, String attributeName) {
+        Key key = new Key(address, attributeName);
+        Values values = this.values;
+        if ((System.nanoTime() - values.timestamp >= MAX_AGE) || !values.contains(key)) {
+            values = this.refresh(values);
+        }
+        String failure = values.failures.get(key);
+        if (failure != null) {
+            throw LOGGER.unableToReadAttribute(attributeName, address, failure);
+        }
+        ModelNode result = values.results.get(key);
+        // Metric was not registered, or was unregistered concurrently
+        return (result != null) ? result : this.readAttributeValue(address, attributeName);
+    }
+
+    private synchronized Values refresh(Values previous) {
+        Values current = this.values;
+        if (current != previous) {
+            // Already refreshed by another thread
+            return current;
+        }
+        Key[] keys = this.keys.toArray(new Key[0]);
+        ModelNode operation = new ModelNode();
+        operation.get(OP).set(COMPOSITE);
+        operation.get(OP_ADDR).setEmptyList();
+        // Allow the remaining steps to succeed if reading an attribute fails
+        operation.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+        ModelNode steps = operation.get(STEPS).setEmptyList();
+        for (Key key : keys) {
+            steps.add(createReadAttributeOperation(key.address, key.attributeName));
+        }
+        long timestamp = System.nanoTime();
+        ModelNode response = this.modelControllerClient.execute(operation);
+
+        Map<Key, ModelNode> results = new HashMap<>();
+        Map<Key, String> failures = new HashMap<>();
+        ModelNode stepResults = response.get(RESULT);
+        for (int i = 0; i < keys.length; ++i) {
+            Key key = keys[i];
+            ModelNode stepResult = stepResults.get("step-" + (i + 1));
+            if (stepResult.hasDefined(FAILURE_DESCRIPTION)) {
+                failures.put(key, stepResult.get(FAILURE_DESCRIPTION).toString());
+            } else if (stepResult.has(RESULT)) {
+                results.put(key, stepResult.get(RESULT));
+            } else {
+                // The composite operation failed before executing this step, e.g. if a resource was concurrently removed
+                try {
+                    results.put(key, this.readAttributeValue(key.address, key.attributeName));
+                } catch (IllegalStateException e) {
+                    failures.put(key, e.getLocalizedMessage());
+                }
+            }
+        }
+        Values values = new Values(results, failures, timestamp);
+        this.values = values;
+        return values;
+    }
+
+    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
+        ModelNode response = this.modelControllerClient.execute(createReadAttributeOperation(address, attributeName));
+        if (response.hasDefined(FAILURE_DESCRIPTION)) {
+            throw LOGGER.unableToReadAttribute(attributeName, address, response.get(FAILURE_DESCRIPTION).toString());
+        }
+        return response.get(RESULT);
+    }
+
+    private static ModelNode createReadAttributeOperation(PathAddress address, String attributeName) {
+        final ModelNode readAttributeOp = new ModelNode();
+        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
+        readAttributeOp.get(INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
+        readAttributeOp.get(NAME).set(attributeName);
+        return readAttributeOp;
+    }
+
+    private static class Values {
+        final Map<Key, ModelNode> results;
+        final Map<Key, String> failures;
+        final long timestamp;
+
+        Values(Map<Key, ModelNode> results, Map<Key, String> failures, long timestamp) {
+            this.results = results;
+            this.failures = failures;
+            this.timestamp = timestamp;
+        }
+
+        boolean contains(Key key) {
+            return this.results.containsKey(key) || this.failures.containsKey(key);
+        }
+    }
+
+    private static class Key {
+        final PathAddress address;
+        final String attributeName;
+
+        Key(PathAddress address, String attributeName) {
+            this.address = address;
+            this.attributeName = attributeName;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.address, this.attributeName);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) return false;
+            Key key = (Key) object;
+            return this.address.equals(key.address) && this.attributeName.equals(key.attributeName);
+        }
+    }
+}
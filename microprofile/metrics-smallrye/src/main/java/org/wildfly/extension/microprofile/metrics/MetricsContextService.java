@@ -23,6 +23,7 @@
 package org.wildfly.extension.microprofile.metrics;
 
 import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsSubsystemDefinition.HTTP_CONTEXT_SERVICE;
+import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsSubsystemDefinition.WILDFLY_COLLECTOR_SERVICE;
 
 import java.util.Map;
 import java.util.function.Supplier;
@@ -48,6 +49,7 @@ public class MetricsContextService implements Service {
     private static final String CONTEXT_NAME = "/metrics";
 
     private final Supplier<ExtensibleHttpManagement> extensibleHttpManagement;
+    private final Supplier<MetricCollector> metricCollector;
     private final boolean securityEnabled;
     private final MetricsRequestHandler metricsRequestHandler;
 
@@ -55,15 +57,17 @@ public class MetricsContextService implements Service {
         ServiceBuilder<?> serviceBuilder = context.getServiceTarget().addService(HTTP_CONTEXT_SERVICE);
 
         Supplier<ExtensibleHttpManagement> extensibleHttpManagement = serviceBuilder.requires(context.getCapabilityServiceName(MicroProfileMetricsSubsystemDefinition.HTTP_EXTENSIBILITY_CAPABILITY, ExtensibleHttpManagement.class));
+        Supplier<MetricCollector> metricCollector = serviceBuilder.requires(WILDFLY_COLLECTOR_SERVICE);
 
-        Service healthContextService = new MetricsContextService(extensibleHttpManagement, securityEnabled, new MetricsRequestHandler());
+        Service healthContextService = new MetricsContextService(extensibleHttpManagement, metricCollector, securityEnabled, new MetricsRequestHandler());
 
         serviceBuilder.setInstance(healthContextService)
                 .install();
     }
 
-    MetricsContextService(Supplier<ExtensibleHttpManagement> extensibleHttpManagement, boolean securityEnabled, MetricsRequestHandler metricsRequestHandler) {
+    MetricsContextService(Supplier<ExtensibleHttpManagement> extensibleHttpManagement, Supplier<MetricCollector> metricCollector, boolean securityEnabled, MetricsRequestHandler metricsRequestHandler) {
         this.extensibleHttpManagement = extensibleHttpManagement;
+        this.metricCollector = metricCollector;
         this.securityEnabled = securityEnabled;
         this.metricsRequestHandler = metricsRequestHandler;
     }
@@ -78,6 +82,8 @@ public class MetricsContextService implements Service {
                         String requestPath = exchange.getRequestPath();
                         String method = exchange.getRequestMethod().toString();
                         HeaderValues acceptHeaders = exchange.getRequestHeaders().get(Headers.ACCEPT);
+                        // WildFly metrics are read from a single snapshot per scrape
+                        metricCollector.get().expireSnapshot();
                         metricsRequestHandler.handleRequest(requestPath, method, acceptHeaders == null ? null : acceptHeaders.stream(), (status, message, headers) -> {
                             exchange.setStatusCode(status);
                             for (Map.Entry<String, String> entry : headers.entrySet()) {
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link MetricSnapshot}.
+ */
+public class MetricSnapshotTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress(PathElement.pathElement("subsystem", "test"));
+
+    @Test
+    public void refresh() {
+        LocalModelControllerClient client = mock(LocalModelControllerClient.class);
+        MetricSnapshot snapshot = new MetricSnapshot(client);
+        snapshot.register(ADDRESS, "success");
+        snapshot.register(ADDRESS, "failure");
+        snapshot.register(ADDRESS, "skipped");
+        snapshot.register(ADDRESS.append(PathElement.pathElement("child", "child")), "success");
+
+        when(client.execute(any(ModelNode.class))).thenAnswer(invocation -> {
+            ModelNode operation = invocation.getArgument(0);
+            ModelNode response = new ModelNode();
+            if (operation.get(OP).asString().equals(COMPOSITE)) {
+                // Respond to each step according to the metric it reads
+                List<ModelNode> steps = operation.get(STEPS).asList();
+                for (int i = 0; i < steps.size(); ++i) {
+                    ModelNode step = steps.get(i);
+                    String name = step.get(NAME).asString();
+                    ModelNode stepResult = response.get(RESULT, "step-" + (i + 1));
+                    switch (name) {
+                        case "success":
+                            stepResult.get(OUTCOME).set(SUCCESS);
+                            stepResult.get(RESULT).set(PathAddress.pathAddress(step.get(OP_ADDR)).size() * 10);
+                            break;
+                        case "failure":
+                            stepResult.get(FAILURE_DESCRIPTION).set("failed");
+                            break;
+                        default:
+                            // Step was not executed
+                            stepResult.setEmptyObject();
+                    }
+                }
+            } else {
+                // Fallback for a step that was not executed
+                response.get(OUTCOME).set(SUCCESS);
+                response.get(RESULT).set(operation.get(NAME).asString().equals("skipped") ? 3 : -1);
+            }
+            return response;
+        });
+
+        // Step results map back to the metrics that they read, regardless of the order of steps
+        assertEquals(10, snapshot.read(ADDRESS, "success").asInt());
+        assertEquals(20, snapshot.read(ADDRESS.append(PathElement.pathElement("child", "child")), "success").asInt());
+        // A step that did not execute falls back to reading its metric individually
+        assertEquals(3, snapshot.read(ADDRESS, "skipped").asInt());
+        // A failed step is reported as a failure of its metric only
+        try {
+            snapshot.read(ADDRESS, "failure");
+            fail("Expected failure to read metric");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        // A single composite operation, and a single fallback read-attribute operation
+        verify(client, times(2)).execute(any(ModelNode.class));
+
+        // Expiration forces a new snapshot
+        snapshot.expire();
+        assertEquals(10, snapshot.read(ADDRESS, "success").asInt());
+        verify(client, times(4)).execute(any(ModelNode.class));
+    }
+
+    @Test
+    public void unregistered() {
+        LocalModelControllerClient client = mock(LocalModelControllerClient.class);
+        MetricSnapshot snapshot = new MetricSnapshot(client);
+
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set(1);
+        when(client.execute(any(ModelNode.class))).thenReturn(response);
+
+        // A metric that is not part of the snapshot is read individually
+        assertEquals(1, snapshot.read(ADDRESS, "unregistered").asInt());
+    }
+}
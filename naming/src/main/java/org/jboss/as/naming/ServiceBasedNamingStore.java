@@ -27,10 +27,14 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -58,12 +62,19 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * @author Eduardo Martins
  */
 public class ServiceBasedNamingStore implements NamingStore {
+    // upper bound on the number of cached bindings, beyond which the least recently referenced binding is evicted
+    static final int MAX_CACHED_BINDINGS = 1024;
+
     private final Name EMPTY_NAME = new CompositeName();
     private Name baseName;
     private final ServiceRegistry serviceRegistry;
     private final ServiceName serviceNameBase;
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
+    // resolved binder values, keyed by the looked up name; evicted whenever the corresponding binding is removed or replaced
+    private final Map<Name, CachedBinding> bindings = new ConcurrentHashMap<>();
+    // incremented on every eviction, so that lookups racing with an unbind or rebind do not cache a stale value
+    private final AtomicLong bindingsVersion = new AtomicLong();
 
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
@@ -79,8 +90,27 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final CachedBinding cached = this.bindings.get(name);
+        if (cached != null) {
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            final Object obj = resolve(name.toString(), cached.value, dereference);
+            if (obj != null) {
+                return obj;
+            }
+        }
+        final long version = this.bindingsVersion.get();
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        Object obj;
+        if (controller != null && boundServices.contains(lookupName)) {
+            final Object value = getValue(name.toString(), controller);
+            cache((Name) name.clone(), new CachedBinding(lookupName, value), version);
+            obj = resolve(name.toString(), value, dereference);
+        } else {
+            obj = lookup(name.toString(), controller, dereference);
+        }
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -125,29 +155,45 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        return lookup(name, serviceRegistry.getService(lookupName), dereference);
+    }
+
+    private Object lookup(final String name, final ServiceController<?> controller, boolean dereference) throws NamingException {
+        return (controller != null) ? resolve(name, getValue(name, controller), dereference) : null;
+    }
+
+    private static Object getValue(final String name, final ServiceController<?> controller) throws NamingException {
         try {
-            final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
-                        final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                        return managedReference != null ? managedReference.getInstance() : null;
-                    }
+            return controller.getValue();
+        } catch (IllegalStateException e) {
+            NameNotFoundException n = new NameNotFoundException(name);
+            n.initCause(e);
+            throw n;
+        } catch (SecurityException ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw NamingLogger.ROOT_LOGGER.lookupError(t, name);
+        }
+    }
+
+    private static Object resolve(final String name, final Object object, boolean dereference) throws NamingException {
+        try {
+            if (dereference && object instanceof ManagedReferenceFactory) {
+                if(WildFlySecurityManager.isChecking()) {
+                    //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                    return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                        @Override
+                        public Object run() {
+                            final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                            return managedReference != null ? managedReference.getInstance() : null;
+                        }
+                    });
                 } else {
-                    return object;
+                    final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                    return managedReference != null ? managedReference.getInstance() : null;
                 }
             } else {
-                return null;
+                return object;
             }
         } catch (IllegalStateException e) {
             NameNotFoundException n = new NameNotFoundException(name);
@@ -257,6 +303,8 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        bindingsVersion.incrementAndGet();
+        bindings.clear();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -275,6 +323,48 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidate(serviceName);
+    }
+
+    /**
+     * Evicts the cached value of the specified binding, e.g. after its binder service was given a new value.
+     *
+     * @param serviceName the service name of the binding
+     */
+    protected void invalidate(final ServiceName serviceName) {
+        bindingsVersion.incrementAndGet();
+        bindings.values().removeIf(binding -> binding.serviceName.equals(serviceName));
+    }
+
+    private void cache(final Name name, final CachedBinding binding, final long version) {
+        if (bindings.size() >= MAX_CACHED_BINDINGS) {
+            evict();
+        }
+        bindings.put(name, binding);
+        // the binding may have been removed or replaced since its value was resolved
+        if (bindingsVersion.get() != version) {
+            bindings.remove(name, binding);
+        }
+    }
+
+    // second chance eviction, approximating LRU: evicts the first binding not referenced since the previous scan
+    private void evict() {
+        final Iterator<CachedBinding> values = bindings.values().iterator();
+        while (values.hasNext()) {
+            final CachedBinding binding = values.next();
+            if (binding.referenced) {
+                binding.referenced = false;
+            } else {
+                values.remove();
+                return;
+            }
+        }
+        // every binding was referenced, all of which have now been given their second chance
+        final Iterator<CachedBinding> remaining = bindings.values().iterator();
+        if (remaining.hasNext()) {
+            remaining.next();
+            remaining.remove();
+        }
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -367,4 +457,15 @@ public class ServiceBasedNamingStore implements NamingStore {
         }
         return new CompositeName();
     }
+
+    private static class CachedBinding {
+        final ServiceName serviceName;
+        final Object value;
+        volatile boolean referenced;
+
+        CachedBinding(final ServiceName serviceName, final Object value) {
+            this.serviceName = serviceName;
+            this.value = value;
+        }
+    }
 }
@@ -120,6 +120,7 @@ public class WritableServiceBasedNamingStore extends ServiceBasedNamingStore imp
                 duBindingReferences.add(binderService);
             }
             binderService.getManagedObjectInjector().setValue(new ImmediateValue(new ImmediateManagedReferenceFactory(object)));
+            invalidate(bindName);
         }
     }
 
@@ -22,21 +22,25 @@
 
 package org.jboss.as.naming;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.naming.Binding;
 import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -98,6 +102,83 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testLookupCachedBindingAfterRebind() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "cached");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+
+        final ServiceController<?> controller = container.getRequiredService(bindingName);
+        controller.setMode(ServiceController.Mode.REMOVE);
+        container.awaitStability();
+        store.remove(bindingName);
+        try {
+            store.lookup(new CompositeName("foo/cached"));
+            fail("Should have thrown name not found");
+        } catch (NameNotFoundException expected) {
+        }
+
+        final Object newValue = new Object();
+        bindObject(bindingName, newValue);
+        assertEquals(newValue, store.lookup(new CompositeName("foo/cached")));
+    }
+
+    @Test
+    public void testLookupCachesResolvedBinding() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "cached");
+        final Object value = new Object();
+        final AtomicInteger resolved = bindCountingObject(bindingName, value);
+
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        }
+        assertEquals(1, resolved.get());
+    }
+
+    @Test
+    public void testRemoveInvalidatesOnlyRemovedBinding() throws Exception {
+        final ServiceName removedName = ServiceName.JBOSS.append("foo", "removed");
+        final ServiceName retainedName = ServiceName.JBOSS.append("foo", "retained");
+        final Object value = new Object();
+        final AtomicInteger removed = bindCountingObject(removedName, value);
+        final AtomicInteger retained = bindCountingObject(retainedName, value);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/removed")));
+        assertEquals(value, store.lookup(new CompositeName("foo/retained")));
+
+        store.remove(removedName);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/removed")));
+        assertEquals(value, store.lookup(new CompositeName("foo/retained")));
+        assertEquals(2, removed.get());
+        assertEquals(1, retained.get());
+    }
+
+    @Test
+    public void testCachedBindingsBounded() throws Exception {
+        final Object value = new Object();
+        final AtomicInteger hot = bindCountingObject(ServiceName.JBOSS.append("foo", "hot"), value);
+        final List<AtomicInteger> counters = new ArrayList<>(ServiceBasedNamingStore.MAX_CACHED_BINDINGS);
+        for (int i = 0; i < ServiceBasedNamingStore.MAX_CACHED_BINDINGS; ++i) {
+            counters.add(bindCountingObject(ServiceName.JBOSS.append("foo", String.valueOf(i)), value));
+        }
+
+        // Overflowing the cache must evict individual bindings, rather than the frequently referenced one
+        for (int i = 0; i < ServiceBasedNamingStore.MAX_CACHED_BINDINGS; ++i) {
+            assertEquals(value, store.lookup(new CompositeName("foo/hot")));
+            assertEquals(value, store.lookup(new CompositeName("foo/" + i)));
+        }
+        assertEquals(value, store.lookup(new CompositeName("foo/hot")));
+        assertEquals(1, hot.get());
+
+        final int last = ServiceBasedNamingStore.MAX_CACHED_BINDINGS - 1;
+        assertEquals(value, store.lookup(new CompositeName("foo/" + last)));
+        assertEquals(1, counters.get(last).get());
+    }
+
     @Test
     public void testLookupParentContext() throws Exception {
         final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
@@ -398,6 +479,27 @@ public class ServiceBasedNamingStoreTestCase {
         fail("Child [" + name + "] not found in [" + list + "]");
     }
 
+    private AtomicInteger bindCountingObject(final ServiceName serviceName, final Object value) throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        container.addService(serviceName, new Service<ManagedReferenceFactory>() {
+            public void start(StartContext context) throws StartException {
+                store.add(serviceName);
+                latch.countDown();
+            }
+
+            public void stop(StopContext context) {
+            }
+
+            public ManagedReferenceFactory getValue() throws IllegalStateException, IllegalArgumentException {
+                count.incrementAndGet();
+                return new ValueManagedReferenceFactory(Values.immediateValue(value));
+            }
+        }).install();
+        latch.await();
+        return count;
+    }
+
     private void bindObject(final ServiceName serviceName, final Object value) throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
         container.addService(serviceName, new Service<ManagedReferenceFactory>() {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import io.undertow.server.HttpServerExchange;
+
+/**
+ * A bounded, lock-free, multiple producer and single consumer ring buffer of reusable access log records.
+ * <p>
+ * Each record is a flat array of attribute values, allocated once and reused for the lifetime of the buffer. Producers
+ * resolve the attributes of an exchange directly into a claimed record. If the buffer is full the record is discarded
+ * and counted as an overflow.
+ * </p>
+ */
+class AccessLogRecordBuffer {
+    private final AccessLogAttribute[] attributes;
+    private final Object[][] records;
+    // A record is writable by the producer whose position equals its sequence, and readable when its sequence is position + 1
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder overflowCount = new LongAdder();
+    // Only accessed by the consumer
+    private long head;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param attributes the attributes resolved into each record
+     * @param capacity   the minimum number of records, rounded up to a power of two
+     */
+    AccessLogRecordBuffer(final Collection<AccessLogAttribute> attributes, final int capacity) {
+        this.attributes = attributes.toArray(new AccessLogAttribute[0]);
+        final int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = size - 1;
+        this.records = new Object[size][this.attributes.length];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the attributes, whose order corresponds to the values of each record.
+     *
+     * @return the attributes of each record
+     */
+    AccessLogAttribute[] getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Resolves the attributes of the exchange into the next available record.
+     *
+     * @param exchange the completed exchange
+     *
+     * @return {@code true} if the record was added, {@code false} if the buffer was full
+     */
+    boolean offer(final HttpServerExchange exchange) {
+        long position = tail.get();
+        while (true) {
+            final long difference = sequences.get((int) position & mask) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                overflowCount.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        final int index = (int) position & mask;
+        final Object[] record = records[index];
+        try {
+            for (int i = 0; i < attributes.length; i++) {
+                record[i] = attributes[i].resolveAttribute(exchange);
+            }
+        } finally {
+            // Always publish the claimed record, otherwise the consumer would stall
+            sequences.set(index, position + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Passes up to the specified number of records, in order, to the consumer. Must only be invoked by a single thread
+     * at a time. The record passed to the consumer is only valid for the duration of the call.
+     *
+     * @param consumer   the consumer of each record
+     * @param maxRecords the maximum number of records to drain
+     *
+     * @return the number of drained records
+     */
+    int drain(final Consumer<Object[]> consumer, final int maxRecords) {
+        int count = 0;
+        while (count < maxRecords) {
+            final int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            final Object[] record = records[index];
+            try {
+                consumer.accept(record);
+            } finally {
+                // Release references to resolved values before making the record available to producers
+                for (int i = 0; i < record.length; i++) {
+                    record[i] = null;
+                }
+                sequences.set(index, head + records.length);
+                head++;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Indicates whether or not a record is available to the consumer.
+     *
+     * @return {@code true} if no record is available, otherwise {@code false}
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * Returns the number of records discarded because the buffer was full.
+     *
+     * @return the overflow count
+     */
+    long getOverflowCount() {
+        return overflowCount.sum();
+    }
+}
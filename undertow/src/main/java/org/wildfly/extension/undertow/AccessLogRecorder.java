@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import io.undertow.server.HttpServerExchange;
+import org.wildfly.event.logger.EventLogger;
+
+/**
+ * Records the attributes of completed exchanges into a {@linkplain AccessLogRecordBuffer ring buffer}, which is drained
+ * in batches to an event logger by a single task at a time.
+ * <p>
+ * The exchange thread only resolves attributes and, if no drain task is pending, submits one to the executor. The drain
+ * task reuses a single map for each event, which requires a synchronous event logger.
+ * </p>
+ */
+class AccessLogRecorder implements Runnable {
+    static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+
+    private final AccessLogRecordBuffer buffer;
+    private final EventLogger eventLogger;
+    private final Executor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Only accessed by the drain task
+    private final Map<String, Object> data = new LinkedHashMap<>();
+    private final Consumer<Object[]> logger = this::log;
+    private final String[] keys;
+
+    /**
+     * Creates a new recorder.
+     *
+     * @param attributes  the attributes to record
+     * @param capacity    the capacity of the ring buffer
+     * @param eventLogger the synchronous event logger to which records are written
+     * @param executor    the executor used to run the drain task
+     */
+    AccessLogRecorder(final Collection<AccessLogAttribute> attributes, final int capacity, final EventLogger eventLogger, final Executor executor) {
+        this.buffer = new AccessLogRecordBuffer(attributes, capacity);
+        this.eventLogger = eventLogger;
+        this.executor = executor;
+        final AccessLogAttribute[] bufferAttributes = buffer.getAttributes();
+        this.keys = new String[bufferAttributes.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = bufferAttributes[i].getKey();
+        }
+    }
+
+    /**
+     * Records the exchange, discarding the record if the buffer is full.
+     *
+     * @param exchange the completed exchange
+     */
+    void record(final HttpServerExchange exchange) {
+        if (buffer.offer(exchange)) {
+            schedule();
+        }
+    }
+
+    @Override
+    public void run() {
+        do {
+            try {
+                int drained;
+                do {
+                    drained = buffer.drain(logger, BATCH_SIZE);
+                } while (drained > 0);
+            } finally {
+                scheduled.set(false);
+            }
+            // Re-check for records published after the buffer was drained, but before the scheduled flag was cleared
+        } while (!buffer.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * Writes any remaining records if no drain task is pending.
+     */
+    void flush() {
+        if (scheduled.compareAndSet(false, true)) {
+            run();
+        }
+    }
+
+    /**
+     * Returns the number of records discarded because the buffer was full.
+     *
+     * @return the overflow count
+     */
+    long getOverflowCount() {
+        return buffer.getOverflowCount();
+    }
+
+    private void schedule() {
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // The executor is shutting down, records are written on the next flush
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void log(final Object[] record) {
+        data.clear();
+        for (int i = 0; i < keys.length; i++) {
+            data.put(keys[i], record[i]);
+        }
+        eventLogger.log(data);
+    }
+}
@@ -463,7 +463,7 @@ public class ApplicationSecurityDomainDefinition extends PersistentResourceDefin
                     .setIntegratedJaspi(integratedJaspi);
 
             if (enableJacc) {
-                builder.setAuthorizationManager(JACCAuthorizationManager.INSTANCE);
+                builder.setAuthorizationManager(new JACCAuthorizationManager());
             }
 
             AuthenticationManager authenticationManager = builder.build();
@@ -29,6 +29,7 @@ import org.jboss.as.controller.AbstractRemoveStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
@@ -38,6 +39,7 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.DynamicNameMappers;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
@@ -67,6 +69,10 @@ class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    static final SimpleAttributeDefinition OVERFLOW_COUNT = SimpleAttributeDefinitionBuilder.create("overflow-count", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
     static final Collection<AttributeDefinition> ATTRIBUTES = Arrays.asList(
             ExchangeAttributeDefinitions.ATTRIBUTES,
             INCLUDE_HOST_NAME,
@@ -91,6 +97,25 @@ class ConsoleAccessLogDefinition extends PersistentResourceDefinition {
         return ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(OVERFLOW_COUNT, OverflowCountHandler.INSTANCE);
+    }
+
+    private static class OverflowCountHandler implements OperationStepHandler {
+        static final OverflowCountHandler INSTANCE = new OverflowCountHandler();
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final ServiceController<?> controller = context.getServiceRegistry(false)
+                    .getService(CONSOLE_ACCESS_LOG_CAPABILITY.getCapabilityServiceName(context.getCurrentAddress()));
+            if (controller != null && controller.getService() instanceof EventLoggerService) {
+                context.getResult().set(((EventLoggerService) controller.getService()).getOverflowCount());
+            }
+        }
+    }
+
     private static class AddHandler extends AbstractAddStepHandler {
         static final AddHandler INSTANCE = new AddHandler();
 
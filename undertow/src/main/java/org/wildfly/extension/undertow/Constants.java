@@ -128,6 +128,7 @@ public interface Constants {
     String DEFAULT_BUFFER_CACHE = "default-buffer-cache";
 
     String RELATIVE_TO = "relative-to";
+    String COMPRESSION = "compression";
     String REDIRECT_SOCKET = "redirect-socket";
     String DIRECTORY = "directory";
     String STACK_TRACE_ON_ERROR = "stack-trace-on-error";
@@ -266,6 +267,7 @@ public interface Constants {
     String GET_SESSION_CREATION_TIME_MILLIS = "get-session-creation-time-millis";
     String DEFAULT_COOKIE_VERSION = "default-cookie-version";
     String PRESERVE_PATH_ON_FORWARD = "preserve-path-on-forward";
+    String PRECOMPRESS_RESOURCES = "precompress-resources";
 
     String PROXY_PROTOCOL = "proxy-protocol";
     String MAX_POOL_SIZE = "max-pool-size";
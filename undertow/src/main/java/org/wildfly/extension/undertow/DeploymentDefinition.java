@@ -38,6 +38,7 @@ import java.util.Set;
 import io.undertow.server.session.Session;
 import io.undertow.server.session.SessionManager;
 import io.undertow.server.session.SessionManagerStatistics;
+import io.undertow.servlet.api.AuthorizationManager;
 import io.undertow.servlet.api.Deployment;
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -59,6 +60,7 @@ import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.extension.undertow.security.jacc.JACCAuthorizationManager;
 
 /**
  * @author Tomaz Cerar
@@ -72,6 +74,16 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
     public static final AttributeDefinition SERVER = new SimpleAttributeDefinitionBuilder("server", ModelType.STRING).setStorageRuntime().build();
     public static final AttributeDefinition CONTEXT_ROOT = new SimpleAttributeDefinitionBuilder("context-root", ModelType.STRING).setStorageRuntime().build();
     public static final AttributeDefinition VIRTUAL_HOST = new SimpleAttributeDefinitionBuilder("virtual-host", ModelType.STRING).setStorageRuntime().build();
+    static final AttributeDefinition JACC_DECISION_CACHE_HITS = new SimpleAttributeDefinitionBuilder("jacc-decision-cache-hits", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition JACC_DECISION_CACHE_MISSES = new SimpleAttributeDefinitionBuilder("jacc-decision-cache-misses", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
     static final AttributeDefinition SESSIOND_ID = new SimpleAttributeDefinitionBuilder(Constants.SESSION_ID, ModelType.STRING)
             .setRequired(true)
             .setAllowExpression(false)
@@ -157,6 +169,8 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        resourceRegistration.registerMetric(JACC_DECISION_CACHE_HITS, JACCDecisionCacheStatsHandler.INSTANCE);
+        resourceRegistration.registerMetric(JACC_DECISION_CACHE_MISSES, JACCDecisionCacheStatsHandler.INSTANCE);
     }
 
     @Override
@@ -373,6 +387,41 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         }
     }
 
+    static class JACCDecisionCacheStatsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final JACCDecisionCacheStatsHandler INSTANCE = new JACCDecisionCacheStatsHandler();
+
+        private JACCDecisionCacheStatsHandler() {
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+            final String server = SERVER.resolveModelAttribute(context, subModel).asString();
+
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            final UndertowDeploymentService deploymentService = (UndertowDeploymentService) controller.getService();
+            if (deploymentService == null || deploymentService.getDeployment() == null) {
+                return;
+            }
+            // Only deployments authorized via JACC have a decision cache
+            AuthorizationManager manager = deploymentService.getDeployment().getDeploymentInfo().getAuthorizationManager();
+            if (manager instanceof JACCAuthorizationManager) {
+                JACCAuthorizationManager jaccManager = (JACCAuthorizationManager) manager;
+                String name = operation.require(ModelDescriptionConstants.NAME).asString();
+                context.getResult().set(JACC_DECISION_CACHE_HITS.getName().equals(name) ? jaccManager.getDecisionCacheHitCount() : jaccManager.getDecisionCacheMissCount());
+            }
+        }
+    }
+
     private static SessionManager getSessionManager(OperationContext context, ModelNode operation) throws OperationFailedException {
         final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
         final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
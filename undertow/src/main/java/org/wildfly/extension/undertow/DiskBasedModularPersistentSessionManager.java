@@ -21,7 +21,11 @@
  */
 package org.wildfly.extension.undertow;
 
+import static java.security.AccessController.doPrivileged;
+
+import io.undertow.servlet.UndertowServletLogger;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.ByteBufferInput;
 import org.jboss.marshalling.InputStreamByteInput;
 import org.jboss.marshalling.Marshaller;
 import org.jboss.marshalling.OutputStreamByteOutput;
@@ -30,31 +34,86 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.PrivilegedAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
- * Persistent session manager that stores persistent session information to disk
+ * Persistent session manager that stores persistent session information to disk.
+ * <p>
+ * Sessions are streamed to a single file per deployment in a single pass, one length-prefixed record per session,
+ * such that sessions need not be buffered in their entirety prior to being written.
+ * Records are marshalled, and optionally compressed, by a pool of writer threads.
+ * Once restored, the attributes of a session are only unmarshalled when the session is first accessed, and expired sessions are skipped entirely.
+ * Files written by previous releases, which contain a single marshalled map of all sessions, are still readable.
  *
  * @author Stuart Douglas
  */
 public class DiskBasedModularPersistentSessionManager extends AbstractPersistentSessionManager {
+    // "WFPS"
+    private static final int MAGIC = 0x57465053;
+    private static final int VERSION = 1;
+    private static final byte SESSION = 1;
+    private static final byte END = 0;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Minimum number of sessions per writer, below which parallel writing is not worthwhile
+    private static final int MIN_SESSIONS_PER_WRITER = 64;
+
     private final String path;
     private final String pathRelativeTo;
+    private final boolean compression;
+    private final int writers = Runtime.getRuntime().availableProcessors();
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private ExecutorService executor;
 
     private final InjectedValue<PathManager> pathManager = new InjectedValue<PathManager>();
 
     public DiskBasedModularPersistentSessionManager(String path, String pathRelativeTo) {
+        this(path, pathRelativeTo, false);
+    }
+
+    public DiskBasedModularPersistentSessionManager(String path, String pathRelativeTo, boolean compression) {
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.compression = compression;
     }
 
     @Override
@@ -63,6 +122,9 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
+        if (executor != null) {
+            executor.shutdown();
+        }
     }
 
     @Override
@@ -80,9 +142,151 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         if (!baseDir.isDirectory()) {
             throw UndertowLogger.ROOT_LOGGER.invalidPersistentSessionDir(baseDir);
         }
+        ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            @Override
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("PersistentSessionWriter-threads"), Boolean.FALSE, null, "%G - %t", null, null);
+            }
+        });
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(writers, writers, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        // Sessions are only persisted on undeploy, so don't retain idle threads
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    @Override
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+        File file = new File(baseDir, deploymentName);
+        // Write to a temporary file, so that a failure does not clobber any previously persisted sessions
+        File tmpFile = new File(baseDir, deploymentName + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile, false), BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeBoolean(compression);
+                List<Map.Entry<String, PersistentSession>> sessions = new ArrayList<>(sessionData.entrySet());
+                int tasks = Math.min(writers, sessions.size() / MIN_SESSIONS_PER_WRITER);
+                AtomicBoolean aborted = new AtomicBoolean(false);
+                if (tasks <= 1) {
+                    new SessionWriter(sessions, output, aborted).call();
+                } else {
+                    List<Future<Void>> futures = new ArrayList<>(tasks);
+                    try {
+                        for (int i = 0; i < tasks; ++i) {
+                            futures.add(executor.submit(new SessionWriter(sessions.subList(i * sessions.size() / tasks, (i + 1) * sessions.size() / tasks), output, aborted)));
+                        }
+                    } finally {
+                        if (futures.size() < tasks) {
+                            aborted.set(true);
+                        }
+                        await(futures, aborted);
+                    }
+                }
+                output.writeByte(END);
+            }
+            try {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (ExecutionException e) {
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e.getCause());
+            tmpFile.delete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+            tmpFile.delete();
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+            tmpFile.delete();
+        }
     }
 
+    /**
+     * Waits for all of the specified writers to complete, since they share the same output.
+     * Remaining writers are aborted if any writer fails, or if the current thread is interrupted.
+     */
+    private static void await(List<Future<Void>> futures, AtomicBoolean aborted) throws ExecutionException, InterruptedException {
+        ExecutionException failure = null;
+        boolean interrupted = false;
+        for (Future<Void> future : futures) {
+            boolean done = false;
+            while (!done) {
+                try {
+                    future.get();
+                    done = true;
+                } catch (ExecutionException e) {
+                    aborted.set(true);
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    done = true;
+                } catch (InterruptedException e) {
+                    aborted.set(true);
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            throw new InterruptedException();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
+        File file = new File(baseDir, deploymentName);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE))) {
+            if ((file.length() < Integer.BYTES) || (input.readInt() != MAGIC)) {
+                input.close();
+                // Persisted by a previous release
+                return super.loadSessionAttributes(deploymentName, classLoader);
+            }
+            if (input.readByte() != VERSION) {
+                throw UndertowLogger.ROOT_LOGGER.corruptPersistentSessionData(file);
+            }
+            boolean compressed = input.readBoolean();
+            long time = System.currentTimeMillis();
+            Map<String, PersistentSession> result = new HashMap<>();
+            for (byte record = input.readByte(); record != END; record = input.readByte()) {
+                if (record != SESSION) {
+                    throw UndertowLogger.ROOT_LOGGER.corruptPersistentSessionData(file);
+                }
+                String sessionId = input.readUTF();
+                long expiration = input.readLong();
+                int length = input.readInt();
+                if (expiration > time) {
+                    byte[] payload = new byte[length];
+                    input.readFully(payload);
+                    result.put(sessionId, new PersistentSession(new Date(expiration), new SessionAttributes(sessionId, payload, compressed)));
+                } else {
+                    // Skip expired sessions without unmarshalling them
+                    int skipped = 0;
+                    while (skipped < length) {
+                        int bytes = input.skipBytes(length - skipped);
+                        if (bytes <= 0) {
+                            throw UndertowLogger.ROOT_LOGGER.corruptPersistentSessionData(file);
+                        }
+                        skipped += bytes;
+                    }
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        }
+        return null;
+    }
 
+    /**
+     * Persists sessions in the format of previous releases.
+     * Unused, since {@link #persistSessions(String, Map)} streams sessions directly to disk.
+     */
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
         File file = new File(baseDir, deploymentName);
@@ -101,6 +305,9 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         }
     }
 
+    /**
+     * Loads sessions persisted in the format of previous releases.
+     */
     @Override
     protected Map<String, SessionEntry> loadSerializedSessions(String deploymentName) throws IOException {
         File file = new File(baseDir, deploymentName);
@@ -131,4 +338,131 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
     public InjectedValue<PathManager> getPathManager() {
         return pathManager;
     }
+
+    /**
+     * Marshals a subset of sessions, writing each as a single record to a shared output.
+     */
+    private class SessionWriter implements Callable<Void> {
+        private final List<Map.Entry<String, PersistentSession>> sessions;
+        private final DataOutputStream output;
+        private final AtomicBoolean aborted;
+
+        SessionWriter(List<Map.Entry<String, PersistentSession>> sessions, DataOutputStream output, AtomicBoolean aborted) {
+            this.sessions = sessions;
+            this.output = output;
+            this.aborted = aborted;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            final ByteArrayOutputStream attribute = new ByteArrayOutputStream();
+            final ByteArrayOutputStream session = new ByteArrayOutputStream();
+            final DataOutputStream sessionOutput = new DataOutputStream(session);
+            final ByteArrayOutputStream compressedSession = compression ? new ByteArrayOutputStream() : null;
+            final Deflater deflater = compression ? new Deflater(Deflater.BEST_SPEED) : null;
+            final Marshaller marshaller = createMarshaller();
+            try {
+                for (Map.Entry<String, PersistentSession> sessionEntry : sessions) {
+                    if (aborted.get()) {
+                        // Another writer failed
+                        return null;
+                    }
+                    session.reset();
+                    for (Map.Entry<String, Object> sessionAttribute : sessionEntry.getValue().getSessionData().entrySet()) {
+                        attribute.reset();
+                        try {
+                            marshaller.start(new OutputStreamByteOutput(attribute));
+                            marshaller.writeObject(sessionAttribute.getValue());
+                            marshaller.finish();
+                        } catch (Exception e) {
+                            UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionEntry.getKey(), e);
+                            continue;
+                        }
+                        sessionOutput.writeBoolean(true);
+                        sessionOutput.writeUTF(sessionAttribute.getKey());
+                        sessionOutput.writeInt(attribute.size());
+                        attribute.writeTo(sessionOutput);
+                    }
+                    sessionOutput.writeBoolean(false);
+                    ByteArrayOutputStream payload = session;
+                    if (deflater != null) {
+                        compressedSession.reset();
+                        deflater.reset();
+                        DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(compressedSession, deflater);
+                        session.writeTo(deflaterOutput);
+                        deflaterOutput.finish();
+                        payload = compressedSession;
+                    }
+                    synchronized (output) {
+                        output.writeByte(SESSION);
+                        output.writeUTF(sessionEntry.getKey());
+                        output.writeLong(sessionEntry.getValue().getExpiration().getTime());
+                        output.writeInt(payload.size());
+                        payload.writeTo(output);
+                    }
+                }
+            } finally {
+                marshaller.close();
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The attributes of a restored session, which are only unmarshalled upon first access.
+     */
+    private class SessionAttributes extends AbstractMap<String, Object> {
+        private final String sessionId;
+        private final boolean compressed;
+        private byte[] payload;
+        private Map<String, Object> attributes;
+
+        SessionAttributes(String sessionId, byte[] payload, boolean compressed) {
+            this.sessionId = sessionId;
+            this.payload = payload;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public synchronized Set<Entry<String, Object>> entrySet() {
+            if (attributes == null) {
+                attributes = unmarshal();
+                // Release the serialized form
+                payload = null;
+            }
+            return attributes.entrySet();
+        }
+
+        private Map<String, Object> unmarshal() {
+            Map<String, Object> attributes = new HashMap<>();
+            InputStream in = new ByteArrayInputStream(payload);
+            try (DataInputStream input = new DataInputStream(compressed ? new InflaterInputStream(in) : in)) {
+                Unmarshaller unmarshaller = createUnmarshaller();
+                try {
+                    while (input.readBoolean()) {
+                        String name = input.readUTF();
+                        byte[] value = new byte[input.readInt()];
+                        input.readFully(value);
+                        try {
+                            unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(value)));
+                            attributes.put(name, unmarshaller.readObject());
+                            unmarshaller.finish();
+                        } catch (Exception e) {
+                            UndertowLogger.ROOT_LOGGER.failedToLoadSessionAttribute(name, sessionId, e);
+                        }
+                    }
+                } finally {
+                    unmarshaller.close();
+                }
+            } catch (IOException e) {
+                // Do not restore a partial session
+                UndertowLogger.ROOT_LOGGER.failedToLoadPersistentSession(sessionId, e);
+                return Collections.emptyMap();
+            }
+            return attributes;
+        }
+    }
 }
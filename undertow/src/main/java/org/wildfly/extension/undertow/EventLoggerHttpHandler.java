@@ -16,18 +16,13 @@
 
 package org.wildfly.extension.undertow;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import io.undertow.predicate.Predicate;
 import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
-import org.wildfly.event.logger.EventLogger;
 
 /**
- * An HTTP handler that writes exchange attributes to an event logger.
+ * An HTTP handler that records exchange attributes to be written asynchronously to an event logger.
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
@@ -36,23 +31,19 @@ class EventLoggerHttpHandler implements HttpHandler {
     private final HttpHandler next;
     private final ExchangeCompletionListener exchangeCompletionListener = new AccessLogCompletionListener();
     private final Predicate predicate;
-    private final Collection<AccessLogAttribute> attributes;
-    private final EventLogger eventLogger;
+    private final AccessLogRecorder recorder;
 
     /**
      * Creates a new instance of the HTTP handler.
      *
      * @param next        the next handler in the chain to invoke to invoke after this handler executes
      * @param predicate   the predicate used to determine if this handler should execute
-     * @param attributes  the attributes which should be logged
-     * @param eventLogger the event logger
+     * @param recorder    the recorder of the attributes which should be logged
      */
-    EventLoggerHttpHandler(final HttpHandler next, final Predicate predicate,
-                           final Collection<AccessLogAttribute> attributes, final EventLogger eventLogger) {
+    EventLoggerHttpHandler(final HttpHandler next, final Predicate predicate, final AccessLogRecorder recorder) {
         this.next = next;
         this.predicate = predicate;
-        this.attributes = attributes;
-        this.eventLogger = eventLogger;
+        this.recorder = recorder;
     }
 
     @Override
@@ -66,11 +57,7 @@ class EventLoggerHttpHandler implements HttpHandler {
         public void exchangeEvent(final HttpServerExchange exchange, final NextListener nextListener) {
             try {
                 if (predicate == null || predicate.resolve(exchange)) {
-                    final Map<String, Object> data = new LinkedHashMap<>();
-                    for (AccessLogAttribute attribute : attributes) {
-                        data.put(attribute.getKey(), attribute.resolveAttribute(exchange));
-                    }
-                    eventLogger.log(data);
+                    recorder.record(exchange);
                 }
             } finally {
                 nextListener.proceed();
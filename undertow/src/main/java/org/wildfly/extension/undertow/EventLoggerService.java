@@ -20,7 +20,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -38,8 +37,9 @@ import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.XnioWorker;
 
 /**
- * A service which creates an asynchronous {@linkplain EventLogger event logger} which writes to {@code stdout} in JSON
- * structured format.
+ * A service which creates an {@linkplain EventLogger event logger} which writes to {@code stdout} in JSON structured
+ * format. Exchange attributes are recorded into a bounded ring buffer which is written to the event logger in batches
+ * using the worker.
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
@@ -50,6 +50,7 @@ class EventLoggerService implements Service {
     private final Predicate predicate;
     private final Supplier<Host> host;
     private final Supplier<XnioWorker> worker;
+    private volatile AccessLogRecorder recorder;
 
     /**
      * Creates a new service.
@@ -58,8 +59,7 @@ class EventLoggerService implements Service {
      * @param metadata        a map of metadata to be prepended to the structured output
      * @param includeHostName {@code true} to include the host name in the structured JSON output
      * @param host            the host service supplier
-     * @param worker          the worker service supplier for the
-     *                        {@linkplain EventLogger#createAsyncLogger(String, Executor) async logger}
+     * @param worker          the worker service supplier used to write recorded events
      */
     EventLoggerService(final Collection<AccessLogAttribute> attributes, final Predicate predicate, final Map<String, Object> metadata,
                        final boolean includeHostName, final Supplier<Host> host, final Supplier<XnioWorker> worker) {
@@ -85,13 +85,15 @@ class EventLoggerService implements Service {
             formatterBuilder.addMetaData(metadata);
         }
         final JsonEventFormatter formatter = formatterBuilder.build();
-        final EventLogger eventLogger = EventLogger.createAsyncLogger("web-access",
-                StdoutEventWriter.of(formatter), worker.get());
+        // Events are written by a single drain task, so the logger itself need not be asynchronous
+        final EventLogger eventLogger = EventLogger.createLogger("web-access", StdoutEventWriter.of(formatter));
+        final AccessLogRecorder recorder = new AccessLogRecorder(attributes, AccessLogRecorder.DEFAULT_CAPACITY, eventLogger, worker.get());
+        this.recorder = recorder;
         UndertowLogger.ROOT_LOGGER.debugf("Adding console-access-log for host %s", host.getName());
         host.setAccessLogHandler(new Function<HttpHandler, HttpHandler>() {
             @Override
             public HttpHandler apply(final HttpHandler httpHandler) {
-                return new EventLoggerHttpHandler(httpHandler, predicate, attributes, eventLogger);
+                return new EventLoggerHttpHandler(httpHandler, predicate, recorder);
             }
         });
     }
@@ -101,5 +103,19 @@ class EventLoggerService implements Service {
         final Host host = this.host.get();
         UndertowLogger.ROOT_LOGGER.debugf("Removing console-access-log for host %s", host.getName());
         host.setAccessLogHandler(null);
+        final AccessLogRecorder recorder = this.recorder;
+        if (recorder != null) {
+            recorder.flush();
+        }
+    }
+
+    /**
+     * Returns the number of events discarded because the ring buffer was full.
+     *
+     * @return the overflow count, or 0 if the service is not started
+     */
+    long getOverflowCount() {
+        final AccessLogRecorder recorder = this.recorder;
+        return recorder == null ? 0L : recorder.getOverflowCount();
     }
 }
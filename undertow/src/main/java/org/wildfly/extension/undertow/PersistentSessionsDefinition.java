@@ -67,9 +67,17 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     .setAllowExpression(true)
                     .build();
 
+    protected static final SimpleAttributeDefinition COMPRESSION =
+            new SimpleAttributeDefinitionBuilder(Constants.COMPRESSION, ModelType.BOOLEAN, true)
+                    .setRestartAllServices()
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
     protected static final SimpleAttributeDefinition[] ATTRIBUTES = {
             PATH,
-            RELATIVE_TO
+            RELATIVE_TO,
+            COMPRESSION
     };
     static final Map<String, AttributeDefinition> ATTRIBUTES_MAP = new HashMap<>();
 
@@ -129,7 +137,8 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     String path = pathValue.asString();
                     ModelNode relativeToValue = RELATIVE_TO.resolveModelAttribute(context, model);
                     String relativeTo = relativeToValue.isDefined() ? relativeToValue.asString() : null;
-                    final DiskBasedModularPersistentSessionManager service = new DiskBasedModularPersistentSessionManager(path, relativeTo);
+                    boolean compression = COMPRESSION.resolveModelAttribute(context, model).asBoolean();
+                    final DiskBasedModularPersistentSessionManager service = new DiskBasedModularPersistentSessionManager(path, relativeTo, compression);
                     builder = context.getServiceTarget().addService(AbstractPersistentSessionManager.SERVICE_NAME, service)
                             .addDependency(Services.JBOSS_SERVICE_MODULE_LOADER, ModuleLoader.class, service.getModuleLoaderInjectedValue())
                             .addDependency(PathManagerService.SERVICE_NAME, PathManager.class, service.getPathManager());
@@ -86,6 +86,7 @@ public class ServletContainerService implements Service<ServletContainerService>
     private final Integer fileCacheTimeToLive;
     private final int defaultCookieVersion;
     private boolean preservePathOnForward;
+    private final boolean precompressResources;
 
     public ServletContainerService(boolean allowNonStandardWrappers, ServletStackTraces stackTraces, SessionCookieConfig sessionCookieConfig, JSPConfig jspConfig,
                                    String defaultEncoding, boolean useListenerEncoding, boolean ignoreFlush, boolean eagerFilterInit, int defaultSessionTimeout,
@@ -93,7 +94,7 @@ public class ServletContainerService implements Service<ServletContainerService>
                                    int deflaterLevel, Map<String, String> mimeMappings, List<String> welcomeFiles, Boolean directoryListingEnabled, boolean proactiveAuth,
                                    int sessionIdLength, Map<String, AuthenticationMechanismFactory> authenticationMechanisms, Integer maxSessions,
                                    CrawlerSessionManagerConfig crawlerSessionManagerConfig, boolean disableFileWatchService, boolean disableSessionIdReuse, int fileCacheMetadataSize, int fileCacheMaxFileSize, Integer fileCacheTimeToLive, int defaultCookieVersion,
-                                   boolean preservePathOnForward) {
+                                   boolean preservePathOnForward, boolean precompressResources) {
 
         this.allowNonStandardWrappers = allowNonStandardWrappers;
         this.stackTraces = stackTraces;
@@ -124,6 +125,7 @@ public class ServletContainerService implements Service<ServletContainerService>
         this.fileCacheTimeToLive = fileCacheTimeToLive;
         this.defaultCookieVersion = defaultCookieVersion;
         this.preservePathOnForward = preservePathOnForward;
+        this.precompressResources = precompressResources;
     }
 
     @Override
@@ -285,4 +287,8 @@ public class ServletContainerService implements Service<ServletContainerService>
     public boolean isPreservePathOnForward() {
         return preservePathOnForward;
     }
+
+    public boolean isPrecompressResources() {
+        return precompressResources;
+    }
 }
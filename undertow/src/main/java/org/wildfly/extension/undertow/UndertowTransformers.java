@@ -44,6 +44,7 @@ import static org.wildfly.extension.undertow.ServletContainerDefinition.DISABLE_
 import static org.wildfly.extension.undertow.ServletContainerDefinition.FILE_CACHE_MAX_FILE_SIZE;
 import static org.wildfly.extension.undertow.ServletContainerDefinition.FILE_CACHE_METADATA_SIZE;
 import static org.wildfly.extension.undertow.ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE;
+import static org.wildfly.extension.undertow.ServletContainerDefinition.PRECOMPRESS_RESOURCES;
 import static org.wildfly.extension.undertow.ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD;
 import static org.wildfly.extension.undertow.WebsocketsDefinition.DEFLATER_LEVEL;
 import static org.wildfly.extension.undertow.WebsocketsDefinition.PER_MESSAGE_DEFLATE;
@@ -83,6 +84,7 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
     private static ModelVersion MODEL_VERSION_EAP7_2_0 = ModelVersion.create(7, 0, 0);
     private static final ModelVersion MODEL_VERSION_WILDFLY_16 = ModelVersion.create(8, 0, 0);
     private static final ModelVersion MODEL_VERSION_WILDFLY_18 = ModelVersion.create(10, 0, 0);
+    private static final ModelVersion MODEL_VERSION_WILDFLY_20 = ModelVersion.create(11, 0, 0);
 
     @Override
     public String getSubsystemName() {
@@ -94,13 +96,27 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
 
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystemRegistration.getCurrentSubsystemVersion());
 
-        registerTransformersWildFly18(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), MODEL_VERSION_WILDFLY_18));
+        registerTransformersWildFly20(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), MODEL_VERSION_WILDFLY_20));
+        registerTransformersWildFly18(chainedBuilder.createBuilder(MODEL_VERSION_WILDFLY_20, MODEL_VERSION_WILDFLY_18));
         registerTransformersWildFly16(chainedBuilder.createBuilder(MODEL_VERSION_WILDFLY_18, MODEL_VERSION_WILDFLY_16));
         registerTransformers_EAP_7_2_0(chainedBuilder.createBuilder(MODEL_VERSION_WILDFLY_16, MODEL_VERSION_EAP7_2_0));
         registerTransformers_EAP_7_1_0(chainedBuilder.createBuilder(MODEL_VERSION_EAP7_2_0, MODEL_VERSION_EAP7_1_0));
         registerTransformers_EAP_7_0_0(chainedBuilder.createBuilder(MODEL_VERSION_EAP7_1_0, MODEL_VERSION_EAP7_0_0));
 
-        chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[]{MODEL_VERSION_WILDFLY_18, MODEL_VERSION_WILDFLY_16, MODEL_VERSION_EAP7_2_0, MODEL_VERSION_EAP7_1_0, MODEL_VERSION_EAP7_0_0});
+        chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[]{MODEL_VERSION_WILDFLY_20, MODEL_VERSION_WILDFLY_18, MODEL_VERSION_WILDFLY_16, MODEL_VERSION_EAP7_2_0, MODEL_VERSION_EAP7_1_0, MODEL_VERSION_EAP7_0_0});
+    }
+
+    private static void registerTransformersWildFly20(ResourceTransformationDescriptionBuilder subsystemBuilder) {
+        ResourceTransformationDescriptionBuilder servletContainerBuilder = subsystemBuilder.addChildResource(UndertowExtension.PATH_SERVLET_CONTAINER);
+        servletContainerBuilder.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PRECOMPRESS_RESOURCES)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, PRECOMPRESS_RESOURCES)
+                .end();
+        servletContainerBuilder.addChildResource(UndertowExtension.PATH_PERSISTENT_SESSIONS)
+                .getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PersistentSessionsDefinition.COMPRESSION)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, PersistentSessionsDefinition.COMPRESSION)
+                .end();
     }
 
     private static void registerTransformersWildFly18(ResourceTransformationDescriptionBuilder subsystemBuilder) {
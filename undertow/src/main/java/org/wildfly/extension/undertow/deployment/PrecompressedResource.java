@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Date;
+import java.util.List;
+
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.RangeAwareResource;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.util.ETag;
+import io.undertow.util.MimeMappings;
+
+/**
+ * Resource implementation that wraps an underlying resource, and serves a content encoded variant if the request accepts one.
+ * The variant is negotiated once per request, such that its entity tag and content length are consistent for GET and HEAD requests.
+ * Range requests are always served from the underlying resource.
+ */
+public class PrecompressedResource implements Resource, RangeAwareResource {
+
+    private static final PrivilegedAction<ServletRequestContext> CURRENT_CONTEXT = new PrivilegedAction<ServletRequestContext>() {
+        @Override
+        public ServletRequestContext run() {
+            return ServletRequestContext.current();
+        }
+    };
+
+    private final PrecompressedResourceManager resourceManager;
+    private final Resource underlying;
+    private volatile Negotiation negotiation;
+
+    public PrecompressedResource(PrecompressedResourceManager resourceManager, Resource underlying) {
+        this.resourceManager = resourceManager;
+        this.underlying = underlying;
+    }
+
+    @Override
+    public String getPath() {
+        return underlying.getPath();
+    }
+
+    @Override
+    public Date getLastModified() {
+        return underlying.getLastModified();
+    }
+
+    @Override
+    public String getLastModifiedString() {
+        return underlying.getLastModifiedString();
+    }
+
+    @Override
+    public ETag getETag() {
+        PrecompressedResourceManager.Variant variant = getVariant(currentExchange());
+        return (variant != null) ? variant.getETag() : underlying.getETag();
+    }
+
+    @Override
+    public String getName() {
+        return underlying.getName();
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return underlying.isDirectory();
+    }
+
+    @Override
+    public List<Resource> list() {
+        return underlying.list();
+    }
+
+    @Override
+    public String getContentType(MimeMappings mimeMappings) {
+        return underlying.getContentType(mimeMappings);
+    }
+
+    @Override
+    public void serve(Sender sender, HttpServerExchange exchange, IoCallback completionCallback) {
+        PrecompressedResourceManager.Variant variant = getVariant(exchange);
+        if (variant != null) {
+            resourceManager.serve(variant, underlying, sender, exchange, completionCallback);
+        } else {
+            underlying.serve(sender, exchange, completionCallback);
+        }
+    }
+
+    @Override
+    public Long getContentLength() {
+        PrecompressedResourceManager.Variant variant = getVariant(currentExchange());
+        return (variant != null) ? Long.valueOf(variant.getContentLength()) : underlying.getContentLength();
+    }
+
+    @Override
+    public String getCacheKey() {
+        return underlying.getCacheKey();
+    }
+
+    @Override
+    public File getFile() {
+        return underlying.getFile();
+    }
+
+    public Path getFilePath() {
+        if (getFile() == null) {
+            return null;
+        }
+        return getFile().toPath();
+    }
+
+    @Override
+    public File getResourceManagerRoot() {
+        return underlying.getResourceManagerRoot();
+    }
+
+    public Path getResourceManagerRootPath() {
+        return getResourceManagerRoot().toPath();
+    }
+
+    @Override
+    public URL getUrl() {
+        return underlying.getUrl();
+    }
+
+    /**
+     * Returns the variant negotiated for the specified exchange, negotiating it if necessary.
+     * @param exchange an exchange, or null, if there is no current request
+     * @return the negotiated variant, or null, if the underlying resource should be served
+     */
+    PrecompressedResourceManager.Variant getVariant(HttpServerExchange exchange) {
+        if (exchange == null) {
+            return null;
+        }
+        Negotiation negotiation = this.negotiation;
+        if ((negotiation == null) || (negotiation.exchange != exchange)) {
+            negotiation = new Negotiation(exchange, resourceManager.negotiate(underlying, exchange));
+            this.negotiation = negotiation;
+        }
+        return negotiation.variant;
+    }
+
+    private static HttpServerExchange currentExchange() {
+        ServletRequestContext context = (System.getSecurityManager() == null) ? ServletRequestContext.current() : AccessController.doPrivileged(CURRENT_CONTEXT);
+        return (context != null) ? context.getExchange() : null;
+    }
+
+    @Override
+    public void serveRange(Sender sender, HttpServerExchange exchange, long start, long end, IoCallback completionCallback) {
+        ((RangeAwareResource) underlying).serveRange(sender, exchange, start, end, completionCallback);
+    }
+
+    @Override
+    public boolean isRangeSupported() {
+        if (underlying instanceof RangeAwareResource) {
+            return ((RangeAwareResource) underlying).isRangeSupported();
+        }
+        return false;
+    }
+
+    private static class Negotiation {
+        final HttpServerExchange exchange;
+        final PrecompressedResourceManager.Variant variant;
+
+        Negotiation(HttpServerExchange exchange, PrecompressedResourceManager.Variant variant) {
+            this.exchange = exchange;
+            this.variant = variant;
+        }
+    }
+}
@@ -0,0 +1,527 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.DispatcherType;
+
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.cache.LimitedBufferSlicePool;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.server.handlers.resource.ResourceChangeListener;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.util.ETag;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.StatusCodes;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * Resource manager that serves compressible static resources using content encoded variants, held in a {@link DirectBufferCache}.
+ * <p>
+ * Variants are content addressed, i.e. keyed by the digest of the unencoded resource and the content encoding, and are
+ * built lazily, either by reading a precompressed sibling file (e.g. {@code app.js.br} or {@code app.js.gz}) or, for gzip,
+ * by compressing the resource. A variant is built at most once per digest, and is held on the heap until it is allocated by the cache.
+ * Encoded responses carry a strong entity tag derived from the same digest.
+ * <p>
+ * This decorates the {@link io.undertow.server.handlers.cache.CachingResourceManager} of a deployment, so that encoded
+ * variants are never captured by the cache of unencoded resources.
+ */
+public class PrecompressedResourceManager implements ResourceManager {
+
+    static final int MIN_RESOURCE_SIZE = 1024;
+    // Encodings in order of preference, mapped to the file extension of precompressed variants
+    private static final String[][] ENCODINGS = new String[][] { { "br", ".br" }, { "gzip", ".gz" } };
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = new HashSet<>(Arrays.asList("css", "csv", "htm", "html", "js", "json", "map", "mjs", "svg", "txt", "xml"));
+
+    private final ResourceManager delegate;
+    private final DirectBufferCache cache;
+    private final int maxResourceSize;
+    private final Map<String, ContentDigest> digests = new ConcurrentHashMap<>();
+
+    public PrecompressedResourceManager(ResourceManager delegate, DirectBufferCache cache, int maxResourceSize) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.maxResourceSize = maxResourceSize;
+    }
+
+    @Override
+    public Resource getResource(String path) throws IOException {
+        Resource resource = this.delegate.getResource(path);
+        return (resource != null) && this.isCompressible(resource) ? new PrecompressedResource(this, resource) : resource;
+    }
+
+    @Override
+    public boolean isResourceChangeListenerSupported() {
+        return this.delegate.isResourceChangeListenerSupported();
+    }
+
+    @Override
+    public void registerResourceChangeListener(ResourceChangeListener listener) {
+        this.delegate.registerResourceChangeListener(listener);
+    }
+
+    @Override
+    public void removeResourceChangeListener(ResourceChangeListener listener) {
+        this.delegate.removeResourceChangeListener(listener);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.digests.clear();
+        this.delegate.close();
+    }
+
+    private boolean isCompressible(Resource resource) {
+        if (resource.isDirectory() || (resource.getFile() == null)) return false;
+        Long length = resource.getContentLength();
+        if ((length == null) || (length < MIN_RESOURCE_SIZE) || (length > this.maxResourceSize)) return false;
+        String name = resource.getName();
+        int index = name.lastIndexOf('.');
+        return (index >= 0) && COMPRESSIBLE_EXTENSIONS.contains(name.substring(index + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Negotiates the encoded variant of the specified resource to send in response to the specified exchange, and sets the corresponding response headers.
+     * The same variant is negotiated for GET and HEAD requests.
+     * @return the negotiated variant, or null, if the resource should be served unencoded
+     */
+    Variant negotiate(Resource resource, HttpServerExchange exchange) {
+        if (!(exchange.getRequestMethod().equals(Methods.GET) || exchange.getRequestMethod().equals(Methods.HEAD)) || exchange.isResponseStarted() || (exchange.getStatusCode() != StatusCodes.OK) || exchange.getResponseHeaders().contains(Headers.CONTENT_ENCODING)) {
+            return null;
+        }
+        // An included resource cannot change the headers of the response
+        ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+        if ((context != null) && (context.getDispatcherType() == DispatcherType.INCLUDE)) {
+            return null;
+        }
+        addVaryAcceptEncoding(exchange.getResponseHeaders());
+        // Range requests are served from the unencoded resource
+        if (exchange.getRequestHeaders().contains(Headers.RANGE)) {
+            return null;
+        }
+        List<String> encodings = getAcceptedEncodings(exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING));
+        if (encodings.isEmpty()) {
+            return null;
+        }
+        try {
+            ContentDigest digest = this.getDigest(resource);
+            for (String encoding : encodings) {
+                if (digest.isUnavailable(encoding)) continue;
+                EncodedContentKey key = new EncodedContentKey(digest.getValue(), encoding);
+                DirectBufferCache.CacheEntry entry = this.cache.get(key);
+                Variant variant;
+                if (entry == null) {
+                    // First request for this variant, record its size so that the cache can allocate buffers once it is popular
+                    byte[] content = this.getContent(digest, resource, encoding);
+                    if ((content == null) || (content.length >= digest.getLength())) {
+                        digest.setUnavailable(encoding);
+                        digest.removeContent(encoding);
+                        continue;
+                    }
+                    this.cache.add(key, content.length);
+                    variant = new Variant(digest.getValue(), encoding, content);
+                } else {
+                    if (!entry.enabled() && (entry.buffers().length > 0) && entry.claimEnable()) {
+                        if (!this.populate(entry, digest, resource, encoding)) {
+                            entry.disable();
+                            this.cache.remove(key);
+                            continue;
+                        }
+                        entry.enable();
+                    }
+                    if (entry.enabled()) {
+                        // Once held by the cache, the heap copy of the variant is no longer needed
+                        digest.removeContent(encoding);
+                        variant = new Variant(digest.getValue(), encoding, entry);
+                    } else {
+                        // Variant is not yet allocated, or is being populated concurrently
+                        // Serve its heap copy, so that the negotiated representation does not depend on the state of the cache
+                        byte[] content = this.getContent(digest, resource, encoding);
+                        if (content == null) continue;
+                        variant = new Variant(digest.getValue(), encoding, content);
+                    }
+                }
+                exchange.getResponseHeaders().put(Headers.CONTENT_ENCODING, encoding);
+                exchange.getResponseHeaders().put(Headers.ETAG, variant.getETag().toString());
+                return variant;
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.failedToServeEncodedResource(resource.getPath(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Sends the content of the specified variant of the specified resource.
+     * If the content of the variant was evicted from the cache since it was negotiated, the unencoded resource is sent instead.
+     */
+    void serve(Variant variant, Resource resource, Sender sender, HttpServerExchange exchange, IoCallback callback) {
+        byte[] content = variant.getContent();
+        DirectBufferCache.CacheEntry entry = variant.getEntry();
+        if (content == null) {
+            if (entry.enabled() && entry.reference()) {
+                LimitedBufferSlicePool.PooledByteBuffer[] pooled = entry.buffers();
+                ByteBuffer[] buffers = new ByteBuffer[pooled.length];
+                for (int i = 0; i < buffers.length; i++) {
+                    // Duplicate, so that concurrent responses do not share buffer positions
+                    buffers[i] = pooled[i].getBuffer().duplicate();
+                }
+                exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, entry.size());
+                sender.send(buffers, new DereferenceCallback(entry, callback));
+                return;
+            }
+            // Variant was evicted since it was negotiated, the Vary header permits sending the unencoded resource instead
+            HeaderMap headers = exchange.getResponseHeaders();
+            headers.remove(Headers.CONTENT_ENCODING);
+            ETag etag = resource.getETag();
+            if (etag != null) {
+                headers.put(Headers.ETAG, etag.toString());
+            } else {
+                headers.remove(Headers.ETAG);
+            }
+            Long length = resource.getContentLength();
+            if (length != null) {
+                headers.put(Headers.CONTENT_LENGTH, length);
+            } else {
+                headers.remove(Headers.CONTENT_LENGTH);
+            }
+            resource.serve(sender, exchange, callback);
+            return;
+        }
+        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, content.length);
+        sender.send(ByteBuffer.wrap(content), callback);
+    }
+
+    private static void addVaryAcceptEncoding(HeaderMap headers) {
+        HeaderValues values = headers.get(Headers.VARY);
+        if (values == null) {
+            headers.put(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+            return;
+        }
+        for (String value : values) {
+            for (String element : value.split(",")) {
+                String header = element.trim();
+                if (header.equals("*") || header.equalsIgnoreCase(Headers.ACCEPT_ENCODING_STRING)) return;
+            }
+        }
+        // Merge into the existing header
+        StringBuilder builder = new StringBuilder();
+        for (String value : values) {
+            builder.append(value).append(", ");
+        }
+        headers.put(Headers.VARY, builder.append(Headers.ACCEPT_ENCODING_STRING).toString());
+    }
+
+    private boolean populate(DirectBufferCache.CacheEntry entry, ContentDigest digest, Resource resource, String encoding) throws IOException {
+        byte[] content = this.getContent(digest, resource, encoding);
+        if ((content == null) || (content.length != entry.size())) {
+            return false;
+        }
+        int offset = 0;
+        for (LimitedBufferSlicePool.PooledByteBuffer pooled : entry.buffers()) {
+            ByteBuffer buffer = pooled.getBuffer();
+            buffer.clear();
+            int length = Math.min(buffer.remaining(), content.length - offset);
+            buffer.put(content, offset, length);
+            buffer.flip();
+            offset += length;
+        }
+        return true;
+    }
+
+    private ContentDigest getDigest(Resource resource) throws IOException {
+        String path = resource.getPath();
+        Date lastModified = resource.getLastModified();
+        long modified = (lastModified != null) ? lastModified.getTime() : 0L;
+        long length = resource.getContentLength();
+        ContentDigest digest = this.digests.get(path);
+        if ((digest == null) || (digest.getLastModified() != modified) || (digest.getLength() != length)) {
+            digest = new ContentDigest(digest(resource.getFile().toPath()), modified, length);
+            this.digests.put(path, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Returns the heap copy of the specified variant of the resource with the specified digest, encoding it if necessary.
+     * @return the encoded content, or null, if the resource cannot be encoded using the specified encoding
+     */
+    private byte[] getContent(ContentDigest digest, Resource resource, String encoding) throws IOException {
+        try {
+            return digest.getContent(encoding, key -> {
+                try {
+                    return this.encode(resource, key);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private byte[] encode(Resource resource, String encoding) throws IOException {
+        File file = resource.getFile();
+        for (String[] entry : ENCODINGS) {
+            if (entry[0].equals(encoding)) {
+                // Prefer a precompressed variant, provided it is not older than the resource itself
+                Path encodedFile = Paths.get(file.getPath() + entry[1]);
+                if (Files.isRegularFile(encodedFile) && (Files.getLastModifiedTime(encodedFile).toMillis() >= file.lastModified())) {
+                    return Files.readAllBytes(encodedFile);
+                }
+            }
+        }
+        if (encoding.equals("gzip")) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                Files.copy(file.toPath(), gzip);
+            }
+            return output.toByteArray();
+        }
+        // No brotli encoder is available, so brotli variants must be precompressed
+        return null;
+    }
+
+    private static String digest(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream input = Files.newInputStream(path)) {
+            int read = input.read(buffer);
+            while (read >= 0) {
+                digest.update(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte value : digest.digest()) {
+            builder.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the supported content encodings accepted by the specified Accept-Encoding header values, in order of preference.
+     * @param values Accept-Encoding header values, possibly null
+     * @return a list of content encodings
+     */
+    static List<String> getAcceptedEncodings(Iterable<String> values) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        Set<String> accepted = new HashSet<>();
+        Set<String> rejected = new HashSet<>();
+        for (String value : values) {
+            for (String element : value.split(",")) {
+                String[] parameters = element.split(";");
+                String coding = parameters[0].trim().toLowerCase(Locale.ENGLISH);
+                boolean acceptable = true;
+                for (int i = 1; i < parameters.length; ++i) {
+                    String parameter = parameters[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            acceptable = Float.parseFloat(parameter.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            acceptable = false;
+                        }
+                    }
+                }
+                (acceptable ? accepted : rejected).add(coding);
+            }
+        }
+        List<String> result = new ArrayList<>(ENCODINGS.length);
+        for (String[] entry : ENCODINGS) {
+            String encoding = entry[0];
+            if (!rejected.contains(encoding) && (accepted.contains(encoding) || accepted.contains("*"))) {
+                result.add(encoding);
+            }
+        }
+        return result;
+    }
+
+    private static class ContentDigest {
+        private final String value;
+        private final long lastModified;
+        private final long length;
+        private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+        private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+
+        ContentDigest(String value, long lastModified, long length) {
+            this.value = value;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        String getValue() {
+            return this.value;
+        }
+
+        long getLastModified() {
+            return this.lastModified;
+        }
+
+        long getLength() {
+            return this.length;
+        }
+
+        boolean isUnavailable(String encoding) {
+            return this.unavailable.contains(encoding);
+        }
+
+        void setUnavailable(String encoding) {
+            this.unavailable.add(encoding);
+        }
+
+        byte[] getContent(String encoding, Function<String, byte[]> encoder) {
+            return this.contents.computeIfAbsent(encoding, encoder);
+        }
+
+        void removeContent(String encoding) {
+            this.contents.remove(encoding);
+        }
+    }
+
+    /**
+     * A content encoded variant of a resource, whose content is either held by the buffer cache, or by the heap copy of its digest.
+     */
+    static class Variant {
+        private final ETag etag;
+        private final String encoding;
+        private final byte[] content;
+        private final DirectBufferCache.CacheEntry entry;
+
+        Variant(String digest, String encoding, byte[] content) {
+            this(digest, encoding, content, null);
+        }
+
+        Variant(String digest, String encoding, DirectBufferCache.CacheEntry entry) {
+            this(digest, encoding, null, entry);
+        }
+
+        private Variant(String digest, String encoding, byte[] content, DirectBufferCache.CacheEntry entry) {
+            this.etag = new ETag(false, digest + '-' + encoding);
+            this.encoding = encoding;
+            this.content = content;
+            this.entry = entry;
+        }
+
+        ETag getETag() {
+            return this.etag;
+        }
+
+        String getEncoding() {
+            return this.encoding;
+        }
+
+        long getContentLength() {
+            return (this.content != null) ? this.content.length : this.entry.size();
+        }
+
+        byte[] getContent() {
+            return this.content;
+        }
+
+        DirectBufferCache.CacheEntry getEntry() {
+            return this.entry;
+        }
+    }
+
+    private static class EncodedContentKey {
+        private final String digest;
+        private final String encoding;
+
+        EncodedContentKey(String digest, String encoding) {
+            this.digest = digest;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.digest, this.encoding);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof EncodedContentKey)) return false;
+            EncodedContentKey key = (EncodedContentKey) object;
+            return this.digest.equals(key.digest) && this.encoding.equals(key.encoding);
+        }
+    }
+
+    private static class DereferenceCallback implements IoCallback {
+        private final DirectBufferCache.CacheEntry entry;
+        private final IoCallback callback;
+
+        DereferenceCallback(DirectBufferCache.CacheEntry entry, IoCallback callback) {
+            this.entry = entry;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onComplete(HttpServerExchange exchange, Sender sender) {
+            this.entry.dereference();
+            this.callback.onComplete(exchange, sender);
+        }
+
+        @Override
+        public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+            this.entry.dereference();
+            this.callback.onException(exchange, sender, exception);
+        }
+    }
+}
@@ -494,7 +494,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             if (authzInfo != null) {
                 for (AuthorizationModuleEntry entry : authzInfo.getModuleEntries()) {
                     if (JACCAuthorizationModule.class.getName().equals(entry.getPolicyModuleName())) {
-                        deploymentInfo.setAuthorizationManager(JACCAuthorizationManager.INSTANCE);
+                        deploymentInfo.setAuthorizationManager(new JACCAuthorizationManager());
                         break;
                     }
                 }
@@ -565,6 +565,9 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays);
 
                 resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), resourceManager, servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive());
+                if (servletContainer.isPrecompressResources() && servletContainer.getBufferCache() != null) {
+                    resourceManager = new PrecompressedResourceManager(resourceManager, servletContainer.getBufferCache(), servletContainer.getFileCacheMaxFileSize());
+                }
                 if(externalResources != null && !externalResources.isEmpty()) {
                     //TODO: we don't cache external deployments, as they are intended for development use
                     //should be make this configurable or something?
@@ -419,4 +419,19 @@ public interface UndertowLogger extends BasicLogger {
 
     @Message(id = 104, value = "Some classes referenced by annotation: %s in class: %s are missing.")
     DeploymentUnitProcessingException missingClassInAnnotation(String anCls, String resCls);
+
+    @LogMessage(level = WARN)
+    @Message(id = 105, value = "Failed to restore session attribute %s for session %s")
+    void failedToLoadSessionAttribute(String attributeName, String sessionID, @Cause Exception e);
+
+    @Message(id = 106, value = "Persistent session data file %s is truncated or corrupt")
+    IOException corruptPersistentSessionData(File file);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 107, value = "Failed to restore persistent session %s, its attributes were discarded")
+    void failedToLoadPersistentSession(String sessionId, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 108, value = "Failed to serve content encoded variant of %s, serving unencoded resource instead")
+    void failedToServeEncodedResource(String path, @Cause Throwable cause);
 }
@@ -35,6 +35,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.security.jacc.WebResourcePermission;
 import javax.security.jacc.WebRoleRefPermission;
@@ -47,48 +49,49 @@ import io.undertow.servlet.api.Deployment;
 import io.undertow.servlet.api.ServletInfo;
 import io.undertow.servlet.api.SingleConstraintMatch;
 import io.undertow.servlet.api.TransportGuaranteeType;
+import org.jboss.as.ee.security.JaccService;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * <p>
  * An implementation of {@link AuthorizationManager} that uses JACC permissions to grant or deny access to web resources.
  * </p>
+ * <p>
+ * Since the decisions of the policy depend only on the permission, the code source and the granted roles, decisions are
+ * cached per instance. Consequently, a separate instance must be used for each deployment (i.e. each policy context).
+ * </p>
  *
  * @author <a href="mailto:sguilhen@redhat.com">Stefan Guilhen</a>
  */
 public class JACCAuthorizationManager implements AuthorizationManager {
 
-    public static final AuthorizationManager INSTANCE = new JACCAuthorizationManager();
+    private final JACCDecisionCache cache = new JACCDecisionCache(JaccService::getPolicyGeneration, JACCDecisionCache.DEFAULT_MAX_SIZE);
 
     @Override
     public boolean isUserInRole(final String roleName, final Account account, final ServletInfo servletInfo, final HttpServletRequest request, final Deployment deployment) {
-        return hasPermission(account, deployment, servletInfo, new WebRoleRefPermission(servletInfo.getName(), roleName));
+        return hasPermission(account, deployment, servletInfo, WebRoleRefPermission.class, servletInfo.getName(), roleName, () -> new WebRoleRefPermission(servletInfo.getName(), roleName));
     }
 
     @Override
     public boolean canAccessResource(List<SingleConstraintMatch> constraints, final Account account, final ServletInfo servletInfo, final HttpServletRequest request, Deployment deployment) {
-        return hasPermission(account, deployment, servletInfo, new WebResourcePermission(request));
+        return hasPermission(account, deployment, servletInfo, WebResourcePermission.class, getCanonicalURI(request), request.getMethod(), () -> new WebResourcePermission(request));
     }
 
     @Override
     public TransportGuaranteeType transportGuarantee(TransportGuaranteeType currentConnGuarantee, TransportGuaranteeType configuredRequiredGuarantee, final HttpServletRequest request) {
-        final ProtectionDomain domain = new ProtectionDomain(null, null, null, null);
-        final String[] httpMethod = new String[] {request.getMethod()};
+        final String httpMethod = request.getMethod();
         final String canonicalURI = getCanonicalURI(request);
 
         switch (currentConnGuarantee) {
             case NONE: {
-                // unprotected connection - create a WebUserDataPermission without any transport guarantee.
-                WebUserDataPermission permission = new WebUserDataPermission(canonicalURI, httpMethod, null);
-
+                // unprotected connection - check for a WebUserDataPermission without any transport guarantee.
                 // if permission was implied then the unprotected connection is ok.
-                if (hasPermission(domain, permission)) {
+                if (hasUserDataPermission(canonicalURI, httpMethod, null)) {
                     return TransportGuaranteeType.NONE;
                 }
                 else {
-                    permission = new WebUserDataPermission(canonicalURI, httpMethod, TransportGuaranteeType.CONFIDENTIAL.name());
                     // permission is only granted with CONFIDENTIAL
-                    if (hasPermission(domain, permission)) {
+                    if (hasUserDataPermission(canonicalURI, httpMethod, TransportGuaranteeType.CONFIDENTIAL)) {
                         return TransportGuaranteeType.CONFIDENTIAL;
                     }
                     //either way we just don't have permission, let the request proceed and be rejected later
@@ -98,16 +101,12 @@ public class JACCAuthorizationManager implements AuthorizationManager {
             case INTEGRAL:
             case CONFIDENTIAL: {
                 // we will try using both transport guarantees (CONFIDENTIAL and INTEGRAL) as SSL provides both.
-                WebUserDataPermission permission = new WebUserDataPermission(canonicalURI, httpMethod,
-                        TransportGuaranteeType.CONFIDENTIAL.name());
-
-                if (hasPermission(domain, permission)) {
+                if (hasUserDataPermission(canonicalURI, httpMethod, TransportGuaranteeType.CONFIDENTIAL)) {
                     return TransportGuaranteeType.CONFIDENTIAL;
                 }
                 else {
                     // try with the INTEGRAL connection guarantee type.
-                    permission = new WebUserDataPermission(canonicalURI, httpMethod, TransportGuaranteeType.INTEGRAL.name());
-                    if (hasPermission(domain, permission)) {
+                    if (hasUserDataPermission(canonicalURI, httpMethod, TransportGuaranteeType.INTEGRAL)) {
                         return TransportGuaranteeType.INTEGRAL;
                     }
                     else {
@@ -135,27 +134,59 @@ public class JACCAuthorizationManager implements AuthorizationManager {
         return canonicalURI;
     }
 
-    private boolean hasPermission(Account account, Deployment deployment, ServletInfo servletInfo, Permission permission) {
+    /**
+     * <p>
+     * Returns the number of authorization decisions served from the decision cache of this authorization manager.
+     * </p>
+     *
+     * @return the number of cache hits.
+     */
+    public long getDecisionCacheHitCount() {
+        return this.cache.getHitCount();
+    }
+
+    /**
+     * <p>
+     * Returns the number of authorization decisions that required evaluation by the JACC policy.
+     * </p>
+     *
+     * @return the number of cache misses.
+     */
+    public long getDecisionCacheMissCount() {
+        return this.cache.getMissCount();
+    }
+
+    private boolean hasPermission(Account account, Deployment deployment, ServletInfo servletInfo, Class<? extends Permission> permissionClass, String name, String actions, Supplier<Permission> permission) {
         CodeSource codeSource = servletInfo.getServletClass().getProtectionDomain().getCodeSource();
-        ProtectionDomain domain = new ProtectionDomain(codeSource, null, null, getGrantedRoles(account, deployment));
-        return hasPermission(domain, permission);
+        Set<String> roles = getGrantedRoles(account, deployment);
+        JACCDecisionCache.Key key = new JACCDecisionCache.Key(permissionClass, name, actions, codeSource, roles);
+        return this.cache.implies(key, getPolicy(), policy -> policy.implies(new ProtectionDomain(codeSource, null, null, toPrincipals(roles)), permission.get()));
     }
 
-    private boolean hasPermission(ProtectionDomain domain, Permission permission) {
-        Policy policy = WildFlySecurityManager.isChecking() ? doPrivileged((PrivilegedAction<Policy>) Policy::getPolicy) : Policy.getPolicy();
-        return policy.implies(domain, permission);
+    private boolean hasUserDataPermission(String canonicalURI, String httpMethod, TransportGuaranteeType transportGuarantee) {
+        String transportType = (transportGuarantee != null) ? transportGuarantee.name() : null;
+        JACCDecisionCache.Key key = new JACCDecisionCache.Key(WebUserDataPermission.class, canonicalURI, (transportType != null) ? httpMethod + ':' + transportType : httpMethod, null, Collections.emptySet());
+        Predicate<Policy> evaluator = policy -> policy.implies(new ProtectionDomain(null, null, null, null), new WebUserDataPermission(canonicalURI, new String[] { httpMethod }, transportType));
+        return this.cache.implies(key, getPolicy(), evaluator);
     }
 
-    private Principal[] getGrantedRoles(Account account, Deployment deployment) {
+    private static Policy getPolicy() {
+        return WildFlySecurityManager.isChecking() ? doPrivileged((PrivilegedAction<Policy>) Policy::getPolicy) : Policy.getPolicy();
+    }
+
+    private Set<String> getGrantedRoles(Account account, Deployment deployment) {
         if (account == null) {
-            return new Principal[] {};
+            return Collections.emptySet();
         }
 
         Set<String> roles = new HashSet<>(account.getRoles());
         Map<String, Set<String>> principalVersusRolesMap = deployment.getDeploymentInfo().getPrincipalVersusRolesMap();
 
         roles.addAll(principalVersusRolesMap.getOrDefault(account.getPrincipal().getName(), Collections.emptySet()));
+        return roles;
+    }
 
+    private static Principal[] toPrincipals(Set<String> roles) {
         Principal[] principals = new Principal[roles.size()];
         int index = 0;
         for (String role : roles) {
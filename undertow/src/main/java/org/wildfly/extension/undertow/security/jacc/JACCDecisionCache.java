@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.security.jacc;
+
+import java.security.CodeSource;
+import java.security.Permission;
+import java.security.Policy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * A cache of JACC authorization decisions for a single deployment (i.e. a single policy context).
+ * </p>
+ * <p>
+ * Decisions are keyed by the type of permission, the canonical URI or servlet name, the HTTP method or role name,
+ * the code source and the set of granted roles - i.e. everything that a {@link Policy} may consider for a given policy
+ * context. All cached decisions are discarded whenever the installed {@link Policy} is replaced, or whenever the
+ * generation of committed policy configurations changes.
+ * </p>
+ */
+class JACCDecisionCache {
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final AtomicReference<Decisions> cache = new AtomicReference<>(new Decisions(null, Long.MIN_VALUE));
+    private final LongSupplier generation;
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param generation supplies the current generation of committed policy configurations
+     * @param maxSize the maximum number of cached decisions, after which the cache is reset
+     */
+    JACCDecisionCache(LongSupplier generation, int maxSize) {
+        this.generation = generation;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached decision for the specified key, otherwise evaluates and caches the decision using the specified policy.
+     *
+     * @param key a decision key
+     * @param policy the current policy
+     * @param evaluator evaluates the decision using the specified policy
+     * @return true, if permission is granted, false otherwise
+     */
+    boolean implies(Key key, Policy policy, Predicate<Policy> evaluator) {
+        long generation = this.generation.getAsLong();
+        Decisions current = this.cache.get();
+        if ((current.policy != policy) || (current.generation != generation)) {
+            current = this.reset(current, policy, generation);
+        }
+        Boolean decision = current.decisions.get(key);
+        if (decision != null) {
+            this.hits.increment();
+            return decision;
+        }
+        this.misses.increment();
+        boolean result = evaluator.test(policy);
+        if (current.decisions.size() >= this.maxSize) {
+            current = this.reset(current, policy, generation);
+        }
+        // Skip caching if decisions were concurrently reset for a different policy or generation
+        if ((current.policy == policy) && (current.generation == generation)) {
+            current.decisions.put(key, result);
+        }
+        return result;
+    }
+
+    private Decisions reset(Decisions current, Policy policy, long generation) {
+        Decisions decisions = new Decisions(policy, generation);
+        return this.cache.compareAndSet(current, decisions) ? decisions : this.cache.get();
+    }
+
+    /**
+     * Returns the number of decisions served from this cache.
+     * @return a number of cache hits
+     */
+    long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of decisions evaluated by the policy.
+     * @return a number of cache misses
+     */
+    long getMissCount() {
+        return this.misses.sum();
+    }
+
+    private static class Decisions {
+        final Map<Key, Boolean> decisions = new ConcurrentHashMap<>();
+        final Policy policy;
+        final long generation;
+
+        Decisions(Policy policy, long generation) {
+            this.policy = policy;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Identifies an authorization decision within a policy context.
+     */
+    static class Key {
+        private final Class<? extends Permission> permissionClass;
+        private final String name;
+        private final String actions;
+        private final CodeSource codeSource;
+        private final Set<String> roles;
+        private final int hashCode;
+
+        Key(Class<? extends Permission> permissionClass, String name, String actions, CodeSource codeSource, Set<String> roles) {
+            this.permissionClass = permissionClass;
+            this.name = name;
+            this.actions = actions;
+            this.codeSource = codeSource;
+            this.roles = roles;
+            this.hashCode = Objects.hash(permissionClass, name, actions, codeSource, roles);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (!(object instanceof Key)) return false;
+            Key key = (Key) object;
+            return (this.hashCode == key.hashCode) && this.permissionClass.equals(key.permissionClass) && this.name.equals(key.name) && Objects.equals(this.actions, key.actions) && Objects.equals(this.codeSource, key.codeSource) && this.roles.equals(key.roles);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s(%s, %s)%s", this.permissionClass.getSimpleName(), this.name, this.actions, this.roles);
+        }
+    }
+}
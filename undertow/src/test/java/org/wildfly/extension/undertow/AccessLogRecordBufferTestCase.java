@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.undertow.attribute.ConstantExchangeAttribute;
+import io.undertow.server.HttpServerExchange;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AccessLogRecordBuffer}.
+ */
+public class AccessLogRecordBufferTestCase {
+
+    private final HttpServerExchange exchange = new HttpServerExchange(null);
+
+    @Test
+    public void offerAndDrain() {
+        final AccessLogRecordBuffer buffer = new AccessLogRecordBuffer(Arrays.asList(AccessLogAttribute.of("a", new ConstantExchangeAttribute("1")), AccessLogAttribute.of("b", new ConstantExchangeAttribute("2"))), 3);
+
+        Assert.assertTrue(buffer.isEmpty());
+        // Capacity is rounded up to 4
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.offer(exchange));
+        }
+        Assert.assertFalse(buffer.offer(exchange));
+        Assert.assertEquals(1L, buffer.getOverflowCount());
+        Assert.assertFalse(buffer.isEmpty());
+
+        final List<List<Object>> records = new ArrayList<>();
+        Assert.assertEquals(3, buffer.drain(record -> records.add(new ArrayList<>(Arrays.asList(record))), 3));
+        Assert.assertEquals(3, records.size());
+        for (List<Object> record : records) {
+            Assert.assertEquals(Arrays.asList("1", "2"), record);
+        }
+
+        // Drained records are reusable
+        Assert.assertTrue(buffer.offer(exchange));
+        Assert.assertEquals(2, buffer.drain(record -> Assert.assertEquals(Arrays.asList("1", "2"), Arrays.asList(record)), Integer.MAX_VALUE));
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertEquals(0, buffer.drain(record -> Assert.fail(), Integer.MAX_VALUE));
+        Assert.assertEquals(1L, buffer.getOverflowCount());
+    }
+
+    @Test
+    public void concurrentOffers() throws Exception {
+        final int producers = 4;
+        final int offers = 10000;
+        final AccessLogRecordBuffer buffer = new AccessLogRecordBuffer(Arrays.asList(AccessLogAttribute.of("a", new ConstantExchangeAttribute("1"))), 64);
+        final AtomicInteger drained = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(producers);
+            for (int i = 0; i < producers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < offers; j++) {
+                        buffer.offer(exchange);
+                    }
+                }));
+            }
+            boolean done = false;
+            while (!done) {
+                done = futures.stream().allMatch(Future::isDone);
+                buffer.drain(record -> {
+                    Assert.assertEquals("1", record[0]);
+                    drained.incrementAndGet();
+                }, Integer.MAX_VALUE);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            buffer.drain(record -> drained.incrementAndGet(), Integer.MAX_VALUE);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertEquals(producers * offers, drained.get() + buffer.getOverflowCount());
+    }
+}
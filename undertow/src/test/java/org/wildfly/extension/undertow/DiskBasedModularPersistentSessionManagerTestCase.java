@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.Unmarshaller;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link DiskBasedModularPersistentSessionManager}.
+ */
+public class DiskBasedModularPersistentSessionManagerTestCase {
+
+    // Sufficient to be written by multiple writers, given multiple processors
+    private static final int SESSIONS = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestSessionManager manager;
+    private File directory;
+
+    @Before
+    public void start() throws IOException, StartException {
+        this.directory = this.folder.newFolder();
+        this.manager = new TestSessionManager();
+        PathManager pathManager = mock(PathManager.class);
+        when(pathManager.resolveRelativePathEntry("sessions", null)).thenReturn(this.directory.getAbsolutePath());
+        this.manager.getPathManager().inject(pathManager);
+        this.manager.getModuleLoaderInjectedValue().inject(mock(ModuleLoader.class));
+        this.manager.start(mock(StartContext.class));
+    }
+
+    @After
+    public void stop() {
+        this.manager.stop(mock(StopContext.class));
+    }
+
+    @Test
+    public void persistAndLoad() {
+        Map<String, PersistentSession> sessions = createSessions(SESSIONS, 1);
+        Date expired = new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        sessions.put("expired", new PersistentSession(expired, Collections.singletonMap("name", "value")));
+        this.manager.persistSessions("test.war", sessions);
+
+        Map<String, PersistentSession> result = this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader());
+        Assert.assertNotNull(result);
+        // Expired sessions are not restored
+        Assert.assertEquals(SESSIONS, result.size());
+        Assert.assertFalse(result.containsKey("expired"));
+        for (int i = 0; i < SESSIONS; ++i) {
+            String id = String.valueOf(i);
+            PersistentSession session = result.get(id);
+            Assert.assertEquals(sessions.get(id).getExpiration(), session.getExpiration());
+            Assert.assertEquals(sessions.get(id).getSessionData(), new HashMap<>(session.getSessionData()));
+        }
+        Assert.assertFalse(new File(this.directory, "test.war.tmp").exists());
+    }
+
+    @Test
+    public void writerFailure() {
+        Map<String, PersistentSession> sessions = createSessions(SESSIONS, 1);
+        this.manager.persistSessions("test.war", sessions);
+
+        // A failed writer must not clobber the previously persisted sessions
+        this.manager.failNextMarshaller.set(true);
+        this.manager.persistSessions("test.war", createSessions(SESSIONS, 2));
+        Assert.assertFalse(this.manager.failNextMarshaller.get());
+        Assert.assertFalse(new File(this.directory, "test.war.tmp").exists());
+
+        Map<String, PersistentSession> result = this.manager.loadSessionAttributes("test.war", this.getClass().getClassLoader());
+        Assert.assertNotNull(result);
+        Assert.assertEquals(SESSIONS, result.size());
+        for (int i = 0; i < SESSIONS; ++i) {
+            String id = String.valueOf(i);
+            Assert.assertEquals(sessions.get(id).getSessionData(), new HashMap<>(result.get(id).getSessionData()));
+        }
+    }
+
+    private static Map<String, PersistentSession> createSessions(int count, int generation) {
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        for (int i = 0; i < count; ++i) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("id", i);
+            attributes.put("generation", generation);
+            attributes.put("name", "session-" + i);
+            sessions.put(String.valueOf(i), new PersistentSession(expiration, attributes));
+        }
+        return sessions;
+    }
+
+    /**
+     * Uses a non-modular marshalling configuration, and fails to create a marshaller on demand.
+     */
+    private static class TestSessionManager extends DiskBasedModularPersistentSessionManager {
+        private final MarshallerFactory factory = new RiverMarshallerFactory();
+        private final MarshallingConfiguration configuration = new MarshallingConfiguration();
+        final AtomicBoolean failNextMarshaller = new AtomicBoolean(false);
+
+        TestSessionManager() {
+            super("sessions", null, true);
+        }
+
+        @Override
+        protected Marshaller createMarshaller() throws IOException {
+            if (this.failNextMarshaller.compareAndSet(true, false)) {
+                throw new IOException();
+            }
+            return this.factory.createMarshaller(this.configuration);
+        }
+
+        @Override
+        protected Unmarshaller createUnmarshaller() throws IOException {
+            return this.factory.createUnmarshaller(this.configuration);
+        }
+    }
+}
@@ -132,7 +132,8 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                                 ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE,
                                 ServletContainerDefinition.DISABLE_FILE_WATCH_SERVICE,
                                 ServletContainerDefinition.DISABLE_SESSION_ID_REUSE,
-                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
+                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD,
+                                ServletContainerDefinition.PRECOMPRESS_RESOURCES
                                 ))
                 .addFailedAttribute(ajpAddress,
                         new FailedOperationTransformationConfig.NewAttributesConfig(
@@ -172,7 +173,8 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                                 ServletContainerDefinition.FILE_CACHE_MAX_FILE_SIZE,
                                 ServletContainerDefinition.FILE_CACHE_METADATA_SIZE,
                                 ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE,
-                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
+                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD,
+                                ServletContainerDefinition.PRECOMPRESS_RESOURCES
                         )
                 )
                 .addFailedAttribute(ajpAddress,
@@ -197,7 +199,8 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, "console-access-log")), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                  .addFailedAttribute(servletContainer,
                          new FailedOperationTransformationConfig.NewAttributesConfig(
-                                 ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
+                                 ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD,
+                                 ServletContainerDefinition.PRECOMPRESS_RESOURCES
                          ))
                 .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_APPLICATION_SECURITY_DOMAIN).append(UndertowExtension.PATH_SSO),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
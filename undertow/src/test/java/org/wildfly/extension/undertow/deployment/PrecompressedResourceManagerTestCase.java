@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Unit test for content encoding negotiation of {@link PrecompressedResourceManager}.
+ */
+public class PrecompressedResourceManagerTestCase {
+
+    @Test
+    public void testAcceptedEncodings() {
+        assertEquals(Collections.emptyList(), PrecompressedResourceManager.getAcceptedEncodings(null));
+        assertEquals(Collections.emptyList(), PrecompressedResourceManager.getAcceptedEncodings(Collections.singletonList("identity")));
+        assertEquals(Collections.singletonList("gzip"), PrecompressedResourceManager.getAcceptedEncodings(Collections.singletonList("gzip, deflate")));
+        assertEquals(Arrays.asList("br", "gzip"), PrecompressedResourceManager.getAcceptedEncodings(Collections.singletonList("gzip, deflate, br")));
+        assertEquals(Arrays.asList("br", "gzip"), PrecompressedResourceManager.getAcceptedEncodings(Arrays.asList("GZIP;q=0.5", "br;q=1.0")));
+        assertEquals(Collections.singletonList("gzip"), PrecompressedResourceManager.getAcceptedEncodings(Collections.singletonList("gzip, br;q=0")));
+        assertEquals(Collections.singletonList("br"), PrecompressedResourceManager.getAcceptedEncodings(Collections.singletonList("*, gzip;q=0")));
+    }
+}
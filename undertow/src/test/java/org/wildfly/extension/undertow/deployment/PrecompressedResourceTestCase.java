@@ -0,0 +1,364 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.servlet.api.Deployment;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.HttpServletRequestImpl;
+import io.undertow.servlet.spec.HttpServletResponseImpl;
+import io.undertow.util.ETag;
+import io.undertow.util.ETagUtils;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for serving content encoded variants via {@link PrecompressedResource}.
+ */
+public class PrecompressedResourceTestCase {
+
+    private static final String PATH = "/app.js";
+    private static final ETag UNDERLYING_ETAG = new ETag(false, "underlying");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Resource underlying = mock(Resource.class);
+    private final ResourceManager delegate = mock(ResourceManager.class);
+    private final IoCallback callback = mock(IoCallback.class);
+    private File file;
+    private byte[] content;
+    private PrecompressedResourceManager manager;
+
+    @Before
+    public void init() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; ++i) {
+            builder.append("console.log('precompressed ").append(i).append("');\n");
+        }
+        this.content = builder.toString().getBytes(StandardCharsets.UTF_8);
+        this.file = this.folder.newFile("app.js");
+        Files.write(this.file.toPath(), this.content);
+
+        when(this.underlying.getPath()).thenReturn(PATH);
+        when(this.underlying.getName()).thenReturn(this.file.getName());
+        when(this.underlying.getFile()).thenReturn(this.file);
+        when(this.underlying.getContentLength()).thenReturn((long) this.content.length);
+        when(this.underlying.getLastModified()).thenReturn(new Date(this.file.lastModified()));
+        when(this.underlying.getETag()).thenReturn(UNDERLYING_ETAG);
+        when(this.delegate.getResource(PATH)).thenReturn(this.underlying);
+
+        this.manager = new PrecompressedResourceManager(this.delegate, new DirectBufferCache(1024, 16, 1024 * 1024), 1024 * 1024);
+    }
+
+    @Test
+    public void gzip() throws IOException {
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip, deflate");
+        Sender sender = mock(Sender.class);
+        ByteArrayOutputStream body = capture(sender);
+
+        this.getResource().serve(sender, exchange, this.callback);
+
+        verify(this.underlying, never()).serve(any(), any(), any());
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertEquals(Headers.ACCEPT_ENCODING_STRING, exchange.getResponseHeaders().getFirst(Headers.VARY));
+        assertEquals(String.valueOf(body.size()), exchange.getResponseHeaders().getFirst(Headers.CONTENT_LENGTH));
+        String etag = exchange.getResponseHeaders().getFirst(Headers.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.endsWith("-gzip\""));
+        assertArrayEquals(this.content, gunzip(body.toByteArray()));
+    }
+
+    @Test
+    public void precompressedBrotli() throws IOException {
+        // Brotli variants are only available from precompressed files
+        byte[] brotli = "brotli".getBytes(StandardCharsets.UTF_8);
+        File brotliFile = new File(this.file.getPath() + ".br");
+        Files.write(brotliFile.toPath(), brotli);
+        brotliFile.setLastModified(this.file.lastModified());
+
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip, deflate, br");
+        Sender sender = mock(Sender.class);
+        ByteArrayOutputStream body = capture(sender);
+
+        this.getResource().serve(sender, exchange, this.callback);
+
+        assertEquals("br", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertArrayEquals(brotli, body.toByteArray());
+    }
+
+    @Test
+    public void brotliUnavailable() throws IOException {
+        // Without a precompressed brotli file, gzip is the next preferred encoding
+        HttpServerExchange exchange = createExchange(Methods.GET, "br, gzip");
+        Sender sender = mock(Sender.class);
+        ByteArrayOutputStream body = capture(sender);
+
+        this.getResource().serve(sender, exchange, this.callback);
+
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertArrayEquals(this.content, gunzip(body.toByteArray()));
+    }
+
+    @Test
+    public void identity() throws IOException {
+        HttpServerExchange exchange = createExchange(Methods.GET, null);
+        Sender sender = mock(Sender.class);
+        PrecompressedResource resource = this.getResource();
+
+        resource.serve(sender, exchange, this.callback);
+
+        verify(this.underlying).serve(sender, exchange, this.callback);
+        assertNull(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        // Identity responses must also vary by Accept-Encoding
+        assertEquals(Headers.ACCEPT_ENCODING_STRING, exchange.getResponseHeaders().getFirst(Headers.VARY));
+        assertEquals(UNDERLYING_ETAG, this.withCurrentExchange(exchange, resource::getETag));
+        assertEquals(Long.valueOf(this.content.length), this.withCurrentExchange(exchange, resource::getContentLength));
+    }
+
+    @Test
+    public void range() throws IOException {
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip");
+        exchange.getRequestHeaders().put(Headers.RANGE, "bytes=0-99");
+        Sender sender = mock(Sender.class);
+
+        this.getResource().serve(sender, exchange, this.callback);
+
+        verify(this.underlying).serve(sender, exchange, this.callback);
+        assertNull(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void mergeVary() throws IOException {
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip");
+        exchange.getResponseHeaders().put(Headers.VARY, Headers.ORIGIN_STRING);
+
+        this.getResource().serve(mock(Sender.class), exchange, this.callback);
+
+        assertEquals(1, exchange.getResponseHeaders().count(Headers.VARY));
+        assertEquals(Headers.ORIGIN_STRING + ", " + Headers.ACCEPT_ENCODING_STRING, exchange.getResponseHeaders().getFirst(Headers.VARY));
+
+        HttpServerExchange existing = createExchange(Methods.GET, "gzip");
+        existing.getResponseHeaders().put(Headers.VARY, "accept-encoding");
+
+        this.getResource().serve(mock(Sender.class), existing, this.callback);
+
+        assertEquals(1, existing.getResponseHeaders().count(Headers.VARY));
+        assertEquals("accept-encoding", existing.getResponseHeaders().getFirst(Headers.VARY));
+    }
+
+    @Test
+    public void head() throws IOException {
+        HttpServerExchange get = createExchange(Methods.GET, "gzip");
+        Sender sender = mock(Sender.class);
+        ByteArrayOutputStream body = capture(sender);
+        this.getResource().serve(sender, get, this.callback);
+
+        // A HEAD request does not invoke serve(...), but must describe the same representation as a GET request
+        HttpServerExchange head = createExchange(Methods.HEAD, "gzip");
+        PrecompressedResource resource = this.getResource();
+        ETag etag = this.withCurrentExchange(head, resource::getETag);
+        Long length = this.withCurrentExchange(head, resource::getContentLength);
+
+        assertEquals(get.getResponseHeaders().getFirst(Headers.ETAG), etag.toString());
+        assertEquals(Long.valueOf(body.size()), length);
+        assertEquals("gzip", head.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertEquals(Headers.ACCEPT_ENCODING_STRING, head.getResponseHeaders().getFirst(Headers.VARY));
+    }
+
+    @Test
+    public void conditionalGet() throws IOException {
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip");
+        this.getResource().serve(mock(Sender.class), exchange, this.callback);
+        String etag = exchange.getResponseHeaders().getFirst(Headers.ETAG);
+
+        // Revalidation of the encoded representation is not modified
+        HttpServerExchange revalidation = createExchange(Methods.GET, "gzip");
+        revalidation.getRequestHeaders().put(Headers.IF_NONE_MATCH, etag);
+        PrecompressedResource resource = this.getResource();
+        ETag currentETag = this.withCurrentExchange(revalidation, resource::getETag);
+        assertEquals(etag, currentETag.toString());
+        assertFalse(ETagUtils.handleIfNoneMatch(revalidation.getRequestHeaders().getFirst(Headers.IF_NONE_MATCH), currentETag, true));
+
+        // The encoded representation does not match the unencoded representation
+        HttpServerExchange identity = createExchange(Methods.GET, null);
+        identity.getRequestHeaders().put(Headers.IF_NONE_MATCH, etag);
+        PrecompressedResource identityResource = this.getResource();
+        ETag identityETag = this.withCurrentExchange(identity, identityResource::getETag);
+        assertNotEquals(etag, identityETag.toString());
+        assertTrue(ETagUtils.handleIfNoneMatch(identity.getRequestHeaders().getFirst(Headers.IF_NONE_MATCH), identityETag, true));
+    }
+
+    @Test
+    public void consistentAcrossRequests() throws IOException {
+        String etag = null;
+        // Responses are encoded identically, whether or not the variant was allocated by the cache
+        for (int i = 0; i < 20; ++i) {
+            HttpServerExchange exchange = createExchange(Methods.GET, "gzip");
+            Sender sender = mock(Sender.class);
+            ByteArrayOutputStream body = capture(sender);
+
+            this.getResource().serve(sender, exchange, this.callback);
+
+            assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+            assertArrayEquals(this.content, gunzip(body.toByteArray()));
+            String current = exchange.getResponseHeaders().getFirst(Headers.ETAG);
+            if (etag != null) {
+                assertEquals(etag, current);
+            }
+            etag = current;
+        }
+    }
+
+    @Test
+    public void encodedOnce() throws IOException {
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip");
+        this.getResource().serve(mock(Sender.class), exchange, this.callback);
+        assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+
+        // Subsequent requests are served from the heap copy, or from the cache, without encoding the resource again
+        Files.delete(this.file.toPath());
+        for (int i = 0; i < 20; ++i) {
+            exchange = createExchange(Methods.GET, "gzip");
+            Sender sender = mock(Sender.class);
+            ByteArrayOutputStream body = capture(sender);
+
+            this.getResource().serve(sender, exchange, this.callback);
+
+            assertEquals("gzip", exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+            assertArrayEquals(this.content, gunzip(body.toByteArray()));
+        }
+    }
+
+    @Test
+    public void unreadableResource() throws IOException {
+        PrecompressedResource resource = this.getResource();
+        Files.delete(this.file.toPath());
+        HttpServerExchange exchange = createExchange(Methods.GET, "gzip");
+        Sender sender = mock(Sender.class);
+
+        // Failure to encode falls back to the unencoded resource
+        resource.serve(sender, exchange, this.callback);
+
+        verify(this.underlying).serve(sender, exchange, this.callback);
+        assertNull(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING));
+        assertNull(exchange.getResponseHeaders().getFirst(Headers.ETAG));
+    }
+
+    private PrecompressedResource getResource() throws IOException {
+        Resource resource = this.manager.getResource(PATH);
+        assertTrue(resource instanceof PrecompressedResource);
+        return (PrecompressedResource) resource;
+    }
+
+    private <T> T withCurrentExchange(HttpServerExchange exchange, Supplier<T> action) {
+        Deployment deployment = mock(Deployment.class);
+        ServletRequestContext context = new ServletRequestContext(deployment, new HttpServletRequestImpl(exchange, null), new HttpServletResponseImpl(exchange, null), null);
+        ServletRequestContext.setCurrentRequestContext(context);
+        try {
+            return action.get();
+        } finally {
+            ServletRequestContext.clearCurrentServletAttachments();
+        }
+    }
+
+    private static HttpServerExchange createExchange(HttpString method, String acceptEncoding) {
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.setRequestMethod(method);
+        if (acceptEncoding != null) {
+            exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return exchange;
+    }
+
+    private static ByteArrayOutputStream capture(Sender sender) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        doAnswer(invocation -> {
+            write(output, invocation.getArgument(0));
+            return null;
+        }).when(sender).send(any(ByteBuffer.class), any(IoCallback.class));
+        doAnswer(invocation -> {
+            for (ByteBuffer buffer : (ByteBuffer[]) invocation.getArgument(0)) {
+                write(output, buffer);
+            }
+            return null;
+        }).when(sender).send(any(ByteBuffer[].class), any(IoCallback.class));
+        return output;
+    }
+
+    private static void write(ByteArrayOutputStream output, ByteBuffer buffer) {
+        ByteBuffer source = buffer.duplicate();
+        byte[] bytes = new byte[source.remaining()];
+        source.get(bytes);
+        output.write(bytes, 0, bytes.length);
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[1024];
+            int read = input.read(buffer);
+            while (read >= 0) {
+                output.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        return output.toByteArray();
+    }
+}
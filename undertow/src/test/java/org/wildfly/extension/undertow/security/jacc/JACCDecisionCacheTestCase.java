@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.security.jacc;
+
+import java.security.AllPermission;
+import java.security.Permission;
+import java.security.Policy;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JACCDecisionCache}.
+ */
+public class JACCDecisionCacheTestCase {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final Predicate<Policy> evaluator = policy -> {
+        this.evaluations.incrementAndGet();
+        return policy.implies(null, null);
+    };
+
+    @Test
+    public void test() {
+        JACCDecisionCache cache = new JACCDecisionCache(this.generation::get, 2);
+        Policy grant = new TestPolicy(true);
+        JACCDecisionCache.Key key = new JACCDecisionCache.Key(AllPermission.class, "/foo", "GET", null, Collections.singleton("role"));
+        JACCDecisionCache.Key otherKey = new JACCDecisionCache.Key(AllPermission.class, "/foo", "GET", null, Collections.emptySet());
+
+        Assert.assertTrue(cache.implies(key, grant, this.evaluator));
+        Assert.assertEquals(1, this.evaluations.get());
+        Assert.assertTrue(cache.implies(new JACCDecisionCache.Key(AllPermission.class, "/foo", "GET", null, Collections.singleton("role")), grant, this.evaluator));
+        Assert.assertEquals(1, this.evaluations.get());
+        Assert.assertEquals(1L, cache.getHitCount());
+        Assert.assertEquals(1L, cache.getMissCount());
+
+        // Different role set
+        Assert.assertTrue(cache.implies(otherKey, grant, this.evaluator));
+        Assert.assertEquals(2, this.evaluations.get());
+
+        // Committing a policy configuration invalidates decisions
+        this.generation.incrementAndGet();
+        Assert.assertTrue(cache.implies(key, grant, this.evaluator));
+        Assert.assertEquals(3, this.evaluations.get());
+        Assert.assertTrue(cache.implies(key, grant, this.evaluator));
+        Assert.assertEquals(3, this.evaluations.get());
+
+        // Replacing the policy invalidates decisions
+        Policy deny = new TestPolicy(false);
+        Assert.assertFalse(cache.implies(key, deny, this.evaluator));
+        Assert.assertEquals(4, this.evaluations.get());
+        Assert.assertFalse(cache.implies(key, deny, this.evaluator));
+        Assert.assertEquals(4, this.evaluations.get());
+
+        Assert.assertEquals(3L, cache.getHitCount());
+        Assert.assertEquals(4L, cache.getMissCount());
+    }
+
+    @Test
+    public void maxSize() {
+        JACCDecisionCache cache = new JACCDecisionCache(this.generation::get, 2);
+        Policy policy = new TestPolicy(true);
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertTrue(cache.implies(new JACCDecisionCache.Key(AllPermission.class, "/" + i, "GET", null, Collections.emptySet()), policy, this.evaluator));
+        }
+        Assert.assertEquals(3, this.evaluations.get());
+
+        // Cache was reset before recording the last decision
+        Assert.assertTrue(cache.implies(new JACCDecisionCache.Key(AllPermission.class, "/2", "GET", null, Collections.emptySet()), policy, this.evaluator));
+        Assert.assertEquals(3, this.evaluations.get());
+        Assert.assertTrue(cache.implies(new JACCDecisionCache.Key(AllPermission.class, "/0", "GET", null, Collections.emptySet()), policy, this.evaluator));
+        Assert.assertEquals(4, this.evaluations.get());
+    }
+
+    private static class TestPolicy extends Policy {
+        private final boolean granted;
+
+        TestPolicy(boolean granted) {
+            this.granted = granted;
+        }
+
+        @Override
+        public boolean implies(ProtectionDomain domain, Permission permission) {
+            return this.granted;
+        }
+    }
+}